@@ -0,0 +1,34 @@
+package com.hager.shoppingbuddy.benchmark;
+
+import com.hager.shoppingbuddy.ShoppingbuddyApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application without a web server against the dev database (see docker-compose.yml), with
+ * placeholder credentials for the external providers that database benchmarks never call.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        String[] defaults = {
+                "--spring.profiles.active=dev",
+                "--spring.jpa.show-sql=false",
+                "--shoppingbuddy.googlemapsapikey=benchmark",
+                "--shoppingbuddy.stripe.secretkey=benchmark",
+                "--shoppingbuddy.stripe.publickey=benchmark",
+                "--shoppingbuddy.email.password=benchmark"
+        };
+        String[] args = new String[defaults.length + extraArgs.length];
+        System.arraycopy(defaults, 0, args, 0, defaults.length);
+        System.arraycopy(extraArgs, 0, args, defaults.length, extraArgs.length);
+
+        return new SpringApplicationBuilder(ShoppingbuddyApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+}
@@ -0,0 +1,104 @@
+package com.hager.shoppingbuddy.benchmark;
+
+import com.hager.shoppingbuddy.entity.*;
+import com.hager.shoppingbuddy.repository.CustomerRepository;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository;
+import com.hager.shoppingbuddy.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput for a shopping request with a 50-item list, including ID allocation and JDBC batching.
+ * Needs the dev MySQL database from docker-compose.yml.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemInsertBenchmark {
+
+    @Param({"50"})
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private ShoppingRequestRepository shoppingRequestRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Customer customer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        shoppingRequestRepository = context.getBean(ShoppingRequestRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        customer = transactionTemplate.execute(status -> {
+            User user = userRepository.save(User.builder()
+                    .firstName("Benchmark")
+                    .lastName("Customer")
+                    .email("benchmark-" + suffix + "@shopping-buddy.shop")
+                    .phoneNumber("+3538" + Math.abs(suffix.hashCode() % 100_000_000))
+                    .passwordHash("benchmark")
+                    .role(UserRole.CUSTOMER)
+                    .isEnabled(true)
+                    .createdAt(Instant.now())
+                    .build());
+            return customerRepository.save(Customer.builder().user(user).build());
+        });
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nJDBC statements prepared: %d, entities inserted: %d%n",
+                statistics.getPrepareStatementCount(), statistics.getEntityInsertCount());
+        context.close();
+    }
+
+    @Benchmark
+    public Long insertShoppingRequest() {
+        return transactionTemplate.execute(status -> {
+            ShoppingRequest request = ShoppingRequest.builder()
+                    .customer(customer)
+                    .status(ShoppingRequestStatus.PENDING)
+                    .paymentStatus(PaymentStatus.PENDING)
+                    .deliveryAddress("1 Benchmark Street, Dublin")
+                    .storeName("Benchmark Store")
+                    .storeAddress("2 Benchmark Street, Dublin")
+                    .estimatedItemsPrice(100.0)
+                    .deliveryFee(10.0)
+                    .createdAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build();
+
+            List<Item> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(Item.builder()
+                        .shoppingRequest(request)
+                        .name("Item " + i)
+                        .amount(1 + i % 3)
+                        .category("Groceries")
+                        .build());
+            }
+            request.setItems(items);
+
+            return shoppingRequestRepository.save(request).getId();
+        });
+    }
+}
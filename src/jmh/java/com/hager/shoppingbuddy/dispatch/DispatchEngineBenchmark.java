@@ -0,0 +1,104 @@
+package com.hager.shoppingbuddy.dispatch;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A simulated city for the dispatch engine: 2,000 shoppers carrying up to three requests each, moving around
+ * Dublin, and 300 stores. Each operation opens a request at a random store, runs a dispatch pass, and has the
+ * offered shopper accept it; the oldest accepted requests complete so the fleet stays about half busy. The
+ * average time is the match latency per request. Run with -Djmh.args="DispatchEngineBenchmark".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatchEngineBenchmark {
+
+    private static final int SHOPPERS = 2_000;
+    private static final int CAPACITY = 3;
+    private static final int STORES = 300;
+    private static final int IN_FLIGHT = SHOPPERS * CAPACITY / 2;
+    private static final double LATITUDE = 53.35;
+    private static final double LONGITUDE = -6.26;
+
+    private DispatchEngine engine;
+    private Random random;
+    private double[][] stores;
+    private long[] inFlight;
+    private long nextRequestId;
+    private Instant now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new DispatchEngine(Duration.ofSeconds(30), 8, 10, 2);
+        random = new Random(42);
+        for (long shopper = 1; shopper <= SHOPPERS; shopper++) {
+            engine.shopperAvailable(shopper, randomLatitude(), randomLongitude(), CAPACITY, List.of());
+        }
+        stores = new double[STORES][];
+        for (int i = 0; i < STORES; i++) {
+            stores[i] = new double[]{randomLatitude(), randomLongitude()};
+        }
+        inFlight = new long[IN_FLIGHT * 2];
+        now = Instant.parse("2026-01-01T12:00:00Z");
+    }
+
+    @Benchmark
+    public DispatchOffer openMatchAndAccept() {
+        now = now.plusMillis(20);
+        long shopperToMove = 1 + random.nextInt(SHOPPERS);
+        engine.shopperMoved(shopperToMove, randomLatitude(), randomLongitude());
+
+        long requestId = ++nextRequestId;
+        double[] store = stores[random.nextInt(STORES)];
+        engine.requestOpened(ShoppingRequestResponse.builder()
+                .id(requestId)
+                .status(ShoppingRequestStatus.PENDING)
+                .paymentStatus(PaymentStatus.AUTHORIZED)
+                .deliveryFee(3 + random.nextInt(8))
+                .createdAt(now)
+                .storeLatitude(store[0])
+                .storeLongitude(store[1])
+                .build());
+        List<DispatchOffer> offers = engine.dispatch(now).offers();
+
+        DispatchOffer offer = null;
+        for (DispatchOffer made : offers) {
+            engine.requestClosed(made.requestId());
+            engine.requestAssigned(made.requestId(), made.shopperId());
+            int slot = (int) (made.requestId() % inFlight.length);
+            if (inFlight[slot] != 0) {
+                engine.requestUnassigned(inFlight[slot]);
+            }
+            inFlight[slot] = made.requestId();
+            offer = made;
+        }
+        // Requests accepted IN_FLIGHT requests ago complete
+        long completed = requestId - IN_FLIGHT;
+        int slot = (int) (Math.max(completed, 0) % inFlight.length);
+        if (completed > 0 && inFlight[slot] == completed) {
+            engine.requestUnassigned(completed);
+            inFlight[slot] = 0;
+        }
+        return offer;
+    }
+
+    private double randomLatitude() {
+        return LATITUDE + (random.nextDouble() - 0.5) * 0.15;
+    }
+
+    private double randomLongitude() {
+        return LONGITUDE + (random.nextDouble() - 0.5) * 0.25;
+    }
+}
@@ -0,0 +1,79 @@
+package com.hager.shoppingbuddy.geocoding;
+
+import com.google.maps.model.LatLng;
+import com.hager.shoppingbuddy.geocoding.GazetteerEntry.Kind;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gazetteer lookups against a synthetic file the size of a county street list: 50,000 streets over 24 routing
+ * keys, many sharing common words such as "road" and "park". Run with -Djmh.args="GazetteerBenchmark".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GazetteerBenchmark {
+
+    private static final String[] NAMES = {"Church", "Mill", "Castle", "Abbey", "Oak", "Ash", "Willow", "Station",
+            "Bridge", "Green", "Hill", "Meadow", "Orchard", "River", "Harbour", "Kings", "Queens", "Market"};
+    private static final String[] TYPES = {"Street", "Road", "Avenue", "Park", "Lane", "Drive", "Terrace",
+            "Crescent", "Close", "Grove", "Court", "Place"};
+    private static final int STREETS = 50_000;
+    private static final int ROUTING_KEYS = 24;
+
+    private Path file;
+    private Gazetteer gazetteer;
+    private String[] addresses;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        List<GazetteerEntry> entries = new ArrayList<>();
+        for (int key = 1; key <= ROUTING_KEYS; key++) {
+            entries.add(new GazetteerEntry(Kind.ROUTING_KEY, routingKey(key), null,
+                    53.30 + key * 0.005, -6.30 + key * 0.005));
+        }
+        addresses = new String[1024];
+        for (int i = 0; i < STREETS; i++) {
+            // A unique word per street, as real street names mostly have one
+            String name = "Street" + Integer.toString(i, 36) + " " + NAMES[random.nextInt(NAMES.length)]
+                    + " " + TYPES[random.nextInt(TYPES.length)];
+            int key = 1 + random.nextInt(ROUTING_KEYS);
+            entries.add(new GazetteerEntry(Kind.STREET, name, routingKey(key),
+                    53.2 + random.nextDouble() * 0.3, -6.4 + random.nextDouble() * 0.3));
+            if (i % (STREETS / addresses.length) == 0 && i / (STREETS / addresses.length) < addresses.length) {
+                addresses[i / (STREETS / addresses.length)] = (1 + random.nextInt(200)) + " " + name
+                        + ", Dublin " + key;
+            }
+        }
+        file = Files.createTempFile("gazetteer", ".bin");
+        GazetteerWriter.write(entries, file);
+        gazetteer = Gazetteer.open(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public LatLng lookup() {
+        return gazetteer.lookup(addresses[next++ & (addresses.length - 1)]);
+    }
+
+    private static String routingKey(int key) {
+        return String.format(Locale.ROOT, "D%02d", key);
+    }
+}
@@ -0,0 +1,298 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hager.shoppingbuddy.entity.UserRole;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scripted multi-user driver for the marketplace flow, run against an instance started with the
+ * {@code dev,loadtest} profiles:
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:java -Dexec.mainClass=com.hager.shoppingbuddy.loadtest.LoadTestDriver \
+ *     -Dexec.args="--customers=40 --shoppers=20 --duration=120"
+ * </pre>
+ * Customers create a request, authorize its payment, chat and poll their requests; shoppers poll the
+ * pending feed, accept a request, chat, then start and complete it. Throughput and latency percentiles are
+ * reported per endpoint when the run ends.
+ */
+public final class LoadTestDriver {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final String password;
+    private final long thinkTimeMillis;
+    private final long deadlineNanos;
+    private final LoadTestReport report = new LoadTestReport();
+
+    private LoadTestDriver(String baseUrl, String password, long thinkTimeMillis, long deadlineNanos) {
+        this.baseUrl = baseUrl;
+        this.password = password;
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        run(Settings.parse(args)).print();
+    }
+
+    static LoadTestReport run(Settings settings) throws InterruptedException {
+        long start = System.nanoTime();
+        LoadTestDriver driver = new LoadTestDriver(settings.baseUrl(), settings.password(), settings.thinkTimeMillis(),
+                start + TimeUnit.SECONDS.toNanos(settings.durationSeconds()));
+
+        System.out.printf("Driving %s with %d customers and %d shoppers for %d s%n",
+                settings.baseUrl(), settings.customers(), settings.shoppers(), settings.durationSeconds());
+
+        // Interleave the two roles over the ramp-up so both sides of the marketplace start together
+        int customers = settings.customers();
+        int shoppers = settings.shoppers();
+        int users = customers + shoppers;
+        long staggerMillis = users > 0 ? TimeUnit.SECONDS.toMillis(settings.rampUpSeconds()) / users : 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < Math.max(customers, shoppers); i++) {
+                if (i < customers) {
+                    int account = i + 1;
+                    long delayMillis = 2L * i * staggerMillis;
+                    executor.submit(() -> driver.runUser(UserRole.CUSTOMER, account, delayMillis));
+                }
+                if (i < shoppers) {
+                    int account = i + 1;
+                    long delayMillis = (2L * i + 1) * staggerMillis;
+                    executor.submit(() -> driver.runUser(UserRole.SHOPPER, account, delayMillis));
+                }
+            }
+        }
+
+        driver.report.finish(System.nanoTime() - start);
+        return driver.report;
+    }
+
+    private void runUser(UserRole role, int account, long delayMillis) {
+        try {
+            Thread.sleep(delayMillis);
+            VirtualUser user = new VirtualUser(role, account);
+            if (!user.login()) {
+                return;
+            }
+            while (System.nanoTime() < deadlineNanos) {
+                if (role == UserRole.CUSTOMER) {
+                    user.customerIteration();
+                } else {
+                    user.shopperIteration();
+                }
+                thinkTime();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void thinkTime() throws InterruptedException {
+        if (thinkTimeMillis > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkTimeMillis / 2, thinkTimeMillis * 3 / 2 + 1));
+        }
+    }
+
+    private final class VirtualUser {
+
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final String email;
+        private String sessionCookie;
+        private String pendingETag;
+        private List<Long> pendingIds = List.of();
+
+        private VirtualUser(UserRole role, int account) {
+            this.email = LoadTestUserSeeder.email(role, account);
+        }
+
+        private boolean login() throws InterruptedException {
+            String form = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+                    + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+            HttpResponse<String> response = send("POST /api/user/login", HttpRequest.newBuilder(uri("/api/user/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form)));
+            if (response == null || response.headers().firstValue("Location").orElse("").contains("error")) {
+                System.err.printf("Login failed for %s; is the server running with the loadtest profile?%n", email);
+                return false;
+            }
+            sessionCookie = response.headers().allValues("Set-Cookie").stream()
+                    .map(cookie -> cookie.split(";", 2)[0])
+                    .filter(cookie -> cookie.startsWith("SESSION=") || cookie.startsWith("JSESSIONID="))
+                    .findFirst()
+                    .orElse(null);
+            return sessionCookie != null;
+        }
+
+        private void customerIteration() throws InterruptedException {
+            JsonNode created = json(send("POST /api/shopping-requests", postJson("/api/shopping-requests", newShoppingRequest())));
+            if (created == null) {
+                return;
+            }
+            long requestId = created.get("id").asLong();
+
+            HttpResponse<String> authorized = send("GET /api/payment/{id}/authorize", get(
+                    "/api/payment/" + requestId + "/authorize?redirect_status=succeeded&payment_intent="
+                            + created.path("stripePaymentIntentId").asText()));
+            if (authorized == null || authorized.headers().firstValue("Location").orElse("").contains("error")) {
+                return;
+            }
+
+            send("POST /api/chat", postJson("/api/chat", Map.of(
+                    "shoppingRequestId", requestId,
+                    "messageContent", "Please get the ripest bananas you can find.")));
+            send("GET /api/chat/shopping-request/{id}", get("/api/chat/shopping-request/" + requestId));
+            send("GET /api/shopping-requests/customer/my-requests", get("/api/shopping-requests/customer/my-requests"));
+            send("GET /api/shopping-requests/{id}", get("/api/shopping-requests/" + requestId));
+        }
+
+        private void shopperIteration() throws InterruptedException {
+            HttpRequest.Builder pending = get("/api/shopping-requests/pending");
+            if (pendingETag != null) {
+                pending.header("If-None-Match", pendingETag);
+            }
+            HttpResponse<String> feed = send("GET /api/shopping-requests/pending", pending);
+            if (feed == null) {
+                return;
+            }
+            if (feed.statusCode() == 200) {
+                pendingETag = feed.headers().firstValue("ETag").orElse(null);
+                List<Long> ids = new ArrayList<>();
+                JsonNode requests = json(feed);
+                if (requests != null) {
+                    requests.forEach(request -> ids.add(request.get("id").asLong()));
+                }
+                pendingIds = ids;
+            }
+            if (pendingIds.isEmpty()) {
+                return;
+            }
+
+            long requestId = pendingIds.get(ThreadLocalRandom.current().nextInt(pendingIds.size()));
+            // Shoppers race for the same requests; a lost race shows up as a 400 on accept
+            if (json(send("POST /api/shopping-requests/{id}/accept", post("/api/shopping-requests/" + requestId + "/accept"))) == null) {
+                return;
+            }
+
+            send("POST /api/chat", postJson("/api/chat", Map.of(
+                    "shoppingRequestId", requestId,
+                    "messageContent", "On my way to the store now.")));
+            send("POST /api/shopping-requests/{id}/start-shopping", post("/api/shopping-requests/" + requestId + "/start-shopping"));
+            send("POST /api/shopping-requests/{id}/complete", post("/api/shopping-requests/" + requestId + "/complete"));
+            send("GET /api/shopping-requests/shopper/my-requests", get("/api/shopping-requests/shopper/my-requests"));
+        }
+
+        private Map<String, Object> newShoppingRequest() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<Map<String, Object>> items = new ArrayList<>();
+            int itemCount = random.nextInt(3, 15);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(Map.of("name", "Item " + random.nextInt(200), "amount", random.nextInt(1, 4),
+                        "category", "Groceries"));
+            }
+            Map<String, Object> request = new HashMap<>();
+            request.put("items", items);
+            request.put("deliveryAddress", random.nextInt(1, 200) + " Load Test Road, Dublin");
+            request.put("estimatedItemsPrice", 20.0 + random.nextInt(100));
+            request.put("deliveryFee", 8.0 + random.nextInt(8));
+            request.put("storeName", "Load Test Store " + random.nextInt(1, 30));
+            request.put("storeAddress", random.nextInt(1, 100) + " Store Street, Dublin");
+            return request;
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return HttpRequest.newBuilder(uri(path)).GET();
+        }
+
+        private HttpRequest.Builder post(String path) {
+            return HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.noBody());
+        }
+
+        private HttpRequest.Builder postJson(String path, Object body) {
+            try {
+                return HttpRequest.newBuilder(uri(path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(body)));
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to serialize request body", e);
+            }
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+            if (sessionCookie != null) {
+                request.header("Cookie", sessionCookie);
+            }
+            request.timeout(Duration.ofSeconds(30));
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                report.record(endpoint, response.statusCode(), System.nanoTime() - start);
+                return response.statusCode() < 400 ? response : null;
+            } catch (IOException e) {
+                report.record(endpoint, 0, System.nanoTime() - start);
+                return null;
+            }
+        }
+
+        private JsonNode json(HttpResponse<String> response) {
+            if (response == null || response.body() == null || response.body().isEmpty()) {
+                return null;
+            }
+            try {
+                return OBJECT_MAPPER.readTree(response.body());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    record Settings(String baseUrl, int customers, int shoppers, long durationSeconds, long rampUpSeconds,
+                    long thinkTimeMillis, String password) {
+
+        static Settings parse(String[] args) {
+            Map<String, String> options = new HashMap<>();
+            for (String arg : args) {
+                if (arg.startsWith("--") && arg.contains("=")) {
+                    int separator = arg.indexOf('=');
+                    options.put(arg.substring(2, separator), arg.substring(separator + 1));
+                }
+            }
+            return new Settings(
+                    options.getOrDefault("base-url", "http://localhost:8080"),
+                    Integer.parseInt(options.getOrDefault("customers", "20")),
+                    Integer.parseInt(options.getOrDefault("shoppers", "10")),
+                    Long.parseLong(options.getOrDefault("duration", "60")),
+                    Long.parseLong(options.getOrDefault("ramp-up", "10")),
+                    Long.parseLong(options.getOrDefault("think-time-ms", "500")),
+                    options.getOrDefault("password", "LoadTest1!"));
+        }
+
+        Settings withBaseUrl(String baseUrl) {
+            return new Settings(baseUrl, customers, shoppers, durationSeconds, rampUpSeconds, thinkTimeMillis, password);
+        }
+    }
+}
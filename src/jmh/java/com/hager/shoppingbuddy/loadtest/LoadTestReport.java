@@ -0,0 +1,93 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint request counts and latency histograms collected by {@link LoadTestDriver}.
+ */
+final class LoadTestReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private long elapsedNanos;
+
+    void record(String endpoint, int status, long elapsedNanos) {
+        endpoints.computeIfAbsent(endpoint, e -> new EndpointStats()).record(status, elapsedNanos);
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    String summary() {
+        Histogram total = total();
+        return String.format("%d requests, %.1f req/s, p50 %.1f ms, p99 %.1f ms, %d errors",
+                total.getTotalCount(),
+                total.getTotalCount() / (elapsedNanos / 1e9),
+                total.getValueAtPercentile(50) / 1000.0,
+                total.getValueAtPercentile(99) / 1000.0,
+                endpoints.values().stream().mapToLong(s -> s.clientErrors.sum() + s.serverErrors.sum()).sum());
+    }
+
+    void print() {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%nCompleted in %.1f s%n%n", seconds);
+        System.out.printf("%-52s %8s %6s %6s %8s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "4xx", "5xx", "Req/s", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long clientErrors = 0;
+        long serverErrors = 0;
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            EndpointStats stats = entry.getValue();
+            Histogram latencies = stats.latencies.copy();
+            total.add(latencies);
+            clientErrors += stats.clientErrors.sum();
+            serverErrors += stats.serverErrors.sum();
+            printRow(entry.getKey(), latencies, stats.clientErrors.sum(), stats.serverErrors.sum(), seconds);
+        }
+        printRow("Total", total, clientErrors, serverErrors, seconds);
+    }
+
+    private Histogram total() {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        endpoints.values().forEach(stats -> total.add(stats.latencies.copy()));
+        return total;
+    }
+
+    private static void printRow(String endpoint, Histogram latencies, long clientErrors, long serverErrors, double seconds) {
+        System.out.printf("%-52s %8d %6d %6d %8.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint,
+                latencies.getTotalCount(),
+                clientErrors,
+                serverErrors,
+                latencies.getTotalCount() / seconds,
+                latencies.getValueAtPercentile(50) / 1000.0,
+                latencies.getValueAtPercentile(95) / 1000.0,
+                latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getMaxValue() / 1000.0);
+    }
+
+    private static final class EndpointStats {
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+
+        private void record(int status, long elapsedNanos) {
+            latencies.recordValue(Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), 1), HIGHEST_TRACKABLE_MICROS));
+            if (status >= 400 && status < 500) {
+                clientErrors.increment();
+            } else if (status >= 500 || status == 0) {
+                serverErrors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import com.hager.shoppingbuddy.ShoppingbuddyApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the load test driver against the application twice, once on platform threads (Tomcat's 200-thread
+ * pool) and once on virtual threads, and prints both reports followed by a side-by-side summary. The
+ * application is started in-process with the {@code dev,loadtest} profiles, so it needs the dev database
+ * from docker-compose.yml:
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:java -Dexec.mainClass=com.hager.shoppingbuddy.loadtest.ThreadingModeComparison \
+ *     -Dexec.args="--customers=700 --shoppers=300 --duration=120 --ramp-up=30"
+ * </pre>
+ * The defaults model 1,000 concurrent users. Driver and server share the machine, so compare the two modes
+ * with each other rather than against production numbers.
+ */
+public final class ThreadingModeComparison {
+
+    private ThreadingModeComparison() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] defaults = {"--customers=700", "--shoppers=300", "--duration=120", "--ramp-up=30"};
+        String[] merged = new String[defaults.length + args.length];
+        System.arraycopy(defaults, 0, merged, 0, defaults.length);
+        System.arraycopy(args, 0, merged, defaults.length, args.length);
+        LoadTestDriver.Settings settings = LoadTestDriver.Settings.parse(merged);
+
+        Map<String, LoadTestReport> reports = new LinkedHashMap<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            String mode = virtualThreads ? "virtual threads" : "platform threads";
+            System.out.printf("%n=== %s ===%n", mode);
+            try (ConfigurableApplicationContext context = start(virtualThreads, settings)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                LoadTestReport report = LoadTestDriver.run(settings.withBaseUrl("http://localhost:" + port));
+                report.print();
+                reports.put(mode, report);
+            }
+        }
+
+        System.out.printf("%n=== Summary: %d concurrent users ===%n", settings.customers() + settings.shoppers());
+        reports.forEach((mode, report) -> System.out.printf("%-17s %s%n", mode, report.summary()));
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads, LoadTestDriver.Settings settings) {
+        return new SpringApplicationBuilder(ShoppingbuddyApplication.class).run(
+                "--spring.profiles.active=dev,loadtest",
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--shoppingbuddy.loadtest.customers=" + settings.customers(),
+                "--shoppingbuddy.loadtest.shoppers=" + settings.shoppers(),
+                "--shoppingbuddy.loadtest.password=" + settings.password());
+    }
+}
@@ -0,0 +1,39 @@
+package com.hager.shoppingbuddy.presence;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heartbeats from 5,000 shoppers into one store from four threads, as several request threads would deliver
+ * them. Run with -Djmh.args="LocationStoreBenchmark".
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LocationStoreBenchmark {
+
+    private static final int SHOPPERS = 5_000;
+
+    private LocationStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new LocationStore();
+        for (long id = 1; id <= SHOPPERS; id++) {
+            store.update(id, 53.35, -6.26, System.currentTimeMillis());
+        }
+    }
+
+    @Benchmark
+    public boolean heartbeat() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return store.update(1 + random.nextInt(SHOPPERS), 53.3 + random.nextDouble() * 0.1,
+                -6.3 + random.nextDouble() * 0.1, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,96 @@
+package com.hager.shoppingbuddy.ranking;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.spatial.GeoDistance;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks 50,000 open requests spread over greater Dublin for a shopper at a random position. {@code topK} is
+ * the {@link RankingIndex} query: requests with a store within {@code radiusKm}, best 20 kept in a heap, at 5 km
+ * and at the configured 15 km. {@code fullSort} is the baseline it replaces, scoring every open request and
+ * sorting them all. Run with
+ * -Djmh.args="RankingIndexBenchmark".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RankingIndexBenchmark {
+
+    private static final int REQUESTS = 50_000;
+    private static final int LIMIT = 20;
+    private static final double LATITUDE = 53.35;
+    private static final double LONGITUDE = -6.26;
+    private static final RankingWeights WEIGHTS = new RankingWeights(1.0, 0.5, 2.0, 0.02, 30);
+
+    @Param({"5", "15"})
+    private double radiusKm;
+
+    private RankingIndex index;
+    private List<RankingIndex.Candidate> all;
+    private Random random;
+    private long nowMillis;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        Instant now = Instant.parse("2026-01-01T12:00:00Z");
+        nowMillis = now.toEpochMilli();
+        index = new RankingIndex();
+        all = new ArrayList<>(REQUESTS);
+        for (long id = 1; id <= REQUESTS; id++) {
+            ShoppingRequestResponse request = ShoppingRequestResponse.builder()
+                    .id(id)
+                    .storeLatitude(randomLatitude())
+                    .storeLongitude(randomLongitude())
+                    .latitude(randomLatitude())
+                    .longitude(randomLongitude())
+                    .deliveryFee(8 + random.nextInt(20))
+                    .createdAt(now.minusSeconds(random.nextInt(7_200)))
+                    .build();
+            index.requestOpened(request);
+            all.add(new RankingIndex.Candidate(request,
+                    GeoDistance.haversineKm(request.getStoreLatitude(), request.getStoreLongitude(),
+                            request.getLatitude(), request.getLongitude()),
+                    request.getCreatedAt().toEpochMilli()));
+        }
+    }
+
+    @Benchmark
+    public List<RankingIndex.Ranked> topK() {
+        return index.top(randomLatitude(), randomLongitude(), radiusKm, LIMIT, WEIGHTS, nowMillis);
+    }
+
+    @Benchmark
+    public List<RankingIndex.Ranked> fullSort() {
+        double latitude = randomLatitude();
+        double longitude = randomLongitude();
+        List<RankingIndex.Ranked> ranked = new ArrayList<>(all.size());
+        for (RankingIndex.Candidate candidate : all) {
+            ShoppingRequestResponse request = candidate.request();
+            double pickupKm = GeoDistance.haversineKm(latitude, longitude,
+                    request.getStoreLatitude(), request.getStoreLongitude());
+            ranked.add(new RankingIndex.Ranked(request, RankingIndex.score(candidate, pickupKm, WEIGHTS, nowMillis),
+                    pickupKm, candidate.deliveryKm()));
+        }
+        ranked.sort(Comparator.comparingDouble(RankingIndex.Ranked::score).reversed());
+        return ranked.subList(0, LIMIT);
+    }
+
+    private double randomLatitude() {
+        return LATITUDE + (random.nextDouble() - 0.5) * 0.3;
+    }
+
+    private double randomLongitude() {
+        return LONGITUDE + (random.nextDouble() - 0.5) * 0.5;
+    }
+}
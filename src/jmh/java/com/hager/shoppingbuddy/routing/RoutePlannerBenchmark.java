@@ -0,0 +1,76 @@
+package com.hager.shoppingbuddy.routing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans a route for a shopper carrying 5 or 10 requests, so 10 or 20 stops, spread across Dublin. {@code cached}
+ * builds the distance matrix from a warm pair cache, as when a shopper replans with the same requests;
+ * {@code uncached} computes every distance, as for a new set of requests. The planner itself is the rest of the
+ * time. Run with -Djmh.args="RoutePlannerBenchmark".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoutePlannerBenchmark {
+
+    private static final int INSTANCES = 64;
+    private static final double LATITUDE = 53.35;
+    private static final double LONGITUDE = -6.26;
+
+    @Param({"5", "10"})
+    private int requests;
+
+    private List<List<RouteRequest>> instances;
+    private DistanceMatrixCache warmCache;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        instances = new ArrayList<>(INSTANCES);
+        long id = 0;
+        for (int i = 0; i < INSTANCES; i++) {
+            List<RouteRequest> instance = new ArrayList<>(requests);
+            for (int r = 0; r < requests; r++) {
+                instance.add(new RouteRequest(++id, latitude(random), longitude(random),
+                        latitude(random), longitude(random)));
+            }
+            instances.add(instance);
+        }
+        warmCache = new DistanceMatrixCache(100_000);
+        instances.forEach(instance -> warmCache.build(instance, LATITUDE, LONGITUDE));
+    }
+
+    @Benchmark
+    public int[] cached() {
+        List<RouteRequest> instance = nextInstance();
+        return RoutePlanner.plan(warmCache.build(instance, LATITUDE, LONGITUDE), instance.size());
+    }
+
+    @Benchmark
+    public int[] uncached() {
+        List<RouteRequest> instance = nextInstance();
+        return RoutePlanner.plan(new DistanceMatrixCache(1_000).build(instance, LATITUDE, LONGITUDE), instance.size());
+    }
+
+    private List<RouteRequest> nextInstance() {
+        next = (next + 1) % INSTANCES;
+        return instances.get(next);
+    }
+
+    private static double latitude(Random random) {
+        return LATITUDE + (random.nextDouble() - 0.5) * 0.15;
+    }
+
+    private static double longitude(Random random) {
+        return LONGITUDE + (random.nextDouble() - 0.5) * 0.25;
+    }
+}
@@ -0,0 +1,94 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.entity.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory entity graphs shaped like production data, so the service benchmarks run without a database.
+ */
+final class BenchmarkFixtures {
+
+    static final Instant NOW = Instant.parse("2025-06-01T10:00:00Z");
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id, String firstName, UserRole role) {
+        return User.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName("Murphy")
+                .email(firstName.toLowerCase() + id + "@shopping-buddy.shop")
+                .phoneNumber("+353871234567")
+                .passwordHash("benchmark")
+                .role(role)
+                .isEnabled(true)
+                .createdAt(NOW)
+                .build();
+    }
+
+    static ShoppingRequest shoppingRequest(long id, int itemCount) {
+        Customer customer = Customer.builder().id(id).user(user(id, "Aoife", UserRole.CUSTOMER)).build();
+        Shopper shopper = Shopper.builder().id(id).user(user(id + 1, "Cian", UserRole.SHOPPER)).build();
+
+        ShoppingRequest request = ShoppingRequest.builder()
+                .id(id)
+                .customer(customer)
+                .shopper(shopper)
+                .status(ShoppingRequestStatus.ACCEPTED)
+                .paymentStatus(PaymentStatus.AUTHORIZED)
+                .deliveryAddress("12 Grafton Street, Dublin 2")
+                .latitude(53.3419)
+                .longitude(-6.2597)
+                .storeName("Tesco Express")
+                .storeAddress("1 Baggot Street, Dublin 2")
+                .storeLatitude(53.3361)
+                .storeLongitude(-6.2519)
+                .estimatedItemsPrice(84.5)
+                .deliveryFee(12.0)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(Item.builder()
+                    .id(id * 1_000 + i)
+                    .shoppingRequest(request)
+                    .name("Item " + i)
+                    .description("Brand " + i % 7 + ", any size")
+                    .amount(1 + i % 3)
+                    .category("Groceries")
+                    .build());
+        }
+        request.setItems(items);
+        return request;
+    }
+
+    static Payment payment(long shoppingRequestId) {
+        return Payment.builder()
+                .id(shoppingRequestId)
+                .shoppingRequestId(shoppingRequestId)
+                .customerId(shoppingRequestId)
+                .amount(new BigDecimal("96.50"))
+                .status(PaymentStatus.AUTHORIZED)
+                .stripePaymentIntentId("pi_3PbenchmarkIntent" + shoppingRequestId)
+                .stripeClientSecret("pi_3PbenchmarkIntent" + shoppingRequestId + "_secret_benchmark")
+                .createdTimestamp(NOW)
+                .build();
+    }
+
+    static ShoppingRequestService shoppingRequestService() {
+        PaymentService paymentService = new PaymentService(null, null) {
+            @Override
+            public Payment getPaymentByShoppingRequestId(Long shoppingRequestId) {
+                return payment(shoppingRequestId);
+            }
+        };
+        return new ShoppingRequestService(null, null, null, null, null, paymentService, null, null, null, null);
+    }
+}
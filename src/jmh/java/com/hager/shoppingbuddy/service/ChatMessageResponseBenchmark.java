@@ -0,0 +1,44 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.ChatMessageResponse;
+import com.hager.shoppingbuddy.entity.ChatMessage;
+import com.hager.shoppingbuddy.entity.ShoppingRequest;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.entity.UserRole;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat message to DTO mapping, run once per message when a conversation is loaded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatMessageResponseBenchmark {
+
+    private ChatMessageService chatMessageService;
+    private ChatMessage chatMessage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        chatMessageService = new ChatMessageService(null, null, null);
+        ShoppingRequest shoppingRequest = BenchmarkFixtures.shoppingRequest(1L, 0);
+        User sender = BenchmarkFixtures.user(1L, "Aoife", UserRole.CUSTOMER);
+        chatMessage = ChatMessage.builder()
+                .id(1L)
+                .shoppingRequest(shoppingRequest)
+                .sender(sender)
+                .messageContent("Could you get the large oat milk if they have it? Thanks!")
+                .timestamp(BenchmarkFixtures.NOW)
+                .build();
+    }
+
+    @Benchmark
+    public ChatMessageResponse mapToResponse() {
+        return chatMessageService.mapToResponse(chatMessage);
+    }
+}
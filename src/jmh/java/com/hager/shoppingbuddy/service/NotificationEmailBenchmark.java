@@ -0,0 +1,60 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.entity.ShoppingRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email subject and HTML body construction for the notifications sent on each lifecycle change. Mail
+ * delivery is replaced by a sink, so only the builders are measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NotificationEmailBenchmark {
+
+    private ShoppingRequestNotificationService notificationService;
+    private ShoppingRequest shoppingRequest;
+    private String cancelledBy;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        EmailService sink = new EmailService(null, null, null) {
+            @Override
+            public void sendAsync(String to, String subject, String email) {
+                blackhole.consume(subject);
+                blackhole.consume(email);
+            }
+        };
+        notificationService = new ShoppingRequestNotificationService(sink);
+        ReflectionTestUtils.setField(notificationService, "baseUrl", "https://shopping-buddy.shop");
+        shoppingRequest = BenchmarkFixtures.shoppingRequest(1L, 10);
+        cancelledBy = shoppingRequest.getCustomer().getUser().getEmail();
+    }
+
+    @Benchmark
+    public void shoppingRequestCreated() {
+        notificationService.notifyShoppingRequestCreated(shoppingRequest);
+    }
+
+    @Benchmark
+    public void shoppingRequestAccepted() {
+        notificationService.notifyShoppingRequestAccepted(shoppingRequest);
+    }
+
+    @Benchmark
+    public void shoppingCompleted() {
+        notificationService.notifyShoppingCompleted(shoppingRequest);
+    }
+
+    @Benchmark
+    public void shoppingRequestCancelled() {
+        notificationService.notifyShoppingRequestCancelled(shoppingRequest, cancelledBy);
+    }
+}
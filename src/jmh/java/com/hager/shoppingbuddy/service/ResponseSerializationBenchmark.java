@@ -0,0 +1,44 @@
+package com.hager.shoppingbuddy.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of shopping request lists, as returned by the customer, shopper and pending endpoints.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int requestCount;
+
+    private ObjectMapper objectMapper;
+    private List<ShoppingRequestResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ShoppingRequestService shoppingRequestService = BenchmarkFixtures.shoppingRequestService();
+        responses = new ArrayList<>(requestCount);
+        for (int i = 0; i < requestCount; i++) {
+            responses.add(shoppingRequestService.convertToResponse(BenchmarkFixtures.shoppingRequest(i + 1L, 10)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,36 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.ShoppingRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion behind every shopping request endpoint, for small and large item lists.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShoppingRequestResponseBenchmark {
+
+    @Param({"5", "50"})
+    private int itemCount;
+
+    private ShoppingRequestService shoppingRequestService;
+    private ShoppingRequest shoppingRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        shoppingRequestService = BenchmarkFixtures.shoppingRequestService();
+        shoppingRequest = BenchmarkFixtures.shoppingRequest(1L, itemCount);
+    }
+
+    @Benchmark
+    public ShoppingRequestResponse convertToResponse() {
+        return shoppingRequestService.convertToResponse(shoppingRequest);
+    }
+}
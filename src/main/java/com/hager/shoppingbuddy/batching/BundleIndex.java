@@ -0,0 +1,206 @@
+package com.hager.shoppingbuddy.batching;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.spatial.GeoDistance;
+import com.hager.shoppingbuddy.spatial.GridIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Open requests grouped into bundles a shopper can do in one trip: the same store, and deliveries close to each
+ * other. A store is a directory store by id, or else any store within {@code storeRadiusKm} of the first store
+ * seen there. Grouping is incremental: an opened request joins the bundle at its store whose delivery centroid
+ * is nearest, if within {@code deliveryRadiusKm} and not full, or starts a new one, and a closed request just
+ * leaves its bundle. Bundles are never regrouped, so one may end up smaller than a fresh grouping would make
+ * it. Not thread-safe.
+ */
+public class BundleIndex {
+
+    private static final double CELL_DEGREES = 0.01;
+
+    private final double storeRadiusKm;
+    private final double deliveryRadiusKm;
+    private final int maxBundleSize;
+    private final GridIndex<StoreGroup> stores = new GridIndex<>(CELL_DEGREES);
+    private final Map<Long, StoreGroup> storesById = new HashMap<>();
+    private final Map<Long, Bundle> bundlesByRequest = new HashMap<>();
+    private final Map<Long, Bundle> bundles = new HashMap<>();
+    private long nextStoreGroupId;
+    private long nextBundleId;
+
+    public BundleIndex(double storeRadiusKm, double deliveryRadiusKm, int maxBundleSize) {
+        this.storeRadiusKm = storeRadiusKm;
+        this.deliveryRadiusKm = deliveryRadiusKm;
+        this.maxBundleSize = maxBundleSize;
+    }
+
+    /**
+     * Adds the request, or regroups it if it is already indexed. Requests without both store and delivery
+     * coordinates cannot be bundled and are ignored.
+     */
+    public void requestOpened(ShoppingRequestResponse request) {
+        requestClosed(request.getId());
+        if (request.getStoreLatitude() == null || request.getStoreLongitude() == null
+                || request.getLatitude() == null || request.getLongitude() == null) {
+            return;
+        }
+        StoreGroup store = findOrCreateStore(request);
+        Bundle bundle = null;
+        double bestKm = deliveryRadiusKm;
+        for (Bundle candidate : store.bundles) {
+            double km = GeoDistance.haversineKm(candidate.centroidLatitude(), candidate.centroidLongitude(),
+                    request.getLatitude(), request.getLongitude());
+            if (candidate.requests.size() < maxBundleSize && km <= bestKm) {
+                bundle = candidate;
+                bestKm = km;
+            }
+        }
+        if (bundle == null) {
+            bundle = new Bundle(++nextBundleId, store);
+            store.bundles.add(bundle);
+            bundles.put(bundle.id, bundle);
+        }
+        bundle.add(request);
+        bundlesByRequest.put(request.getId(), bundle);
+    }
+
+    public void requestClosed(long requestId) {
+        Bundle bundle = bundlesByRequest.remove(requestId);
+        if (bundle == null) {
+            return;
+        }
+        bundle.remove(requestId);
+        if (bundle.requests.isEmpty()) {
+            bundles.remove(bundle.id);
+            StoreGroup store = bundle.store;
+            store.bundles.remove(bundle);
+            if (store.bundles.isEmpty()) {
+                stores.remove(store.id);
+                if (store.storeId != null) {
+                    storesById.remove(store.storeId);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the requests of a bundle of at least two, or an empty list if there is no such bundle any more
+     */
+    public List<ShoppingRequestResponse> getBundle(long bundleId) {
+        Bundle bundle = bundles.get(bundleId);
+        return bundle == null || bundle.requests.size() < 2 ? List.of() : List.copyOf(bundle.requests.values());
+    }
+
+    /**
+     * @return bundles of at least two requests at stores within {@code radiusKm}, nearest store first
+     */
+    public List<BundleView> near(double latitude, double longitude, double radiusKm, int limit) {
+        List<BundleView> result = new ArrayList<>();
+        List<GridIndex.Neighbour<StoreGroup>> nearby = stores.within(latitude, longitude, radiusKm, store -> true);
+        nearby.sort(Comparator.comparingDouble(GridIndex.Neighbour::distanceKm));
+        for (GridIndex.Neighbour<StoreGroup> neighbour : nearby) {
+            for (Bundle bundle : neighbour.value().bundles) {
+                if (bundle.requests.size() >= 2) {
+                    result.add(bundle.view(neighbour.distanceKm()));
+                }
+            }
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    /**
+     * @return the largest bundles, for a shopper with no known position
+     */
+    public List<BundleView> largest(int limit) {
+        return bundles.values().stream()
+                .filter(bundle -> bundle.requests.size() >= 2)
+                .sorted(Comparator.comparingInt((Bundle bundle) -> bundle.requests.size()).reversed()
+                        .thenComparingLong(bundle -> bundle.id))
+                .limit(limit)
+                .map(bundle -> bundle.view(null))
+                .toList();
+    }
+
+    public int getRequestCount() {
+        return bundlesByRequest.size();
+    }
+
+    private StoreGroup findOrCreateStore(ShoppingRequestResponse request) {
+        Long storeId = request.getStoreId();
+        if (storeId != null && storesById.containsKey(storeId)) {
+            return storesById.get(storeId);
+        }
+        if (storeId == null) {
+            List<GridIndex.Neighbour<StoreGroup>> nearest = stores.nearest(request.getStoreLatitude(),
+                    request.getStoreLongitude(), 1, storeRadiusKm, store -> true);
+            if (!nearest.isEmpty()) {
+                return nearest.get(0).value();
+            }
+        }
+        StoreGroup store = new StoreGroup(++nextStoreGroupId, storeId);
+        stores.put(store.id, request.getStoreLatitude(), request.getStoreLongitude(), store);
+        if (storeId != null) {
+            storesById.put(storeId, store);
+        }
+        return store;
+    }
+
+    public record BundleView(long bundleId, Double distanceKm, List<ShoppingRequestResponse> requests) {
+    }
+
+    private static final class StoreGroup {
+        private final long id;
+        private final Long storeId;
+        private final List<Bundle> bundles = new ArrayList<>();
+
+        private StoreGroup(long id, Long storeId) {
+            this.id = id;
+            this.storeId = storeId;
+        }
+    }
+
+    private static final class Bundle {
+        private final long id;
+        private final StoreGroup store;
+        private final Map<Long, ShoppingRequestResponse> requests = new LinkedHashMap<>();
+        private double latitudeSum;
+        private double longitudeSum;
+
+        private Bundle(long id, StoreGroup store) {
+            this.id = id;
+            this.store = store;
+        }
+
+        private void add(ShoppingRequestResponse request) {
+            requests.put(request.getId(), request);
+            latitudeSum += request.getLatitude();
+            longitudeSum += request.getLongitude();
+        }
+
+        private void remove(long requestId) {
+            ShoppingRequestResponse request = requests.remove(requestId);
+            latitudeSum -= request.getLatitude();
+            longitudeSum -= request.getLongitude();
+        }
+
+        private double centroidLatitude() {
+            return latitudeSum / requests.size();
+        }
+
+        private double centroidLongitude() {
+            return longitudeSum / requests.size();
+        }
+
+        private BundleView view(Double distanceKm) {
+            return new BundleView(id, distanceKm, List.copyOf(requests.values()));
+        }
+    }
+}
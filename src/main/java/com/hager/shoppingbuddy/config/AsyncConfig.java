@@ -0,0 +1,110 @@
+package com.hager.shoppingbuddy.config;
+
+import com.hager.shoppingbuddy.resilience.BoundedTaskExecutor;
+import com.hager.shoppingbuddy.service.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+
+/**
+ * Executor for notification emails, which are sent after the request that triggered them has returned. It
+ * follows {@code spring.threads.virtual.enabled}: one virtual thread per email, or a fixed platform pool.
+ * Both are capped at {@code shoppingbuddy.notifications.max-concurrency} concurrent SMTP sends and hold at most
+ * {@code shoppingbuddy.notifications.queue-capacity} waiting emails; submitting never blocks the caller, and
+ * emails beyond that are rejected and counted in {@code shoppingbuddy.executor.rejected}. Tracking and
+ * shopper notification streams are written on a second executor of the same kind, so a slow SMTP server never
+ * delays them.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${shoppingbuddy.notifications.max-concurrency}")
+    private int maxConcurrency;
+
+    @Value("${shoppingbuddy.notifications.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${shoppingbuddy.tracking.max-concurrent-sends}")
+    private int maxTrackingSends;
+
+    @Value("${shoppingbuddy.tracking.queue-capacity}")
+    private int trackingQueueCapacity;
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskExecutor notificationExecutor(MeterRegistry meterRegistry) {
+        SimpleAsyncTaskExecutor threads = new SimpleAsyncTaskExecutor("notification-");
+        threads.setVirtualThreads(true);
+        threads.setTaskTerminationTimeout(30_000);
+        return new BoundedTaskExecutor(threads, maxConcurrency, queueCapacity,
+                rejectionCounter(meterRegistry, "notification"));
+    }
+
+    @Bean(name = "notificationExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public TaskExecutor platformNotificationExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("notification-");
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(countingAbortPolicy(rejectionCounter(meterRegistry, "notification")));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskExecutor trackingExecutor(MeterRegistry meterRegistry) {
+        SimpleAsyncTaskExecutor threads = new SimpleAsyncTaskExecutor("tracking-");
+        threads.setVirtualThreads(true);
+        return new BoundedTaskExecutor(threads, maxTrackingSends, trackingQueueCapacity,
+                rejectionCounter(meterRegistry, "tracking"));
+    }
+
+    @Bean(name = "trackingExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public TaskExecutor platformTrackingExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("tracking-");
+        executor.setCorePoolSize(maxTrackingSends);
+        executor.setMaxPoolSize(maxTrackingSends);
+        executor.setQueueCapacity(trackingQueueCapacity);
+        executor.setRejectedExecutionHandler(countingAbortPolicy(rejectionCounter(meterRegistry, "tracking")));
+        return executor;
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String executor) {
+        return Counter.builder("shoppingbuddy.executor.rejected")
+                .description("Tasks refused because the executor queue was full")
+                .tag("executor", executor)
+                .register(meterRegistry);
+    }
+
+    private static RejectedExecutionHandler countingAbortPolicy(Counter rejected) {
+        return (task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Executor queue is full (" + pool.getQueue().size() + " tasks waiting)");
+        };
+    }
+
+    @Bean
+    public MeterBinder notificationBacklogMetrics(EmailService emailService) {
+        return registry -> Gauge.builder("shoppingbuddy.notifications.pending", emailService, EmailService::getPendingEmails)
+                .description("Notification emails queued or being sent")
+                .register(registry);
+    }
+}
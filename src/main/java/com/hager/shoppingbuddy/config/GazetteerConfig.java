@@ -0,0 +1,24 @@
+package com.hager.shoppingbuddy.config;
+
+import com.hager.shoppingbuddy.geocoding.Gazetteer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty("shoppingbuddy.geocoding.gazetteer-path")
+public class GazetteerConfig {
+
+    @Bean
+    public Gazetteer gazetteer(@Value("${shoppingbuddy.geocoding.gazetteer-path}") Path path) throws IOException {
+        Gazetteer gazetteer = Gazetteer.open(path);
+        log.info("Mapped {} gazetteer entries from {}", gazetteer.size(), path);
+        return gazetteer;
+    }
+}
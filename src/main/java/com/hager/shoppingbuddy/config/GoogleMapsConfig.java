@@ -4,6 +4,9 @@ import com.google.maps.GeoApiContext;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class GoogleMapsConfig {
@@ -12,9 +15,14 @@ public class GoogleMapsConfig {
     private String apiKey;
 
     @Bean
+    @Profile("!loadtest")
     public GeoApiContext geoApiContext() {
+        // The client's defaults retry for up to a minute; keep a geocode well inside a request's time budget
         return new GeoApiContext.Builder()
                 .apiKey(apiKey)
+                .connectTimeout(2, TimeUnit.SECONDS)
+                .readTimeout(3, TimeUnit.SECONDS)
+                .retryTimeout(5, TimeUnit.SECONDS)
                 .build();
     }
 }
@@ -0,0 +1,68 @@
+package com.hager.shoppingbuddy.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.hager.shoppingbuddy.entity.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final List<String> ENTITY_REGIONS = List.of("users", "customers", "shoppers");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("classpath:hibernate-cache.conf"), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheHitRatioMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+            for (String region : ENTITY_REGIONS) {
+                Gauge.builder("shoppingbuddy.cache.hit.ratio", statistics, stats -> {
+                            CacheRegionStatistics regionStatistics = stats.getDomainDataRegionStatistics(region);
+                            return regionStatistics == null ? Double.NaN
+                                    : hitRatio(regionStatistics.getHitCount(), regionStatistics.getMissCount());
+                        })
+                        .description("Second-level cache hit ratio per region")
+                        .tag("region", region)
+                        .register(registry);
+            }
+
+            Gauge.builder("shoppingbuddy.cache.hit.ratio", statistics, stats -> {
+                        NaturalIdStatistics naturalIdStatistics = stats.getNaturalIdStatistics(User.class.getName());
+                        return hitRatio(naturalIdStatistics.getCacheHitCount(), naturalIdStatistics.getCacheMissCount());
+                    })
+                    .description("Second-level cache hit ratio per region")
+                    .tag("region", "users-natural-id")
+                    .register(registry);
+        };
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
@@ -1,5 +1,6 @@
 package com.hager.shoppingbuddy.config;
 
+import com.hager.shoppingbuddy.entity.UserRole;
 import com.hager.shoppingbuddy.service.UserService;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -28,6 +29,9 @@ public class WebSecurityConfig {
                     auth.requestMatchers(
                             "/api/user/login", "/api/user/register", "/api/user/confirm", "/api/contact/submit"
                     ).permitAll();
+                    // Actuator endpoints expose SQL, latency and cache statistics, so only health is public
+                    auth.requestMatchers("/actuator/health", "/actuator/health/**").permitAll();
+                    auth.requestMatchers("/actuator/**").hasAuthority(UserRole.ADMIN.name());
                     auth.anyRequest().authenticated();
                 })
                 .userDetailsService(userService)
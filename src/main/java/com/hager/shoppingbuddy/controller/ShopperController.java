@@ -1,18 +1,44 @@
 package com.hager.shoppingbuddy.controller;
 
+import com.hager.shoppingbuddy.dto.BundleAcceptRequest;
+import com.hager.shoppingbuddy.dto.DispatchOfferResponse;
+import com.hager.shoppingbuddy.dto.RankedRequestResponse;
+import com.hager.shoppingbuddy.dto.RequestBundleResponse;
+import com.hager.shoppingbuddy.dto.RoutePlanResponse;
+import com.hager.shoppingbuddy.dto.ShopperAvailabilityRequest;
+import com.hager.shoppingbuddy.dto.ShopperLocationRequest;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.exception.InvalidShoppingRequestActionException;
 import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
+import com.hager.shoppingbuddy.exception.ShoppingRequestNotFoundException;
 import com.hager.shoppingbuddy.exception.UnauthorizedRoleException;
+import com.hager.shoppingbuddy.service.BatchingService;
+import com.hager.shoppingbuddy.service.DispatchService;
+import com.hager.shoppingbuddy.service.RankingService;
+import com.hager.shoppingbuddy.service.RoutePlanningService;
+import com.hager.shoppingbuddy.service.ShopperNotificationService;
+import com.hager.shoppingbuddy.service.ShopperPresenceService;
 import com.hager.shoppingbuddy.service.ShopperService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -21,14 +47,148 @@ import java.math.BigDecimal;
 public class ShopperController {
 
     private final ShopperService shopperService;
+    private final DispatchService dispatchService;
+    private final ShopperPresenceService shopperPresenceService;
+    private final RoutePlanningService routePlanningService;
+    private final BatchingService batchingService;
+    private final RankingService rankingService;
+    private final ShopperNotificationService shopperNotificationService;
 
     @GetMapping("/balance")
     public ResponseEntity<BigDecimal> getBalance(Authentication authentication) throws ShopperNotFoundException, UnauthorizedRoleException {
-        if (!authentication.getAuthorities().contains(new SimpleGrantedAuthority("SHOPPER"))) {
-            throw new UnauthorizedRoleException("Access denied. Required role: SHOPPER");
-        }
+        verifyShopper(authentication);
 
         BigDecimal balance = shopperService.getShopperBalance(authentication.getName());
         return ResponseEntity.ok(balance);
     }
+
+    @PostMapping("/location")
+    public ResponseEntity<Void> recordLocation(
+            @Valid @RequestBody ShopperLocationRequest request,
+            Authentication authentication
+    ) throws ShopperNotFoundException, UnauthorizedRoleException {
+        verifyShopper(authentication);
+
+        shopperPresenceService.recordLocation(authentication.getName(), request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/home-area")
+    public ResponseEntity<Void> setHomeArea(
+            @Valid @RequestBody ShopperLocationRequest request,
+            Authentication authentication
+    ) throws ShopperNotFoundException, UnauthorizedRoleException {
+        verifyShopper(authentication);
+
+        shopperService.setHomeArea(authentication.getName(), request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = "/notifications", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(Authentication authentication)
+            throws ShopperNotFoundException, UnauthorizedRoleException {
+        verifyShopper(authentication);
+        log.info("Opening notification stream for shopper: {}", authentication.getName());
+
+        return shopperNotificationService.subscribe(authentication.getName());
+    }
+
+    @PutMapping("/availability")
+    public ResponseEntity<Void> setAvailability(
+            @Valid @RequestBody ShopperAvailabilityRequest request,
+            Authentication authentication
+    ) throws ShopperNotFoundException, UnauthorizedRoleException {
+        verifyShopper(authentication);
+
+        dispatchService.setAvailability(authentication.getName(), request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/availability")
+    public ResponseEntity<Void> clearAvailability(Authentication authentication)
+            throws ShopperNotFoundException, UnauthorizedRoleException {
+        verifyShopper(authentication);
+
+        dispatchService.clearAvailability(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/offers")
+    public ResponseEntity<List<DispatchOfferResponse>> getOffers(Authentication authentication)
+            throws ShopperNotFoundException, UnauthorizedRoleException {
+        verifyShopper(authentication);
+
+        return ResponseEntity.ok(dispatchService.getOffers(authentication.getName()));
+    }
+
+    @PostMapping("/offers/{requestId}/accept")
+    public ResponseEntity<ShoppingRequestResponse> acceptOffer(
+            @PathVariable Long requestId,
+            Authentication authentication
+    ) throws ShopperNotFoundException, UnauthorizedRoleException, InvalidShoppingRequestActionException,
+            ShoppingRequestNotFoundException {
+        verifyShopper(authentication);
+        log.info("Shopper {} accepting offer for shopping request {}", authentication.getName(), requestId);
+
+        return ResponseEntity.ok(dispatchService.acceptOffer(requestId, authentication.getName()));
+    }
+
+    @PostMapping("/offers/{requestId}/decline")
+    public ResponseEntity<Void> declineOffer(
+            @PathVariable Long requestId,
+            Authentication authentication
+    ) throws ShopperNotFoundException, UnauthorizedRoleException, InvalidShoppingRequestActionException {
+        verifyShopper(authentication);
+
+        dispatchService.declineOffer(requestId, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/ranked-requests")
+    public ResponseEntity<List<RankedRequestResponse>> getRankedRequests(
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication
+    ) throws ShopperNotFoundException, UnauthorizedRoleException, InvalidShoppingRequestActionException {
+        verifyShopper(authentication);
+
+        return ResponseEntity.ok(rankingService.getRankedRequests(authentication.getName(), latitude, longitude, limit));
+    }
+
+    @GetMapping("/bundles")
+    public ResponseEntity<List<RequestBundleResponse>> getBundles(Authentication authentication)
+            throws ShopperNotFoundException, UnauthorizedRoleException {
+        verifyShopper(authentication);
+
+        return ResponseEntity.ok(batchingService.getBundles(authentication.getName()));
+    }
+
+    @PostMapping("/bundles/{bundleId}/accept")
+    public ResponseEntity<List<ShoppingRequestResponse>> acceptBundle(
+            @PathVariable Long bundleId,
+            @Valid @RequestBody BundleAcceptRequest request,
+            Authentication authentication
+    ) throws ShopperNotFoundException, UnauthorizedRoleException, InvalidShoppingRequestActionException,
+            ShoppingRequestNotFoundException {
+        verifyShopper(authentication);
+        log.info("Shopper {} accepting bundle {}", authentication.getName(), bundleId);
+
+        return ResponseEntity.ok(batchingService.acceptBundle(bundleId, request.getRequestIds(),
+                authentication.getName()));
+    }
+
+    @GetMapping("/route")
+    public ResponseEntity<RoutePlanResponse> getRoute(Authentication authentication)
+            throws ShopperNotFoundException, UnauthorizedRoleException {
+        verifyShopper(authentication);
+
+        return ResponseEntity.ok(routePlanningService.planRoute(authentication.getName()));
+    }
+
+    private void verifyShopper(Authentication authentication) throws UnauthorizedRoleException {
+        if (!authentication.getAuthorities().contains(new SimpleGrantedAuthority("SHOPPER"))) {
+            throw new UnauthorizedRoleException("Access denied. Required role: SHOPPER");
+        }
+    }
 }
@@ -3,15 +3,23 @@ package com.hager.shoppingbuddy.controller;
 import com.hager.shoppingbuddy.dto.*;
 import com.hager.shoppingbuddy.entity.UserRole;
 import com.hager.shoppingbuddy.exception.*;
+import com.hager.shoppingbuddy.service.DeliveryQuoteService;
+import com.hager.shoppingbuddy.service.DispatchService;
+import com.hager.shoppingbuddy.service.MapClusterService;
+import com.hager.shoppingbuddy.service.PendingFeedService;
 import com.hager.shoppingbuddy.service.ShoppingRequestService;
+import com.hager.shoppingbuddy.service.TrackingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -22,12 +30,17 @@ import java.util.List;
 public class ShoppingRequestController {
 
     private final ShoppingRequestService shoppingRequestService;
+    private final PendingFeedService pendingFeedService;
+    private final DispatchService dispatchService;
+    private final TrackingService trackingService;
+    private final MapClusterService mapClusterService;
+    private final DeliveryQuoteService deliveryQuoteService;
 
     @PostMapping
     public ResponseEntity<ShoppingRequestResponse> createShoppingRequest(
             @Valid @RequestBody ShoppingRequestCreateRequest request,
             Authentication authentication
-    ) throws CustomerNotFoundException, UnauthorizedRoleException, PaymentException {
+    ) throws CustomerNotFoundException, UnauthorizedRoleException, StoreNotFoundException, PaymentException {
 
         verifyUserRole(authentication, UserRole.CUSTOMER);
         log.info("Creating shopping request for user: {}", authentication.getName());
@@ -39,12 +52,52 @@ public class ShoppingRequestController {
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<ShoppingRequestResponse>> getAllPendingRequests() {
+    public ResponseEntity<byte[]> getAllPendingRequests(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
         log.info("Retrieving all pending shopping requests");
 
-        List<ShoppingRequestResponse> responses = shoppingRequestService.getAllPendingRequests();
+        PendingFeedService.Snapshot snapshot = pendingFeedService.getSnapshot();
+        boolean gzipped = PendingFeedService.Snapshot.acceptsGzip(acceptEncoding);
+        if (snapshot.matches(ifNoneMatch, gzipped)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getETag(gzipped))
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
 
-        return ResponseEntity.ok(responses);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.getETag(gzipped))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getJson());
+    }
+
+    @GetMapping("/map-clusters")
+    public ResponseEntity<List<MapClusterResponse>> getMapClusters(
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east,
+            @RequestParam int zoom
+    ) {
+        log.info("Retrieving map clusters at zoom {}", zoom);
+        return ResponseEntity.ok(mapClusterService.getClusters(south, west, north, east, zoom));
+    }
+
+    @GetMapping("/quote")
+    public ResponseEntity<DeliveryQuoteResponse> getDeliveryQuote(
+            @RequestParam(required = false) Long storeId,
+            @RequestParam(required = false) String storeAddress,
+            @RequestParam String deliveryAddress
+    ) throws StoreNotFoundException, InvalidShoppingRequestActionException {
+        log.info("Quoting delivery fee for store {}", storeId != null ? storeId : storeAddress);
+        return ResponseEntity.ok(deliveryQuoteService.quote(storeId, storeAddress, deliveryAddress));
     }
 
     @GetMapping("/{requestId}")
@@ -85,6 +138,14 @@ public class ShoppingRequestController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping(value = "/{requestId}/tracking", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter trackShoppingRequest(@PathVariable Long requestId, Authentication authentication)
+            throws ShoppingRequestNotFoundException, UserNotFoundException, UnauthorizedRoleException {
+        log.info("Opening tracking stream for shopping request {} for user: {}", requestId, authentication.getName());
+
+        return trackingService.subscribe(requestId, authentication.getName());
+    }
+
     @PostMapping("/{requestId}/accept")
     public ResponseEntity<ShoppingRequestResponse> acceptShoppingRequest(
             @PathVariable Long requestId,
@@ -95,6 +156,8 @@ public class ShoppingRequestController {
         verifyUserRole(authentication, UserRole.SHOPPER);
         log.info("Accepting shopping request {} by shopper: {}", requestId, authentication.getName());
 
+        dispatchService.checkNotReserved(requestId, authentication.getName());
+
         ShoppingRequestResponse response = shoppingRequestService.acceptShoppingRequest(
                 requestId, authentication.getName());
 
@@ -168,7 +231,8 @@ public class ShoppingRequestController {
             @PathVariable Long requestId,
             @Valid @RequestBody ShoppingRequestUpdateRequest request,
             Authentication authentication
-    ) throws CustomerNotFoundException, UnauthorizedRoleException, ShoppingRequestNotFoundException, InvalidShoppingRequestActionException {
+    ) throws CustomerNotFoundException, UnauthorizedRoleException, ShoppingRequestNotFoundException,
+            InvalidShoppingRequestActionException, StoreNotFoundException {
 
         verifyUserRole(authentication, UserRole.CUSTOMER);
         log.info("Updating shopping request {} for customer: {}", requestId, authentication.getName());
@@ -0,0 +1,51 @@
+package com.hager.shoppingbuddy.controller;
+
+import com.hager.shoppingbuddy.dto.StoreCreateRequest;
+import com.hager.shoppingbuddy.dto.StoreResponse;
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
+import com.hager.shoppingbuddy.exception.InvalidStoreException;
+import com.hager.shoppingbuddy.exception.StoreNotFoundException;
+import com.hager.shoppingbuddy.service.StoreDirectory;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/stores")
+@RequiredArgsConstructor
+public class StoreController {
+
+    private final StoreDirectory storeDirectory;
+
+    @GetMapping
+    public ResponseEntity<List<StoreResponse>> searchStores(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(storeDirectory.searchStores(query, limit));
+    }
+
+    @GetMapping("/{storeId}")
+    public ResponseEntity<StoreResponse> getStoreById(@PathVariable Long storeId) throws StoreNotFoundException {
+        return ResponseEntity.ok(storeDirectory.getStoreById(storeId));
+    }
+
+    @PostMapping
+    public ResponseEntity<StoreResponse> registerStore(
+            @Valid @RequestBody StoreCreateRequest request,
+            Authentication authentication
+    ) throws InvalidStoreException, DependencyUnavailableException {
+        log.info("User {} registering store: {}", authentication.getName(), request.getName());
+
+        StoreResponse response = storeDirectory.registerStore(request);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
@@ -25,7 +25,8 @@ public class UserController {
     private UserService userService;
 
     @PostMapping("/register")
-    public ResponseEntity<RegistrationResponse> register(@RequestBody @Valid RegistrationRequest registrationRequest) throws EmailAlreadyExistsException {
+    public ResponseEntity<RegistrationResponse> register(@RequestBody @Valid RegistrationRequest registrationRequest)
+            throws EmailAlreadyExistsException, UnauthorizedRoleException {
         log.info("Received registration request for user: {}", registrationRequest.getEmail());
 
         boolean isSuccessful = userService.register(registrationRequest);
@@ -61,6 +61,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    @ExceptionHandler(StoreNotFoundException.class)
+    public ResponseEntity<String> handleStoreNotFoundException(StoreNotFoundException ex) {
+        log.error("StoreNotFoundException: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidStoreException.class)
+    public ResponseEntity<String> handleInvalidStoreException(InvalidStoreException ex) {
+        log.error("InvalidStoreException: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(DependencyUnavailableException.class)
+    public ResponseEntity<String> handleDependencyUnavailableException(DependencyUnavailableException ex) {
+        log.error("DependencyUnavailableException: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
     @ExceptionHandler(UnauthorizedRoleException.class)
     public ResponseEntity<String> handleUnauthorizedRoleException(UnauthorizedRoleException ex) {
         log.error("UnauthorizedRoleException: {}", ex.getMessage());
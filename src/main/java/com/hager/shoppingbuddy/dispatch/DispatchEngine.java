@@ -0,0 +1,369 @@
+package com.hager.shoppingbuddy.dispatch;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.spatial.GridIndex;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Matches open shopping requests to available shoppers in memory. Requests are considered highest delivery
+ * fee first, then oldest first; each is offered to the eligible shopper with the lowest cost among the
+ * {@code candidates} nearest its store, where cost is the distance to the store plus {@code loadPenaltyKm}
+ * for each request the shopper already holds. An offer reserves the request for {@code offerTimeout}; a
+ * decline or an expired offer excludes that shopper and the request falls through to the next candidate.
+ * <p>
+ * Shoppers are eligible while they have spare capacity and no outstanding offer. Shopper ids are user ids.
+ * Unmatched requests are also indexed by store, so when a shopper joins, moves or frees up, only the requests
+ * within {@code maxDistanceKm} of that shopper are matched again.
+ * All methods are synchronized on the engine; a match is a few grid-cell lookups, so one lock comfortably
+ * sustains thousands of requests per minute.
+ */
+public class DispatchEngine {
+
+    /** About 1.1 km north-south and 0.7 km east-west in Dublin. */
+    private static final double CELL_DEGREES = 0.01;
+
+    private static final Comparator<OpenRequest> DISPATCH_ORDER = Comparator
+            .comparingDouble((OpenRequest open) -> -open.request.getDeliveryFee())
+            .thenComparing(open -> open.request.getCreatedAt(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(open -> open.request.getId());
+
+    private final Duration offerTimeout;
+    private final int candidates;
+    private final double maxDistanceKm;
+    private final double loadPenaltyKm;
+
+    private final GridIndex<ShopperState> shoppers = new GridIndex<>(CELL_DEGREES);
+    private final Map<Long, OpenRequest> openRequests = new HashMap<>();
+    private final GridIndex<OpenRequest> unmatchedByStore = new GridIndex<>(CELL_DEGREES);
+    private final List<OpenRequest> newlyUnmatched = new ArrayList<>();
+    private final Map<Long, Long> assignments = new HashMap<>();
+    private final ArrayDeque<DispatchOffer> offersByExpiry = new ArrayDeque<>();
+    /** Shoppers who may have become a candidate for more requests since the last pass. */
+    private final Set<Long> changedShoppers = new HashSet<>();
+
+    public DispatchEngine(Duration offerTimeout, int candidates, double maxDistanceKm, double loadPenaltyKm) {
+        this.offerTimeout = offerTimeout;
+        this.candidates = candidates;
+        this.maxDistanceKm = maxDistanceKm;
+        this.loadPenaltyKm = loadPenaltyKm;
+    }
+
+    /**
+     * Makes the shopper available at the given position, or updates an available shopper.
+     *
+     * @param activeRequestIds the requests the shopper has accepted and not yet completed
+     */
+    public synchronized void shopperAvailable(long shopperId, double latitude, double longitude, int capacity,
+                                              Collection<Long> activeRequestIds) {
+        ShopperState shopper = shoppers.get(shopperId);
+        if (shopper == null) {
+            shopper = new ShopperState(shopperId);
+        }
+        shopper.capacity = capacity;
+        assignments.values().removeIf(id -> id == shopperId);
+        activeRequestIds.forEach(requestId -> assignments.put(requestId, shopperId));
+        shopper.active = activeRequestIds.size();
+        shopper.moveTo(latitude, longitude);
+        shoppers.put(shopperId, latitude, longitude, shopper);
+        changedShoppers.add(shopperId);
+    }
+
+    /**
+     * Moves an available shopper; unknown shoppers are ignored.
+     */
+    public synchronized void shopperMoved(long shopperId, double latitude, double longitude) {
+        ShopperState shopper = shoppers.get(shopperId);
+        if (shopper != null) {
+            shopper.moveTo(latitude, longitude);
+            shoppers.put(shopperId, latitude, longitude, shopper);
+            changedShoppers.add(shopperId);
+        }
+    }
+
+    public synchronized void shopperUnavailable(long shopperId) {
+        ShopperState shopper = shoppers.remove(shopperId);
+        changedShoppers.remove(shopperId);
+        if (shopper == null) {
+            return;
+        }
+        assignments.values().removeIf(id -> id == shopperId);
+        if (shopper.offer != null) {
+            // Withdrawn rather than declined: the shopper may take the request if they come back
+            release(openRequests.get(shopper.offer.requestId()), false);
+        }
+    }
+
+    /**
+     * Adds or refreshes an open request. Requests without store coordinates cannot be matched yet and are
+     * dropped until an update brings them.
+     */
+    public synchronized void requestOpened(ShoppingRequestResponse request) {
+        requestUnassigned(request.getId());
+        if (request.getStoreLatitude() == null || request.getStoreLongitude() == null) {
+            requestClosed(request.getId());
+            return;
+        }
+
+        OpenRequest open = openRequests.get(request.getId());
+        if (open == null) {
+            open = new OpenRequest(request);
+            openRequests.put(request.getId(), open);
+            addUnmatched(open);
+            newlyUnmatched.add(open);
+        } else if (open.offer == null) {
+            open.request = request;
+            addUnmatched(open);
+            newlyUnmatched.add(open);
+        } else {
+            open.request = request;
+        }
+    }
+
+    public synchronized void requestClosed(long requestId) {
+        OpenRequest open = openRequests.remove(requestId);
+        if (open == null) {
+            return;
+        }
+        removeUnmatched(open);
+        if (open.offer != null) {
+            ShopperState shopper = shoppers.get(open.offer.shopperId());
+            if (shopper != null && shopper.offer == open.offer) {
+                shopper.offer = null;
+                changedShoppers.add(shopper.id);
+            }
+            open.offer = null;
+        }
+    }
+
+    public synchronized void requestAssigned(long requestId, long shopperId) {
+        Long previous = assignments.put(requestId, shopperId);
+        if (previous != null && previous == shopperId) {
+            return;
+        }
+        if (previous != null) {
+            adjustLoad(previous, -1);
+        }
+        if (shoppers.contains(shopperId)) {
+            adjustLoad(shopperId, 1);
+        } else {
+            assignments.remove(requestId);
+        }
+    }
+
+    public synchronized void requestUnassigned(long requestId) {
+        Long previous = assignments.remove(requestId);
+        if (previous != null) {
+            adjustLoad(previous, -1);
+        }
+    }
+
+    /**
+     * Expires overdue offers and makes new ones. Requests are only re-examined when they are new, have just
+     * been declined or expired, or when an eligible shopper within {@code maxDistanceKm} of their store has
+     * joined, moved or freed up since the last pass.
+     */
+    public synchronized DispatchResult dispatch(Instant now) {
+        int expired = 0;
+        while (!offersByExpiry.isEmpty() && !offersByExpiry.peekFirst().expiresAt().isAfter(now)) {
+            DispatchOffer offer = offersByExpiry.pollFirst();
+            OpenRequest open = openRequests.get(offer.requestId());
+            if (open != null && open.offer == offer) {
+                release(open, true);
+                expired++;
+            }
+        }
+
+        TreeSet<OpenRequest> toMatch = new TreeSet<>(DISPATCH_ORDER);
+        for (OpenRequest open : newlyUnmatched) {
+            if (isUnmatched(open)) {
+                toMatch.add(open);
+            }
+        }
+        for (long shopperId : changedShoppers) {
+            ShopperState shopper = shoppers.get(shopperId);
+            if (shopper != null && shopper.isFree()) {
+                unmatchedByStore.forEachWithin(shopper.latitude, shopper.longitude, maxDistanceKm,
+                        (open, km) -> toMatch.add(open));
+            }
+        }
+        changedShoppers.clear();
+        newlyUnmatched.clear();
+
+        List<DispatchOffer> offers = new ArrayList<>();
+        for (OpenRequest open : toMatch) {
+            // An earlier match in this pass may have taken the last eligible shopper for this request
+            DispatchOffer offer = match(open, now);
+            if (offer != null) {
+                offers.add(offer);
+            }
+        }
+        return new DispatchResult(offers, expired, toMatch.size());
+    }
+
+    /**
+     * @return the offer if it is still held by this shopper, or {@code null} if it expired, was withdrawn or
+     * never existed
+     */
+    public synchronized DispatchOffer getOffer(long requestId, long shopperId, Instant now) {
+        OpenRequest open = openRequests.get(requestId);
+        if (open == null || open.offer == null || open.offer.shopperId() != shopperId
+                || !open.offer.expiresAt().isAfter(now)) {
+            return null;
+        }
+        return open.offer;
+    }
+
+    /**
+     * @return whether the shopper held an offer for the request, which now moves on to the next candidate
+     */
+    public synchronized boolean decline(long requestId, long shopperId) {
+        OpenRequest open = openRequests.get(requestId);
+        if (open == null || open.offer == null || open.offer.shopperId() != shopperId) {
+            return false;
+        }
+        release(open, true);
+        return true;
+    }
+
+    public synchronized List<DispatchOffer> getOffers(long shopperId, Instant now) {
+        ShopperState shopper = shoppers.get(shopperId);
+        if (shopper == null || shopper.offer == null || !shopper.offer.expiresAt().isAfter(now)) {
+            return List.of();
+        }
+        return List.of(shopper.offer);
+    }
+
+    /**
+     * @return whether an unexpired offer reserves the request for a different shopper
+     */
+    public synchronized boolean isReservedForOther(long requestId, long shopperId, Instant now) {
+        OpenRequest open = openRequests.get(requestId);
+        return open != null && open.offer != null && open.offer.shopperId() != shopperId
+                && open.offer.expiresAt().isAfter(now);
+    }
+
+    public synchronized int getOpenRequestCount() {
+        return openRequests.size();
+    }
+
+    public synchronized int getAvailableShopperCount() {
+        return shoppers.size();
+    }
+
+    private DispatchOffer match(OpenRequest open, Instant now) {
+        ShoppingRequestResponse request = open.request;
+        List<GridIndex.Neighbour<ShopperState>> nearest = shoppers.nearest(
+                request.getStoreLatitude(), request.getStoreLongitude(), candidates, maxDistanceKm,
+                shopper -> shopper.isFree() && !open.declinedBy.contains(shopper.id));
+
+        GridIndex.Neighbour<ShopperState> best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (GridIndex.Neighbour<ShopperState> candidate : nearest) {
+            double cost = candidate.distanceKm() + loadPenaltyKm * candidate.value().active;
+            if (cost < bestCost) {
+                best = candidate;
+                bestCost = cost;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+
+        DispatchOffer offer = new DispatchOffer(request, best.id(), best.distanceKm(), now.plus(offerTimeout));
+        open.offer = offer;
+        best.value().offer = offer;
+        removeUnmatched(open);
+        offersByExpiry.addLast(offer);
+        return offer;
+    }
+
+    private void release(OpenRequest open, boolean exclude) {
+        DispatchOffer offer = open.offer;
+        open.offer = null;
+        if (exclude) {
+            open.declinedBy.add(offer.shopperId());
+        }
+        ShopperState shopper = shoppers.get(offer.shopperId());
+        if (shopper != null && shopper.offer == offer) {
+            shopper.offer = null;
+            changedShoppers.add(shopper.id);
+        }
+        addUnmatched(open);
+        newlyUnmatched.add(open);
+    }
+
+    private void adjustLoad(long shopperId, int delta) {
+        ShopperState shopper = shoppers.get(shopperId);
+        if (shopper != null) {
+            shopper.active = Math.max(0, shopper.active + delta);
+            if (delta < 0) {
+                changedShoppers.add(shopperId);
+            }
+        }
+    }
+
+    private boolean isUnmatched(OpenRequest open) {
+        return open.offer == null && openRequests.get(open.request.getId()) == open;
+    }
+
+    private void addUnmatched(OpenRequest open) {
+        unmatchedByStore.put(open.request.getId(), open.request.getStoreLatitude(), open.request.getStoreLongitude(),
+                open);
+    }
+
+    private void removeUnmatched(OpenRequest open) {
+        if (unmatchedByStore.get(open.request.getId()) == open) {
+            unmatchedByStore.remove(open.request.getId());
+        }
+    }
+
+    /**
+     * @param examined how many unmatched requests the pass tried to match
+     */
+    public record DispatchResult(List<DispatchOffer> offers, int expired, int examined) {
+    }
+
+    private static final class ShopperState {
+        private final long id;
+        private double latitude;
+        private double longitude;
+        private int capacity;
+        private int active;
+        private DispatchOffer offer;
+
+        private ShopperState(long id) {
+            this.id = id;
+        }
+
+        private void moveTo(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        private boolean isFree() {
+            return offer == null && active < capacity;
+        }
+    }
+
+    private static final class OpenRequest {
+        private final Set<Long> declinedBy = new HashSet<>();
+        private ShoppingRequestResponse request;
+        private DispatchOffer offer;
+
+        private OpenRequest(ShoppingRequestResponse request) {
+            this.request = request;
+        }
+    }
+}
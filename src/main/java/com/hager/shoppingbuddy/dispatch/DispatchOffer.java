@@ -0,0 +1,16 @@
+package com.hager.shoppingbuddy.dispatch;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+
+import java.time.Instant;
+
+/**
+ * A shopping request reserved for one shopper until {@code expiresAt}. {@code shopperId} is the shopper's
+ * user id, as in {@link ShoppingRequestResponse#getShopperId()}.
+ */
+public record DispatchOffer(ShoppingRequestResponse request, long shopperId, double distanceKm, Instant expiresAt) {
+
+    public long requestId() {
+        return request.getId();
+    }
+}
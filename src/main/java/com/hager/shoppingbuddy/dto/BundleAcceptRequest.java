@@ -0,0 +1,20 @@
+package com.hager.shoppingbuddy.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BundleAcceptRequest {
+
+    // The requests the shopper was shown in the bundle
+    @NotEmpty(message = "Request ids are required")
+    private List<Long> requestIds;
+}
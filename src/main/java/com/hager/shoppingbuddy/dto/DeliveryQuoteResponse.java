@@ -0,0 +1,27 @@
+package com.hager.shoppingbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeliveryQuoteResponse {
+
+    private double distanceKm;
+    private long estimatedMinutes;
+    private double suggestedDeliveryFee;
+    private double minimumDeliveryFee;
+    private EstimateBasis basis;
+    /** Completed requests the estimate is based on; 0 for the default estimate. */
+    private int samples;
+
+    public enum EstimateBasis {
+        STORE_HISTORY,
+        DISTANCE_HISTORY,
+        DEFAULT
+    }
+}
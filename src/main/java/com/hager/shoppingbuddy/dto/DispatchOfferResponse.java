@@ -0,0 +1,26 @@
+package com.hager.shoppingbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DispatchOfferResponse {
+
+    private Long requestId;
+    private String storeName;
+    private String storeAddress;
+    private Double storeLatitude;
+    private Double storeLongitude;
+    private String deliveryAddress;
+    private double estimatedItemsPrice;
+    private double deliveryFee;
+    private double distanceKm;
+    private Instant expiresAt;
+}
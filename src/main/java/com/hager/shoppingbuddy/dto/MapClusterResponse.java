@@ -0,0 +1,21 @@
+package com.hager.shoppingbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MapClusterResponse {
+
+    private double latitude;
+    private double longitude;
+    private int count;
+    private double minDeliveryFee;
+    private double maxDeliveryFee;
+    /** Set when the cluster is a single request. */
+    private Long requestId;
+}
@@ -0,0 +1,18 @@
+package com.hager.shoppingbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RankedRequestResponse {
+
+    private ShoppingRequestResponse request;
+    private double score;
+    private double pickupDistanceKm;
+    private double deliveryDistanceKm;
+}
@@ -0,0 +1,25 @@
+package com.hager.shoppingbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RequestBundleResponse {
+
+    private Long bundleId;
+    private Long storeId;
+    private String storeName;
+    private String storeAddress;
+    private Double storeLatitude;
+    private Double storeLongitude;
+    private Double distanceKm;
+    private double totalDeliveryFee;
+    private List<ShoppingRequestResponse> requests;
+}
@@ -0,0 +1,20 @@
+package com.hager.shoppingbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RoutePlanResponse {
+
+    private boolean fromCurrentLocation;
+    private double totalDistanceKm;
+    private List<RouteStopResponse> stops;
+    private List<Long> unroutedRequestIds;
+}
@@ -0,0 +1,27 @@
+package com.hager.shoppingbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RouteStopResponse {
+
+    public enum StopType {
+        PICKUP,
+        DELIVERY
+    }
+
+    private Long requestId;
+    private StopType type;
+    private String name;
+    private String address;
+    private double latitude;
+    private double longitude;
+    private double legDistanceKm;
+    private double cumulativeDistanceKm;
+}
@@ -25,12 +25,15 @@ public class ShoppingRequestResponse {
     private List<ItemResponse> items;
     private Instant createdAt;
     private Instant updatedAt;
+    private Instant acceptedAt;
+    private Instant completedAt;
     private double estimatedItemsPrice;
     private double deliveryFee;
     private String deliveryAddress;
     private PaymentStatus paymentStatus;
     private Double latitude;
     private Double longitude;
+    private Long storeId;
     private String storeName;
     private String storeAddress;
     private Double storeLatitude;
@@ -1,6 +1,8 @@
 package com.hager.shoppingbuddy.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -35,11 +37,18 @@ public class ShoppingRequestUpdateRequest {
     @DecimalMin(value = "8.0", message = "Delivery fee must be at least 8 euros")
     private Double deliveryFee;
 
-    @NotBlank(message = "Store name is required")
+    // A directory store; when set, storeName and storeAddress are taken from it and may be left out
+    private Long storeId;
+
     @Size(max = 200, message = "Store name cannot exceed 200 characters")
     private String storeName;
 
-    @NotBlank(message = "Store address is required")
     @Size(max = 500, message = "Store address cannot exceed 500 characters")
     private String storeAddress;
+
+    @JsonIgnore
+    @AssertTrue(message = "Store name and address are required unless a store is selected")
+    public boolean isStoreSpecified() {
+        return storeId != null || (storeName != null && !storeName.isBlank() && storeAddress != null && !storeAddress.isBlank());
+    }
 }
@@ -0,0 +1,23 @@
+package com.hager.shoppingbuddy.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StoreCreateRequest {
+
+    @NotBlank(message = "Store name is required")
+    @Size(max = 200, message = "Store name cannot exceed 200 characters")
+    private String name;
+
+    @NotBlank(message = "Store address is required")
+    @Size(max = 500, message = "Store address cannot exceed 500 characters")
+    private String address;
+}
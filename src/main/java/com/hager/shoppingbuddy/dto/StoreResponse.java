@@ -0,0 +1,19 @@
+package com.hager.shoppingbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StoreResponse {
+
+    private Long id;
+    private String name;
+    private String address;
+    private double latitude;
+    private double longitude;
+}
@@ -0,0 +1,19 @@
+package com.hager.shoppingbuddy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TrackingPositionResponse {
+
+    private double latitude;
+    private double longitude;
+    private Instant recordedAt;
+}
@@ -0,0 +1,21 @@
+package com.hager.shoppingbuddy.dto;
+
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TrackingStatusResponse {
+
+    private Long requestId;
+    private ShoppingRequestStatus status;
+    private String shopperName;
+    private Instant updatedAt;
+}
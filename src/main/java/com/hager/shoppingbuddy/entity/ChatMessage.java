@@ -18,6 +18,7 @@ import java.time.Instant;
 public class ChatMessage {
 
     @Id
+    @SequenceGenerator(name = "chat_message_id_seq", sequenceName = "chat_message_id_seq", allocationSize = 500)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_message_id_seq")
     private Long id;
 
@@ -16,6 +16,7 @@ import lombok.NoArgsConstructor;
 public class Item {
 
     @Id
+    @SequenceGenerator(name = "item_id_seq", sequenceName = "item_id_seq", allocationSize = 1000)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_id_seq")
     private Long id;
 
@@ -19,6 +19,7 @@ import java.time.Instant;
 public class Payment {
 
     @Id
+    @SequenceGenerator(name = "payment_id_seq", sequenceName = "payment_id_seq", allocationSize = 200)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_id_seq")
     private Long id;
 
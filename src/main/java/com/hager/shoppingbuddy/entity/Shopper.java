@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 @Data
@@ -14,9 +16,12 @@ import java.math.BigDecimal;
 @Builder
 @Entity
 @Table(name = "shoppers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "shoppers")
 public class Shopper {
 
     @Id
+    @SequenceGenerator(name = "shopper_id_seq", sequenceName = "shopper_id_seq", allocationSize = 100)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shopper_id_seq")
     private Long id;
 
@@ -31,4 +36,14 @@ public class Shopper {
     @Column(name = "balance", nullable = false, precision = 10, scale = 2)
     @Builder.Default
     private BigDecimal balance = BigDecimal.ZERO;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    @Column(name = "home_latitude")
+    private Double homeLatitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    @Column(name = "home_longitude")
+    private Double homeLongitude;
 }
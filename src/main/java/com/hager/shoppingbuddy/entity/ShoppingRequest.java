@@ -19,6 +19,7 @@ import java.util.List;
 public class ShoppingRequest {
 
     @Id
+    @SequenceGenerator(name = "shopping_request_id_seq", sequenceName = "shopping_request_id_seq", allocationSize = 200)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shopping_request_id_seq")
     private Long id;
 
@@ -46,6 +47,11 @@ public class ShoppingRequest {
 
     private Instant updatedAt;
 
+    // When the current shopper accepted the request
+    private Instant acceptedAt;
+
+    private Instant completedAt;
+
     @DecimalMin(value = "0.0", inclusive = false, message = "Estimated items price must be greater than 0")
     private double estimatedItemsPrice;
 
@@ -64,6 +70,11 @@ public class ShoppingRequest {
     @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
     private Double longitude;
 
+    // Set when the request names a directory store; storeName, storeAddress and the store coordinates are copied from it
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "store_id", referencedColumnName = "id")
+    private Store store;
+
     @NotBlank(message = "Store name is required")
     @Size(max = 200, message = "Store name cannot exceed 200 characters")
     private String storeName;
@@ -82,4 +93,10 @@ public class ShoppingRequest {
 
     @Enumerated(EnumType.STRING)
     private PaymentStatus paymentStatus;
+
+    private int geocodeAttempts;
+
+    // Generated by the database: true while the delivery or store coordinates are missing
+    @Column(insertable = false, updatable = false)
+    private Boolean needsGeocoding;
 }
@@ -0,0 +1,45 @@
+package com.hager.shoppingbuddy.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "stores")
+public class Store {
+
+    @Id
+    @SequenceGenerator(name = "store_id_seq", sequenceName = "store_id_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_id_seq")
+    private Long id;
+
+    @NotBlank(message = "Store name is required")
+    @Size(max = 200, message = "Store name cannot exceed 200 characters")
+    private String name;
+
+    @NotBlank(message = "Store address is required")
+    @Size(max = 500, message = "Store address cannot exceed 500 characters")
+    private String address;
+
+    @NotNull(message = "Store latitude is required")
+    @DecimalMin(value = "-90.0", message = "Store latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Store latitude must be between -90 and 90")
+    private Double latitude;
+
+    @NotNull(message = "Store longitude is required")
+    @DecimalMin(value = "-180.0", message = "Store longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Store longitude must be between -180 and 180")
+    private Double longitude;
+
+    @NotNull(message = "Created date cannot be null")
+    private Instant createdAt;
+}
@@ -3,6 +3,8 @@ package com.hager.shoppingbuddy.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 
@@ -15,14 +17,15 @@ import java.time.Instant;
 public class Token {
 
     @Id
-    @SequenceGenerator(name = "token_sequence", sequenceName = "token_sequence", allocationSize = 1)
+    @SequenceGenerator(name = "token_sequence", sequenceName = "token_sequence", allocationSize = 100)
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_sequence")
     private Long id;
 
-    @NotBlank(message = "Token cannot be blank")
-    @Size(max = 500, message = "Token cannot exceed 500 characters")
-    @Column(nullable = false)
-    private String token;
+    @NotNull(message = "Token hash cannot be null")
+    @Size(min = 32, max = 32, message = "Token hash must be 32 bytes")
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
 
     @NotNull(message = "Created timestamp cannot be null")
     @Column(nullable = false)
@@ -2,5 +2,6 @@ package com.hager.shoppingbuddy.entity;
 
 public enum UserRole {
     CUSTOMER,
-    SHOPPER
+    SHOPPER,
+    ADMIN
 }
@@ -0,0 +1,16 @@
+package com.hager.shoppingbuddy.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by {@code ShopperService} when a shopper sets the area they want to hear about new requests in.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ShopperHomeAreaEvent {
+
+    private final long shopperUserId;
+    private final double latitude;
+    private final double longitude;
+}
@@ -0,0 +1,20 @@
+package com.hager.shoppingbuddy.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Published by {@code ShopperPresenceService} for every location heartbeat, on the request thread that
+ * received it, so listeners must return quickly.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ShopperLocationEvent {
+
+    private final long shopperUserId;
+    private final double latitude;
+    private final double longitude;
+    private final Instant recordedAt;
+}
@@ -0,0 +1,33 @@
+package com.hager.shoppingbuddy.event;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by {@code ShoppingRequestService} whenever a shopping request is created, edited or moves
+ * through its lifecycle. The response snapshot is built inside the transaction, so listeners running
+ * after commit can use it without touching lazy entity state.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ShoppingRequestLifecycleEvent {
+
+    private final ShoppingRequestResponse request;
+    private final ShoppingRequestStatus previousStatus;
+    private final PaymentStatus previousPaymentStatus;
+
+    public boolean isOpen() {
+        return isOpen(request.getStatus(), request.getPaymentStatus());
+    }
+
+    public boolean wasOpen() {
+        return isOpen(previousStatus, previousPaymentStatus);
+    }
+
+    public static boolean isOpen(ShoppingRequestStatus status, PaymentStatus paymentStatus) {
+        return status == ShoppingRequestStatus.PENDING && paymentStatus == PaymentStatus.AUTHORIZED;
+    }
+}
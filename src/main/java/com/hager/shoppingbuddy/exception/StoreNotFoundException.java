@@ -0,0 +1,7 @@
+package com.hager.shoppingbuddy.exception;
+
+import lombok.experimental.StandardException;
+
+@StandardException
+public class StoreNotFoundException extends ShoppingBuddyException {
+}
@@ -0,0 +1,96 @@
+package com.hager.shoppingbuddy.geocoding;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits addresses and gazetteer names into the same normalised tokens: lower case, accents and punctuation
+ * removed, common street abbreviations expanded. Eircode routing keys ("D02" in "D02 X285") and postal
+ * districts ("Dublin 2", "Dublin 6W") are recognised separately.
+ */
+final class AddressTokens {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern ROUTING_KEY = Pattern.compile("[acdefhknprtvwxy][0-9][0-9w]");
+    private static final Pattern EIRCODE = Pattern.compile("[acdefhknprtvwxy][0-9][0-9w][0-9a-z]{4}");
+    private static final Pattern DUBLIN_DISTRICT = Pattern.compile("[0-9]{1,2}|6w");
+
+    private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(
+            Map.entry("st", "street"),
+            Map.entry("rd", "road"),
+            Map.entry("ave", "avenue"),
+            Map.entry("av", "avenue"),
+            Map.entry("sq", "square"),
+            Map.entry("pl", "place"),
+            Map.entry("tce", "terrace"),
+            Map.entry("pk", "park"),
+            Map.entry("dr", "drive"),
+            Map.entry("cres", "crescent"),
+            Map.entry("ln", "lane"),
+            Map.entry("upr", "upper"),
+            Map.entry("lwr", "lower"),
+            Map.entry("nth", "north"),
+            Map.entry("sth", "south"));
+
+    private final Set<String> words;
+    private final String routingKey;
+
+    private AddressTokens(Set<String> words, String routingKey) {
+        this.words = words;
+        this.routingKey = routingKey;
+    }
+
+    static AddressTokens of(String text) {
+        String normalised = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        String[] parts = SEPARATORS.split(normalised);
+
+        Set<String> words = new LinkedHashSet<>();
+        String routingKey = null;
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.isEmpty()) {
+                continue;
+            }
+            if (EIRCODE.matcher(part).matches() || ROUTING_KEY.matcher(part).matches()) {
+                routingKey = part.substring(0, 3);
+                continue;
+            }
+            if (part.equals("dublin") && i + 1 < parts.length && DUBLIN_DISTRICT.matcher(parts[i + 1]).matches()) {
+                routingKey = dublinRoutingKey(parts[++i]);
+                continue;
+            }
+            if (part.length() == 1 || Character.isDigit(part.charAt(0))) {
+                // House and apartment numbers, and the "s" of "Stephen's", say nothing about the street
+                continue;
+            }
+            words.add(ABBREVIATIONS.getOrDefault(part, part));
+        }
+        return new AddressTokens(words, routingKey);
+    }
+
+    private static String dublinRoutingKey(String district) {
+        if (district.equals("6w")) {
+            return "d6w";
+        }
+        return String.format(Locale.ROOT, "d%02d", Integer.parseInt(district));
+    }
+
+    List<String> words() {
+        return new ArrayList<>(words);
+    }
+
+    /**
+     * @return the lower-case routing key, or {@code null} if the text has none
+     */
+    String routingKey() {
+        return routingKey;
+    }
+}
@@ -0,0 +1,328 @@
+package com.hager.shoppingbuddy.geocoding;
+
+import com.google.maps.model.LatLng;
+import com.hager.shoppingbuddy.geocoding.GazetteerEntry.Kind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only view of a memory-mapped file written by {@link GazetteerWriter}. Lookups binary-search the sorted
+ * token dictionary and posting lists in place, so the file is paged in by the OS on demand and nothing is
+ * copied onto the heap. Safe for concurrent use.
+ * <p>
+ * An address resolves to the most specific street whose name tokens all appear in it, restricted to the
+ * address's Eircode routing key when it has one. When several streets share that name, the one nearest the
+ * routing key or locality wins; without either the address is ambiguous and is left to Google. An address
+ * that matches no street is not placed by {@link #lookup}, so it is geocoded properly later; only
+ * {@link #lookupApproximate} falls back to its routing key centroid, then to a named locality.
+ */
+public final class Gazetteer {
+
+    private static final Kind[] KINDS = Kind.values();
+
+    /** Unknown words at least this long also match dictionary tokens they are a prefix of, e.g. "terr". */
+    private static final int MIN_PREFIX_LENGTH = 4;
+    private static final int MAX_PREFIX_TOKENS = 32;
+    /** Candidate entries are seeded from the rarest words until this many postings have been read. */
+    private static final int SEED_LIMIT = 1024;
+
+    private final ByteBuffer buffer;
+    private final int entryCount;
+    private final int tokenCount;
+    private final int entriesOffset;
+    private final int tokenOffsetsOffset;
+    private final int postingOffsetsOffset;
+    private final int tokenBytesOffset;
+    private final int postingsOffset;
+
+    private Gazetteer(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < GazetteerWriter.HEADER_BYTES
+                || buffer.getInt(0) != GazetteerWriter.MAGIC
+                || buffer.getInt(4) != GazetteerWriter.VERSION) {
+            throw new IOException("Not a version " + GazetteerWriter.VERSION + " gazetteer file");
+        }
+        this.buffer = buffer;
+        this.entryCount = buffer.getInt(8);
+        this.tokenCount = buffer.getInt(12);
+        int postingsLength = buffer.getInt(16);
+        this.entriesOffset = GazetteerWriter.HEADER_BYTES;
+        this.tokenOffsetsOffset = entriesOffset + entryCount * GazetteerWriter.ENTRY_BYTES;
+        this.postingOffsetsOffset = tokenOffsetsOffset + (tokenCount + 1) * Integer.BYTES;
+        this.tokenBytesOffset = postingOffsetsOffset + (tokenCount + 1) * Integer.BYTES;
+        this.postingsOffset = tokenBytesOffset + buffer.getInt(tokenOffsetsOffset + tokenCount * Integer.BYTES);
+        if (postingsOffset + (long) postingsLength * Integer.BYTES != buffer.capacity()) {
+            throw new IOException("Gazetteer file is truncated or corrupt");
+        }
+    }
+
+    public static Gazetteer open(Path path) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Gazetteer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return entryCount;
+    }
+
+    /**
+     * @return the location of the address's street, or {@code null} if the gazetteer cannot place it
+     * unambiguously
+     */
+    public LatLng lookup(String address) {
+        return lookup(address, false);
+    }
+
+    /**
+     * Like {@link #lookup}, but an address that matches no street gets the centroid of its routing key or
+     * locality. The result can be kilometres off, so it suits estimates and must not be stored as the
+     * address's location.
+     */
+    public LatLng lookupApproximate(String address) {
+        return lookup(address, true);
+    }
+
+    private LatLng lookup(String address, boolean approximate) {
+        AddressTokens tokens = AddressTokens.of(address);
+        int routingKeyEntry = tokens.routingKey() == null ? -1 : findRoutingKeyEntry(tokens.routingKey());
+
+        List<int[]> words = new ArrayList<>();
+        for (String word : tokens.words()) {
+            int[] ranges = postingRanges(word.getBytes(StandardCharsets.UTF_8));
+            if (ranges.length > 0) {
+                words.add(ranges);
+            }
+        }
+        words.sort(Comparator.comparingInt(Gazetteer::postingCount));
+
+        Set<Integer> candidates = new HashSet<>();
+        int seeded = 0;
+        for (int[] ranges : words) {
+            if (seeded > 0 && seeded + postingCount(ranges) > SEED_LIMIT) {
+                break;
+            }
+            for (int i = 0; i < ranges.length; i += 2) {
+                for (int p = ranges[i]; p < ranges[i + 1]; p++) {
+                    candidates.add(posting(p));
+                }
+            }
+            seeded += postingCount(ranges);
+        }
+
+        List<Integer> streets = new ArrayList<>();
+        int bestStreetTokens = 0;
+        int locality = -1;
+        for (int entry : candidates) {
+            Kind kind = kind(entry);
+            int entryTokens = entryTokenCount(entry);
+            if (kind == Kind.ROUTING_KEY || !matchesAllTokens(words, entry, entryTokens)) {
+                continue;
+            }
+            if (kind == Kind.LOCALITY) {
+                if (locality < 0 || entryTokens > entryTokenCount(locality)) {
+                    locality = entry;
+                }
+                continue;
+            }
+            int streetRoutingKey = routingKeyEntry(entry);
+            if (routingKeyEntry >= 0 && streetRoutingKey >= 0 && streetRoutingKey != routingKeyEntry) {
+                continue;
+            }
+            if (entryTokens > bestStreetTokens) {
+                streets.clear();
+                bestStreetTokens = entryTokens;
+            }
+            if (entryTokens == bestStreetTokens) {
+                streets.add(entry);
+            }
+        }
+
+        int anchor = routingKeyEntry >= 0 ? routingKeyEntry : locality;
+        if (streets.size() == 1) {
+            return location(streets.getFirst());
+        }
+        if (!streets.isEmpty()) {
+            return anchor < 0 ? null : location(nearest(streets, anchor));
+        }
+        return anchor < 0 || !approximate ? null : location(anchor);
+    }
+
+    private int findRoutingKeyEntry(String routingKey) {
+        int token = findToken(routingKey.getBytes(StandardCharsets.UTF_8));
+        if (token < 0) {
+            return -1;
+        }
+        for (int p = postingStart(token); p < postingStart(token + 1); p++) {
+            if (kind(posting(p)) == Kind.ROUTING_KEY) {
+                return posting(p);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return start/end pairs of the posting lists the word matches: its own token, or failing that the
+     * tokens it is a prefix of
+     */
+    private int[] postingRanges(byte[] word) {
+        int token = findToken(word);
+        if (token >= 0) {
+            return new int[]{postingStart(token), postingStart(token + 1)};
+        }
+        if (word.length < MIN_PREFIX_LENGTH) {
+            return new int[0];
+        }
+        int first = -(token + 1);
+        int last = first;
+        while (last < tokenCount && last - first < MAX_PREFIX_TOKENS && compareToken(last, word, true) == 0) {
+            last++;
+        }
+        int[] ranges = new int[(last - first) * 2];
+        for (int t = first; t < last; t++) {
+            ranges[(t - first) * 2] = postingStart(t);
+            ranges[(t - first) * 2 + 1] = postingStart(t + 1);
+        }
+        return ranges;
+    }
+
+    /**
+     * @return the token's index, or {@code -(insertion point + 1)} if the dictionary does not contain it
+     */
+    private int findToken(byte[] word) {
+        int low = 0;
+        int high = tokenCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareToken(mid, word, false);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int compareToken(int token, byte[] word, boolean prefix) {
+        int start = tokenBytesOffset + buffer.getInt(tokenOffsetsOffset + token * Integer.BYTES);
+        int length = tokenBytesOffset + buffer.getInt(tokenOffsetsOffset + (token + 1) * Integer.BYTES) - start;
+        for (int i = 0; i < Math.min(length, word.length); i++) {
+            int cmp = Integer.compare(buffer.get(start + i) & 0xff, word[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        if (prefix && length >= word.length) {
+            return 0;
+        }
+        return Integer.compare(length, word.length);
+    }
+
+    /**
+     * @return whether at least {@code entryTokens} of the words, rarest first, contain the entry; stops as soon
+     * as too many have missed, which for most candidates is the first word
+     */
+    private boolean matchesAllTokens(List<int[]> words, int entry, int entryTokens) {
+        int missesLeft = words.size() - entryTokens;
+        for (int[] ranges : words) {
+            if (!postingsContain(ranges, entry) && --missesLeft < 0) {
+                return false;
+            }
+        }
+        return missesLeft >= 0;
+    }
+
+    private boolean postingsContain(int[] ranges, int entry) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (postingsContain(ranges[i], ranges[i + 1], entry)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean postingsContain(int from, int to, int entry) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = posting(mid);
+            if (value < entry) {
+                low = mid + 1;
+            } else if (value > entry) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int nearest(List<Integer> entries, int anchor) {
+        int best = entries.getFirst();
+        long bestDistance = Long.MAX_VALUE;
+        for (int entry : entries) {
+            long dLat = latitudeE6(entry) - latitudeE6(anchor);
+            long dLng = longitudeE6(entry) - longitudeE6(anchor);
+            long distance = dLat * dLat + dLng * dLng;
+            if (distance < bestDistance) {
+                best = entry;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private static int postingCount(int[] ranges) {
+        int count = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            count += ranges[i + 1] - ranges[i];
+        }
+        return count;
+    }
+
+    private int postingStart(int token) {
+        return buffer.getInt(postingOffsetsOffset + token * Integer.BYTES);
+    }
+
+    private int posting(int index) {
+        return buffer.getInt(postingsOffset + index * Integer.BYTES);
+    }
+
+    private Kind kind(int entry) {
+        return KINDS[buffer.get(entriesOffset + entry * GazetteerWriter.ENTRY_BYTES)];
+    }
+
+    private int entryTokenCount(int entry) {
+        return buffer.get(entriesOffset + entry * GazetteerWriter.ENTRY_BYTES + 1) & 0xff;
+    }
+
+    private int routingKeyEntry(int entry) {
+        return buffer.getInt(entriesOffset + entry * GazetteerWriter.ENTRY_BYTES + 4);
+    }
+
+    private int latitudeE6(int entry) {
+        return buffer.getInt(entriesOffset + entry * GazetteerWriter.ENTRY_BYTES + 8);
+    }
+
+    private int longitudeE6(int entry) {
+        return buffer.getInt(entriesOffset + entry * GazetteerWriter.ENTRY_BYTES + 12);
+    }
+
+    private LatLng location(int entry) {
+        return new LatLng(latitudeE6(entry) / 1e6, longitudeE6(entry) / 1e6);
+    }
+}
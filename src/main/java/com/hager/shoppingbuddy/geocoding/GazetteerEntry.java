@@ -0,0 +1,14 @@
+package com.hager.shoppingbuddy.geocoding;
+
+/**
+ * One named place in the gazetteer source. {@code routingKey} is the Eircode routing key the place lies in
+ * (e.g. "D02"), or {@code null}; routing-key entries themselves carry their own key as the name.
+ */
+public record GazetteerEntry(Kind kind, String name, String routingKey, double latitude, double longitude) {
+
+    public enum Kind {
+        STREET,
+        LOCALITY,
+        ROUTING_KEY
+    }
+}
@@ -0,0 +1,146 @@
+package com.hager.shoppingbuddy.geocoding;
+
+import com.hager.shoppingbuddy.geocoding.GazetteerEntry.Kind;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compiles gazetteer entries into the file {@link Gazetteer} maps. The layout, all big-endian:
+ * <pre>
+ * header    magic, version, entry count, token count, postings length
+ * entries   16 bytes each: kind, name token count, 2 unused, routing-key entry (-1 if none), lat e6, lng e6
+ * tokens    token count + 1 offsets into the token bytes, then token count + 1 offsets into the postings
+ * bytes     the distinct name tokens in UTF-8, sorted, back to back
+ * postings  for each token, the ascending entry numbers whose name contains it
+ * </pre>
+ * Run it as {@code GazetteerWriter <source.csv> <gazetteer.bin>} to build a file from a CSV with the header
+ * {@code kind,name,routing_key,latitude,longitude}, where kind is STREET, LOCALITY or ROUTING_KEY.
+ */
+public final class GazetteerWriter {
+
+    static final int MAGIC = 0x53424753;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 20;
+    static final int ENTRY_BYTES = 16;
+
+    private GazetteerWriter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: GazetteerWriter <source.csv> <gazetteer.bin>");
+            System.exit(2);
+        }
+        List<GazetteerEntry> entries = readCsv(Path.of(args[0]));
+        write(entries, Path.of(args[1]));
+        System.out.printf("Wrote %d gazetteer entries to %s%n", entries.size(), args[1]);
+    }
+
+    public static List<GazetteerEntry> readCsv(Path source) throws IOException {
+        List<GazetteerEntry> entries = new ArrayList<>();
+        List<String> lines = Files.readAllLines(source, StandardCharsets.UTF_8);
+        for (int i = 1; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length != 5) {
+                throw new IOException("Line " + (i + 1) + " of " + source + " does not have 5 fields");
+            }
+            entries.add(new GazetteerEntry(
+                    Kind.valueOf(fields[0].strip().toUpperCase(Locale.ROOT)),
+                    fields[1].strip(),
+                    fields[2].isBlank() ? null : fields[2].strip(),
+                    Double.parseDouble(fields[3].strip()),
+                    Double.parseDouble(fields[4].strip())));
+        }
+        return entries;
+    }
+
+    public static void write(List<GazetteerEntry> entries, Path target) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+            write(entries, out);
+        }
+    }
+
+    static void write(List<GazetteerEntry> entries, OutputStream target) throws IOException {
+        Map<String, Integer> routingKeyEntries = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            GazetteerEntry entry = entries.get(i);
+            if (entry.kind() == Kind.ROUTING_KEY) {
+                routingKeyEntries.put(entry.name().toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        // Sorted by UTF-8 bytes, the order Gazetteer's binary search compares in
+        TreeMap<byte[], List<Integer>> postings = new TreeMap<>(Arrays::compareUnsigned);
+        int[] tokenCounts = new int[entries.size()];
+        int postingsLength = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            GazetteerEntry entry = entries.get(i);
+            List<String> words = entry.kind() == Kind.ROUTING_KEY
+                    ? List.of(entry.name().toLowerCase(Locale.ROOT))
+                    : AddressTokens.of(entry.name()).words();
+            tokenCounts[i] = words.size();
+            for (String word : words) {
+                postings.computeIfAbsent(word.getBytes(StandardCharsets.UTF_8), k -> new ArrayList<>()).add(i);
+                postingsLength++;
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+        out.writeInt(postings.size());
+        out.writeInt(postingsLength);
+
+        for (int i = 0; i < entries.size(); i++) {
+            GazetteerEntry entry = entries.get(i);
+            String routingKey = entry.routingKey() == null ? null : entry.routingKey().toLowerCase(Locale.ROOT);
+            out.writeByte(entry.kind().ordinal());
+            out.writeByte(Math.min(tokenCounts[i], 255));
+            out.writeShort(0);
+            out.writeInt(routingKey == null ? -1 : routingKeyEntries.getOrDefault(routingKey, -1));
+            out.writeInt((int) Math.round(entry.latitude() * 1e6));
+            out.writeInt((int) Math.round(entry.longitude() * 1e6));
+        }
+
+        int offset = 0;
+        for (byte[] token : postings.keySet()) {
+            out.writeInt(offset);
+            offset += token.length;
+        }
+        out.writeInt(offset);
+        offset = 0;
+        for (List<Integer> entryNumbers : postings.values()) {
+            out.writeInt(offset);
+            offset += entryNumbers.size();
+        }
+        out.writeInt(offset);
+
+        for (byte[] token : postings.keySet()) {
+            out.write(token);
+        }
+        for (List<Integer> entryNumbers : postings.values()) {
+            for (int entryNumber : entryNumbers) {
+                out.writeInt(entryNumber);
+            }
+        }
+        out.flush();
+    }
+}
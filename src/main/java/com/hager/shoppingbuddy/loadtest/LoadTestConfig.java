@@ -0,0 +1,70 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import com.google.maps.GeoApiContext;
+import com.google.maps.OkHttpRequestHandler;
+import com.stripe.net.ApiResource;
+import com.stripe.net.LiveStripeResponseGetter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.javamail.JavaMailSender;
+
+/**
+ * Replaces Google Maps, Stripe and SMTP with in-process stand-ins for load testing. The stand-ins sit at the
+ * transport layer, so {@code GeocodingService}, {@code PaymentService} and {@code EmailService} run unchanged.
+ */
+@Slf4j
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean
+    public GeoApiContext geoApiContext(
+            @Value("${shoppingbuddy.loadtest.google-maps.latency-ms}") long latencyMillis,
+            @Value("${shoppingbuddy.loadtest.google-maps.jitter-ms}") long jitterMillis,
+            @Value("${shoppingbuddy.loadtest.google-maps.error-rate}") double errorRate) {
+        SimulatedDependency googleMaps = new SimulatedDependency("google-maps", latencyMillis, jitterMillis, errorRate);
+        OkHttpRequestHandler.Builder requestHandler = new OkHttpRequestHandler.Builder();
+        requestHandler.okHttpClientBuilder().addInterceptor(new StubGeocodingInterceptor(googleMaps));
+
+        log.warn("Load test profile: Google Maps geocoding is simulated ({} ms + {} ms jitter, error rate {})",
+                latencyMillis, jitterMillis, errorRate);
+        // Injected failures should surface to the caller instead of being retried for up to a minute
+        return new GeoApiContext.Builder(requestHandler)
+                .apiKey("AIzaLoadTest")
+                .disableRetries()
+                .build();
+    }
+
+    @Bean
+    public StubStripeHttpClient stubStripeHttpClient(
+            @Value("${shoppingbuddy.loadtest.stripe.latency-ms}") long latencyMillis,
+            @Value("${shoppingbuddy.loadtest.stripe.jitter-ms}") long jitterMillis,
+            @Value("${shoppingbuddy.loadtest.stripe.error-rate}") double errorRate) {
+        StubStripeHttpClient httpClient = new StubStripeHttpClient(
+                new SimulatedDependency("stripe", latencyMillis, jitterMillis, errorRate));
+        ApiResource.setGlobalResponseGetter(new LiveStripeResponseGetter(httpClient));
+
+        log.warn("Load test profile: Stripe is simulated ({} ms + {} ms jitter, error rate {})",
+                latencyMillis, jitterMillis, errorRate);
+        return httpClient;
+    }
+
+    @Bean
+    public JavaMailSender javaMailSender(
+            @Value("${shoppingbuddy.loadtest.smtp.latency-ms}") long latencyMillis,
+            @Value("${shoppingbuddy.loadtest.smtp.jitter-ms}") long jitterMillis,
+            @Value("${shoppingbuddy.loadtest.smtp.error-rate}") double errorRate) {
+        log.warn("Load test profile: SMTP is simulated ({} ms + {} ms jitter, error rate {})",
+                latencyMillis, jitterMillis, errorRate);
+        return new StubMailSender(new SimulatedDependency("smtp", latencyMillis, jitterMillis, errorRate));
+    }
+
+    @PreDestroy
+    public void restoreStripeTransport() {
+        ApiResource.setGlobalResponseGetter(new LiveStripeResponseGetter());
+    }
+}
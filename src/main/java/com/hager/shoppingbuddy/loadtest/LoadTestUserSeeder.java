@@ -0,0 +1,93 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import com.hager.shoppingbuddy.entity.Customer;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.entity.UserRole;
+import com.hager.shoppingbuddy.repository.CustomerRepository;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import com.hager.shoppingbuddy.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Creates the enabled customer and shopper accounts the load test driver logs in as, skipping the email
+ * confirmation step. Accounts are named {@code loadtest-customer-<n>@shopping-buddy.shop} and
+ * {@code loadtest-shopper-<n>@shopping-buddy.shop} and are only created if missing.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestUserSeeder {
+
+    private final UserRepository userRepository;
+    private final CustomerRepository customerRepository;
+    private final ShopperRepository shopperRepository;
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    @Value("${shoppingbuddy.loadtest.customers}")
+    private int customers;
+
+    @Value("${shoppingbuddy.loadtest.shoppers}")
+    private int shoppers;
+
+    @Value("${shoppingbuddy.loadtest.password}")
+    private String password;
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedUsers() {
+        String passwordHash = bCryptPasswordEncoder.encode(password);
+        int created = 0;
+        for (int i = 1; i <= customers; i++) {
+            created += seedUser(UserRole.CUSTOMER, i, passwordHash) ? 1 : 0;
+        }
+        for (int i = 1; i <= shoppers; i++) {
+            created += seedUser(UserRole.SHOPPER, i, passwordHash) ? 1 : 0;
+        }
+        log.info("Load test accounts ready: {} customers, {} shoppers ({} created)", customers, shoppers, created);
+    }
+
+    public static String email(UserRole role, int index) {
+        return "loadtest-" + role.name().toLowerCase() + "-" + index + "@shopping-buddy.shop";
+    }
+
+    private boolean seedUser(UserRole role, int index, String passwordHash) {
+        String email = email(role, index);
+        if (userRepository.findByEmail(email).isPresent()) {
+            return false;
+        }
+
+        Instant now = Instant.now();
+        User user = userRepository.save(User.builder()
+                .firstName("Load")
+                .lastName(role == UserRole.CUSTOMER ? "Customer" : "Shopper")
+                .email(email)
+                .phoneNumber(String.format("+35380%07d", (role == UserRole.CUSTOMER ? 0 : 5_000_000) + index))
+                .passwordHash(passwordHash)
+                .role(role)
+                .createdAt(now)
+                .updatedAt(now)
+                .lastPasswordChange(now)
+                .isEnabled(true)
+                .isLocked(false)
+                .build());
+
+        if (role == UserRole.CUSTOMER) {
+            customerRepository.save(Customer.builder().user(user).build());
+        } else {
+            shopperRepository.save(Shopper.builder().user(user).build());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and failure model for an external dependency replaced in the {@code loadtest} profile. Each call
+ * sleeps for the base latency plus a uniform jitter, then fails with the configured probability.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SimulatedDependency {
+
+    private final String name;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Blocks the calling thread for one simulated round trip.
+     *
+     * @return {@code true} if the call should fail
+     */
+    public boolean call() {
+        calls.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.incrementAndGet();
+                return true;
+            }
+        }
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            failures.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+}
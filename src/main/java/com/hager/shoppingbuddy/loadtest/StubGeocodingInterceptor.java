@@ -0,0 +1,54 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Answers Google Maps Geocoding API calls inside the OkHttp client used by {@code GeoApiContext}. Every
+ * address resolves to a stable point in the Dublin area derived from its hash, so repeated runs place
+ * requests and stores at the same coordinates.
+ */
+@RequiredArgsConstructor
+public class StubGeocodingInterceptor implements Interceptor {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private static final double MIN_LATITUDE = 53.28;
+    private static final double MIN_LONGITUDE = -6.40;
+    private static final double LATITUDE_SPAN = 0.14;
+    private static final double LONGITUDE_SPAN = 0.30;
+
+    private final SimulatedDependency dependency;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (dependency.call()) {
+            throw new IOException("Simulated Google Maps failure");
+        }
+
+        String address = chain.request().url().queryParameter("address");
+        int hash = address != null ? address.hashCode() : 0;
+        double latitude = MIN_LATITUDE + LATITUDE_SPAN * ((hash & 0xFFFF) / 65535.0);
+        double longitude = MIN_LONGITUDE + LONGITUDE_SPAN * (((hash >>> 16) & 0xFFFF) / 65535.0);
+
+        String body = String.format(Locale.ROOT, """
+                {"status": "OK", "results": [{"place_id": "loadtest-%08x", "types": ["street_address"], \
+                "geometry": {"location": {"lat": %.6f, "lng": %.6f}, "location_type": "ROOFTOP"}}]}""",
+                hash, latitude, longitude);
+
+        return new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(body, JSON))
+                .build();
+    }
+}
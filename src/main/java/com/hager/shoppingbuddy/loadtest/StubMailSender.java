@@ -0,0 +1,22 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Mail sender that builds MIME messages as usual but replaces the SMTP round trip with a simulated one.
+ */
+@RequiredArgsConstructor
+public class StubMailSender extends JavaMailSenderImpl {
+
+    private final SimulatedDependency dependency;
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        if (dependency.call()) {
+            throw new MailSendException("Simulated SMTP failure");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import com.stripe.exception.StripeException;
+import com.stripe.net.ApiResource;
+import com.stripe.net.HttpClient;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeRequest;
+import com.stripe.net.StripeResponse;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stripe transport that answers the PaymentIntent calls made by {@code PaymentService} from memory, so the
+ * real SDK request building and response parsing still run. The card confirmation normally done by
+ * Stripe.js in the browser is assumed to succeed: a retrieved intent that still needs a payment method is
+ * reported as {@code requires_capture}.
+ */
+@RequiredArgsConstructor
+public class StubStripeHttpClient extends HttpClient {
+
+    private static final String PAYMENT_INTENTS = "/v1/payment_intents";
+    private static final HttpHeaders HEADERS = HttpHeaders.of(Map.of(
+            "Content-Type", List.of("application/json"),
+            "Request-Id", List.of("req_loadtest")));
+
+    private final SimulatedDependency dependency;
+
+    private final Map<String, PaymentIntentState> paymentIntents = new ConcurrentHashMap<>();
+
+    @Override
+    public StripeResponse request(StripeRequest request) throws StripeException {
+        if (dependency.call()) {
+            return error(500, "api_error", "Simulated Stripe failure");
+        }
+
+        String path = request.url().getPath();
+        if (!path.startsWith(PAYMENT_INTENTS)) {
+            return error(404, "invalid_request_error", "Unrecognized request URL: " + path);
+        }
+
+        String[] segments = path.substring(PAYMENT_INTENTS.length()).split("/");
+        if (segments.length <= 1) {
+            if (request.method() == ApiResource.RequestMethod.POST) {
+                return ok(create(request.params()));
+            }
+            return error(404, "invalid_request_error", "Listing payment intents is not supported");
+        }
+
+        PaymentIntentState paymentIntent = paymentIntents.get(segments[1]);
+        if (paymentIntent == null) {
+            return error(404, "invalid_request_error", "No such payment_intent: " + segments[1]);
+        }
+
+        String action = segments.length > 2 ? segments[2] : "";
+        synchronized (paymentIntent) {
+            switch (action) {
+                case "" -> {
+                    if ("requires_payment_method".equals(paymentIntent.status)) {
+                        paymentIntent.status = "requires_capture";
+                    }
+                }
+                case "capture" -> paymentIntent.status = "succeeded";
+                case "cancel" -> paymentIntent.status = "canceled";
+                default -> {
+                    return error(404, "invalid_request_error", "Unsupported payment intent action: " + action);
+                }
+            }
+            return ok(paymentIntent);
+        }
+    }
+
+    private PaymentIntentState create(Map<String, Object> params) {
+        String id = "pi_loadtest_" + UUID.randomUUID().toString().replace("-", "");
+        Object amount = params != null ? params.get("amount") : null;
+        PaymentIntentState paymentIntent = new PaymentIntentState(id,
+                amount != null ? Long.parseLong(amount.toString()) : 0L);
+        paymentIntents.put(id, paymentIntent);
+        return paymentIntent;
+    }
+
+    private static StripeResponse ok(PaymentIntentState paymentIntent) {
+        return new StripeResponse(200, HEADERS, String.format("""
+                {"id": "%s", "object": "payment_intent", "amount": %d, "currency": "eur", \
+                "capture_method": "manual", "client_secret": "%s_secret_loadtest", "status": "%s", "livemode": false}""",
+                paymentIntent.id, paymentIntent.amount, paymentIntent.id, paymentIntent.status));
+    }
+
+    private static StripeResponse error(int status, String type, String message) {
+        return new StripeResponse(status, HEADERS, String.format("""
+                {"error": {"type": "%s", "message": "%s"}}""", type, message));
+    }
+
+    private static final class PaymentIntentState {
+        private final String id;
+        private final long amount;
+        private String status = "requires_payment_method";
+
+        private PaymentIntentState(String id, long amount) {
+            this.id = id;
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.hager.shoppingbuddy.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summarizes endpoint and external-dependency latency (p50/p95/p99/max in milliseconds since startup) next
+ * to the connection pool wait time, so a slow request can be attributed to Maps, Stripe, SMTP or MySQL.
+ */
+@Component
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class LatencyEndpoint {
+
+    private final LatencyRecorder latencyRecorder;
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, Object> latency() {
+        Map<String, Object> calls = new TreeMap<>();
+        latencyRecorder.getHistograms().forEach((key, histogram) -> calls.put(key, summarize(histogram.copy())));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("calls", calls);
+        result.put("inFlight", new TreeMap<>(latencyRecorder.getInFlight()));
+        result.put("connectionPool", connectionPool());
+        return result;
+    }
+
+    private Map<String, Object> connectionPool() {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        if (acquire != null) {
+            pool.put("acquireCount", acquire.count());
+            pool.put("acquireMeanMs", acquire.mean(TimeUnit.MILLISECONDS));
+            pool.put("acquireMaxMs", acquire.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : acquire.takeSnapshot().percentileValues()) {
+                pool.put("acquireP" + Math.round(percentile.percentile() * 100) + "Ms",
+                        percentile.value(TimeUnit.MILLISECONDS));
+            }
+        }
+        putGauge(pool, "active", "hikaricp.connections.active");
+        putGauge(pool, "idle", "hikaricp.connections.idle");
+        putGauge(pool, "pending", "hikaricp.connections.pending");
+        return pool;
+    }
+
+    private void putGauge(Map<String, Object> target, String key, String meterName) {
+        Gauge gauge = meterRegistry.find(meterName).gauge();
+        if (gauge != null) {
+            target.put(key, gauge.value());
+        }
+    }
+
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p95Ms", millis(histogram.getValueAtPercentile(95)));
+        summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        summary.put("maxMs", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,98 @@
+package com.hager.shoppingbuddy.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times controller endpoints and calls to external dependencies (Google Maps, Stripe, SMTP). Each call is
+ * recorded as a Micrometer timer with p50/p95/p99 and into an HdrHistogram served by the {@code latency}
+ * actuator endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class LatencyRecorder {
+
+    public static final String ENDPOINT_TIMER = "shoppingbuddy.http.latency";
+    public static final String EXTERNAL_TIMER = "shoppingbuddy.external.latency";
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Throwable> {
+        T call() throws E;
+    }
+
+    public <T, E extends Throwable> T timeExternal(String dependency, String operation, TimedCall<T, E> call) throws E {
+        AtomicInteger dependencyInFlight = inFlight.computeIfAbsent(dependency, this::registerInFlightGauge);
+        dependencyInFlight.incrementAndGet();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            dependencyInFlight.decrementAndGet();
+            recordExternal(dependency, operation, outcome, System.nanoTime() - start);
+        }
+    }
+
+    public void recordExternal(String dependency, String operation, String outcome, long elapsedNanos) {
+        Timer.builder(EXTERNAL_TIMER)
+                .description("Latency of calls to external dependencies")
+                .tags("dependency", dependency, "operation", operation, "outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        recordHistogram("external " + dependency + "." + operation, elapsedNanos);
+    }
+
+    public void recordEndpoint(String endpoint, int status, long elapsedNanos) {
+        Timer.builder(ENDPOINT_TIMER)
+                .description("Latency of controller endpoints")
+                .tags("endpoint", endpoint, "status", String.valueOf(status))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        recordHistogram("http " + endpoint, elapsedNanos);
+    }
+
+    public Map<String, Histogram> getHistograms() {
+        return histograms;
+    }
+
+    public Map<String, AtomicInteger> getInFlight() {
+        return inFlight;
+    }
+
+    private AtomicInteger registerInFlightGauge(String dependency) {
+        AtomicInteger counter = new AtomicInteger();
+        Gauge.builder("shoppingbuddy.external.in.flight", counter, AtomicInteger::get)
+                .description("Calls to an external dependency that have started but not completed")
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+        return counter;
+    }
+
+    private void recordHistogram(String key, long elapsedNanos) {
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), 1), HIGHEST_TRACKABLE_MICROS);
+        histograms.computeIfAbsent(key, k -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS))
+                .recordValue(micros);
+    }
+}
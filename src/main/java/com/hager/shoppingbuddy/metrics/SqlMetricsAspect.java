@@ -0,0 +1,32 @@
+package com.hager.shoppingbuddy.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a SERVICE {@link SqlStatementScope} around every public service method.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class SqlMetricsAspect {
+
+    private final SqlMetricsRecorder sqlMetricsRecorder;
+
+    @Around("within(com.hager.shoppingbuddy.service..*) && execution(public * *(..))")
+    public Object trackStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        SqlStatementScope scope = SqlStatementTracker.open(SqlScopeType.SERVICE, name);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            SqlStatementTracker.close(scope);
+            if (scope.getStatementCount() > 0) {
+                sqlMetricsRecorder.record(scope);
+            }
+        }
+    }
+}
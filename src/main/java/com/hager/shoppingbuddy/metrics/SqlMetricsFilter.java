@@ -0,0 +1,42 @@
+package com.hager.shoppingbuddy.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens an HTTP {@link SqlStatementScope} around each request, named after the matched handler pattern so
+ * the metric tags stay bounded. Runs ahead of the security filters so user lookups are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private final SqlMetricsRecorder sqlMetricsRecorder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementScope scope = SqlStatementTracker.open(SqlScopeType.HTTP, request.getMethod());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementTracker.close(scope);
+            if (scope.getStatementCount() > 0) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                scope.rename(request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"));
+                sqlMetricsRecorder.record(scope);
+            }
+        }
+    }
+}
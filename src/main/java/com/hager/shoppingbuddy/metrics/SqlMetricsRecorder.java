@@ -0,0 +1,126 @@
+package com.hager.shoppingbuddy.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes closed {@link SqlStatementScope}s as Micrometer metrics, keeps per-scope totals for the
+ * {@code sqlstats} actuator endpoint and flags scopes that ran the same query shape repeatedly (N+1).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlMetricsRecorder {
+
+    private static final int MAX_RECENT_DETECTIONS = 50;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ScopeTotals> totals = new ConcurrentHashMap<>();
+    private final Deque<RepeatedQueryDetection> recentDetections = new ArrayDeque<>();
+
+    @Value("${shoppingbuddy.sql.repeated-query-threshold}")
+    private int repeatedQueryThreshold;
+
+    public void record(SqlStatementScope scope) {
+        String type = scope.getType().name().toLowerCase(Locale.ROOT);
+
+        DistributionSummary.builder("shoppingbuddy.sql.statements")
+                .description("JDBC statements executed per HTTP request or service method")
+                .tags("scope", type, "name", scope.getName())
+                .register(meterRegistry)
+                .record(scope.getStatementCount());
+        Timer.builder("shoppingbuddy.sql.time")
+                .description("Total JDBC execution time per HTTP request or service method")
+                .tags("scope", type, "name", scope.getName())
+                .register(meterRegistry)
+                .record(scope.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("shoppingbuddy.sql.rows")
+                .description("Result set rows fetched per HTTP request or service method")
+                .tags("scope", type, "name", scope.getName())
+                .register(meterRegistry)
+                .record(scope.getRowsFetched());
+
+        ScopeTotals scopeTotals = totals.computeIfAbsent(type + ":" + scope.getName(),
+                key -> new ScopeTotals(type, scope.getName()));
+        scopeTotals.add(scope);
+
+        Map.Entry<String, Integer> mostRepeated = scope.getMostRepeatedShape();
+        if (mostRepeated != null && mostRepeated.getValue() >= repeatedQueryThreshold) {
+            scopeTotals.repeatedQueryScopes.increment();
+            Counter.builder("shoppingbuddy.sql.repeated.queries")
+                    .description("HTTP requests or service methods that ran the same query shape repeatedly (likely N+1)")
+                    .tags("scope", type, "name", scope.getName())
+                    .register(meterRegistry)
+                    .increment();
+
+            log.warn("Possible N+1 in {} {}: same query executed {} times: {}",
+                    type, scope.getName(), mostRepeated.getValue(), mostRepeated.getKey());
+            synchronized (recentDetections) {
+                recentDetections.addFirst(new RepeatedQueryDetection(Instant.now(), type, scope.getName(),
+                        mostRepeated.getKey(), mostRepeated.getValue()));
+                if (recentDetections.size() > MAX_RECENT_DETECTIONS) {
+                    recentDetections.removeLast();
+                }
+            }
+        }
+    }
+
+    public List<ScopeTotals> getTotals() {
+        return totals.values().stream()
+                .sorted(Comparator.comparingLong(ScopeTotals::getStatements).reversed())
+                .toList();
+    }
+
+    public List<RepeatedQueryDetection> getRecentDetections() {
+        synchronized (recentDetections) {
+            return List.copyOf(recentDetections);
+        }
+    }
+
+    @Getter
+    public static class ScopeTotals {
+        private final String scope;
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Long::max, 0);
+        private final LongAdder elapsedNanos = new LongAdder();
+        private final LongAdder rowsFetched = new LongAdder();
+        private final LongAdder repeatedQueryScopes = new LongAdder();
+
+        ScopeTotals(String scope, String name) {
+            this.scope = scope;
+            this.name = name;
+        }
+
+        void add(SqlStatementScope sqlScope) {
+            invocations.increment();
+            statements.add(sqlScope.getStatementCount());
+            maxStatements.accumulate(sqlScope.getStatementCount());
+            elapsedNanos.add(sqlScope.getElapsedNanos());
+            rowsFetched.add(sqlScope.getRowsFetched());
+        }
+
+        long getStatements() {
+            return statements.sum();
+        }
+    }
+
+    public record RepeatedQueryDetection(Instant detectedAt, String scope, String name, String query, int executions) {
+    }
+}
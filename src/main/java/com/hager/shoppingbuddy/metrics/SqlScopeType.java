@@ -0,0 +1,6 @@
+package com.hager.shoppingbuddy.metrics;
+
+public enum SqlScopeType {
+    HTTP,
+    SERVICE
+}
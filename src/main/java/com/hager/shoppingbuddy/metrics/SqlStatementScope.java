@@ -0,0 +1,46 @@
+package com.hager.shoppingbuddy.metrics;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements executed while one HTTP request or service method was running, counted per query shape.
+ */
+@Getter
+public class SqlStatementScope {
+
+    private final SqlScopeType type;
+    private String name;
+
+    private int statementCount;
+    private long elapsedNanos;
+    private long rowsFetched;
+    private final Map<String, Integer> shapeCounts = new HashMap<>();
+
+    SqlStatementScope(SqlScopeType type, String name) {
+        this.type = type;
+        this.name = name;
+    }
+
+    void rename(String name) {
+        this.name = name;
+    }
+
+    void recordStatement(String shape, long elapsedNanos) {
+        this.statementCount++;
+        this.elapsedNanos += elapsedNanos;
+        this.shapeCounts.merge(shape, 1, Integer::sum);
+    }
+
+    void recordRow() {
+        this.rowsFetched++;
+    }
+
+    public Map.Entry<String, Integer> getMostRepeatedShape() {
+        return shapeCounts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.hager.shoppingbuddy.metrics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Pattern;
+
+/**
+ * Thread-bound stack of open {@link SqlStatementScope}s. Every statement and fetched row is attributed to
+ * all open scopes, so a service method called from an HTTP request counts towards both.
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<Deque<SqlStatementScope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlStatementTracker() {
+    }
+
+    public static SqlStatementScope open(SqlScopeType type, String name) {
+        SqlStatementScope scope = new SqlStatementScope(type, name);
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    public static void close(SqlStatementScope scope) {
+        Deque<SqlStatementScope> scopes = SCOPES.get();
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static void recordStatement(String sql, long elapsedNanos) {
+        Deque<SqlStatementScope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return;
+        }
+        String shape = shapeOf(sql);
+        for (SqlStatementScope scope : scopes) {
+            scope.recordStatement(shape, elapsedNanos);
+        }
+    }
+
+    static void recordRow() {
+        for (SqlStatementScope scope : SCOPES.get()) {
+            scope.recordRow();
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("?");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,44 @@
+package com.hager.shoppingbuddy.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+
+    private final SqlMetricsRecorder sqlMetricsRecorder;
+
+    @ReadOperation
+    public Map<String, Object> sqlStats() {
+        List<Map<String, Object>> scopes = sqlMetricsRecorder.getTotals().stream()
+                .map(totals -> {
+                    long invocations = totals.getInvocations().sum();
+                    long statements = totals.getStatements();
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("scope", totals.getScope());
+                    entry.put("name", totals.getName());
+                    entry.put("invocations", invocations);
+                    entry.put("statements", statements);
+                    entry.put("avgStatements", invocations == 0 ? 0.0 : (double) statements / invocations);
+                    entry.put("maxStatements", totals.getMaxStatements().get());
+                    entry.put("jdbcTimeMs", totals.getElapsedNanos().sum() / 1_000_000.0);
+                    entry.put("rowsFetched", totals.getRowsFetched().sum());
+                    entry.put("repeatedQueryInvocations", totals.getRepeatedQueryScopes().sum());
+                    return entry;
+                })
+                .toList();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scopes", scopes);
+        result.put("recentRepeatedQueries", sqlMetricsRecorder.getRecentDetections());
+        return result;
+    }
+}
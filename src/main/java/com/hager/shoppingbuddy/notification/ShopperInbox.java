@@ -0,0 +1,66 @@
+package com.hager.shoppingbuddy.notification;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * New requests waiting to be pushed to one shopper. Requests collect between deliveries, and a delivery is due
+ * at most once per {@code minIntervalMillis}, so a burst of new requests reaches the shopper as one batch. A
+ * request that stops being open before delivery is withdrawn; past {@code capacity} the oldest one is dropped.
+ * Not thread-safe.
+ */
+public class ShopperInbox {
+
+    private final int capacity;
+    private final long minIntervalMillis;
+    private final LinkedHashMap<Long, ShoppingRequestResponse> pending = new LinkedHashMap<>();
+    private long lastDeliveredMillis = Long.MIN_VALUE;
+
+    public ShopperInbox(int capacity, long minIntervalMillis) {
+        this.capacity = capacity;
+        this.minIntervalMillis = minIntervalMillis;
+    }
+
+    /**
+     * Queues the request, or refreshes it if already queued.
+     *
+     * @return whether the oldest waiting request was dropped to make room
+     */
+    public boolean add(ShoppingRequestResponse request) {
+        pending.put(request.getId(), request);
+        if (pending.size() <= capacity) {
+            return false;
+        }
+        Iterator<Long> oldest = pending.keySet().iterator();
+        oldest.next();
+        oldest.remove();
+        return true;
+    }
+
+    public void withdraw(long requestId) {
+        pending.remove(requestId);
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * @return the waiting requests, oldest first, or an empty list if none are waiting or the last delivery
+     * was less than the minimum interval ago
+     */
+    public List<ShoppingRequestResponse> drainIfDue(long nowMillis) {
+        if (pending.isEmpty()
+                || (lastDeliveredMillis != Long.MIN_VALUE && nowMillis - lastDeliveredMillis < minIntervalMillis)) {
+            return List.of();
+        }
+        List<ShoppingRequestResponse> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        lastDeliveredMillis = nowMillis;
+        return batch;
+    }
+}
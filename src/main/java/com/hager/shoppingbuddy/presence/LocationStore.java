@@ -0,0 +1,197 @@
+package com.hager.shoppingbuddy.presence;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The latest reported position of each shopper, held in parallel primitive arrays so a heartbeat is a hash
+ * probe and three array writes, with no allocation once a shopper has a slot. Ids map to slots through an
+ * open-addressing table with linear probing; slots freed by expiry are reused. Positions changed since the
+ * last {@link #drainChanged()} are tracked so they can be persisted in one batch, however often a shopper
+ * reported in between.
+ */
+public class LocationStore {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long[] tableIds = new long[INITIAL_CAPACITY * 2];
+    /** Slot + 1 for each table entry, 0 where the entry is empty. */
+    private int[] tableSlots = new int[INITIAL_CAPACITY * 2];
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private long[] updatedAtMillis = new long[INITIAL_CAPACITY];
+    private final BitSet changed = new BitSet();
+
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private int size;
+
+    /**
+     * @return whether the id had no position before
+     */
+    public synchronized boolean update(long id, double latitude, double longitude, long nowMillis) {
+        int index = find(id);
+        boolean added = tableSlots[index] == 0;
+        int slot;
+        if (added) {
+            slot = allocateSlot();
+            tableIds[index] = id;
+            tableSlots[index] = slot + 1;
+            ids[slot] = id;
+            size++;
+            if (size * 2 > tableIds.length) {
+                rehash(tableIds.length * 2);
+            }
+        } else {
+            slot = tableSlots[index] - 1;
+        }
+        latitudes[slot] = latitude;
+        longitudes[slot] = longitude;
+        updatedAtMillis[slot] = nowMillis;
+        changed.set(slot);
+        return added;
+    }
+
+    /**
+     * @return the latest position, or {@code null} if the id has none
+     */
+    public synchronized Position get(long id) {
+        int index = find(id);
+        return tableSlots[index] == 0 ? null : position(tableSlots[index] - 1);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return positions updated since the previous call, one per id
+     */
+    public synchronized List<Position> drainChanged() {
+        List<Position> drained = new ArrayList<>(changed.cardinality());
+        for (int slot = changed.nextSetBit(0); slot >= 0; slot = changed.nextSetBit(slot + 1)) {
+            drained.add(position(slot));
+        }
+        changed.clear();
+        return drained;
+    }
+
+    /**
+     * Marks the ids of drained positions as changed again, for a batch that could not be persisted, so the next
+     * drain returns their latest position. Ids that have expired since are skipped.
+     */
+    public synchronized void restoreChanged(Collection<Position> positions) {
+        for (Position position : positions) {
+            int index = find(position.id());
+            if (tableSlots[index] != 0) {
+                changed.set(tableSlots[index] - 1);
+            }
+        }
+    }
+
+    /**
+     * Removes every position last updated before {@code cutoffMillis}.
+     *
+     * @return the ids removed
+     */
+    public synchronized List<Long> expire(long cutoffMillis) {
+        List<Long> expired = new ArrayList<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            // Free slots are marked Long.MAX_VALUE, so they never expire
+            if (updatedAtMillis[slot] < cutoffMillis) {
+                expired.add(ids[slot]);
+            }
+        }
+        for (long id : expired) {
+            remove(id);
+        }
+        return expired;
+    }
+
+    private void remove(long id) {
+        int index = find(id);
+        int slot = tableSlots[index] - 1;
+        changed.clear(slot);
+        updatedAtMillis[slot] = Long.MAX_VALUE;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+
+        // Backward-shift deletion keeps every remaining id reachable from its home index
+        int mask = tableIds.length - 1;
+        int hole = index;
+        int next = index;
+        while (true) {
+            next = (next + 1) & mask;
+            if (tableSlots[next] == 0) {
+                break;
+            }
+            int home = hash(tableIds[next]) & mask;
+            boolean movable = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+            if (movable) {
+                tableIds[hole] = tableIds[next];
+                tableSlots[hole] = tableSlots[next];
+                hole = next;
+            }
+        }
+        tableSlots[hole] = 0;
+    }
+
+    private Position position(int slot) {
+        return new Position(ids[slot], latitudes[slot], longitudes[slot], Instant.ofEpochMilli(updatedAtMillis[slot]));
+    }
+
+    private int find(long id) {
+        int mask = tableIds.length - 1;
+        int index = hash(id) & mask;
+        while (tableSlots[index] != 0 && tableIds[index] != id) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            updatedAtMillis = Arrays.copyOf(updatedAtMillis, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldIds = tableIds;
+        int[] oldSlots = tableSlots;
+        tableIds = new long[capacity];
+        tableSlots = new int[capacity];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldSlots[i] != 0) {
+                int index = find(oldIds[i]);
+                tableIds[index] = oldIds[i];
+                tableSlots[index] = oldSlots[i];
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public record Position(long id, double latitude, double longitude, Instant updatedAt) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.hager.shoppingbuddy.pricing;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accept-to-complete durations of finished requests, aggregated by store-to-delivery distance in buckets of
+ * {@code bucketKm}, across all stores and per directory store. Each bucket keeps a count and a sum, and its mean is
+ * recomputed when a trip is added, so an estimate is an array read for the bucket plus one map lookup for the
+ * store. The last bucket takes every longer trip. Not thread-safe.
+ */
+public class TripDurations {
+
+    private final double bucketKm;
+    private final int bucketCount;
+    private final int minSamples;
+    private final Buckets overall;
+    private final Map<Long, Buckets> byStore = new HashMap<>();
+    private long tripCount;
+
+    public TripDurations(double bucketKm, int bucketCount, int minSamples) {
+        this.bucketKm = bucketKm;
+        this.bucketCount = bucketCount;
+        this.minSamples = minSamples;
+        this.overall = new Buckets(bucketCount);
+    }
+
+    public void record(Long storeId, double distanceKm, long durationSeconds) {
+        int bucket = bucket(distanceKm);
+        overall.add(bucket, durationSeconds);
+        if (storeId != null) {
+            byStore.computeIfAbsent(storeId, id -> new Buckets(bucketCount)).add(bucket, durationSeconds);
+        }
+        tripCount++;
+    }
+
+    /**
+     * @return the mean duration of the store's trips of this distance if it has at least {@code minSamples} of
+     * them, else of all stores' trips of this distance, or {@code null} if neither has enough
+     */
+    public Estimate estimate(Long storeId, double distanceKm) {
+        int bucket = bucket(distanceKm);
+        Buckets store = storeId != null ? byStore.get(storeId) : null;
+        if (store != null && store.counts[bucket] >= minSamples) {
+            return new Estimate(Math.round(store.means[bucket]), store.counts[bucket], true);
+        }
+        if (overall.counts[bucket] >= minSamples) {
+            return new Estimate(Math.round(overall.means[bucket]), overall.counts[bucket], false);
+        }
+        return null;
+    }
+
+    public long getTripCount() {
+        return tripCount;
+    }
+
+    private int bucket(double distanceKm) {
+        return Math.min(bucketCount - 1, Math.max(0, (int) (distanceKm / bucketKm)));
+    }
+
+    /**
+     * @param storeSpecific whether the estimate comes from the store's own trips
+     */
+    public record Estimate(long durationSeconds, int samples, boolean storeSpecific) {
+    }
+
+    private static final class Buckets {
+        private final int[] counts;
+        private final long[] sums;
+        private final double[] means;
+
+        private Buckets(int bucketCount) {
+            counts = new int[bucketCount];
+            sums = new long[bucketCount];
+            means = new double[bucketCount];
+        }
+
+        private void add(int bucket, long durationSeconds) {
+            counts[bucket]++;
+            sums[bucket] += durationSeconds;
+            means[bucket] = (double) sums[bucket] / counts[bucket];
+        }
+    }
+}
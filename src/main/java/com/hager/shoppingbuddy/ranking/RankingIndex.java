@@ -0,0 +1,87 @@
+package com.hager.shoppingbuddy.ranking;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.spatial.GeoDistance;
+import com.hager.shoppingbuddy.spatial.GridIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Open requests indexed by store location, ranked per shopper. A query scores only the requests whose store is
+ * within the search radius of the shopper and keeps the best {@code limit} in a min-heap, so it costs
+ * O(candidates log limit) rather than a sort of every open request. Each request's store-to-delivery distance
+ * is computed once, when it is added. Not thread-safe.
+ */
+public class RankingIndex {
+
+    private static final double CELL_DEGREES = 0.01;
+    /** Keeps fee per km finite for a delivery next door to a shopper standing in the store. */
+    private static final double MIN_TRIP_KM = 0.5;
+
+    private final GridIndex<Candidate> candidates = new GridIndex<>(CELL_DEGREES);
+
+    /**
+     * Adds the request, or replaces it if it is already indexed. Requests without store coordinates cannot be
+     * ranked by distance and are ignored.
+     */
+    public void requestOpened(ShoppingRequestResponse request) {
+        requestClosed(request.getId());
+        if (request.getStoreLatitude() == null || request.getStoreLongitude() == null) {
+            return;
+        }
+        double deliveryKm = request.getLatitude() != null && request.getLongitude() != null
+                ? GeoDistance.haversineKm(request.getStoreLatitude(), request.getStoreLongitude(),
+                request.getLatitude(), request.getLongitude())
+                : 0;
+        long createdAtMillis = request.getCreatedAt() != null ? request.getCreatedAt().toEpochMilli() : 0;
+        candidates.put(request.getId(), request.getStoreLatitude(), request.getStoreLongitude(),
+                new Candidate(request, deliveryKm, createdAtMillis));
+    }
+
+    public void requestClosed(long requestId) {
+        candidates.remove(requestId);
+    }
+
+    public int size() {
+        return candidates.size();
+    }
+
+    /**
+     * @return the best {@code limit} requests with a store within {@code radiusKm} of the shopper, best first
+     */
+    public List<Ranked> top(double latitude, double longitude, double radiusKm, int limit, RankingWeights weights,
+                            long nowMillis) {
+        PriorityQueue<Ranked> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Ranked::score));
+        candidates.forEachWithin(latitude, longitude, radiusKm, (candidate, pickupKm) -> {
+            double score = score(candidate, pickupKm, weights, nowMillis);
+            if (best.size() < limit) {
+                best.add(new Ranked(candidate.request, score, pickupKm, candidate.deliveryKm));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new Ranked(candidate.request, score, pickupKm, candidate.deliveryKm));
+            }
+        });
+        List<Ranked> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Ranked::score).reversed());
+        return result;
+    }
+
+    static double score(Candidate candidate, double pickupKm, RankingWeights weights, long nowMillis) {
+        double tripKm = Math.max(MIN_TRIP_KM, pickupKm + candidate.deliveryKm);
+        double minutesWaiting = Math.min(weights.maxMinutesWaiting(),
+                Math.max(0, nowMillis - candidate.createdAtMillis) / 60_000.0);
+        return weights.perFeePerKm() * candidate.request.getDeliveryFee() / tripKm
+                + weights.perMinuteWaiting() * minutesWaiting
+                - weights.perPickupKm() * pickupKm
+                - weights.perDeliveryKm() * candidate.deliveryKm;
+    }
+
+    public record Ranked(ShoppingRequestResponse request, double score, double pickupKm, double deliveryKm) {
+    }
+
+    record Candidate(ShoppingRequestResponse request, double deliveryKm, long createdAtMillis) {
+    }
+}
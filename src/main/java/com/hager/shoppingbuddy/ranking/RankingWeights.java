@@ -0,0 +1,10 @@
+package com.hager.shoppingbuddy.ranking;
+
+/**
+ * How much each factor moves a request's score. Distances count against a request; its delivery fee per km of
+ * the whole trip and the minutes it has waited count for it, the latter up to {@code maxMinutesWaiting} so a
+ * stale request cannot outrank every nearby one.
+ */
+public record RankingWeights(double perPickupKm, double perDeliveryKm, double perFeePerKm, double perMinuteWaiting,
+                             double maxMinutesWaiting) {
+}
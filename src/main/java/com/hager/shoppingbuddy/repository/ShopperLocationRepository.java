@@ -0,0 +1,9 @@
+package com.hager.shoppingbuddy.repository;
+
+import com.hager.shoppingbuddy.entity.ShopperLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ShopperLocationRepository extends JpaRepository<ShopperLocation, Long>, ShopperLocationRepositoryCustom {
+}
@@ -0,0 +1,13 @@
+package com.hager.shoppingbuddy.repository;
+
+import com.hager.shoppingbuddy.presence.LocationStore;
+
+import java.util.List;
+
+public interface ShopperLocationRepositoryCustom {
+
+    /**
+     * Inserts or overwrites the stored location of each shopper in one batch.
+     */
+    void saveLatestLocations(List<LocationStore.Position> positions);
+}
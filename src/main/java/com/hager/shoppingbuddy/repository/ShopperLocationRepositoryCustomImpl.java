@@ -0,0 +1,41 @@
+package com.hager.shoppingbuddy.repository;
+
+import com.hager.shoppingbuddy.presence.LocationStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Upserts shopper locations as a JDBC batch, so a flush costs one round trip per batch rather than a select and
+ * an insert or update per shopper.
+ */
+@RequiredArgsConstructor
+public class ShopperLocationRepositoryCustomImpl implements ShopperLocationRepositoryCustom {
+
+    private static final String UPSERT_LOCATION = "insert into shopper_locations (user_id, latitude, longitude, updated_at) "
+            + "values (?, ?, ?, ?) on duplicate key update latitude = values(latitude), longitude = values(longitude), "
+            + "updated_at = values(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void saveLatestLocations(List<LocationStore.Position> positions) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        // Hibernate stores Instant columns in UTC; bind the same way so the entity reads back the same instant
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        jdbcTemplate.batchUpdate(UPSERT_LOCATION, positions, positions.size(), (statement, position) -> {
+            statement.setLong(1, position.id());
+            statement.setDouble(2, position.latitude());
+            statement.setDouble(3, position.longitude());
+            statement.setTimestamp(4, Timestamp.from(position.updatedAt()), utc);
+        });
+    }
+}
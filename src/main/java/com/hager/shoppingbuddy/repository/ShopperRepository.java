@@ -1,7 +1,10 @@
 package com.hager.shoppingbuddy.repository;
 
 import com.hager.shoppingbuddy.entity.Shopper;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,6 +12,7 @@ import java.util.Optional;
 @Repository
 public interface ShopperRepository extends JpaRepository<Shopper, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Shopper> findByUserEmail(String email);
 
 }
@@ -3,14 +3,65 @@ package com.hager.shoppingbuddy.repository;
 import com.hager.shoppingbuddy.entity.PaymentStatus;
 import com.hager.shoppingbuddy.entity.ShoppingRequest;
 import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ShoppingRequestRepository extends JpaRepository<ShoppingRequest, Long> {
+public interface ShoppingRequestRepository extends JpaRepository<ShoppingRequest, Long>, ShoppingRequestRepositoryCustom {
+
+    interface MissingCoordinates {
+        Long getId();
+
+        String getDeliveryAddress();
+
+        Double getLatitude();
+
+        String getStoreAddress();
+
+        Double getStoreLatitude();
+    }
+
+    interface CompletedTrip {
+        Long getId();
+
+        Long getStoreId();
+
+        Double getStoreLatitude();
+
+        Double getStoreLongitude();
+
+        Double getLatitude();
+
+        Double getLongitude();
+
+        Instant getAcceptedAt();
+
+        Instant getCompletedAt();
+    }
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ShoppingRequest r where r.id = :id")
+    Optional<ShoppingRequest> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Locks in id order, so two transactions locking overlapping sets cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ShoppingRequest r where r.id in :ids order by r.id")
+    List<ShoppingRequest> findForUpdateByIdIn(@Param("ids") Collection<Long> ids);
 
     Optional<ShoppingRequest> findByIdAndShopperId(Long id, Long shopperId);
 
@@ -19,4 +70,34 @@ public interface ShoppingRequestRepository extends JpaRepository<ShoppingRequest
     List<ShoppingRequest> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
 
     List<ShoppingRequest> findByShopperIdOrderByCreatedAtDesc(Long shopperId);
+
+    @Query("select r.id from ShoppingRequest r where r.shopper.id = :shopperId and r.status in :statuses")
+    List<Long> findIdsByShopperIdAndStatusIn(@Param("shopperId") Long shopperId,
+                                             @Param("statuses") Collection<ShoppingRequestStatus> statuses);
+
+    List<ShoppingRequest> findByShopperIdAndStatusIn(Long shopperId, Collection<ShoppingRequestStatus> statuses);
+
+    @EntityGraph(attributePaths = "items")
+    List<ShoppingRequest> findWithItemsByIdIn(Collection<Long> ids);
+
+    @Query("select r.id as id, r.deliveryAddress as deliveryAddress, r.latitude as latitude, "
+            + "r.storeAddress as storeAddress, r.storeLatitude as storeLatitude from ShoppingRequest r "
+            + "where r.needsGeocoding = true and r.geocodeAttempts < :maxAttempts "
+            + "and r.status in (com.hager.shoppingbuddy.entity.ShoppingRequestStatus.PENDING, "
+            + "com.hager.shoppingbuddy.entity.ShoppingRequestStatus.ACCEPTED, "
+            + "com.hager.shoppingbuddy.entity.ShoppingRequestStatus.IN_PROGRESS) "
+            + "order by r.geocodeAttempts, r.id")
+    List<MissingCoordinates> findMissingCoordinates(@Param("maxAttempts") int maxAttempts, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update ShoppingRequest r set r.geocodeAttempts = r.geocodeAttempts + 1 where r.id in :ids")
+    int incrementGeocodeAttempts(@Param("ids") List<Long> ids);
+
+    @Query("select r.id as id, s.id as storeId, r.storeLatitude as storeLatitude, r.storeLongitude as storeLongitude, "
+            + "r.latitude as latitude, r.longitude as longitude, r.acceptedAt as acceptedAt, r.completedAt as completedAt "
+            + "from ShoppingRequest r left join r.store s "
+            + "where r.status = com.hager.shoppingbuddy.entity.ShoppingRequestStatus.COMPLETED "
+            + "and r.acceptedAt is not null and r.completedAt is not null")
+    List<CompletedTrip> findCompletedTrips();
 }
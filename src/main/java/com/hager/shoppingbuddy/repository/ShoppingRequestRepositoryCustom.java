@@ -0,0 +1,19 @@
+package com.hager.shoppingbuddy.repository;
+
+import java.util.List;
+
+public interface ShoppingRequestRepositoryCustom {
+
+    record ResolvedLocation(Long requestId, String address, double latitude, double longitude) {
+    }
+
+    /**
+     * @return ids of the requests whose delivery coordinates were written
+     */
+    List<Long> updateDeliveryLocations(List<ResolvedLocation> locations);
+
+    /**
+     * @return ids of the requests whose store coordinates were written
+     */
+    List<Long> updateStoreLocations(List<ResolvedLocation> locations);
+}
@@ -0,0 +1,57 @@
+package com.hager.shoppingbuddy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes background geocoding results as JDBC batches. A location is only written while the coordinates are
+ * still missing and the address is the one that was geocoded, so an edit made in the meantime is never
+ * overwritten with coordinates for the old address.
+ */
+@RequiredArgsConstructor
+public class ShoppingRequestRepositoryCustomImpl implements ShoppingRequestRepositoryCustom {
+
+    private static final String UPDATE_DELIVERY_LOCATION = "update shopping_requests set latitude = ?, longitude = ? "
+            + "where id = ? and delivery_address = ? and latitude is null";
+    private static final String UPDATE_STORE_LOCATION = "update shopping_requests set store_latitude = ?, store_longitude = ? "
+            + "where id = ? and store_address = ? and store_latitude is null";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<Long> updateDeliveryLocations(List<ResolvedLocation> locations) {
+        return batchUpdate(UPDATE_DELIVERY_LOCATION, locations);
+    }
+
+    @Override
+    @Transactional
+    public List<Long> updateStoreLocations(List<ResolvedLocation> locations) {
+        return batchUpdate(UPDATE_STORE_LOCATION, locations);
+    }
+
+    private List<Long> batchUpdate(String sql, List<ResolvedLocation> locations) {
+        if (locations.isEmpty()) {
+            return List.of();
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(sql, locations, locations.size(), (statement, location) -> {
+            statement.setDouble(1, location.latitude());
+            statement.setDouble(2, location.longitude());
+            statement.setLong(3, location.requestId());
+            statement.setString(4, location.address());
+        });
+
+        List<Long> updated = new ArrayList<>();
+        for (int i = 0; i < locations.size(); i++) {
+            // Drivers that cannot report per-statement counts return SUCCESS_NO_INFO (-2)
+            if (counts[0][i] != 0) {
+                updated.add(locations.get(i).requestId());
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,13 @@
+package com.hager.shoppingbuddy.repository;
+
+import com.hager.shoppingbuddy.entity.Store;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StoreRepository extends JpaRepository<Store, Long> {
+
+    Optional<Store> findByNameAndAddress(String name, String address);
+}
@@ -1,12 +1,27 @@
 package com.hager.shoppingbuddy.repository;
 
 import com.hager.shoppingbuddy.entity.Token;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TokenRepository extends JpaRepository<Token, Long> {
-    Optional<Token> findByToken(String token);
+    Optional<Token> findByTokenHash(byte[] tokenHash);
+
+    @Query("select t.id from Token t where t.id > :afterId and (t.expiresAt < :now or t.confirmedAt is not null) order by t.id")
+    List<Long> findPurgeableIds(@Param("afterId") long afterId, @Param("now") Instant now, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Token t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
@@ -4,11 +4,6 @@ import com.hager.shoppingbuddy.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByEmail(String email);
-
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 }
@@ -0,0 +1,10 @@
+package com.hager.shoppingbuddy.repository;
+
+import com.hager.shoppingbuddy.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,72 @@
+package com.hager.shoppingbuddy.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks on a delegate that starts a thread per task (virtual threads), at most {@code maxConcurrency} at a
+ * time. Submitting never blocks the caller: a task waits for its permit on its own thread, and once
+ * {@code queueCapacity} tasks are waiting, further ones are rejected with a {@link TaskRejectedException} and
+ * counted.
+ */
+public class BoundedTaskExecutor implements TaskExecutor, AutoCloseable {
+
+    private final TaskExecutor delegate;
+    private final Semaphore permits;
+    private final int queueCapacity;
+    private final Counter rejected;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public BoundedTaskExecutor(TaskExecutor delegate, int maxConcurrency, int queueCapacity, Counter rejected) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency);
+        this.queueCapacity = queueCapacity;
+        this.rejected = rejected;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new TaskRejectedException("Executor queue is full (" + queueCapacity + " tasks waiting)");
+        }
+        try {
+            delegate.execute(() -> run(task));
+        } catch (RuntimeException e) {
+            waiting.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            waiting.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        waiting.decrementAndGet();
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+}
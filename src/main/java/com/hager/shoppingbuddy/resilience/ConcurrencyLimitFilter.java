@@ -0,0 +1,113 @@
+package com.hager.shoppingbuddy.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds API requests with a fast 503 once their {@link EndpointClass} has as many requests in flight as its
+ * {@link GradientLimit} allows, instead of letting them queue on Tomcat threads and the connection pool. Reads
+ * are also shed while writes are using most of their budget, so cheap polling gives way first when MySQL or
+ * Stripe slows down. Runs ahead of the session and security filters, so a rejection costs no database work.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final double READ_SHED_WRITE_UTILIZATION = 0.75;
+
+    private final boolean enabled;
+    private final int retryAfterSeconds;
+    private final Map<EndpointClass, GradientLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${shoppingbuddy.limiter.enabled}") boolean enabled,
+                                  @Value("${shoppingbuddy.limiter.min-limit}") int minLimit,
+                                  @Value("${shoppingbuddy.limiter.max-limit}") int maxLimit,
+                                  @Value("${shoppingbuddy.limiter.write.initial-limit}") int initialWriteLimit,
+                                  @Value("${shoppingbuddy.limiter.read.initial-limit}") int initialReadLimit,
+                                  @Value("${shoppingbuddy.limiter.retry-after-seconds}") int retryAfterSeconds) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        limits.put(EndpointClass.WRITE, new GradientLimit(initialWriteLimit, minLimit, maxLimit));
+        limits.put(EndpointClass.READ, new GradientLimit(initialReadLimit, minLimit, maxLimit));
+
+        limits.forEach((endpointClass, limit) -> {
+            Gauge.builder("shoppingbuddy.limiter.limit", limit, GradientLimit::getLimit)
+                    .description("Current concurrency limit")
+                    .tag("class", endpointClass.getTag())
+                    .register(meterRegistry);
+            Gauge.builder("shoppingbuddy.limiter.in.flight", limit, GradientLimit::getInFlight)
+                    .description("Requests currently admitted by the limiter")
+                    .tag("class", endpointClass.getTag())
+                    .register(meterRegistry);
+            rejections.put(endpointClass, Counter.builder("shoppingbuddy.limiter.rejected")
+                    .description("Requests shed with 503 by the limiter")
+                    .tag("class", endpointClass.getTag())
+                    .register(meterRegistry));
+        });
+    }
+
+    GradientLimit getLimit(EndpointClass endpointClass) {
+        return limits.get(endpointClass);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || EndpointClass.of(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        GradientLimit.Permit permit = admit(endpointClass);
+        if (permit == null) {
+            reject(endpointClass, request, response);
+            return;
+        }
+
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            permit.release(dropped);
+        }
+    }
+
+    private GradientLimit.Permit admit(EndpointClass endpointClass) {
+        if (endpointClass == EndpointClass.READ
+                && limits.get(EndpointClass.WRITE).getUtilization() >= READ_SHED_WRITE_UTILIZATION) {
+            return null;
+        }
+        return limits.get(endpointClass).tryAcquire();
+    }
+
+    private void reject(EndpointClass endpointClass, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        rejections.get(endpointClass).increment();
+        log.debug("Shedding {} {} ({} limit reached)", request.getMethod(), request.getRequestURI(), endpointClass.getTag());
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write("Service is busy, please retry shortly");
+    }
+}
@@ -0,0 +1,141 @@
+package com.hager.shoppingbuddy.resilience;
+
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
+import com.hager.shoppingbuddy.metrics.LatencyRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Wraps calls to external dependencies (Google Maps, Stripe, SMTP) in a bulkhead and a {@link CircuitBreaker},
+ * so a degraded provider is refused quickly with a {@link DependencyUnavailableException} instead of holding
+ * request threads until it times out. Calls that fail or take longer than the dependency's slow-call threshold
+ * count against the breaker. Settings are read per dependency from
+ * {@code shoppingbuddy.resilience.<dependency>.*}, falling back to {@code shoppingbuddy.resilience.*}.
+ */
+@Component
+@RequiredArgsConstructor
+public class DependencyGuard {
+
+    private static final String PREFIX = "shoppingbuddy.resilience.";
+
+    private final LatencyRecorder latencyRecorder;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    private final Map<String, Policy> policies = new ConcurrentHashMap<>();
+
+    public <T, E extends Throwable> T call(String dependency, String operation, LatencyRecorder.TimedCall<T, E> call)
+            throws E, DependencyUnavailableException {
+        return call(dependency, operation, call, e -> true);
+    }
+
+    /**
+     * @param isFailure decides which exceptions count against the breaker, e.g. to ignore client errors
+     */
+    public <T, E extends Throwable> T call(String dependency, String operation, LatencyRecorder.TimedCall<T, E> call,
+                                           Predicate<Throwable> isFailure) throws E, DependencyUnavailableException {
+        Policy policy = policies.computeIfAbsent(dependency, this::createPolicy);
+
+        if (!policy.circuitBreaker.tryAcquirePermission()) {
+            policy.rejectedOpen.increment();
+            throw new DependencyUnavailableException(dependency + " is unavailable (circuit open)");
+        }
+        if (!policy.acquireBulkhead()) {
+            policy.circuitBreaker.releasePermission();
+            policy.rejectedFull.increment();
+            throw new DependencyUnavailableException(dependency + " is unavailable (too many concurrent calls)");
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = latencyRecorder.timeExternal(dependency, operation, call);
+            if (System.nanoTime() - start > policy.slowCallNanos) {
+                policy.circuitBreaker.onFailure();
+            } else {
+                policy.circuitBreaker.onSuccess();
+            }
+            return result;
+        } catch (Throwable e) {
+            if (isFailure.test(e)) {
+                policy.circuitBreaker.onFailure();
+            } else {
+                policy.circuitBreaker.onSuccess();
+            }
+            throw e;
+        } finally {
+            policy.bulkhead.release();
+        }
+    }
+
+    public CircuitBreaker.State getState(String dependency) {
+        Policy policy = policies.get(dependency);
+        return policy != null ? policy.circuitBreaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    private Policy createPolicy(String dependency) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                setting(dependency, "sliding-window-size", Integer.class, 20),
+                setting(dependency, "minimum-calls", Integer.class, 10),
+                setting(dependency, "failure-rate-threshold", Double.class, 0.5),
+                TimeUnit.MILLISECONDS.toNanos(setting(dependency, "open-duration-ms", Long.class, 10_000L)),
+                setting(dependency, "half-open-probes", Integer.class, 3));
+        Policy policy = new Policy(
+                circuitBreaker,
+                new Semaphore(setting(dependency, "max-concurrent-calls", Integer.class, 20)),
+                setting(dependency, "max-wait-ms", Long.class, 50L),
+                TimeUnit.MILLISECONDS.toNanos(setting(dependency, "slow-call-ms", Long.class, 5_000L)),
+                rejectionCounter(dependency, "circuit_open"),
+                rejectionCounter(dependency, "bulkhead_full"));
+
+        Gauge.builder("shoppingbuddy.dependency.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Circuit breaker state (0 closed, 1 half-open, 2 open)")
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+        Gauge.builder("shoppingbuddy.dependency.bulkhead.available", policy.bulkhead, Semaphore::availablePermits)
+                .description("Free concurrent call slots")
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+        return policy;
+    }
+
+    private Counter rejectionCounter(String dependency, String reason) {
+        return Counter.builder("shoppingbuddy.dependency.rejected")
+                .description("Calls refused without reaching the dependency")
+                .tags("dependency", dependency, "reason", reason)
+                .register(meterRegistry);
+    }
+
+    private <V> V setting(String dependency, String key, Class<V> type, V defaultValue) {
+        V fallback = environment.getProperty(PREFIX + key, type, defaultValue);
+        return environment.getProperty(PREFIX + dependency + "." + key, type, fallback);
+    }
+
+    @RequiredArgsConstructor
+    private static final class Policy {
+        private final CircuitBreaker circuitBreaker;
+        private final Semaphore bulkhead;
+        private final long maxWaitMillis;
+        private final long slowCallNanos;
+        private final Counter rejectedOpen;
+        private final Counter rejectedFull;
+
+        private boolean acquireBulkhead() {
+            try {
+                return bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.hager.shoppingbuddy.resilience;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Groups API endpoints into classes that share a concurrency budget. Writes create, accept, complete or pay
+ * for shopping requests, register stores or answer dispatch offers and hold a connection (and often Stripe or
+ * Maps) for longer; reads are the pending feed, request listings, store search, chat, balances, offers and location
+ * heartbeats, which clients poll or repeat and can simply retry.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EndpointClass {
+
+    WRITE("write"),
+    READ("read");
+
+    private final String tag;
+
+    /**
+     * @return the class of the request, or {@code null} if the endpoint is not limited
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean isGet = "GET".equals(request.getMethod());
+
+        if (path.equals("/api/shopper/location")) {
+            // Heartbeats are frequent and the next one supersedes a shed one
+            return READ;
+        }
+        if (path.startsWith("/api/shopping-requests") || path.startsWith("/api/stores")
+                || path.startsWith("/api/shopper/")) {
+            return isGet ? READ : WRITE;
+        }
+        if (path.startsWith("/api/payment/")) {
+            return WRITE;
+        }
+        if (path.startsWith("/api/chat")) {
+            return READ;
+        }
+        return null;
+    }
+}
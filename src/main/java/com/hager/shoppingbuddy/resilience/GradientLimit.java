@@ -0,0 +1,105 @@
+package com.hager.shoppingbuddy.resilience;
+
+/**
+ * Adaptive concurrency limit driven by request latency. Each completed request compares its round trip with
+ * a slowly moving baseline: while latency stays within {@link #TOLERANCE} of the baseline the limit grows by
+ * about its square root per {@code limit} completions, and as latency rises above it the limit shrinks in
+ * proportion, down to half. Failed or dropped requests cut the limit multiplicatively (AIMD backoff).
+ */
+public class GradientLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double BASELINE_SMOOTHING = 0.002;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private double baselineRttNanos;
+    private int inFlight;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * @return a permit to release when the request completes, or {@code null} if the limit is reached
+     */
+    public synchronized Permit tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return null;
+        }
+        inFlight++;
+        return new Permit(inFlight);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return in-flight requests as a fraction of the current limit
+     */
+    public synchronized double getUtilization() {
+        return inFlight / limit;
+    }
+
+    private synchronized void onComplete(int inFlightAtStart, long rttNanos, boolean dropped) {
+        inFlight--;
+
+        if (dropped) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return;
+        }
+
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+        } else {
+            baselineRttNanos += (rttNanos - baselineRttNanos) * BASELINE_SMOOTHING;
+            if (baselineRttNanos > rttNanos * TOLERANCE) {
+                // Latency has recovered well below the baseline; let the baseline follow quickly
+                baselineRttNanos = rttNanos * TOLERANCE;
+            }
+        }
+
+        if (inFlightAtStart < limit / 2) {
+            // Demand is well below the limit, so this sample says nothing about how far it can go
+            return;
+        }
+
+        double gradient = Math.clamp(TOLERANCE * baselineRttNanos / rttNanos, 0.5, 1.0);
+        double target = limit * gradient + Math.sqrt(limit);
+        // Each completion moves the limit 1/limit of the way, i.e. one full step per window of limit requests
+        limit = Math.clamp(limit + (target - limit) / limit, minLimit, maxLimit);
+    }
+
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos = System.nanoTime();
+        private boolean released;
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release(boolean dropped) {
+            release(System.nanoTime() - startNanos, dropped);
+        }
+
+        void release(long rttNanos, boolean dropped) {
+            if (released) {
+                return;
+            }
+            released = true;
+            onComplete(inFlightAtStart, rttNanos, dropped);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.hager.shoppingbuddy.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hager.shoppingbuddy.spatial.GeoDistance;
+
+import java.util.List;
+
+/**
+ * Builds the distance matrix for {@link RoutePlanner}, caching the haversine distances between the stops of
+ * each pair of requests. A shopper's requests change one at a time, so replanning after an accept only computes
+ * the new request's row. Each entry keeps the coordinates it was computed from and is recomputed if a store or
+ * delivery address has moved since.
+ */
+public class DistanceMatrixCache {
+
+    private final Cache<RequestPair, PairDistances> cache;
+
+    public DistanceMatrixCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public Cache<RequestPair, PairDistances> getCache() {
+        return cache;
+    }
+
+    /**
+     * @return distances between node 0, the start, nodes 1..n, the pickups, and nodes n+1..2n, the deliveries.
+     * Without a start position node 0 is zero distance from everything, so the route may begin at any pickup.
+     */
+    public double[][] build(List<RouteRequest> requests, Double startLatitude, Double startLongitude) {
+        int n = requests.size();
+        double[][] distances = new double[2 * n + 1][2 * n + 1];
+        for (int i = 0; i < n; i++) {
+            RouteRequest first = requests.get(i);
+            if (startLatitude != null && startLongitude != null) {
+                double toPickup = GeoDistance.haversineKm(startLatitude, startLongitude,
+                        first.pickupLatitude(), first.pickupLongitude());
+                double toDelivery = GeoDistance.haversineKm(startLatitude, startLongitude,
+                        first.deliveryLatitude(), first.deliveryLongitude());
+                set(distances, 0, pickup(i), toPickup);
+                set(distances, 0, delivery(i, n), toDelivery);
+            }
+            for (int j = i; j < n; j++) {
+                PairDistances pair = get(first, requests.get(j));
+                set(distances, pickup(i), pickup(j), pair.pickupToPickup());
+                set(distances, pickup(i), delivery(j, n), pair.pickupToDelivery());
+                set(distances, delivery(i, n), pickup(j), pair.deliveryToPickup());
+                set(distances, delivery(i, n), delivery(j, n), pair.deliveryToDelivery());
+            }
+        }
+        return distances;
+    }
+
+    private PairDistances get(RouteRequest first, RouteRequest second) {
+        boolean swapped = first.id() > second.id();
+        RouteRequest low = swapped ? second : first;
+        RouteRequest high = swapped ? first : second;
+        RequestPair key = new RequestPair(low.id(), high.id());
+        PairDistances pair = cache.getIfPresent(key);
+        if (pair == null || !pair.first().equals(low) || !pair.second().equals(high)) {
+            pair = PairDistances.of(low, high);
+            cache.put(key, pair);
+        }
+        return swapped ? pair.reversed() : pair;
+    }
+
+    private static int pickup(int index) {
+        return index + 1;
+    }
+
+    private static int delivery(int index, int n) {
+        return index + n + 1;
+    }
+
+    private static void set(double[][] distances, int from, int to, double km) {
+        distances[from][to] = km;
+        distances[to][from] = km;
+    }
+
+    public record RequestPair(long first, long second) {
+    }
+
+    public record PairDistances(RouteRequest first,
+                                RouteRequest second,
+                                double pickupToPickup,
+                                double pickupToDelivery,
+                                double deliveryToPickup,
+                                double deliveryToDelivery) {
+
+        static PairDistances of(RouteRequest first, RouteRequest second) {
+            return new PairDistances(first, second,
+                    GeoDistance.haversineKm(first.pickupLatitude(), first.pickupLongitude(),
+                            second.pickupLatitude(), second.pickupLongitude()),
+                    GeoDistance.haversineKm(first.pickupLatitude(), first.pickupLongitude(),
+                            second.deliveryLatitude(), second.deliveryLongitude()),
+                    GeoDistance.haversineKm(first.deliveryLatitude(), first.deliveryLongitude(),
+                            second.pickupLatitude(), second.pickupLongitude()),
+                    GeoDistance.haversineKm(first.deliveryLatitude(), first.deliveryLongitude(),
+                            second.deliveryLatitude(), second.deliveryLongitude()));
+        }
+
+        PairDistances reversed() {
+            return new PairDistances(second, first, pickupToPickup, deliveryToPickup, pickupToDelivery, deliveryToDelivery);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.hager.shoppingbuddy.routing;
+
+import java.util.Arrays;
+
+/**
+ * Orders the pickups and deliveries of a shopper's requests into one open route from their position, with every
+ * pickup before its delivery. Requests are added by nearest insertion, each pair at its cheapest positions, and
+ * the route is then improved with 2-opt moves that keep the pickup-before-delivery order. Both are cubic in the
+ * number of requests at worst, which takes well under a millisecond for the 10 to 20 stops a shopper carries.
+ *
+ * <p>Nodes follow {@link DistanceMatrixCache#build}: 0 is the start, 1..n the pickups and n+1..2n the deliveries.
+ */
+public final class RoutePlanner {
+
+    private static final double EPSILON = 1e-9;
+
+    private RoutePlanner() {
+    }
+
+    /**
+     * @return the nodes to visit in order, without the start
+     */
+    public static int[] plan(double[][] distances, int requestCount) {
+        int[] route = insert(distances, requestCount);
+        improve(distances, route, requestCount);
+        return Arrays.copyOfRange(route, 1, route.length);
+    }
+
+    public static double length(double[][] distances, int[] route) {
+        double length = 0;
+        int previous = 0;
+        for (int node : route) {
+            length += distances[previous][node];
+            previous = node;
+        }
+        return length;
+    }
+
+    private static int[] insert(double[][] distances, int n) {
+        int[] route = new int[2 * n + 1];
+        int length = 1;
+        boolean[] inserted = new boolean[n + 1];
+        double[] nearest = new double[n + 1];
+        for (int request = 1; request <= n; request++) {
+            nearest[request] = Math.min(distances[0][request], distances[0][request + n]);
+        }
+
+        for (int step = 0; step < n; step++) {
+            int request = 0;
+            for (int candidate = 1; candidate <= n; candidate++) {
+                if (!inserted[candidate] && (request == 0 || nearest[candidate] < nearest[request])) {
+                    request = candidate;
+                }
+            }
+            int pickup = request;
+            int delivery = request + n;
+
+            // Pickup goes after route[i], delivery after route[j], or straight after the pickup when j == i
+            double bestCost = Double.POSITIVE_INFINITY;
+            int bestI = 0;
+            int bestJ = 0;
+            for (int i = 0; i < length; i++) {
+                double pickupCost = insertionCost(distances, route, length, i, pickup);
+                for (int j = i; j < length; j++) {
+                    double cost;
+                    if (j == i) {
+                        int before = route[i];
+                        cost = distances[before][pickup] + distances[pickup][delivery]
+                                + (i + 1 < length ? distances[delivery][route[i + 1]] - distances[before][route[i + 1]] : 0);
+                    } else {
+                        cost = pickupCost + insertionCost(distances, route, length, j, delivery);
+                    }
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestI = i;
+                        bestJ = j;
+                    }
+                }
+            }
+            System.arraycopy(route, bestJ + 1, route, bestJ + 2, length - bestJ - 1);
+            route[bestJ + 1] = delivery;
+            length++;
+            System.arraycopy(route, bestI + 1, route, bestI + 2, length - bestI - 1);
+            route[bestI + 1] = pickup;
+            length++;
+
+            inserted[request] = true;
+            for (int other = 1; other <= n; other++) {
+                if (!inserted[other]) {
+                    nearest[other] = Math.min(nearest[other], Math.min(
+                            Math.min(distances[pickup][other], distances[pickup][other + n]),
+                            Math.min(distances[delivery][other], distances[delivery][other + n])));
+                }
+            }
+        }
+        return route;
+    }
+
+    private static double insertionCost(double[][] distances, int[] route, int length, int after, int node) {
+        int before = route[after];
+        if (after + 1 == length) {
+            return distances[before][node];
+        }
+        int next = route[after + 1];
+        return distances[before][node] + distances[node][next] - distances[before][next];
+    }
+
+    private static void improve(double[][] distances, int[] route, int n) {
+        int[] position = new int[route.length];
+        for (int i = 0; i < route.length; i++) {
+            position[route[i]] = i;
+        }
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 1; i < route.length - 1; i++) {
+                for (int j = i + 1; j < route.length; j++) {
+                    int node = route[j];
+                    if (node > n && position[node - n] >= i) {
+                        // Reversing route[i..j] would put this delivery before its pickup, and so would any longer segment
+                        break;
+                    }
+                    int before = route[i - 1];
+                    int first = route[i];
+                    double delta = distances[before][node] - distances[before][first];
+                    if (j + 1 < route.length) {
+                        int after = route[j + 1];
+                        delta += distances[first][after] - distances[node][after];
+                    }
+                    if (delta < -EPSILON) {
+                        reverse(route, position, i, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] route, int[] position, int from, int to) {
+        while (from < to) {
+            int swap = route[from];
+            route[from] = route[to];
+            route[to] = swap;
+            position[route[from]] = from;
+            position[route[to]] = to;
+            from++;
+            to--;
+        }
+    }
+}
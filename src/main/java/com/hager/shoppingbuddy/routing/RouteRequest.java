@@ -0,0 +1,11 @@
+package com.hager.shoppingbuddy.routing;
+
+/**
+ * A request to route: a pickup at its store, then a delivery to its customer.
+ */
+public record RouteRequest(long id,
+                           double pickupLatitude,
+                           double pickupLongitude,
+                           double deliveryLatitude,
+                           double deliveryLongitude) {
+}
@@ -0,0 +1,142 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.batching.BundleIndex;
+import com.hager.shoppingbuddy.dto.RequestBundleResponse;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.exception.InvalidShoppingRequestActionException;
+import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
+import com.hager.shoppingbuddy.exception.ShoppingRequestNotFoundException;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Suggests bundles of open requests at the same store with nearby deliveries, kept in a {@link BundleIndex} fed
+ * by the {@link OpenRequestRegistry}. A shopper accepts a bundle in one transaction, so they get every request in
+ * it or none, and only while the bundle still holds exactly the requests they were shown.
+ */
+@Slf4j
+@Service
+public class BatchingService implements OpenRequestRegistry.Listener {
+
+    private final OpenRequestRegistry openRequestRegistry;
+    private final ShoppingRequestService shoppingRequestService;
+    private final ShopperRepository shopperRepository;
+    private final ShopperPresenceService shopperPresenceService;
+    private final DispatchService dispatchService;
+    private final BundleIndex index;
+    private final double searchRadiusKm;
+    private final int maxBundles;
+    private final Counter acceptedBundles;
+
+    public BatchingService(OpenRequestRegistry openRequestRegistry,
+                           ShoppingRequestService shoppingRequestService,
+                           ShopperRepository shopperRepository,
+                           ShopperPresenceService shopperPresenceService,
+                           DispatchService dispatchService,
+                           MeterRegistry meterRegistry,
+                           @Value("${shoppingbuddy.batching.store-radius-km}") double storeRadiusKm,
+                           @Value("${shoppingbuddy.batching.delivery-radius-km}") double deliveryRadiusKm,
+                           @Value("${shoppingbuddy.batching.max-bundle-size}") int maxBundleSize,
+                           @Value("${shoppingbuddy.batching.search-radius-km}") double searchRadiusKm,
+                           @Value("${shoppingbuddy.batching.max-bundles}") int maxBundles) {
+        this.openRequestRegistry = openRequestRegistry;
+        this.shoppingRequestService = shoppingRequestService;
+        this.shopperRepository = shopperRepository;
+        this.shopperPresenceService = shopperPresenceService;
+        this.dispatchService = dispatchService;
+        this.index = new BundleIndex(storeRadiusKm, deliveryRadiusKm, maxBundleSize);
+        this.searchRadiusKm = searchRadiusKm;
+        this.maxBundles = maxBundles;
+        this.acceptedBundles = meterRegistry.counter("shoppingbuddy.batching.accepted");
+    }
+
+    @Override
+    public synchronized void openRequestsLoaded(List<ShoppingRequestResponse> openRequests) {
+        openRequests.forEach(index::requestOpened);
+        log.info("Batching loaded {} open shopping requests, {} with coordinates",
+                openRequests.size(), index.getRequestCount());
+    }
+
+    @Override
+    public synchronized void requestOpened(ShoppingRequestResponse request) {
+        index.requestOpened(request);
+    }
+
+    @Override
+    public synchronized void requestClosed(long requestId) {
+        index.requestClosed(requestId);
+    }
+
+    /**
+     * @return bundles at stores near the shopper's last reported position, nearest first, or the largest
+     * bundles if they have not reported one
+     */
+    public List<RequestBundleResponse> getBundles(String shopperEmail) throws ShopperNotFoundException {
+        LocationStore.Position position = shopperPresenceService.getLocation(getShopper(shopperEmail).getUser().getId());
+        openRequestRegistry.ensureLoaded();
+        List<BundleIndex.BundleView> bundles;
+        synchronized (this) {
+            bundles = position != null
+                    ? index.near(position.latitude(), position.longitude(), searchRadiusKm, maxBundles)
+                    : index.largest(maxBundles);
+        }
+        return bundles.stream()
+                .map(BatchingService::convertToResponse)
+                .toList();
+    }
+
+    public List<ShoppingRequestResponse> acceptBundle(long bundleId, Collection<Long> shownRequestIds,
+                                                      String shopperEmail)
+            throws ShopperNotFoundException, InvalidShoppingRequestActionException, ShoppingRequestNotFoundException {
+        openRequestRegistry.ensureLoaded();
+        List<ShoppingRequestResponse> requests;
+        synchronized (this) {
+            requests = index.getBundle(bundleId);
+        }
+        if (requests.isEmpty()) {
+            throw new InvalidShoppingRequestActionException("Bundle " + bundleId + " is no longer available");
+        }
+        List<Long> requestIds = requests.stream().map(ShoppingRequestResponse::getId).toList();
+        if (!new HashSet<>(requestIds).equals(new HashSet<>(shownRequestIds))) {
+            throw new InvalidShoppingRequestActionException("Bundle " + bundleId + " has changed since it was listed");
+        }
+        for (Long requestId : requestIds) {
+            dispatchService.checkNotReserved(requestId, shopperEmail);
+        }
+
+        List<ShoppingRequestResponse> accepted = shoppingRequestService.acceptShoppingRequests(requestIds, shopperEmail);
+        acceptedBundles.increment();
+        log.info("Shopper {} accepted bundle {} of {} requests", shopperEmail, bundleId, accepted.size());
+        return accepted;
+    }
+
+    private Shopper getShopper(String email) throws ShopperNotFoundException {
+        return shopperRepository.findByUserEmail(email)
+                .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + email));
+    }
+
+    private static RequestBundleResponse convertToResponse(BundleIndex.BundleView bundle) {
+        ShoppingRequestResponse first = bundle.requests().get(0);
+        return RequestBundleResponse.builder()
+                .bundleId(bundle.bundleId())
+                .storeId(first.getStoreId())
+                .storeName(first.getStoreName())
+                .storeAddress(first.getStoreAddress())
+                .storeLatitude(first.getStoreLatitude())
+                .storeLongitude(first.getStoreLongitude())
+                .distanceKm(bundle.distanceKm())
+                .totalDeliveryFee(bundle.requests().stream().mapToDouble(ShoppingRequestResponse::getDeliveryFee).sum())
+                .requests(bundle.requests())
+                .build();
+    }
+}
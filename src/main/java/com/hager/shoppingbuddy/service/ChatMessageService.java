@@ -128,7 +128,7 @@ public class ChatMessageService {
         return !isCustomer && !isShopper;
     }
 
-    private ChatMessageResponse mapToResponse(ChatMessage chatMessage) {
+    ChatMessageResponse mapToResponse(ChatMessage chatMessage) {
         String senderName = chatMessage.getSender().getFirstName() + " " + chatMessage.getSender().getLastName();
 
         return ChatMessageResponse.builder()
@@ -0,0 +1,189 @@
+package com.hager.shoppingbuddy.service;
+
+import com.google.maps.model.LatLng;
+import com.hager.shoppingbuddy.dto.DeliveryQuoteResponse;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.entity.Store;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import com.hager.shoppingbuddy.exception.InvalidShoppingRequestActionException;
+import com.hager.shoppingbuddy.exception.StoreNotFoundException;
+import com.hager.shoppingbuddy.pricing.TripDurations;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository;
+import com.hager.shoppingbuddy.spatial.GeoDistance;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Quotes the store-to-delivery distance, the time from acceptance to completion and a delivery fee for a new
+ * request. Times come from {@link TripDurations}, loaded from the completed requests on the first quote and then
+ * kept up to date from lifecycle events; a distance with too few completed requests falls back to a fixed time
+ * plus a time per km. Trips longer than {@code max-duration-hours}, such as requests left open overnight, are
+ * not counted, and a trip that is both loaded and reported by a completion event waiting on the load counts once.
+ */
+@Slf4j
+@Service
+public class DeliveryQuoteService {
+
+    // Matches the validation on ShoppingRequestCreateRequest.deliveryFee
+    static final double MINIMUM_DELIVERY_FEE = 8.0;
+    /** Loaded trips completed this recently may still have their completion event on the way. */
+    private static final Duration EVENT_OVERLAP = Duration.ofMinutes(5);
+
+    private final ShoppingRequestRepository shoppingRequestRepository;
+    private final StoreDirectory storeDirectory;
+    private final GeocodingService geocodingService;
+    private final TripDurations durations;
+    private final Duration maxDuration;
+    private final double defaultMinutes;
+    private final double defaultMinutesPerKm;
+    private final double baseFee;
+    private final double feePerKm;
+    private final double feePerMinute;
+    private final Set<Long> recentlyLoaded = new HashSet<>();
+
+    private volatile boolean loaded;
+
+    public DeliveryQuoteService(ShoppingRequestRepository shoppingRequestRepository,
+                                StoreDirectory storeDirectory,
+                                GeocodingService geocodingService,
+                                MeterRegistry meterRegistry,
+                                @Value("${shoppingbuddy.pricing.bucket-km}") double bucketKm,
+                                @Value("${shoppingbuddy.pricing.bucket-count}") int bucketCount,
+                                @Value("${shoppingbuddy.pricing.min-samples}") int minSamples,
+                                @Value("${shoppingbuddy.pricing.max-duration-hours}") long maxDurationHours,
+                                @Value("${shoppingbuddy.pricing.default-minutes}") double defaultMinutes,
+                                @Value("${shoppingbuddy.pricing.default-minutes-per-km}") double defaultMinutesPerKm,
+                                @Value("${shoppingbuddy.pricing.base-fee}") double baseFee,
+                                @Value("${shoppingbuddy.pricing.fee-per-km}") double feePerKm,
+                                @Value("${shoppingbuddy.pricing.fee-per-minute}") double feePerMinute) {
+        this.shoppingRequestRepository = shoppingRequestRepository;
+        this.storeDirectory = storeDirectory;
+        this.geocodingService = geocodingService;
+        this.durations = new TripDurations(bucketKm, bucketCount, minSamples);
+        this.maxDuration = Duration.ofHours(maxDurationHours);
+        this.defaultMinutes = defaultMinutes;
+        this.defaultMinutesPerKm = defaultMinutesPerKm;
+        this.baseFee = baseFee;
+        this.feePerKm = feePerKm;
+        this.feePerMinute = feePerMinute;
+        Gauge.builder("shoppingbuddy.pricing.trips", this, DeliveryQuoteService::getTripCount).register(meterRegistry);
+    }
+
+    /**
+     * Quotes a request as it would be created: a directory store brings its own coordinates, and addresses are
+     * only located from the geocoding cache and the gazetteer, never through Maps. An address whose street the
+     * gazetteer does not know is quoted from the centre of its Eircode area or locality.
+     */
+    public DeliveryQuoteResponse quote(Long storeId, String storeAddress, String deliveryAddress)
+            throws StoreNotFoundException, InvalidShoppingRequestActionException {
+        LatLng storeLocation;
+        if (storeId != null) {
+            Store store = storeDirectory.getStore(storeId);
+            storeLocation = new LatLng(store.getLatitude(), store.getLongitude());
+        } else {
+            storeLocation = storeAddress != null ? geocodingService.getApproximateLatLng(storeAddress) : null;
+        }
+        LatLng deliveryLocation = deliveryAddress != null ? geocodingService.getApproximateLatLng(deliveryAddress) : null;
+        if (storeLocation == null || deliveryLocation == null) {
+            throw new InvalidShoppingRequestActionException("Could not locate the store and delivery addresses");
+        }
+        return quote(storeId, storeLocation.lat, storeLocation.lng, deliveryLocation.lat, deliveryLocation.lng);
+    }
+
+    public DeliveryQuoteResponse quote(Long storeId, double storeLatitude, double storeLongitude,
+                                       double latitude, double longitude) {
+        ensureLoaded();
+        double distanceKm = GeoDistance.haversineKm(storeLatitude, storeLongitude, latitude, longitude);
+        TripDurations.Estimate estimate;
+        synchronized (this) {
+            estimate = durations.estimate(storeId, distanceKm);
+        }
+
+        double minutes;
+        DeliveryQuoteResponse.EstimateBasis basis;
+        if (estimate != null) {
+            minutes = estimate.durationSeconds() / 60.0;
+            basis = estimate.storeSpecific()
+                    ? DeliveryQuoteResponse.EstimateBasis.STORE_HISTORY
+                    : DeliveryQuoteResponse.EstimateBasis.DISTANCE_HISTORY;
+        } else {
+            minutes = defaultMinutes + defaultMinutesPerKm * distanceKm;
+            basis = DeliveryQuoteResponse.EstimateBasis.DEFAULT;
+        }
+        // Rounded up to the next 50 cents
+        double fee = Math.ceil((baseFee + feePerKm * distanceKm + feePerMinute * minutes) * 2) / 2;
+
+        return DeliveryQuoteResponse.builder()
+                .distanceKm(distanceKm)
+                .estimatedMinutes(Math.round(minutes))
+                .suggestedDeliveryFee(Math.max(MINIMUM_DELIVERY_FEE, fee))
+                .minimumDeliveryFee(MINIMUM_DELIVERY_FEE)
+                .basis(basis)
+                .samples(estimate != null ? estimate.samples() : 0)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLifecycleEvent(ShoppingRequestLifecycleEvent event) {
+        if (!loaded) {
+            // The first quote loads the completed requests from the database, which already include this one
+            return;
+        }
+        ShoppingRequestResponse request = event.getRequest();
+        if (request.getStatus() == ShoppingRequestStatus.COMPLETED
+                && event.getPreviousStatus() != ShoppingRequestStatus.COMPLETED
+                && !recentlyLoaded.remove(request.getId())) {
+            record(request.getStoreId(), request.getStoreLatitude(), request.getStoreLongitude(),
+                    request.getLatitude(), request.getLongitude(), request.getAcceptedAt(), request.getCompletedAt());
+        }
+    }
+
+    public synchronized long getTripCount() {
+        return durations.getTripCount();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                log.info("Loading completed request durations for delivery quotes");
+                Instant overlapStart = Instant.now().minus(EVENT_OVERLAP);
+                for (ShoppingRequestRepository.CompletedTrip trip : shoppingRequestRepository.findCompletedTrips()) {
+                    record(trip.getStoreId(), trip.getStoreLatitude(), trip.getStoreLongitude(), trip.getLatitude(),
+                            trip.getLongitude(), trip.getAcceptedAt(), trip.getCompletedAt());
+                    if (trip.getCompletedAt().isAfter(overlapStart)) {
+                        recentlyLoaded.add(trip.getId());
+                    }
+                }
+                loaded = true;
+                log.info("Loaded {} completed request durations", durations.getTripCount());
+            }
+        }
+    }
+
+    private void record(Long storeId, Double storeLatitude, Double storeLongitude, Double latitude, Double longitude,
+                        Instant acceptedAt, Instant completedAt) {
+        if (storeLatitude == null || storeLongitude == null || latitude == null || longitude == null
+                || acceptedAt == null || completedAt == null) {
+            return;
+        }
+        Duration duration = Duration.between(acceptedAt, completedAt);
+        if (duration.isNegative() || duration.compareTo(maxDuration) > 0) {
+            return;
+        }
+        durations.record(storeId, GeoDistance.haversineKm(storeLatitude, storeLongitude, latitude, longitude),
+                duration.toSeconds());
+    }
+}
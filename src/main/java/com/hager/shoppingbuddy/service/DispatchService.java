@@ -0,0 +1,200 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dispatch.DispatchEngine;
+import com.hager.shoppingbuddy.dispatch.DispatchOffer;
+import com.hager.shoppingbuddy.dto.DispatchOfferResponse;
+import com.hager.shoppingbuddy.dto.ShopperAvailabilityRequest;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import com.hager.shoppingbuddy.exception.InvalidShoppingRequestActionException;
+import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
+import com.hager.shoppingbuddy.exception.ShoppingRequestNotFoundException;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Offers open shopping requests to nearby available shoppers through a {@link DispatchEngine}. Shoppers opt in
+ * with their position and how many requests they can carry; the engine is fed the open requests by the
+ * {@link OpenRequestRegistry} and follows assignments from lifecycle events, and a tick every
+ * {@code tick-interval-ms} expires unanswered offers and makes new ones.
+ */
+@Slf4j
+@Service
+public class DispatchService implements OpenRequestRegistry.Listener {
+
+    private static final List<ShoppingRequestStatus> ACTIVE_STATUSES =
+            List.of(ShoppingRequestStatus.ACCEPTED, ShoppingRequestStatus.IN_PROGRESS);
+
+    private final OpenRequestRegistry openRequestRegistry;
+    private final ShoppingRequestService shoppingRequestService;
+    private final ShoppingRequestRepository shoppingRequestRepository;
+    private final ShopperRepository shopperRepository;
+    private final DispatchEngine engine;
+    private final Timer passTimer;
+    private final Counter offered;
+    private final Counter accepted;
+    private final Counter declined;
+    private final Counter expired;
+
+    public DispatchService(OpenRequestRegistry openRequestRegistry,
+                           ShoppingRequestService shoppingRequestService,
+                           ShoppingRequestRepository shoppingRequestRepository,
+                           ShopperRepository shopperRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${shoppingbuddy.dispatch.offer-timeout-seconds}") long offerTimeoutSeconds,
+                           @Value("${shoppingbuddy.dispatch.candidates}") int candidates,
+                           @Value("${shoppingbuddy.dispatch.max-distance-km}") double maxDistanceKm,
+                           @Value("${shoppingbuddy.dispatch.load-penalty-km}") double loadPenaltyKm) {
+        this.openRequestRegistry = openRequestRegistry;
+        this.shoppingRequestService = shoppingRequestService;
+        this.shoppingRequestRepository = shoppingRequestRepository;
+        this.shopperRepository = shopperRepository;
+        this.engine = new DispatchEngine(Duration.ofSeconds(offerTimeoutSeconds), candidates, maxDistanceKm, loadPenaltyKm);
+        this.passTimer = meterRegistry.timer("shoppingbuddy.dispatch.pass");
+        this.offered = meterRegistry.counter("shoppingbuddy.dispatch.offers", "outcome", "offered");
+        this.accepted = meterRegistry.counter("shoppingbuddy.dispatch.offers", "outcome", "accepted");
+        this.declined = meterRegistry.counter("shoppingbuddy.dispatch.offers", "outcome", "declined");
+        this.expired = meterRegistry.counter("shoppingbuddy.dispatch.offers", "outcome", "expired");
+        Gauge.builder("shoppingbuddy.dispatch.open.requests", engine, DispatchEngine::getOpenRequestCount)
+                .register(meterRegistry);
+        Gauge.builder("shoppingbuddy.dispatch.available.shoppers", engine, DispatchEngine::getAvailableShopperCount)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shoppingbuddy.dispatch.tick-interval-ms}")
+    public void tick() {
+        openRequestRegistry.ensureLoaded();
+        DispatchEngine.DispatchResult result = passTimer.record(() -> engine.dispatch(Instant.now()));
+        offered.increment(result.offers().size());
+        expired.increment(result.expired());
+        if (!result.offers().isEmpty()) {
+            log.debug("Dispatch examined {} requests, made {} offers, {} expired", result.examined(),
+                    result.offers().size(), result.expired());
+        }
+    }
+
+    /**
+     * Tracks each shopper's load from the start, unlike the open requests, which wait for the first tick.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLifecycleEvent(ShoppingRequestLifecycleEvent event) {
+        ShoppingRequestResponse request = event.getRequest();
+        if (ACTIVE_STATUSES.contains(request.getStatus()) && request.getShopperId() != null) {
+            engine.requestAssigned(request.getId(), request.getShopperId());
+        } else {
+            engine.requestUnassigned(request.getId());
+        }
+    }
+
+    @Override
+    public void openRequestsLoaded(List<ShoppingRequestResponse> openRequests) {
+        openRequests.forEach(engine::requestOpened);
+        log.info("Dispatch loaded {} open shopping requests", openRequests.size());
+    }
+
+    @Override
+    public void requestOpened(ShoppingRequestResponse request) {
+        engine.requestOpened(request);
+    }
+
+    @Override
+    public void requestClosed(long requestId) {
+        engine.requestClosed(requestId);
+    }
+
+    public void setAvailability(String shopperEmail, ShopperAvailabilityRequest request) throws ShopperNotFoundException {
+        Shopper shopper = getShopper(shopperEmail);
+        List<Long> activeRequestIds = shoppingRequestRepository.findIdsByShopperIdAndStatusIn(shopper.getId(), ACTIVE_STATUSES);
+        engine.shopperAvailable(shopper.getUser().getId(), request.getLatitude(), request.getLongitude(),
+                request.getCapacity(), activeRequestIds);
+        log.info("Shopper {} available for dispatch with capacity {} ({} active)",
+                shopperEmail, request.getCapacity(), activeRequestIds.size());
+    }
+
+    public void clearAvailability(String shopperEmail) throws ShopperNotFoundException {
+        engine.shopperUnavailable(getShopper(shopperEmail).getUser().getId());
+        log.info("Shopper {} no longer available for dispatch", shopperEmail);
+    }
+
+    public void shopperMoved(long shopperUserId, double latitude, double longitude) {
+        engine.shopperMoved(shopperUserId, latitude, longitude);
+    }
+
+    /**
+     * Withdraws a shopper who stopped sending heartbeats; any offer they held goes to the next candidate.
+     */
+    public void shopperOffline(long shopperUserId) {
+        engine.shopperUnavailable(shopperUserId);
+    }
+
+    public List<DispatchOfferResponse> getOffers(String shopperEmail) throws ShopperNotFoundException {
+        return engine.getOffers(getShopper(shopperEmail).getUser().getId(), Instant.now()).stream()
+                .map(DispatchService::convertToResponse)
+                .toList();
+    }
+
+    public ShoppingRequestResponse acceptOffer(Long requestId, String shopperEmail)
+            throws ShopperNotFoundException, InvalidShoppingRequestActionException, ShoppingRequestNotFoundException {
+        if (engine.getOffer(requestId, getShopper(shopperEmail).getUser().getId(), Instant.now()) == null) {
+            throw new InvalidShoppingRequestActionException("No open offer for shopping request " + requestId);
+        }
+        ShoppingRequestResponse response = shoppingRequestService.acceptShoppingRequest(requestId, shopperEmail);
+        accepted.increment();
+        return response;
+    }
+
+    public void declineOffer(Long requestId, String shopperEmail)
+            throws ShopperNotFoundException, InvalidShoppingRequestActionException {
+        if (!engine.decline(requestId, getShopper(shopperEmail).getUser().getId())) {
+            throw new InvalidShoppingRequestActionException("No open offer for shopping request " + requestId);
+        }
+        declined.increment();
+        log.info("Shopper {} declined offer for shopping request {}", shopperEmail, requestId);
+    }
+
+    /**
+     * Rejects accepting a request from the pending feed while it is offered to another shopper.
+     */
+    public void checkNotReserved(Long requestId, String shopperEmail)
+            throws ShopperNotFoundException, InvalidShoppingRequestActionException {
+        if (engine.isReservedForOther(requestId, getShopper(shopperEmail).getUser().getId(), Instant.now())) {
+            throw new InvalidShoppingRequestActionException("Shopping request is currently offered to another shopper");
+        }
+    }
+
+    private Shopper getShopper(String email) throws ShopperNotFoundException {
+        return shopperRepository.findByUserEmail(email)
+                .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + email));
+    }
+
+    private static DispatchOfferResponse convertToResponse(DispatchOffer offer) {
+        ShoppingRequestResponse request = offer.request();
+        return DispatchOfferResponse.builder()
+                .requestId(request.getId())
+                .storeName(request.getStoreName())
+                .storeAddress(request.getStoreAddress())
+                .storeLatitude(request.getStoreLatitude())
+                .storeLongitude(request.getStoreLongitude())
+                .deliveryAddress(request.getDeliveryAddress())
+                .estimatedItemsPrice(request.getEstimatedItemsPrice())
+                .deliveryFee(request.getDeliveryFee())
+                .distanceKm(offer.distanceKm())
+                .expiresAt(offer.expiresAt())
+                .build();
+    }
+}
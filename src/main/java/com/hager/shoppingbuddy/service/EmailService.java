@@ -1,20 +1,30 @@
 package com.hager.shoppingbuddy.service;
 
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
+import com.hager.shoppingbuddy.resilience.DependencyGuard;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final DependencyGuard dependencyGuard;
+    private final TaskExecutor notificationExecutor;
+
+    private final AtomicInteger pendingEmails = new AtomicInteger();
 
     @Value("${shoppingbuddy.email.address}")
     private String fromEmail;
@@ -28,10 +38,44 @@ public class EmailService {
             helper.setTo(to);
             helper.setSubject(subject);
             helper.setFrom(fromEmail);
-            mailSender.send(mimeMessage);
+            dependencyGuard.call("smtp", "send", () -> {
+                mailSender.send(mimeMessage);
+                return null;
+            });
         } catch (MessagingException e) {
             System.out.println("Failed to send email to " + to);
             throw new IllegalStateException("Failed to send email");
+        } catch (DependencyUnavailableException e) {
+            throw new IllegalStateException("Failed to send email: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends the email on the notification executor, so the caller does not wait on the mail server. Delivery
+     * failures, and emails dropped because the executor's queue is full, are logged rather than thrown.
+     */
+    public void sendAsync(String to, String subject, String email) {
+        pendingEmails.incrementAndGet();
+        try {
+            notificationExecutor.execute(() -> {
+                try {
+                    send(to, subject, email);
+                } catch (RuntimeException e) {
+                    log.error("Failed to send email to {}: {}", to, e.getMessage());
+                } finally {
+                    pendingEmails.decrementAndGet();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            pendingEmails.decrementAndGet();
+            log.error("Dropped email to {}: {}", to, e.getMessage());
+        } catch (RuntimeException e) {
+            pendingEmails.decrementAndGet();
+            throw e;
         }
     }
+
+    public int getPendingEmails() {
+        return pendingEmails.get();
+    }
 }
@@ -0,0 +1,35 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EntityCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictUser(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvictUser(userId);
+                }
+            });
+        } else {
+            doEvictUser(userId);
+        }
+    }
+
+    private void doEvictUser(Long userId) {
+        entityManagerFactory.getCache().evict(User.class, userId);
+        log.debug("Evicted user {} from second-level cache", userId);
+    }
+}
@@ -0,0 +1,118 @@
+package com.hager.shoppingbuddy.service;
+
+import com.google.maps.model.LatLng;
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository.MissingCoordinates;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepositoryCustom.ResolvedLocation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fills in the delivery and store coordinates that could not be resolved locally when a shopping request
+ * was created or edited. Each run geocodes one batch, paced to a fixed number of Google Maps calls per second,
+ * and writes the results back as batched updates. Addresses that cannot be resolved are retried on later runs
+ * up to {@code max-attempts} times; while Maps is refusing calls the run stops without counting an attempt.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GeocodingBackfillService {
+
+    private final ShoppingRequestRepository shoppingRequestRepository;
+    private final GeocodingService geocodingService;
+    private final ShoppingRequestService shoppingRequestService;
+
+    @Value("${shoppingbuddy.geocoding.backfill-batch-size}")
+    private int batchSize;
+
+    @Value("${shoppingbuddy.geocoding.backfill-rate-per-second}")
+    private int ratePerSecond;
+
+    @Value("${shoppingbuddy.geocoding.max-attempts}")
+    private int maxAttempts;
+
+    private long nextCallNanos;
+
+    @Scheduled(fixedDelayString = "${shoppingbuddy.geocoding.backfill-interval-ms}")
+    public void backfill() {
+        int resolved = backfillBatch();
+        if (resolved > 0) {
+            log.info("Backfilled coordinates for {} shopping requests", resolved);
+        }
+    }
+
+    /**
+     * @return the number of requests that received coordinates
+     */
+    public int backfillBatch() {
+        List<MissingCoordinates> batch = shoppingRequestRepository.findMissingCoordinates(maxAttempts, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<ResolvedLocation> deliveryLocations = new ArrayList<>();
+        List<ResolvedLocation> storeLocations = new ArrayList<>();
+        List<Long> unresolved = new ArrayList<>();
+        for (MissingCoordinates request : batch) {
+            try {
+                boolean resolved = true;
+                if (request.getLatitude() == null) {
+                    resolved = resolve(request.getId(), request.getDeliveryAddress(), deliveryLocations);
+                }
+                if (request.getStoreLatitude() == null) {
+                    resolved &= resolve(request.getId(), request.getStoreAddress(), storeLocations);
+                }
+                if (!resolved) {
+                    unresolved.add(request.getId());
+                }
+            } catch (DependencyUnavailableException e) {
+                log.warn("Pausing geocoding backfill: {}", e.getMessage());
+                break;
+            }
+        }
+
+        Set<Long> updated = new LinkedHashSet<>(shoppingRequestRepository.updateDeliveryLocations(deliveryLocations));
+        updated.addAll(shoppingRequestRepository.updateStoreLocations(storeLocations));
+        if (!unresolved.isEmpty()) {
+            shoppingRequestRepository.incrementGeocodeAttempts(unresolved);
+        }
+        if (!updated.isEmpty()) {
+            shoppingRequestService.publishLocationUpdates(updated);
+        }
+        return updated.size();
+    }
+
+    private boolean resolve(Long requestId, String address, List<ResolvedLocation> resolved)
+            throws DependencyUnavailableException {
+        LatLng location = geocodingService.getLocalLatLng(address);
+        if (location == null) {
+            awaitRate();
+            location = geocodingService.geocode(address);
+        }
+        if (location == null) {
+            return false;
+        }
+        resolved.add(new ResolvedLocation(requestId, address, location.lat, location.lng));
+        return true;
+    }
+
+    private void awaitRate() {
+        long now = System.nanoTime();
+        if (nextCallNanos > now) {
+            LockSupport.parkNanos(nextCallNanos - now);
+        }
+        nextCallNanos = Math.max(now, nextCallNanos) + TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+    }
+}
@@ -1,30 +1,125 @@
 package com.hager.shoppingbuddy.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.maps.GeoApiContext;
 import com.google.maps.GeocodingApi;
 import com.google.maps.model.GeocodingResult;
 import com.google.maps.model.LatLng;
-import lombok.RequiredArgsConstructor;
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
+import com.hager.shoppingbuddy.geocoding.Gazetteer;
+import com.hager.shoppingbuddy.resilience.DependencyGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-@Service
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Resolves addresses to coordinates, remembering results in a bounded in-memory cache keyed by the normalised
+ * address. Addresses the cache misses are looked up in the local {@link Gazetteer} when one is configured, and
+ * only then through Google Maps. Request handling never calls Maps; addresses neither local source can place
+ * are geocoded in the background by {@link GeocodingBackfillService}.
+ */
 @Slf4j
-@RequiredArgsConstructor
+@Service
 public class GeocodingService {
 
     private final GeoApiContext geoApiContext;
+    private final DependencyGuard dependencyGuard;
+    private final Gazetteer gazetteer;
+    private final Cache<String, LatLng> cache;
+    private final Counter gazetteerHits;
+    private final Counter gazetteerMisses;
+
+    public GeocodingService(GeoApiContext geoApiContext,
+                            DependencyGuard dependencyGuard,
+                            ObjectProvider<Gazetteer> gazetteer,
+                            MeterRegistry meterRegistry,
+                            @Value("${shoppingbuddy.geocoding.cache-size}") long cacheSize,
+                            @Value("${shoppingbuddy.geocoding.cache-ttl-hours}") long cacheTtlHours) {
+        this.geoApiContext = geoApiContext;
+        this.dependencyGuard = dependencyGuard;
+        this.gazetteer = gazetteer.getIfAvailable();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofHours(cacheTtlHours))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "geocoding");
+        this.gazetteerHits = meterRegistry.counter("shoppingbuddy.geocoding.gazetteer", "result", "hit");
+        this.gazetteerMisses = meterRegistry.counter("shoppingbuddy.geocoding.gazetteer", "result", "miss");
+    }
+
+    /**
+     * @return the location of the address from the cache or the gazetteer, or {@code null} without calling
+     * Maps if neither has it
+     */
+    public LatLng getLocalLatLng(String address) {
+        String key = cacheKey(address);
+        LatLng cached = cache.getIfPresent(key);
+        return cached != null ? cached : lookupGazetteer(address);
+    }
+
+    /**
+     * Like {@link #getLocalLatLng}, but an address the gazetteer cannot place exactly gets the centre of its
+     * Eircode area or locality. Only for estimates; the result must not be stored on a request.
+     */
+    public LatLng getApproximateLatLng(String address) {
+        LatLng local = getLocalLatLng(address);
+        return local != null || gazetteer == null ? local : gazetteer.lookupApproximate(address);
+    }
+
+    /**
+     * @return the location of the address, or {@code null} if Maps has no result or the call failed
+     * @throws DependencyUnavailableException if Maps is refusing calls, so the caller can retry later
+     */
+    public LatLng geocode(String address) throws DependencyUnavailableException {
+        String key = cacheKey(address);
+        LatLng local = cache.getIfPresent(key);
+        if (local == null) {
+            local = lookupGazetteer(address);
+        }
+        if (local != null) {
+            return local;
+        }
 
-    public LatLng getLatLngFromAddress(String address) {
         try {
-            GeocodingResult[] results = GeocodingApi.geocode(geoApiContext, address).await();
+            GeocodingResult[] results = dependencyGuard.call("google-maps", "geocode",
+                    () -> GeocodingApi.geocode(geoApiContext, address).await());
             if (results != null && results.length > 0) {
-                return results[0].geometry.location;
+                LatLng location = results[0].geometry.location;
+                cache.put(key, location);
+                return location;
             }
+        } catch (DependencyUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error while geocoding address: {}", address, e);
         }
         return null;
     }
-}
 
+    private LatLng lookupGazetteer(String address) {
+        if (gazetteer == null) {
+            return null;
+        }
+        LatLng location = gazetteer.lookup(address);
+        if (location == null) {
+            gazetteerMisses.increment();
+            return null;
+        }
+        // Not cached: a gazetteer lookup is cheaper than evicting a location Maps was paid for
+        gazetteerHits.increment();
+        return location;
+    }
+
+    private static String cacheKey(String address) {
+        return address.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,80 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.MapClusterResponse;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.spatial.ClusterIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Clusters the open requests for the browse map in a {@link ClusterIndex}, fed by the
+ * {@link OpenRequestRegistry}. A request is placed at its store, or at its delivery address if the store has no
+ * coordinates.
+ */
+@Slf4j
+@Service
+public class MapClusterService implements OpenRequestRegistry.Listener {
+
+    private final OpenRequestRegistry openRequestRegistry;
+    private final ClusterIndex index = new ClusterIndex();
+
+    public MapClusterService(OpenRequestRegistry openRequestRegistry, MeterRegistry meterRegistry) {
+        this.openRequestRegistry = openRequestRegistry;
+        Gauge.builder("shoppingbuddy.map.clustered.requests", this, MapClusterService::getRequestCount)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void openRequestsLoaded(List<ShoppingRequestResponse> openRequests) {
+        openRequests.forEach(this::put);
+        log.info("Map clustering loaded {} open shopping requests, {} with coordinates",
+                openRequests.size(), index.size());
+    }
+
+    @Override
+    public synchronized void requestOpened(ShoppingRequestResponse request) {
+        put(request);
+    }
+
+    @Override
+    public synchronized void requestClosed(long requestId) {
+        index.remove(requestId);
+    }
+
+    public List<MapClusterResponse> getClusters(double south, double west, double north, double east, int zoom) {
+        openRequestRegistry.ensureLoaded();
+        List<ClusterIndex.Cluster> clusters;
+        synchronized (this) {
+            clusters = index.query(south, west, north, east, zoom);
+        }
+        return clusters.stream()
+                .map(cluster -> MapClusterResponse.builder()
+                        .latitude(cluster.latitude())
+                        .longitude(cluster.longitude())
+                        .count(cluster.count())
+                        .minDeliveryFee(cluster.minFee())
+                        .maxDeliveryFee(cluster.maxFee())
+                        .requestId(cluster.id())
+                        .build())
+                .toList();
+    }
+
+    public synchronized int getRequestCount() {
+        return index.size();
+    }
+
+    private void put(ShoppingRequestResponse request) {
+        if (request.getStoreLatitude() != null && request.getStoreLongitude() != null) {
+            index.put(request.getId(), request.getStoreLatitude(), request.getStoreLongitude(), request.getDeliveryFee());
+        } else if (request.getLatitude() != null && request.getLongitude() != null) {
+            index.put(request.getId(), request.getLatitude(), request.getLongitude(), request.getDeliveryFee());
+        } else {
+            // Coordinates may have been cleared by an edit
+            index.remove(request.getId());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Feeds the open requests (PENDING with an AUTHORIZED payment) to the in-memory indexes behind the pending feed,
+ * dispatch, ranking, bundles and the browse map. The first {@link #ensureLoaded()} reads them from the database
+ * once and hands them to every {@link Listener}; after that each lifecycle event is pushed as an open or a close.
+ * Events before the load are ignored, since the load already reflects them.
+ * <p>
+ * Listeners are called under this registry's lock, so they must not call {@link #ensureLoaded()} while holding
+ * their own.
+ */
+@Slf4j
+@Service
+public class OpenRequestRegistry {
+
+    private final ShoppingRequestService shoppingRequestService;
+    private final ObjectProvider<Listener> listenerProvider;
+
+    private List<Listener> listeners;
+    private volatile boolean loaded;
+
+    public OpenRequestRegistry(ShoppingRequestService shoppingRequestService,
+                               ObjectProvider<Listener> listenerProvider) {
+        this.shoppingRequestService = shoppingRequestService;
+        this.listenerProvider = listenerProvider;
+    }
+
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                List<ShoppingRequestResponse> openRequests = shoppingRequestService.getAllPendingRequests();
+                listeners = listenerProvider.orderedStream().toList();
+                listeners.forEach(listener -> listener.openRequestsLoaded(openRequests));
+                loaded = true;
+                log.info("Loaded {} open shopping requests for {} indexes", openRequests.size(), listeners.size());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLifecycleEvent(ShoppingRequestLifecycleEvent event) {
+        if (!loaded) {
+            return;
+        }
+        ShoppingRequestResponse request = event.getRequest();
+        for (Listener listener : listeners) {
+            if (event.isOpen()) {
+                listener.requestOpened(request);
+            } else {
+                listener.requestClosed(request.getId());
+            }
+        }
+    }
+
+    /**
+     * An index of the open requests. {@link #requestOpened} is also called when an open request changes.
+     */
+    public interface Listener {
+
+        default void openRequestsLoaded(List<ShoppingRequestResponse> openRequests) {
+            openRequests.forEach(this::requestOpened);
+        }
+
+        void requestOpened(ShoppingRequestResponse request);
+
+        void requestClosed(long requestId);
+    }
+}
@@ -2,8 +2,10 @@ package com.hager.shoppingbuddy.service;
 
 import com.hager.shoppingbuddy.entity.Payment;
 import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
 import com.hager.shoppingbuddy.exception.PaymentException;
 import com.hager.shoppingbuddy.repository.PaymentRepository;
+import com.hager.shoppingbuddy.resilience.DependencyGuard;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
@@ -17,13 +19,20 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
 
+    private static final String STRIPE = "stripe";
+
     private final PaymentRepository paymentRepository;
+    private final DependencyGuard dependencyGuard;
 
     @Value("${shoppingbuddy.stripe.secretkey}")
     private String stripeSecretKey;
@@ -52,8 +61,9 @@ public class PaymentService {
 
         PaymentIntent paymentIntent;
         try {
-            paymentIntent = PaymentIntent.create(params);
-        } catch (StripeException e) {
+            paymentIntent = dependencyGuard.call(STRIPE, "create_payment_intent",
+                    () -> PaymentIntent.create(params), PaymentService::isProviderFailure);
+        } catch (StripeException | DependencyUnavailableException e) {
             throw new PaymentException("Failed to create payment intent: " + e.getMessage(), e);
         }
 
@@ -87,8 +97,9 @@ public class PaymentService {
 
         PaymentIntent paymentIntent;
         try {
-            paymentIntent = PaymentIntent.retrieve(payment.getStripePaymentIntentId());
-        } catch (StripeException e) {
+            paymentIntent = dependencyGuard.call(STRIPE, "retrieve_payment_intent",
+                    () -> PaymentIntent.retrieve(payment.getStripePaymentIntentId()), PaymentService::isProviderFailure);
+        } catch (StripeException | DependencyUnavailableException e) {
             throw new PaymentException("Failed to retrieve payment intent: " + e.getMessage(), e);
         }
 
@@ -119,8 +130,9 @@ public class PaymentService {
 
         PaymentIntent paymentIntent;
         try {
-            paymentIntent = PaymentIntent.retrieve(payment.getStripePaymentIntentId());
-        } catch (StripeException e) {
+            paymentIntent = dependencyGuard.call(STRIPE, "retrieve_payment_intent",
+                    () -> PaymentIntent.retrieve(payment.getStripePaymentIntentId()), PaymentService::isProviderFailure);
+        } catch (StripeException | DependencyUnavailableException e) {
             throw new PaymentException("Failed to retrieve payment intent: " + e.getMessage(), e);
         }
 
@@ -129,8 +141,8 @@ public class PaymentService {
         }
 
         try {
-            paymentIntent.capture();
-        } catch (StripeException e) {
+            dependencyGuard.call(STRIPE, "capture_payment_intent", paymentIntent::capture, PaymentService::isProviderFailure);
+        } catch (StripeException | DependencyUnavailableException e) {
             throw new PaymentException("Failed to capture payment intent: " + e.getMessage(), e);
         }
 
@@ -158,15 +170,16 @@ public class PaymentService {
 
         PaymentIntent paymentIntent;
         try {
-            paymentIntent = PaymentIntent.retrieve(payment.getStripePaymentIntentId());
-        } catch (StripeException e) {
+            paymentIntent = dependencyGuard.call(STRIPE, "retrieve_payment_intent",
+                    () -> PaymentIntent.retrieve(payment.getStripePaymentIntentId()), PaymentService::isProviderFailure);
+        } catch (StripeException | DependencyUnavailableException e) {
             throw new PaymentException("Failed to retrieve payment intent: " + e.getMessage(), e);
         }
 
         if ("requires_capture".equals(paymentIntent.getStatus())) {
             try {
-                paymentIntent.cancel();
-            } catch (StripeException e) {
+                dependencyGuard.call(STRIPE, "cancel_payment_intent", paymentIntent::cancel, PaymentService::isProviderFailure);
+            } catch (StripeException | DependencyUnavailableException e) {
                 throw new PaymentException("Failed to cancel payment intent: " + e.getMessage(), e);
             }
             log.info("Pre-authorized payment intent cancelled for shopping request: {}", shoppingRequestId);
@@ -174,8 +187,8 @@ public class PaymentService {
                    "requires_confirmation".equals(paymentIntent.getStatus()) ||
                    "requires_action".equals(paymentIntent.getStatus())) {
             try {
-                paymentIntent.cancel();
-            } catch (StripeException e) {
+                dependencyGuard.call(STRIPE, "cancel_payment_intent", paymentIntent::cancel, PaymentService::isProviderFailure);
+            } catch (StripeException | DependencyUnavailableException e) {
                 throw new PaymentException("Failed to cancel pending payment intent: " + e.getMessage(), e);
             }
             log.info("Pending payment intent cancelled for shopping request: {}", shoppingRequestId);
@@ -196,4 +209,21 @@ public class PaymentService {
         return paymentRepository.findByShoppingRequestId(shoppingRequestId)
                 .orElse(null);
     }
+
+    public Map<Long, Payment> getPaymentsByShoppingRequestIds(Collection<Long> shoppingRequestIds) {
+        return paymentRepository.findByShoppingRequestIdIn(shoppingRequestIds).stream()
+                .collect(Collectors.toMap(Payment::getShoppingRequestId, Function.identity()));
+    }
+
+    /**
+     * Only network errors, rate limiting and Stripe-side errors count against the circuit breaker; card and
+     * invalid request errors say nothing about Stripe's health.
+     */
+    private static boolean isProviderFailure(Throwable e) {
+        if (e instanceof StripeException stripeException && stripeException.getStatusCode() != null) {
+            int status = stripeException.getStatusCode();
+            return status == 429 || status >= 500;
+        }
+        return true;
+    }
 }
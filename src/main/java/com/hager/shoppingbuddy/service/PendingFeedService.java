@@ -0,0 +1,199 @@
+package com.hager.shoppingbuddy.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the shopper-facing pending feed (PENDING requests with an AUTHORIZED payment) as pre-serialized
+ * JSON and gzip bytes. Each request is serialized once when it enters or changes in the feed, and the
+ * snapshot is reassembled from those cached fragments, so serving the feed is a plain byte copy. The requests
+ * come from the {@link OpenRequestRegistry}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PendingFeedService implements OpenRequestRegistry.Listener {
+
+    private static final Comparator<FeedKey> NEWEST_FIRST = Comparator
+            .comparing(FeedKey::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(FeedKey::id, Comparator.reverseOrder());
+
+    private final OpenRequestRegistry openRequestRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final TreeMap<FeedKey, byte[]> entries = new TreeMap<>(NEWEST_FIRST);
+    private final Map<Long, FeedKey> keysById = new HashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        openRequestRegistry.ensureLoaded();
+        return snapshot;
+    }
+
+    @Override
+    public synchronized void openRequestsLoaded(List<ShoppingRequestResponse> openRequests) {
+        log.info("Building pending feed snapshot");
+        openRequests.forEach(this::putEntry);
+        snapshot = assemble();
+    }
+
+    @Override
+    public synchronized void requestOpened(ShoppingRequestResponse request) {
+        putEntry(request);
+        rebuild(request.getId());
+    }
+
+    @Override
+    public synchronized void requestClosed(long requestId) {
+        if (removeEntry(requestId)) {
+            rebuild(requestId);
+        }
+    }
+
+    private void rebuild(long requestId) {
+        snapshot = assemble();
+        log.debug("Pending feed snapshot rebuilt after change to shopping request {}, {} entries",
+                requestId, entries.size());
+    }
+
+    private void putEntry(ShoppingRequestResponse request) {
+        removeEntry(request.getId());
+        FeedKey key = new FeedKey(request.getCreatedAt(), request.getId());
+        try {
+            entries.put(key, objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize shopping request " + request.getId(), e);
+        }
+        keysById.put(request.getId(), key);
+    }
+
+    private boolean removeEntry(Long requestId) {
+        FeedKey key = keysById.remove(requestId);
+        return key != null && entries.remove(key) != null;
+    }
+
+    private Snapshot assemble() {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(entries.values().stream().mapToInt(e -> e.length + 1).sum() + 2);
+        json.write('[');
+        boolean first = true;
+        for (byte[] entry : entries.values()) {
+            if (!first) {
+                json.write(',');
+            }
+            json.writeBytes(entry);
+            first = false;
+        }
+        json.write(']');
+
+        byte[] jsonBytes = json.toByteArray();
+        String digest = DigestUtils.md5DigestAsHex(jsonBytes);
+        return new Snapshot(jsonBytes, gzip(jsonBytes), "\"" + digest + "\"", "\"" + digest + "-gz\"", entries.size());
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress pending feed", e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private record FeedKey(Instant createdAt, Long id) {
+    }
+
+    /**
+     * The gzip and identity representations are different bytes, so each has its own strong ETag.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Snapshot {
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String eTag;
+        private final String gzipETag;
+        private final int size;
+
+        public String getETag(boolean gzipped) {
+            return gzipped ? gzipETag : eTag;
+        }
+
+        public boolean matches(String ifNoneMatch, boolean gzipped) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            String current = getETag(gzipped);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String trimmed = candidate.trim();
+                if (trimmed.equals("*") || trimmed.equals(current)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return whether the Accept-Encoding header allows gzip, either by name or through {@code *}, with a
+         * non-zero q-value
+         */
+        public static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            Double gzipQuality = null;
+            Double wildcardQuality = null;
+            for (String part : acceptEncoding.split(",")) {
+                String[] params = part.split(";");
+                String coding = params[0].trim().toLowerCase(Locale.ROOT);
+                double quality = quality(params);
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    gzipQuality = quality;
+                } else if (coding.equals("*")) {
+                    wildcardQuality = quality;
+                }
+            }
+            if (gzipQuality != null) {
+                return gzipQuality > 0;
+            }
+            return wildcardQuality != null && wildcardQuality > 0;
+        }
+
+        private static double quality(String[] params) {
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 1;
+        }
+    }
+}
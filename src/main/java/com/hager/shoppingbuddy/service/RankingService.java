@@ -0,0 +1,113 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.RankedRequestResponse;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.exception.InvalidShoppingRequestActionException;
+import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.ranking.RankingIndex;
+import com.hager.shoppingbuddy.ranking.RankingWeights;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ranks the open requests for a shopper by distance to the store, store-to-delivery distance, delivery fee per
+ * km and time waiting, weighted by {@code shoppingbuddy.ranking.weight.*}. Requests are held in a
+ * {@link RankingIndex} fed by the {@link OpenRequestRegistry}.
+ */
+@Slf4j
+@Service
+public class RankingService implements OpenRequestRegistry.Listener {
+
+    private final OpenRequestRegistry openRequestRegistry;
+    private final ShopperRepository shopperRepository;
+    private final ShopperPresenceService shopperPresenceService;
+    private final RankingIndex index = new RankingIndex();
+    private final RankingWeights weights;
+    private final double radiusKm;
+    private final int maxResults;
+    private final Timer rankTimer;
+
+    public RankingService(OpenRequestRegistry openRequestRegistry,
+                          ShopperRepository shopperRepository,
+                          ShopperPresenceService shopperPresenceService,
+                          MeterRegistry meterRegistry,
+                          @Value("${shoppingbuddy.ranking.weight.pickup-km}") double perPickupKm,
+                          @Value("${shoppingbuddy.ranking.weight.delivery-km}") double perDeliveryKm,
+                          @Value("${shoppingbuddy.ranking.weight.fee-per-km}") double perFeePerKm,
+                          @Value("${shoppingbuddy.ranking.weight.minute-waiting}") double perMinuteWaiting,
+                          @Value("${shoppingbuddy.ranking.max-waiting-minutes}") double maxMinutesWaiting,
+                          @Value("${shoppingbuddy.ranking.radius-km}") double radiusKm,
+                          @Value("${shoppingbuddy.ranking.max-results}") int maxResults) {
+        this.openRequestRegistry = openRequestRegistry;
+        this.shopperRepository = shopperRepository;
+        this.shopperPresenceService = shopperPresenceService;
+        this.weights = new RankingWeights(perPickupKm, perDeliveryKm, perFeePerKm, perMinuteWaiting,
+                maxMinutesWaiting);
+        this.radiusKm = radiusKm;
+        this.maxResults = maxResults;
+        this.rankTimer = meterRegistry.timer("shoppingbuddy.ranking.rank");
+    }
+
+    @Override
+    public synchronized void openRequestsLoaded(List<ShoppingRequestResponse> openRequests) {
+        openRequests.forEach(index::requestOpened);
+        log.info("Ranking loaded {} open shopping requests, {} with store coordinates",
+                openRequests.size(), index.size());
+    }
+
+    @Override
+    public synchronized void requestOpened(ShoppingRequestResponse request) {
+        index.requestOpened(request);
+    }
+
+    @Override
+    public synchronized void requestClosed(long requestId) {
+        index.requestClosed(requestId);
+    }
+
+    /**
+     * Ranks from the given position, or from the shopper's last reported one if none is given.
+     */
+    public List<RankedRequestResponse> getRankedRequests(String shopperEmail, Double latitude, Double longitude,
+                                                         int limit)
+            throws ShopperNotFoundException, InvalidShoppingRequestActionException {
+        if (latitude == null || longitude == null) {
+            Shopper shopper = shopperRepository.findByUserEmail(shopperEmail)
+                    .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + shopperEmail));
+            LocationStore.Position position = shopperPresenceService.getLocation(shopper.getUser().getId());
+            if (position == null) {
+                throw new InvalidShoppingRequestActionException(
+                        "Shopper location unknown; send a location update or pass latitude and longitude");
+            }
+            latitude = position.latitude();
+            longitude = position.longitude();
+        }
+
+        int k = Math.max(1, Math.min(limit, maxResults));
+        double fromLatitude = latitude;
+        double fromLongitude = longitude;
+        openRequestRegistry.ensureLoaded();
+        List<RankingIndex.Ranked> ranked;
+        synchronized (this) {
+            ranked = rankTimer.record(() -> index.top(fromLatitude, fromLongitude, radiusKm, k, weights,
+                    Instant.now().toEpochMilli()));
+        }
+        return ranked.stream()
+                .map(r -> RankedRequestResponse.builder()
+                        .request(r.request())
+                        .score(r.score())
+                        .pickupDistanceKm(r.pickupKm())
+                        .deliveryDistanceKm(r.deliveryKm())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,119 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.RoutePlanResponse;
+import com.hager.shoppingbuddy.dto.RouteStopResponse;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.entity.ShoppingRequest;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository;
+import com.hager.shoppingbuddy.routing.DistanceMatrixCache;
+import com.hager.shoppingbuddy.routing.RoutePlanner;
+import com.hager.shoppingbuddy.routing.RouteRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Plans the order in which a shopper visits the stores and delivery addresses of their ACCEPTED and IN_PROGRESS
+ * requests, starting from their last reported position. Requests without coordinates for both the store and the
+ * delivery address are left out of the route and listed separately.
+ */
+@Slf4j
+@Service
+public class RoutePlanningService {
+
+    private static final List<ShoppingRequestStatus> ACTIVE_STATUSES =
+            List.of(ShoppingRequestStatus.ACCEPTED, ShoppingRequestStatus.IN_PROGRESS);
+
+    private final ShopperRepository shopperRepository;
+    private final ShoppingRequestRepository shoppingRequestRepository;
+    private final ShopperPresenceService shopperPresenceService;
+    private final DistanceMatrixCache distanceCache;
+    private final Timer planTimer;
+
+    public RoutePlanningService(ShopperRepository shopperRepository,
+                                ShoppingRequestRepository shoppingRequestRepository,
+                                ShopperPresenceService shopperPresenceService,
+                                MeterRegistry meterRegistry,
+                                @Value("${shoppingbuddy.routing.cache-size}") long cacheSize) {
+        this.shopperRepository = shopperRepository;
+        this.shoppingRequestRepository = shoppingRequestRepository;
+        this.shopperPresenceService = shopperPresenceService;
+        this.distanceCache = new DistanceMatrixCache(cacheSize);
+        this.planTimer = meterRegistry.timer("shoppingbuddy.routing.plan");
+        CaffeineCacheMetrics.monitor(meterRegistry, distanceCache.getCache(), "routing");
+    }
+
+    public RoutePlanResponse planRoute(String shopperEmail) throws ShopperNotFoundException {
+        Shopper shopper = shopperRepository.findByUserEmail(shopperEmail)
+                .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + shopperEmail));
+
+        List<ShoppingRequest> routable = new ArrayList<>();
+        List<Long> unrouted = new ArrayList<>();
+        for (ShoppingRequest request : shoppingRequestRepository.findByShopperIdAndStatusIn(shopper.getId(), ACTIVE_STATUSES)) {
+            if (request.getStoreLatitude() != null && request.getStoreLongitude() != null
+                    && request.getLatitude() != null && request.getLongitude() != null) {
+                routable.add(request);
+            } else {
+                unrouted.add(request.getId());
+            }
+        }
+        // A stable input order gives the same route for the same requests
+        routable.sort(Comparator.comparing(ShoppingRequest::getId));
+
+        LocationStore.Position position = shopperPresenceService.getLocation(shopper.getUser().getId());
+        RoutePlanResponse response = planTimer.record(() -> plan(routable, position));
+        response.setUnroutedRequestIds(unrouted);
+        log.debug("Planned a route of {} stops for shopper {} ({} requests without coordinates)",
+                response.getStops().size(), shopperEmail, unrouted.size());
+        return response;
+    }
+
+    private RoutePlanResponse plan(List<ShoppingRequest> requests, LocationStore.Position position) {
+        int n = requests.size();
+        List<RouteRequest> routeRequests = requests.stream()
+                .map(request -> new RouteRequest(request.getId(), request.getStoreLatitude(),
+                        request.getStoreLongitude(), request.getLatitude(), request.getLongitude()))
+                .toList();
+        double[][] distances = position != null
+                ? distanceCache.build(routeRequests, position.latitude(), position.longitude())
+                : distanceCache.build(routeRequests, null, null);
+        int[] route = RoutePlanner.plan(distances, n);
+
+        List<RouteStopResponse> stops = new ArrayList<>(route.length);
+        double total = 0;
+        int previous = 0;
+        for (int node : route) {
+            double leg = distances[previous][node];
+            total += leg;
+            previous = node;
+            ShoppingRequest request = requests.get((node - 1) % n);
+            boolean pickup = node <= n;
+            stops.add(RouteStopResponse.builder()
+                    .requestId(request.getId())
+                    .type(pickup ? RouteStopResponse.StopType.PICKUP : RouteStopResponse.StopType.DELIVERY)
+                    .name(pickup ? request.getStoreName() : null)
+                    .address(pickup ? request.getStoreAddress() : request.getDeliveryAddress())
+                    .latitude(pickup ? request.getStoreLatitude() : request.getLatitude())
+                    .longitude(pickup ? request.getStoreLongitude() : request.getLongitude())
+                    .legDistanceKm(leg)
+                    .cumulativeDistanceKm(total)
+                    .build());
+        }
+        return RoutePlanResponse.builder()
+                .fromCurrentLocation(position != null)
+                .totalDistanceKm(total)
+                .stops(stops)
+                .build();
+    }
+}
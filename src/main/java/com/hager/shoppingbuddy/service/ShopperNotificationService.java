@@ -0,0 +1,261 @@
+package com.hager.shoppingbuddy.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.event.ShopperHomeAreaEvent;
+import com.hager.shoppingbuddy.event.ShopperLocationEvent;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
+import com.hager.shoppingbuddy.notification.ShopperInbox;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import com.hager.shoppingbuddy.spatial.GridIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes newly open shopping requests to shoppers nearby, so they no longer have to poll the pending list. A
+ * shopper with a notification stream open is indexed by their home area and their last reported position; when a
+ * request opens, every such shopper with either within {@code radius-km} of the store gets it in their
+ * {@link ShopperInbox}; a request opened before its addresses were geocoded goes out once it has coordinates.
+ * Inboxes are delivered every {@code batch-interval-ms}, at most once per {@code min-interval-ms} per shopper, on
+ * the tracking executor; a batch the executor has no room for is dropped and counted.
+ */
+@Slf4j
+@Service
+public class ShopperNotificationService {
+
+    private static final double CELL_DEGREES = 0.05;
+
+    private final ShopperRepository shopperRepository;
+    private final ShopperPresenceService shopperPresenceService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor trackingExecutor;
+    private final double radiusKm;
+    private final long minIntervalMillis;
+    private final long timeoutMillis;
+    private final int inboxSize;
+    private final Counter notified;
+    private final Counter dropped;
+
+    private final Map<Long, Listener> listeners = new ConcurrentHashMap<>();
+    private final GridIndex<Listener> homes = new GridIndex<>(CELL_DEGREES);
+    private final GridIndex<Listener> positions = new GridIndex<>(CELL_DEGREES);
+    /** Open requests that have not been fanned out yet because they have no coordinates. */
+    private final Set<Long> awaitingCoordinates = new HashSet<>();
+
+    public ShopperNotificationService(ShopperRepository shopperRepository,
+                                      ShopperPresenceService shopperPresenceService,
+                                      ObjectMapper objectMapper,
+                                      @Qualifier("trackingExecutor") TaskExecutor trackingExecutor,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${shoppingbuddy.shopper-notifications.radius-km}") double radiusKm,
+                                      @Value("${shoppingbuddy.shopper-notifications.min-interval-ms}") long minIntervalMillis,
+                                      @Value("${shoppingbuddy.shopper-notifications.timeout-ms}") long timeoutMillis,
+                                      @Value("${shoppingbuddy.shopper-notifications.inbox-size}") int inboxSize) {
+        this.shopperRepository = shopperRepository;
+        this.shopperPresenceService = shopperPresenceService;
+        this.objectMapper = objectMapper;
+        this.trackingExecutor = trackingExecutor;
+        this.radiusKm = radiusKm;
+        this.minIntervalMillis = minIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.inboxSize = inboxSize;
+        this.notified = meterRegistry.counter("shoppingbuddy.shopper.notifications", "outcome", "queued");
+        this.dropped = meterRegistry.counter("shoppingbuddy.shopper.notifications", "outcome", "dropped");
+        Gauge.builder("shoppingbuddy.shopper.notifications.streams", this, ShopperNotificationService::getStreamCount)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String shopperEmail) throws ShopperNotFoundException {
+        Shopper shopper = shopperRepository.findByUserEmail(shopperEmail)
+                .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + shopperEmail));
+        long userId = shopper.getUser().getId();
+
+        SseEmitter emitter = createEmitter();
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(() -> unsubscribe(userId, emitter));
+        emitter.onError(error -> unsubscribe(userId, emitter));
+
+        LocationStore.Position position = shopperPresenceService.getLocation(userId);
+        synchronized (this) {
+            Listener listener = listeners.get(userId);
+            if (listener == null) {
+                listener = new Listener(userId);
+                listeners.put(userId, listener);
+                if (shopper.getHomeLatitude() != null && shopper.getHomeLongitude() != null) {
+                    homes.put(userId, shopper.getHomeLatitude(), shopper.getHomeLongitude(), listener);
+                }
+                if (position != null) {
+                    positions.put(userId, position.latitude(), position.longitude(), listener);
+                }
+            }
+            listener.emitters.add(emitter);
+        }
+        log.debug("Notification stream opened for shopper {}", shopperEmail);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onHomeAreaEvent(ShopperHomeAreaEvent event) {
+        Listener listener = listeners.get(event.getShopperUserId());
+        if (listener != null) {
+            homes.put(listener.userId, event.getLatitude(), event.getLongitude(), listener);
+        }
+    }
+
+    /**
+     * Runs for every shopper heartbeat; returns at once unless the shopper has a notification stream open.
+     */
+    @EventListener
+    public void onLocation(ShopperLocationEvent event) {
+        if (!listeners.containsKey(event.getShopperUserId())) {
+            return;
+        }
+        synchronized (this) {
+            Listener listener = listeners.get(event.getShopperUserId());
+            if (listener != null) {
+                positions.put(listener.userId, event.getLatitude(), event.getLongitude(), listener);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLifecycleEvent(ShoppingRequestLifecycleEvent event) {
+        ShoppingRequestResponse request = event.getRequest();
+        if (event.isOpen() && (!event.wasOpen() || awaitingCoordinates.contains(request.getId()))) {
+            fanOut(request);
+        } else if (!event.isOpen() && event.wasOpen()) {
+            awaitingCoordinates.remove(request.getId());
+            listeners.values().forEach(listener -> listener.inbox.withdraw(request.getId()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shoppingbuddy.shopper-notifications.batch-interval-ms}")
+    public void flush() {
+        flush(Instant.now());
+    }
+
+    public void flush(Instant now) {
+        Map<Listener, List<ShoppingRequestResponse>> batches = new HashMap<>();
+        synchronized (this) {
+            for (Listener listener : listeners.values()) {
+                List<ShoppingRequestResponse> batch = listener.inbox.drainIfDue(now.toEpochMilli());
+                if (!batch.isEmpty()) {
+                    batches.put(listener, batch);
+                }
+            }
+        }
+        batches.forEach((listener, batch) -> {
+            String json = toJson(batch);
+            for (SseEmitter emitter : listener.emitters) {
+                try {
+                    trackingExecutor.execute(() -> send(listener.userId, emitter, json));
+                } catch (TaskRejectedException e) {
+                    dropped.increment(batch.size());
+                    log.debug("Dropped {} new requests for shopper {}: {}", batch.size(), listener.userId,
+                            e.getMessage());
+                }
+            }
+        });
+        if (!batches.isEmpty()) {
+            log.debug("Delivered new requests to {} shoppers", batches.size());
+        }
+    }
+
+    public int getStreamCount() {
+        return listeners.values().stream().mapToInt(listener -> listener.emitters.size()).sum();
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void fanOut(ShoppingRequestResponse request) {
+        Double latitude = request.getStoreLatitude() != null ? request.getStoreLatitude() : request.getLatitude();
+        Double longitude = request.getStoreLongitude() != null ? request.getStoreLongitude() : request.getLongitude();
+        if (latitude == null || longitude == null) {
+            awaitingCoordinates.add(request.getId());
+            return;
+        }
+        awaitingCoordinates.remove(request.getId());
+        if (listeners.isEmpty()) {
+            return;
+        }
+        Set<Listener> nearby = new HashSet<>();
+        homes.forEachWithin(latitude, longitude, radiusKm, (listener, km) -> nearby.add(listener));
+        positions.forEachWithin(latitude, longitude, radiusKm, (listener, km) -> nearby.add(listener));
+        for (Listener listener : nearby) {
+            if (listener.inbox.add(request)) {
+                dropped.increment();
+            }
+        }
+        notified.increment(nearby.size());
+        log.debug("Shopping request {} queued for {} nearby shoppers", request.getId(), nearby.size());
+    }
+
+    private synchronized void unsubscribe(long userId, SseEmitter emitter) {
+        Listener listener = listeners.get(userId);
+        if (listener == null || !listener.emitters.remove(emitter)) {
+            return;
+        }
+        if (listener.emitters.isEmpty()) {
+            listeners.remove(userId);
+            homes.remove(userId);
+            positions.remove(userId);
+        }
+        log.debug("Notification stream closed for shopper {}", userId);
+    }
+
+    private void send(long userId, SseEmitter emitter, String json) {
+        try {
+            emitter.send(SseEmitter.event().name("requests").data(json, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the emitter callbacks remove the stream
+            log.debug("Notification stream for shopper {} failed: {}", userId, e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize shopper notification", e);
+        }
+    }
+
+    private final class Listener {
+        private final long userId;
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private final ShopperInbox inbox = new ShopperInbox(inboxSize, minIntervalMillis);
+
+        private Listener(long userId) {
+            this.userId = userId;
+        }
+    }
+}
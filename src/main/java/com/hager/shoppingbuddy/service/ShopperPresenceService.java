@@ -0,0 +1,119 @@
+package com.hager.shoppingbuddy.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hager.shoppingbuddy.dto.ShopperLocationRequest;
+import com.hager.shoppingbuddy.event.ShopperLocationEvent;
+import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.repository.ShopperLocationRepository;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ingests shopper location heartbeats. Each heartbeat only updates the in-memory {@link LocationStore}, the
+ * shopper's position in dispatch and any live tracking streams; every {@code flush-interval-ms} the positions
+ * that changed are written to the database in one batch, so a shopper pinging every few seconds costs one row
+ * write per flush; a batch that fails to save is retried on the next flush. Shoppers silent for longer than
+ * {@code ttl-seconds} are dropped from the store and from dispatch. The user id behind each shopper email is
+ * cached, so a heartbeat does not query the database.
+ */
+@Slf4j
+@Service
+public class ShopperPresenceService {
+
+    private final ShopperRepository shopperRepository;
+    private final ShopperLocationRepository shopperLocationRepository;
+    private final DispatchService dispatchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+    private final LocationStore locations = new LocationStore();
+    private final Cache<String, Long> userIdsByEmail;
+    private final Counter heartbeats;
+
+    public ShopperPresenceService(ShopperRepository shopperRepository,
+                                  ShopperLocationRepository shopperLocationRepository,
+                                  DispatchService dispatchService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${shoppingbuddy.presence.ttl-seconds}") long ttlSeconds,
+                                  @Value("${shoppingbuddy.presence.user-id-cache-size}") long userIdCacheSize) {
+        this.shopperRepository = shopperRepository;
+        this.shopperLocationRepository = shopperLocationRepository;
+        this.dispatchService = dispatchService;
+        this.eventPublisher = eventPublisher;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.userIdsByEmail = Caffeine.newBuilder()
+                .maximumSize(userIdCacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userIdsByEmail, "shopper-user-ids");
+        this.heartbeats = meterRegistry.counter("shoppingbuddy.presence.heartbeats");
+        Gauge.builder("shoppingbuddy.presence.online", locations, LocationStore::size).register(meterRegistry);
+    }
+
+    public void recordLocation(String shopperEmail, ShopperLocationRequest request) throws ShopperNotFoundException {
+        Long userId = userIdsByEmail.getIfPresent(shopperEmail);
+        if (userId == null) {
+            userId = shopperRepository.findByUserEmail(shopperEmail)
+                    .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + shopperEmail))
+                    .getUser().getId();
+            userIdsByEmail.put(shopperEmail, userId);
+        }
+        recordLocation(userId, request.getLatitude(), request.getLongitude(), Instant.now());
+    }
+
+    public void recordLocation(long userId, double latitude, double longitude, Instant now) {
+        if (locations.update(userId, latitude, longitude, now.toEpochMilli())) {
+            log.debug("Shopper {} came online", userId);
+        }
+        dispatchService.shopperMoved(userId, latitude, longitude);
+        eventPublisher.publishEvent(new ShopperLocationEvent(userId, latitude, longitude, now));
+        heartbeats.increment();
+    }
+
+    /**
+     * @return the shopper's latest position, or {@code null} if they have not reported within the time to live
+     */
+    public LocationStore.Position getLocation(long userId) {
+        LocationStore.Position position = locations.get(userId);
+        if (position == null || position.updatedAt().isBefore(Instant.now().minus(ttl))) {
+            return null;
+        }
+        return position;
+    }
+
+    @Scheduled(fixedDelayString = "${shoppingbuddy.presence.flush-interval-ms}")
+    public void flush() {
+        flush(Instant.now());
+    }
+
+    public void flush(Instant now) {
+        List<Long> expired = locations.expire(now.minus(ttl).toEpochMilli());
+        expired.forEach(dispatchService::shopperOffline);
+
+        List<LocationStore.Position> changed = locations.drainChanged();
+        try {
+            shopperLocationRepository.saveLatestLocations(changed);
+        } catch (RuntimeException e) {
+            locations.restoreChanged(changed);
+            log.warn("Failed to persist {} shopper locations, retrying on the next flush", changed.size(), e);
+            return;
+        }
+        if (!changed.isEmpty() || !expired.isEmpty()) {
+            log.debug("Persisted {} shopper locations, {} shoppers went offline", changed.size(), expired.size());
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.hager.shoppingbuddy.service;
 
+import com.hager.shoppingbuddy.dto.ShopperLocationRequest;
 import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.event.ShopperHomeAreaEvent;
 import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
 import com.hager.shoppingbuddy.repository.ShopperRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +19,7 @@ import java.math.BigDecimal;
 public class ShopperService {
 
     private final ShopperRepository shopperRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BigDecimal getShopperBalance(String shopperEmail) throws ShopperNotFoundException {
         log.info("Retrieving balance for shopper: {}", shopperEmail);
@@ -39,4 +43,17 @@ public class ShopperService {
         shopperRepository.save(shopper);
         log.info("Balance updated for shopper ID: {}. New balance: {}", shopperId, newBalance);
     }
+
+    @Transactional
+    public void setHomeArea(String shopperEmail, ShopperLocationRequest request) throws ShopperNotFoundException {
+        Shopper shopper = shopperRepository.findByUserEmail(shopperEmail)
+                .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + shopperEmail));
+
+        shopper.setHomeLatitude(request.getLatitude());
+        shopper.setHomeLongitude(request.getLongitude());
+        shopperRepository.save(shopper);
+        eventPublisher.publishEvent(new ShopperHomeAreaEvent(
+                shopper.getUser().getId(), request.getLatitude(), request.getLongitude()));
+        log.info("Home area updated for shopper: {}", shopperEmail);
+    }
 }
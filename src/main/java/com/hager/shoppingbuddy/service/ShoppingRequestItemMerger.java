@@ -0,0 +1,48 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.ItemRequest;
+import com.hager.shoppingbuddy.entity.Item;
+import com.hager.shoppingbuddy.entity.ShoppingRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Applies a submitted item list to a shopping request in place. Existing items are matched by name and
+ * reused, so Hibernate only updates rows whose fields changed, inserts the new ones and deletes the rest
+ * (via orphan removal), instead of deleting and re-inserting the whole list on every edit.
+ */
+@Component
+public class ShoppingRequestItemMerger {
+
+    public void merge(ShoppingRequest shoppingRequest, List<ItemRequest> itemRequests) {
+        if (shoppingRequest.getItems() == null) {
+            shoppingRequest.setItems(new ArrayList<>());
+        }
+        List<Item> items = shoppingRequest.getItems();
+
+        Map<String, Deque<Item>> existingByName = new HashMap<>();
+        for (Item item : items) {
+            existingByName.computeIfAbsent(item.getName(), name -> new ArrayDeque<>()).add(item);
+        }
+
+        List<Item> merged = new ArrayList<>(itemRequests.size());
+        for (ItemRequest itemRequest : itemRequests) {
+            Deque<Item> candidates = existingByName.get(itemRequest.getName());
+            Item item = candidates != null ? candidates.pollFirst() : null;
+            if (item == null) {
+                item = Item.builder()
+                        .shoppingRequest(shoppingRequest)
+                        .name(itemRequest.getName())
+                        .build();
+            }
+            item.setDescription(itemRequest.getDescription());
+            item.setAmount(itemRequest.getAmount());
+            item.setCategory(itemRequest.getCategory());
+            merged.add(item);
+        }
+
+        items.clear();
+        items.addAll(merged);
+    }
+}
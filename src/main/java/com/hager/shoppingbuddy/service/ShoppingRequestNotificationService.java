@@ -23,8 +23,8 @@ public class ShoppingRequestNotificationService {
             String subject = "Shopping Request Created - #" + shoppingRequest.getId();
             String emailBody = buildShoppingRequestCreatedEmail(shoppingRequest, customer);
 
-            emailService.send(customer.getEmail(), subject, emailBody);
-            log.info("Shopping request created notification sent to customer: {}", customer.getEmail());
+            emailService.sendAsync(customer.getEmail(), subject, emailBody);
+            log.info("Shopping request created notification queued for customer: {}", customer.getEmail());
         } catch (Exception e) {
             log.error("Failed to send shopping request created notification: {}", e.getMessage());
         }
@@ -37,13 +37,13 @@ public class ShoppingRequestNotificationService {
 
             String customerSubject = "Your Shopping Request Has Been Accepted - #" + shoppingRequest.getId();
             String customerEmailBody = buildShoppingRequestAcceptedCustomerEmail(shoppingRequest, customer, shopper);
-            emailService.send(customer.getEmail(), customerSubject, customerEmailBody);
+            emailService.sendAsync(customer.getEmail(), customerSubject, customerEmailBody);
 
             String shopperSubject = "Shopping Request Accepted - #" + shoppingRequest.getId();
             String shopperEmailBody = buildShoppingRequestAcceptedShopperEmail(shoppingRequest, shopper, customer);
-            emailService.send(shopper.getEmail(), shopperSubject, shopperEmailBody);
+            emailService.sendAsync(shopper.getEmail(), shopperSubject, shopperEmailBody);
 
-            log.info("Shopping request accepted notifications sent for request: {}", shoppingRequest.getId());
+            log.info("Shopping request accepted notifications queued for request: {}", shoppingRequest.getId());
         } catch (Exception e) {
             log.error("Failed to send shopping request accepted notifications: {}", e.getMessage());
         }
@@ -57,8 +57,8 @@ public class ShoppingRequestNotificationService {
             String subject = "Shopping Started for Your Request - #" + shoppingRequest.getId();
             String emailBody = buildShoppingStartedEmail(shoppingRequest, customer, shopper);
 
-            emailService.send(customer.getEmail(), subject, emailBody);
-            log.info("Shopping started notification sent to customer: {}", customer.getEmail());
+            emailService.sendAsync(customer.getEmail(), subject, emailBody);
+            log.info("Shopping started notification queued for customer: {}", customer.getEmail());
         } catch (Exception e) {
             log.error("Failed to send shopping started notification: {}", e.getMessage());
         }
@@ -71,13 +71,13 @@ public class ShoppingRequestNotificationService {
 
             String customerSubject = "Your Shopping Has Been Completed - #" + shoppingRequest.getId();
             String customerEmailBody = buildShoppingCompletedCustomerEmail(shoppingRequest, customer, shopper);
-            emailService.send(customer.getEmail(), customerSubject, customerEmailBody);
+            emailService.sendAsync(customer.getEmail(), customerSubject, customerEmailBody);
 
             String shopperSubject = "Shopping Completed - #" + shoppingRequest.getId();
             String shopperEmailBody = buildShoppingCompletedShopperEmail(shoppingRequest, shopper, customer);
-            emailService.send(shopper.getEmail(), shopperSubject, shopperEmailBody);
+            emailService.sendAsync(shopper.getEmail(), shopperSubject, shopperEmailBody);
 
-            log.info("Shopping completed notifications sent for request: {}", shoppingRequest.getId());
+            log.info("Shopping completed notifications queued for request: {}", shoppingRequest.getId());
         } catch (Exception e) {
             log.error("Failed to send shopping completed notifications: {}", e.getMessage());
         }
@@ -91,16 +91,16 @@ public class ShoppingRequestNotificationService {
             if (!customer.getEmail().equals(cancelledBy)) {
                 String subject = "Shopping Request Cancelled - #" + shoppingRequest.getId();
                 String emailBody = buildShoppingRequestCancelledEmail(shoppingRequest, customer, true, shopper);
-                emailService.send(customer.getEmail(), subject, emailBody);
+                emailService.sendAsync(customer.getEmail(), subject, emailBody);
             }
 
             if (shopper != null && !shopper.getEmail().equals(cancelledBy)) {
                 String subject = "Shopping Request Cancelled - #" + shoppingRequest.getId();
                 String emailBody = buildShoppingRequestCancelledEmail(shoppingRequest, shopper, false, customer);
-                emailService.send(shopper.getEmail(), subject, emailBody);
+                emailService.sendAsync(shopper.getEmail(), subject, emailBody);
             }
 
-            log.info("Shopping request cancelled notifications sent for request: {}", shoppingRequest.getId());
+            log.info("Shopping request cancelled notifications queued for request: {}", shoppingRequest.getId());
         } catch (Exception e) {
             log.error("Failed to send shopping request cancelled notifications: {}", e.getMessage());
         }
@@ -114,8 +114,8 @@ public class ShoppingRequestNotificationService {
                 User shopper = shoppingRequest.getShopper().getUser();
                 String subject = "Shopping Request Updated - #" + shoppingRequest.getId();
                 String emailBody = buildShoppingRequestUpdatedEmail(shoppingRequest, shopper, customer);
-                emailService.send(shopper.getEmail(), subject, emailBody);
-                log.info("Shopping request updated notification sent to shopper: {}", shopper.getEmail());
+                emailService.sendAsync(shopper.getEmail(), subject, emailBody);
+                log.info("Shopping request updated notification queued for shopper: {}", shopper.getEmail());
             }
         } catch (Exception e) {
             log.error("Failed to send shopping request updated notification: {}", e.getMessage());
@@ -129,8 +129,8 @@ public class ShoppingRequestNotificationService {
             String subject = "Shopping Request Available Again - #" + shoppingRequest.getId();
             String emailBody = buildShoppingRequestAbandonedEmail(shoppingRequest, customer, shopperEmail);
 
-            emailService.send(customer.getEmail(), subject, emailBody);
-            log.info("Shopping request abandoned notification sent to customer: {}", customer.getEmail());
+            emailService.sendAsync(customer.getEmail(), subject, emailBody);
+            log.info("Shopping request abandoned notification queued for customer: {}", customer.getEmail());
         } catch (Exception e) {
             log.error("Failed to send shopping request abandoned notification: {}", e.getMessage());
         }
@@ -2,17 +2,22 @@ package com.hager.shoppingbuddy.service;
 
 import com.hager.shoppingbuddy.dto.*;
 import com.hager.shoppingbuddy.entity.*;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
 import com.hager.shoppingbuddy.exception.*;
 import com.hager.shoppingbuddy.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,17 +32,25 @@ public class ShoppingRequestService {
     private final ShoppingRequestNotificationService notificationService;
     private final PaymentService paymentService;
     private final ShopperService shopperService;
+    private final ShoppingRequestItemMerger itemMerger;
+    private final StoreDirectory storeDirectory;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ShoppingRequestResponse createShoppingRequest(String customerEmail, ShoppingRequestCreateRequest request)
-            throws CustomerNotFoundException, PaymentException {
+            throws CustomerNotFoundException, StoreNotFoundException, PaymentException {
         log.info("Creating shopping request for customer: {}", customerEmail);
 
         Customer customer = customerRepository.findByUserEmail(customerEmail)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found with email: " + customerEmail));
 
-        com.google.maps.model.LatLng deliveryLocation = geocodingService.getLatLngFromAddress(request.getDeliveryAddress());
-        com.google.maps.model.LatLng storeLocation = geocodingService.getLatLngFromAddress(request.getStoreAddress());
+        // A directory store brings its own coordinates. Addresses not resolved locally are left without
+        // coordinates and geocoded by GeocodingBackfillService
+        Store store = request.getStoreId() != null ? storeDirectory.getStore(request.getStoreId()) : null;
+        com.google.maps.model.LatLng deliveryLocation = geocodingService.getLocalLatLng(request.getDeliveryAddress());
+        com.google.maps.model.LatLng storeLocation = store != null
+                ? new com.google.maps.model.LatLng(store.getLatitude(), store.getLongitude())
+                : geocodingService.getLocalLatLng(request.getStoreAddress());
 
         ShoppingRequest shoppingRequest = ShoppingRequest.builder()
                 .customer(customer)
@@ -45,8 +58,9 @@ public class ShoppingRequestService {
                 .deliveryAddress(request.getDeliveryAddress())
                 .latitude(deliveryLocation != null ? deliveryLocation.lat : null)
                 .longitude(deliveryLocation != null ? deliveryLocation.lng : null)
-                .storeName(request.getStoreName())
-                .storeAddress(request.getStoreAddress())
+                .store(store)
+                .storeName(store != null ? store.getName() : request.getStoreName())
+                .storeAddress(store != null ? store.getAddress() : request.getStoreAddress())
                 .storeLatitude(storeLocation != null ? storeLocation.lat : null)
                 .storeLongitude(storeLocation != null ? storeLocation.lng : null)
                 .estimatedItemsPrice(request.getEstimatedItemsPrice())
@@ -67,8 +81,11 @@ public class ShoppingRequestService {
 
         notificationService.notifyShoppingRequestCreated(savedRequest);
 
+        ShoppingRequestResponse response = convertToResponse(savedRequest);
+        publishLifecycleEvent(response, null, null);
+
         log.info("Successfully created shopping request with ID: {}", savedRequest.getId());
-        return convertToResponse(savedRequest);
+        return response;
     }
 
     public List<ShoppingRequestResponse> getAllPendingRequests() {
@@ -80,6 +97,19 @@ public class ShoppingRequestService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Publishes lifecycle events for requests whose coordinates were filled in outside this service, so
+     * listeners holding request snapshots pick up the new locations.
+     */
+    @Transactional(readOnly = true)
+    public void publishLocationUpdates(Collection<Long> requestIds) {
+        Map<Long, Payment> payments = paymentService.getPaymentsByShoppingRequestIds(requestIds);
+        for (ShoppingRequest request : shoppingRequestRepository.findWithItemsByIdIn(requestIds)) {
+            publishLifecycleEvent(convertToResponse(request, payments.get(request.getId())),
+                    request.getStatus(), request.getPaymentStatus());
+        }
+    }
+
     public ShoppingRequestResponse getShoppingRequestById(Long requestId) throws ShoppingRequestNotFoundException {
         log.info("Retrieving shopping request with ID: {}", requestId);
         ShoppingRequest request = shoppingRequestRepository.findById(requestId)
@@ -117,9 +147,46 @@ public class ShoppingRequestService {
         Shopper shopper = shopperRepository.findByUserEmail(shopperEmail)
                 .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + shopperEmail));
 
-        ShoppingRequest request = shoppingRequestRepository.findById(requestId)
+        // Locked so two shoppers accepting at once cannot both see it PENDING
+        ShoppingRequest request = shoppingRequestRepository.findForUpdateById(requestId)
                 .orElseThrow(() -> new ShoppingRequestNotFoundException("Shopping request not found with ID: " + requestId));
 
+        checkAcceptable(request);
+        ShoppingRequestResponse response = accept(request, shopper);
+
+        log.info("Shopping request {} accepted by shopper {}", requestId, shopperEmail);
+        return response;
+    }
+
+    /**
+     * Accepts every request or none: all of them are locked and checked before any is assigned.
+     */
+    @Transactional
+    public List<ShoppingRequestResponse> acceptShoppingRequests(Collection<Long> requestIds, String shopperEmail)
+            throws ShopperNotFoundException, InvalidShoppingRequestActionException, ShoppingRequestNotFoundException {
+        log.info("Shopper {} accepting shopping requests: {}", shopperEmail, requestIds);
+
+        Shopper shopper = shopperRepository.findByUserEmail(shopperEmail)
+                .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + shopperEmail));
+
+        List<ShoppingRequest> requests = shoppingRequestRepository.findForUpdateByIdIn(requestIds);
+        if (requests.size() != requestIds.size()) {
+            throw new ShoppingRequestNotFoundException("Shopping requests not found: " + requestIds);
+        }
+        for (ShoppingRequest request : requests) {
+            checkAcceptable(request);
+        }
+
+        List<ShoppingRequestResponse> responses = new ArrayList<>(requests.size());
+        for (ShoppingRequest request : requests) {
+            responses.add(accept(request, shopper));
+        }
+
+        log.info("Shopping requests {} accepted by shopper {}", requestIds, shopperEmail);
+        return responses;
+    }
+
+    private void checkAcceptable(ShoppingRequest request) throws InvalidShoppingRequestActionException {
         if (request.getStatus() != ShoppingRequestStatus.PENDING) {
             throw new InvalidShoppingRequestActionException("Shopping request is not in PENDING status");
         }
@@ -127,17 +194,22 @@ public class ShoppingRequestService {
         if (request.getPaymentStatus() != PaymentStatus.AUTHORIZED) {
             throw new InvalidShoppingRequestActionException("Shopping request payment must be authorized before acceptance");
         }
+    }
 
+    private ShoppingRequestResponse accept(ShoppingRequest request, Shopper shopper) {
+        PaymentStatus previousPaymentStatus = request.getPaymentStatus();
         request.setShopper(shopper);
         request.setStatus(ShoppingRequestStatus.ACCEPTED);
         request.setUpdatedAt(Instant.now());
+        request.setAcceptedAt(request.getUpdatedAt());
 
         ShoppingRequest savedRequest = shoppingRequestRepository.save(request);
 
         notificationService.notifyShoppingRequestAccepted(savedRequest);
 
-        log.info("Shopping request {} accepted by shopper {}", requestId, shopperEmail);
-        return convertToResponse(savedRequest);
+        ShoppingRequestResponse response = convertToResponse(savedRequest);
+        publishLifecycleEvent(response, ShoppingRequestStatus.PENDING, previousPaymentStatus);
+        return response;
     }
 
     @Transactional
@@ -159,8 +231,11 @@ public class ShoppingRequestService {
 
         notificationService.notifyShoppingStarted(savedRequest);
 
+        ShoppingRequestResponse response = convertToResponse(savedRequest);
+        publishLifecycleEvent(response, ShoppingRequestStatus.ACCEPTED, savedRequest.getPaymentStatus());
+
         log.info("Shopping started for request: {}", requestId);
-        return convertToResponse(savedRequest);
+        return response;
     }
 
     @Transactional
@@ -175,8 +250,10 @@ public class ShoppingRequestService {
             throw new InvalidShoppingRequestActionException("Can only complete IN_PROGRESS requests");
         }
 
+        PaymentStatus previousPaymentStatus = request.getPaymentStatus();
         request.setStatus(ShoppingRequestStatus.COMPLETED);
         request.setUpdatedAt(Instant.now());
+        request.setCompletedAt(request.getUpdatedAt());
 
         ShoppingRequest savedRequest = shoppingRequestRepository.save(request);
 
@@ -197,8 +274,11 @@ public class ShoppingRequestService {
 
         notificationService.notifyShoppingCompleted(savedRequest);
 
+        ShoppingRequestResponse response = convertToResponse(savedRequest);
+        publishLifecycleEvent(response, ShoppingRequestStatus.IN_PROGRESS, previousPaymentStatus);
+
         log.info("Shopping completed for request: {}", requestId);
-        return convertToResponse(savedRequest);
+        return response;
     }
 
     @Transactional
@@ -220,7 +300,9 @@ public class ShoppingRequestService {
             throw new InvalidShoppingRequestActionException("Can only abandon ACCEPTED or IN_PROGRESS shopping requests");
         }
 
+        ShoppingRequestStatus previousStatus = request.getStatus();
         request.setShopper(null);
+        request.setAcceptedAt(null);
         request.setStatus(ShoppingRequestStatus.PENDING);
         request.setUpdatedAt(Instant.now());
 
@@ -228,8 +310,11 @@ public class ShoppingRequestService {
 
         notificationService.notifyShoppingRequestAbandoned(savedRequest, shopperEmail);
 
+        ShoppingRequestResponse response = convertToResponse(savedRequest);
+        publishLifecycleEvent(response, previousStatus, savedRequest.getPaymentStatus());
+
         log.info("Shopping request {} abandoned by shopper {} and returned to PENDING", requestId, shopperEmail);
-        return convertToResponse(savedRequest);
+        return response;
     }
 
     @Transactional
@@ -251,6 +336,8 @@ public class ShoppingRequestService {
             throw new InvalidShoppingRequestActionException("Cannot cancel a " + request.getStatus().name() + " request");
         }
 
+        ShoppingRequestStatus previousStatus = request.getStatus();
+        PaymentStatus previousPaymentStatus = request.getPaymentStatus();
         request.setStatus(ShoppingRequestStatus.CANCELLED);
         request.setUpdatedAt(Instant.now());
 
@@ -267,13 +354,17 @@ public class ShoppingRequestService {
 
         notificationService.notifyShoppingRequestCancelled(savedRequest, userEmail);
 
+        ShoppingRequestResponse response = convertToResponse(savedRequest);
+        publishLifecycleEvent(response, previousStatus, previousPaymentStatus);
+
         log.info("Shopping request {} cancelled by customer: {}", requestId, userEmail);
-        return convertToResponse(savedRequest);
+        return response;
     }
 
     @Transactional
     public ShoppingRequestResponse updateShoppingRequest(Long requestId, String customerEmail, ShoppingRequestUpdateRequest request)
-            throws CustomerNotFoundException, ShoppingRequestNotFoundException, InvalidShoppingRequestActionException {
+            throws CustomerNotFoundException, ShoppingRequestNotFoundException, InvalidShoppingRequestActionException,
+            StoreNotFoundException {
         log.info("Updating shopping request {} for customer: {}", requestId, customerEmail);
 
         Customer customer = customerRepository.findByUserEmail(customerEmail)
@@ -290,27 +381,42 @@ public class ShoppingRequestService {
             throw new InvalidShoppingRequestActionException("Can only edit shopping requests in PENDING status");
         }
 
+        // Coordinates are only replaced when an address changes; unresolved addresses are geocoded in the background
+        if (!Objects.equals(request.getDeliveryAddress(), shoppingRequest.getDeliveryAddress())) {
+            com.google.maps.model.LatLng deliveryLocation = geocodingService.getLocalLatLng(request.getDeliveryAddress());
+            shoppingRequest.setLatitude(deliveryLocation != null ? deliveryLocation.lat : null);
+            shoppingRequest.setLongitude(deliveryLocation != null ? deliveryLocation.lng : null);
+            shoppingRequest.setGeocodeAttempts(0);
+        }
+        Store store = request.getStoreId() != null ? storeDirectory.getStore(request.getStoreId()) : null;
+        String storeAddress = store != null ? store.getAddress() : request.getStoreAddress();
+        if (store != null) {
+            shoppingRequest.setStoreLatitude(store.getLatitude());
+            shoppingRequest.setStoreLongitude(store.getLongitude());
+        } else if (!Objects.equals(storeAddress, shoppingRequest.getStoreAddress())) {
+            com.google.maps.model.LatLng storeLocation = geocodingService.getLocalLatLng(storeAddress);
+            shoppingRequest.setStoreLatitude(storeLocation != null ? storeLocation.lat : null);
+            shoppingRequest.setStoreLongitude(storeLocation != null ? storeLocation.lng : null);
+            shoppingRequest.setGeocodeAttempts(0);
+        }
+
         shoppingRequest.setDeliveryAddress(request.getDeliveryAddress());
         shoppingRequest.setEstimatedItemsPrice(request.getEstimatedItemsPrice());
         shoppingRequest.setDeliveryFee(request.getDeliveryFee());
-        shoppingRequest.setStoreName(request.getStoreName());
-        shoppingRequest.setStoreAddress(request.getStoreAddress());
+        shoppingRequest.setStore(store);
+        shoppingRequest.setStoreName(store != null ? store.getName() : request.getStoreName());
+        shoppingRequest.setStoreAddress(storeAddress);
         shoppingRequest.setUpdatedAt(Instant.now());
 
-        com.google.maps.model.LatLng deliveryLocation = geocodingService.getLatLngFromAddress(request.getDeliveryAddress());
-        shoppingRequest.setLatitude(deliveryLocation != null ? deliveryLocation.lat : null);
-        shoppingRequest.setLongitude(deliveryLocation != null ? deliveryLocation.lng : null);
-
-        com.google.maps.model.LatLng storeLocation = geocodingService.getLatLngFromAddress(request.getStoreAddress());
-        shoppingRequest.setStoreLatitude(storeLocation != null ? storeLocation.lat : null);
-        shoppingRequest.setStoreLongitude(storeLocation != null ? storeLocation.lng : null);
-
         ShoppingRequest savedRequest = populateShoppingRequestItems(shoppingRequest, request.getItems());
 
         notificationService.notifyShoppingRequestUpdated(savedRequest);
 
+        ShoppingRequestResponse response = convertToResponse(savedRequest);
+        publishLifecycleEvent(response, ShoppingRequestStatus.PENDING, savedRequest.getPaymentStatus());
+
         log.info("Successfully updated shopping request with ID: {}", savedRequest.getId());
-        return convertToResponse(savedRequest);
+        return response;
     }
 
     @Transactional
@@ -320,45 +426,36 @@ public class ShoppingRequestService {
         ShoppingRequest request = shoppingRequestRepository.findById(shoppingRequestId)
                 .orElseThrow(() -> new ShoppingRequestNotFoundException("Shopping request not found with ID: " + shoppingRequestId));
 
+        PaymentStatus previousPaymentStatus = request.getPaymentStatus();
         request.setPaymentStatus(paymentStatus);
         request.setUpdatedAt(Instant.now());
 
-        shoppingRequestRepository.save(request);
+        ShoppingRequest savedRequest = shoppingRequestRepository.save(request);
+        publishLifecycleEvent(convertToResponse(savedRequest), savedRequest.getStatus(), previousPaymentStatus);
         log.info("Payment status updated for shopping request: {}", shoppingRequestId);
     }
 
     private ShoppingRequest populateShoppingRequestItems(ShoppingRequest shoppingRequest, List<ItemRequest> itemRequests) {
-        if (shoppingRequest.getItems() != null) {
-            shoppingRequest.getItems().clear();
-        } else {
-            shoppingRequest.setItems(new ArrayList<>());
-        }
-
-        List<Item> newItems = itemRequests.stream()
-                .map(itemRequest -> {
-                    Item item = Item.builder()
-                        .name(itemRequest.getName())
-                        .description(itemRequest.getDescription())
-                        .amount(itemRequest.getAmount())
-                        .category(itemRequest.getCategory())
-                        .build();
-                    item.setShoppingRequest(shoppingRequest);
-                    return item;
-                })
-                .toList();
-
-        shoppingRequest.getItems().addAll(newItems);
-
+        itemMerger.merge(shoppingRequest, itemRequests);
         return shoppingRequestRepository.save(shoppingRequest);
     }
 
+    private void publishLifecycleEvent(ShoppingRequestResponse response, ShoppingRequestStatus previousStatus,
+                                       PaymentStatus previousPaymentStatus) {
+        eventPublisher.publishEvent(new ShoppingRequestLifecycleEvent(response, previousStatus, previousPaymentStatus));
+    }
+
     private Long getShopperIdByEmail(String email) throws ShopperNotFoundException {
         return shopperRepository.findByUserEmail(email)
                 .orElseThrow(() -> new ShopperNotFoundException("Shopper not found with email: " + email))
                 .getId();
     }
 
-    private ShoppingRequestResponse convertToResponse(ShoppingRequest request) {
+    ShoppingRequestResponse convertToResponse(ShoppingRequest request) {
+        return convertToResponse(request, paymentService.getPaymentByShoppingRequestId(request.getId()));
+    }
+
+    private ShoppingRequestResponse convertToResponse(ShoppingRequest request, Payment payment) {
         List<ItemResponse> itemResponses = request.getItems() != null ?
                 request.getItems().stream()
                         .map(item -> ItemResponse.builder()
@@ -370,8 +467,6 @@ public class ShoppingRequestService {
                                 .build())
                         .collect(Collectors.toList()) : List.of();
 
-        Payment payment = paymentService.getPaymentByShoppingRequestId(request.getId());
-
         return ShoppingRequestResponse.builder()
                 .id(request.getId())
                 .customerId(request.getCustomer().getUser().getId())
@@ -383,12 +478,15 @@ public class ShoppingRequestService {
                 .items(itemResponses)
                 .createdAt(request.getCreatedAt())
                 .updatedAt(request.getUpdatedAt())
+                .acceptedAt(request.getAcceptedAt())
+                .completedAt(request.getCompletedAt())
                 .estimatedItemsPrice(request.getEstimatedItemsPrice())
                 .deliveryFee(request.getDeliveryFee())
                 .deliveryAddress(request.getDeliveryAddress())
                 .paymentStatus(request.getPaymentStatus())
                 .latitude(request.getLatitude())
                 .longitude(request.getLongitude())
+                .storeId(request.getStore() != null ? request.getStore().getId() : null)
                 .storeName(request.getStoreName())
                 .storeAddress(request.getStoreAddress())
                 .storeLatitude(request.getStoreLatitude())
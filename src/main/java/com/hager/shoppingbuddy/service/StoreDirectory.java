@@ -0,0 +1,118 @@
+package com.hager.shoppingbuddy.service;
+
+import com.google.maps.model.LatLng;
+import com.hager.shoppingbuddy.dto.StoreCreateRequest;
+import com.hager.shoppingbuddy.dto.StoreResponse;
+import com.hager.shoppingbuddy.entity.Store;
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
+import com.hager.shoppingbuddy.exception.InvalidStoreException;
+import com.hager.shoppingbuddy.exception.StoreNotFoundException;
+import com.hager.shoppingbuddy.repository.StoreRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Canonical, pre-geocoded stores, served from an in-memory {@link StoreIndex}. The index is rebuilt from the
+ * database on startup and every {@code refresh-interval-ms}; stores registered on this instance are added once
+ * they commit, and ids registered elsewhere since the last refresh are loaded on first use.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StoreDirectory {
+
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    private final StoreRepository storeRepository;
+    private final GeocodingService geocodingService;
+
+    private volatile StoreIndex index = StoreIndex.EMPTY;
+
+    @Scheduled(fixedDelayString = "${shoppingbuddy.stores.refresh-interval-ms}")
+    public void refresh() {
+        StoreIndex refreshed = new StoreIndex(storeRepository.findAll());
+        synchronized (this) {
+            index = refreshed;
+        }
+        log.debug("Store directory refreshed with {} stores", refreshed.size());
+    }
+
+    public Store getStore(Long storeId) throws StoreNotFoundException {
+        Store store = index.get(storeId);
+        if (store == null) {
+            store = storeRepository.findById(storeId)
+                    .orElseThrow(() -> new StoreNotFoundException("Store not found with ID: " + storeId));
+            addToIndex(store);
+        }
+        return store;
+    }
+
+    public StoreResponse getStoreById(Long storeId) throws StoreNotFoundException {
+        return convertToResponse(getStore(storeId));
+    }
+
+    public List<StoreResponse> searchStores(String query, int limit) {
+        return index.search(query, Math.min(limit, MAX_SEARCH_RESULTS)).stream()
+                .map(StoreDirectory::convertToResponse)
+                .toList();
+    }
+
+    /**
+     * Registers a store, geocoding its address once through Maps before the insert's transaction opens, so a
+     * slow Maps call holds no database connection. A store with the same name and address is returned instead
+     * of being registered twice, including one registered concurrently on another instance.
+     */
+    public StoreResponse registerStore(StoreCreateRequest request)
+            throws InvalidStoreException, DependencyUnavailableException {
+        Store existing = index.findExact(request.getName(), request.getAddress());
+        if (existing != null) {
+            return convertToResponse(existing);
+        }
+
+        String name = request.getName().strip();
+        String address = request.getAddress().strip();
+        LatLng location = geocodingService.geocode(address);
+        if (location == null) {
+            throw new InvalidStoreException("Could not find a location for store address: " + address);
+        }
+
+        Store store;
+        try {
+            store = storeRepository.saveAndFlush(Store.builder()
+                    .name(name)
+                    .address(address)
+                    .latitude(location.lat)
+                    .longitude(location.lng)
+                    .createdAt(Instant.now())
+                    .build());
+            log.info("Registered store {} ({})", store.getId(), store.getName());
+        } catch (DataIntegrityViolationException e) {
+            store = storeRepository.findByNameAndAddress(name, address).orElseThrow(() -> e);
+            log.info("Store {} ({}) was registered concurrently", store.getId(), store.getName());
+        }
+
+        // The repository's transaction has committed, so other instances can already see the store
+        addToIndex(store);
+        return convertToResponse(store);
+    }
+
+    private synchronized void addToIndex(Store store) {
+        index = index.with(store);
+    }
+
+    private static StoreResponse convertToResponse(Store store) {
+        return StoreResponse.builder()
+                .id(store.getId())
+                .name(store.getName())
+                .address(store.getAddress())
+                .latitude(store.getLatitude())
+                .longitude(store.getLongitude())
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.entity.Store;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable trigram index over store names and addresses. A query matches a store by the share of the query's
+ * trigrams found in the store's text, which tolerates typos, word order and partial names such as
+ * "tesco bagot st".
+ */
+final class StoreIndex {
+
+    static final StoreIndex EMPTY = new StoreIndex(List.of());
+
+    /** Share of the query's trigrams a store must contain to be returned. */
+    private static final double MIN_SCORE = 0.5;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private final List<Store> stores;
+    private final Map<Long, Store> storesById = new HashMap<>();
+    private final Map<String, Store> storesByKey = new HashMap<>();
+    private final Map<String, int[]> postings = new HashMap<>();
+    private final int[] trigramCounts;
+
+    StoreIndex(Collection<Store> stores) {
+        this.stores = List.copyOf(stores);
+        this.trigramCounts = new int[this.stores.size()];
+
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < this.stores.size(); i++) {
+            Store store = this.stores.get(i);
+            storesById.put(store.getId(), store);
+            storesByKey.put(key(store.getName(), store.getAddress()), store);
+            Set<String> trigrams = trigrams(store.getName() + " " + store.getAddress());
+            trigramCounts[i] = trigrams.size();
+            for (String trigram : trigrams) {
+                positions.computeIfAbsent(trigram, k -> new ArrayList<>()).add(i);
+            }
+        }
+        positions.forEach((trigram, list) -> postings.put(trigram, list.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * @return a new index with the store added, replacing any store with the same id
+     */
+    StoreIndex with(Store store) {
+        List<Store> updated = new ArrayList<>(stores.size() + 1);
+        for (Store existing : stores) {
+            if (!existing.getId().equals(store.getId())) {
+                updated.add(existing);
+            }
+        }
+        updated.add(store);
+        return new StoreIndex(updated);
+    }
+
+    int size() {
+        return stores.size();
+    }
+
+    Store get(Long id) {
+        return storesById.get(id);
+    }
+
+    /**
+     * @return the store with this name and address once case, accents and punctuation are ignored, or
+     * {@code null}
+     */
+    Store findExact(String name, String address) {
+        return storesByKey.get(key(name, address));
+    }
+
+    /**
+     * @return up to {@code limit} stores matching the query, best first
+     */
+    List<Store> search(String query, int limit) {
+        Set<String> queryTrigrams = trigrams(query);
+        if (queryTrigrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int[] hits = new int[stores.size()];
+        for (String trigram : queryTrigrams) {
+            int[] matching = postings.get(trigram);
+            if (matching != null) {
+                for (int position : matching) {
+                    hits[position]++;
+                }
+            }
+        }
+
+        int required = (int) Math.ceil(MIN_SCORE * queryTrigrams.size());
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < hits.length; i++) {
+            if (hits[i] >= required) {
+                matches.add(i);
+            }
+        }
+        // Most of the query found first; among equals, the store with the least unmatched text
+        matches.sort(Comparator.<Integer>comparingInt(i -> -hits[i])
+                .thenComparingInt(i -> trigramCounts[i])
+                .thenComparing(i -> stores.get(i).getId()));
+        return matches.stream().limit(limit).map(stores::get).toList();
+    }
+
+    private static String key(String name, String address) {
+        return normalise(name) + "|" + normalise(address);
+    }
+
+    private static String normalise(String text) {
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(folded).replaceAll(" ").strip();
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : normalise(text).split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            // Padded so short words and word starts still produce trigrams
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,50 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.repository.TokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes expired and already confirmed tokens. Rows are walked in primary key order and deleted in
+ * small batches, each in its own short transaction, so the purge never holds locks on a large range.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenPurgeService {
+
+    private final TokenRepository tokenRepository;
+
+    @Value("${shoppingbuddy.tokens.purge-batch-size}")
+    private int batchSize;
+
+    @Scheduled(cron = "${shoppingbuddy.tokens.purge-cron}")
+    public void purgeTokens() {
+        int purged = purgeTokens(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired or confirmed tokens", purged);
+        }
+    }
+
+    public int purgeTokens(Instant now) {
+        int purged = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = tokenRepository.findPurgeableIds(afterId, now, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            purged += tokenRepository.deleteByIdIn(ids);
+            afterId = ids.getLast();
+        } while (ids.size() == batchSize);
+        return purged;
+    }
+}
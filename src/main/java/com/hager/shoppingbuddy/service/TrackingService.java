@@ -0,0 +1,346 @@
+package com.hager.shoppingbuddy.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.dto.TrackingPositionResponse;
+import com.hager.shoppingbuddy.dto.TrackingStatusResponse;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.event.ShopperLocationEvent;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import com.hager.shoppingbuddy.exception.ShoppingRequestNotFoundException;
+import com.hager.shoppingbuddy.exception.UnauthorizedRoleException;
+import com.hager.shoppingbuddy.exception.UserNotFoundException;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.repository.UserRepository;
+import com.hager.shoppingbuddy.tracking.TrackingBuffer;
+import com.hager.shoppingbuddy.tracking.TrackingUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-sent tracking streams for shopping requests. Each stream gets the request's status changes and, while
+ * the request is IN_PROGRESS, its shopper's position. Positions fan out from one publisher per shopper, which
+ * throttles heartbeats to one update per {@code min-interval-ms} and serializes each update once for every
+ * stream, however many tabs are open. Each stream is written from its own queue on the tracking executor, so a
+ * slow client never holds up a heartbeat; its {@link TrackingBuffer} keeps only the newest position. Handing a
+ * stream to the executor never blocks: the executor waits for a send slot on its own thread, and when its queue is
+ * full the stream is simply drained on a later update.
+ */
+@Slf4j
+@Service
+public class TrackingService {
+
+    private static final Set<ShoppingRequestStatus> FINAL_STATUSES =
+            Set.of(ShoppingRequestStatus.COMPLETED, ShoppingRequestStatus.CANCELLED);
+
+    private final ShoppingRequestService shoppingRequestService;
+    private final ShopperPresenceService shopperPresenceService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor trackingExecutor;
+    private final long minIntervalMillis;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final Counter droppedUpdates;
+
+    private final Map<Long, TrackedRequest> requests = new HashMap<>();
+    private final Map<Long, ShopperPublisher> publishers = new ConcurrentHashMap<>();
+
+    public TrackingService(ShoppingRequestService shoppingRequestService,
+                           ShopperPresenceService shopperPresenceService,
+                           UserRepository userRepository,
+                           ObjectMapper objectMapper,
+                           @Qualifier("trackingExecutor") TaskExecutor trackingExecutor,
+                           MeterRegistry meterRegistry,
+                           @Value("${shoppingbuddy.tracking.min-interval-ms}") long minIntervalMillis,
+                           @Value("${shoppingbuddy.tracking.timeout-ms}") long timeoutMillis,
+                           @Value("${shoppingbuddy.tracking.buffer-size}") int bufferSize) {
+        this.shoppingRequestService = shoppingRequestService;
+        this.shopperPresenceService = shopperPresenceService;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.trackingExecutor = trackingExecutor;
+        this.minIntervalMillis = minIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.droppedUpdates = meterRegistry.counter("shoppingbuddy.tracking.dropped");
+        Gauge.builder("shoppingbuddy.tracking.streams", this, TrackingService::getStreamCount).register(meterRegistry);
+    }
+
+    /**
+     * Opens a tracking stream for the request's customer or shopper. The stream starts with the current status
+     * and, while shopping is in progress, the shopper's latest position.
+     */
+    public SseEmitter subscribe(Long requestId, String userEmail)
+            throws ShoppingRequestNotFoundException, UserNotFoundException, UnauthorizedRoleException {
+        ShoppingRequestResponse request = shoppingRequestService.getShoppingRequestById(requestId);
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + userEmail));
+        if (!user.getId().equals(request.getCustomerId()) && !user.getId().equals(request.getShopperId())) {
+            throw new UnauthorizedRoleException("User is not authorized to track this shopping request");
+        }
+
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(requestId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        if (FINAL_STATUSES.contains(request.getStatus())) {
+            subscriber.push(statusUpdate(request));
+            subscriber.close();
+            return emitter;
+        }
+
+        LocationStore.Position position = null;
+        synchronized (this) {
+            TrackedRequest tracked = requests.get(requestId);
+            if (tracked == null) {
+                // Lifecycle events only reach requests that are already tracked, so a change committed since the
+                // read above would be lost; read the request again while no event can be applied
+                ShoppingRequestResponse current = shoppingRequestService.getShoppingRequestById(requestId);
+                if (FINAL_STATUSES.contains(current.getStatus())) {
+                    subscriber.push(statusUpdate(current));
+                    subscriber.close();
+                    return emitter;
+                }
+                tracked = new TrackedRequest();
+                apply(tracked, current);
+                requests.put(requestId, tracked);
+            }
+            subscriber.push(tracked.statusUpdate);
+            tracked.subscribers.add(subscriber);
+            if (tracked.status == ShoppingRequestStatus.IN_PROGRESS && tracked.shopperUserId != null) {
+                position = shopperPresenceService.getLocation(tracked.shopperUserId);
+            }
+        }
+        if (position != null) {
+            subscriber.push(positionUpdate(position.latitude(), position.longitude(), position.updatedAt()));
+        }
+        log.debug("Tracking stream opened for shopping request {}", requestId);
+        return emitter;
+    }
+
+    /**
+     * Runs for every shopper heartbeat; returns at once unless someone is tracking one of the shopper's requests.
+     */
+    @EventListener
+    public void onLocation(ShopperLocationEvent event) {
+        ShopperPublisher publisher = publishers.get(event.getShopperUserId());
+        if (publisher == null || !publisher.tryAcquire(event.getRecordedAt().toEpochMilli())) {
+            return;
+        }
+        TrackingUpdate update = positionUpdate(event.getLatitude(), event.getLongitude(), event.getRecordedAt());
+        for (TrackedRequest tracked : publisher.requests) {
+            if (tracked.status == ShoppingRequestStatus.IN_PROGRESS) {
+                tracked.subscribers.forEach(subscriber -> subscriber.push(update));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onLifecycleEvent(ShoppingRequestLifecycleEvent event) {
+        ShoppingRequestResponse request = event.getRequest();
+        TrackedRequest tracked = requests.get(request.getId());
+        if (tracked == null) {
+            return;
+        }
+        if (tracked.status == request.getStatus() && Objects.equals(tracked.shopperUserId, request.getShopperId())) {
+            // An edit that changed neither the status nor the shopper
+            return;
+        }
+        if (request.getUpdatedAt() != null && tracked.updatedAt != null
+                && request.getUpdatedAt().isBefore(tracked.updatedAt)) {
+            // Older than the state read when the request started being tracked
+            return;
+        }
+
+        apply(tracked, request);
+        boolean finished = FINAL_STATUSES.contains(request.getStatus());
+        for (Subscriber subscriber : tracked.subscribers) {
+            subscriber.push(tracked.statusUpdate);
+            if (finished) {
+                subscriber.close();
+            }
+        }
+        if (finished) {
+            bindShopper(tracked, null);
+            requests.remove(request.getId());
+        }
+    }
+
+    public synchronized int getStreamCount() {
+        return requests.values().stream().mapToInt(tracked -> tracked.subscribers.size()).sum();
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        TrackedRequest tracked = requests.get(subscriber.requestId);
+        if (tracked == null || !tracked.subscribers.remove(subscriber)) {
+            return;
+        }
+        if (tracked.subscribers.isEmpty()) {
+            bindShopper(tracked, null);
+            requests.remove(subscriber.requestId);
+        }
+        log.debug("Tracking stream closed for shopping request {}", subscriber.requestId);
+    }
+
+    private void apply(TrackedRequest tracked, ShoppingRequestResponse request) {
+        tracked.status = request.getStatus();
+        tracked.updatedAt = request.getUpdatedAt();
+        tracked.statusUpdate = statusUpdate(request);
+        bindShopper(tracked, request.getShopperId());
+    }
+
+    private void bindShopper(TrackedRequest tracked, Long shopperUserId) {
+        if (tracked.shopperUserId != null && !tracked.shopperUserId.equals(shopperUserId)) {
+            ShopperPublisher previous = publishers.get(tracked.shopperUserId);
+            previous.requests.remove(tracked);
+            if (previous.requests.isEmpty()) {
+                publishers.remove(tracked.shopperUserId);
+            }
+        }
+        if (shopperUserId != null && !shopperUserId.equals(tracked.shopperUserId)) {
+            publishers.computeIfAbsent(shopperUserId, id -> new ShopperPublisher()).requests.add(tracked);
+        }
+        tracked.shopperUserId = shopperUserId;
+    }
+
+    private TrackingUpdate statusUpdate(ShoppingRequestResponse request) {
+        return new TrackingUpdate(TrackingUpdate.Kind.STATUS, toJson(TrackingStatusResponse.builder()
+                .requestId(request.getId())
+                .status(request.getStatus())
+                .shopperName(request.getShopperName())
+                .updatedAt(request.getUpdatedAt())
+                .build()));
+    }
+
+    private TrackingUpdate positionUpdate(double latitude, double longitude, Instant recordedAt) {
+        return new TrackingUpdate(TrackingUpdate.Kind.POSITION,
+                toJson(new TrackingPositionResponse(latitude, longitude, recordedAt)));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize tracking update", e);
+        }
+    }
+
+    private static final class TrackedRequest {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private volatile ShoppingRequestStatus status;
+        private Instant updatedAt;
+        private TrackingUpdate statusUpdate;
+        private Long shopperUserId;
+    }
+
+    private final class ShopperPublisher {
+        private final List<TrackedRequest> requests = new CopyOnWriteArrayList<>();
+        private long lastPublishedMillis = Long.MIN_VALUE;
+
+        private synchronized boolean tryAcquire(long nowMillis) {
+            if (lastPublishedMillis != Long.MIN_VALUE && nowMillis - lastPublishedMillis < minIntervalMillis) {
+                return false;
+            }
+            lastPublishedMillis = nowMillis;
+            return true;
+        }
+    }
+
+    private final class Subscriber {
+        private final Long requestId;
+        private final SseEmitter emitter;
+        private final TrackingBuffer buffer = new TrackingBuffer(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closing;
+        private volatile boolean done;
+
+        private Subscriber(Long requestId, SseEmitter emitter) {
+            this.requestId = requestId;
+            this.emitter = emitter;
+        }
+
+        private void push(TrackingUpdate update) {
+            if (buffer.offer(update)) {
+                droppedUpdates.increment();
+            }
+            schedule();
+        }
+
+        private void close() {
+            closing = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    trackingExecutor.execute(this::drain);
+                } catch (TaskRejectedException e) {
+                    // The buffer keeps the updates; the next push or close schedules the drain again
+                    draining.set(false);
+                    log.debug("Tracking stream for shopping request {} deferred: {}", requestId, e.getMessage());
+                }
+            }
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            try {
+                TrackingUpdate update;
+                while ((update = buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .name(update.kind().eventName())
+                            .data(update.json(), MediaType.APPLICATION_JSON));
+                }
+                if (closing) {
+                    done = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the emitter callbacks remove the subscriber
+                log.debug("Tracking stream for shopping request {} failed: {}", requestId, e.getMessage());
+                done = true;
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            // An update or close that arrived after the last poll could not schedule a drain of its own
+            if (!done && (closing || !buffer.isEmpty())) {
+                schedule();
+            }
+        }
+    }
+}
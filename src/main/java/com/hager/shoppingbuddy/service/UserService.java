@@ -16,6 +16,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -29,6 +32,7 @@ public class UserService implements UserDetailsService {
     private final ShopperRepository shopperRepository;
     private final EmailService emailService;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final EntityCacheService entityCacheService;
 
     @Value("${shoppingbuddy.base-url}")
     private String baseUrl;
@@ -55,9 +59,13 @@ public class UserService implements UserDetailsService {
     }
 
     @Transactional
-    public boolean register(RegistrationRequest request) throws EmailAlreadyExistsException {
+    public boolean register(RegistrationRequest request) throws EmailAlreadyExistsException, UnauthorizedRoleException {
         log.info("Registering user: {} with role: {}", request.getEmail(), request.getUserRole());
 
+        if (request.getUserRole() == UserRole.ADMIN) {
+            throw new UnauthorizedRoleException("Admin accounts cannot be registered");
+        }
+
         User user = User.builder()
                 .firstName(request.getFirstName().trim())
                 .lastName(request.getLastName().trim())
@@ -89,7 +97,7 @@ public class UserService implements UserDetailsService {
             throw new InvalidTokenException("The confirmation link appears to be incomplete. Please check your email and click the complete confirmation link.");
         }
 
-        Token confirmationToken = tokenRepository.findByToken(token)
+        Token confirmationToken = tokenRepository.findByTokenHash(hashToken(token))
                 .orElseThrow(() -> new InvalidTokenException("This confirmation link is not valid or may have already been used. Please request a new confirmation email."));
 
         log.info("Found confirmation token for user: {}", confirmationToken.getUser().getEmail());
@@ -131,7 +139,7 @@ public class UserService implements UserDetailsService {
 
         String token = UUID.randomUUID().toString();
         Token confirmationToken = Token.builder()
-                .token(token)
+                .tokenHash(hashToken(token))
                 .createdAt(Instant.now())
                 .expiresAt(Instant.now().plusSeconds(60 * 60 * TOKEN_EXPIRY_HOURS))
                 .user(savedUser)
@@ -142,6 +150,14 @@ public class UserService implements UserDetailsService {
         return token;
     }
 
+    static byte[] hashToken(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     private void createRoleSpecificEntity(User user) {
         log.info("Creating role-specific entity for user: {} with role: {}", user.getEmail(), user.getRole());
 
@@ -204,6 +220,7 @@ public class UserService implements UserDetailsService {
         user.setUpdatedAt(Instant.now());
 
         userRepository.save(user);
+        entityCacheService.evictUser(user.getId());
         log.info("Profile updated successfully for user: {}", currentUserEmail);
 
     }
@@ -225,6 +242,7 @@ public class UserService implements UserDetailsService {
         user.setUpdatedAt(Instant.now());
 
         userRepository.save(user);
+        entityCacheService.evictUser(user.getId());
         log.info("Password changed successfully for user: {}", userEmail);
 
     }
@@ -0,0 +1,170 @@
+package com.hager.shoppingbuddy.spatial;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Map marker clusters for every zoom level, kept up to date as points come and go. Each level is a grid of
+ * square screen cells, {@code CELL_PIXELS} wide in Web Mercator tile pixels, holding the count, coordinate sums
+ * and fee range of the points inside; adding or removing a point touches one cell per level. A viewport query
+ * reads only the cells it covers, so its cost and result size depend on the screen size, not on how many points
+ * there are. Not thread-safe.
+ */
+public class ClusterIndex {
+
+    public static final int MAX_ZOOM = 18;
+
+    private static final int CELL_PIXELS = 64;
+    private static final int TILE_PIXELS = 256;
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final List<Map<Long, Cell>> levels = new ArrayList<>(MAX_ZOOM + 1);
+    private final Map<Long, Point> points = new HashMap<>();
+
+    public ClusterIndex() {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds the point, or moves it if the id is already indexed.
+     */
+    public void put(long id, double latitude, double longitude, double fee) {
+        remove(id);
+        Point point = new Point(id, latitude, longitude, fee);
+        points.put(id, point);
+        double x = mercatorX(longitude);
+        double y = mercatorY(latitude);
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.get(zoom).computeIfAbsent(cellKey(x, y, zoom), key -> new Cell()).add(point);
+        }
+    }
+
+    public void remove(long id) {
+        Point point = points.remove(id);
+        if (point == null) {
+            return;
+        }
+        double x = mercatorX(point.longitude);
+        double y = mercatorY(point.latitude);
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            Map<Long, Cell> level = levels.get(zoom);
+            long key = cellKey(x, y, zoom);
+            Cell cell = level.get(key);
+            cell.remove(point);
+            if (cell.count == 0) {
+                level.remove(key);
+            }
+        }
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * @return the clusters of the cells the viewport covers at this zoom; zoom levels past {@link #MAX_ZOOM}
+     * use the finest level
+     */
+    public List<Cluster> query(double south, double west, double north, double east, int zoom) {
+        int level = Math.max(0, Math.min(MAX_ZOOM, zoom));
+        Map<Long, Cell> cells = levels.get(level);
+        int cellsPerSide = cellsPerSide(level);
+        int minX = cellIndex(mercatorX(west), cellsPerSide);
+        int maxX = cellIndex(mercatorX(east), cellsPerSide);
+        int minY = cellIndex(mercatorY(north), cellsPerSide);
+        int maxY = cellIndex(mercatorY(south), cellsPerSide);
+
+        List<Cluster> clusters = new ArrayList<>();
+        long covered = (long) (maxX - minX + 1) * (maxY - minY + 1);
+        if (covered <= cells.size()) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    Cell cell = cells.get(cellKey(x, y));
+                    if (cell != null) {
+                        clusters.add(cell.toCluster());
+                    }
+                }
+            }
+        } else {
+            // Fewer occupied cells than covered ones, as when zoomed out over a sparse map
+            cells.forEach((key, cell) -> {
+                int x = (int) (key >> 32);
+                int y = (int) (long) key;
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    clusters.add(cell.toCluster());
+                }
+            });
+        }
+        return clusters;
+    }
+
+    private static long cellKey(double x, double y, int zoom) {
+        int cellsPerSide = cellsPerSide(zoom);
+        return cellKey(cellIndex(x, cellsPerSide), cellIndex(y, cellsPerSide));
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    private static int cellsPerSide(int zoom) {
+        return (TILE_PIXELS / CELL_PIXELS) << zoom;
+    }
+
+    private static int cellIndex(double fraction, int cellsPerSide) {
+        return Math.max(0, Math.min(cellsPerSide - 1, (int) Math.floor(fraction * cellsPerSide)));
+    }
+
+    private static double mercatorX(double longitude) {
+        return (longitude + 180) / 360;
+    }
+
+    private static double mercatorY(double latitude) {
+        double radians = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        return (1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2;
+    }
+
+    /**
+     * @param id the point's id when the cluster holds a single point, otherwise {@code null}
+     */
+    public record Cluster(double latitude, double longitude, int count, double minFee, double maxFee, Long id) {
+    }
+
+    private record Point(long id, double latitude, double longitude, double fee) {
+    }
+
+    private static final class Cell {
+        private int count;
+        private double latitudeSum;
+        private double longitudeSum;
+        /** Wraps on overflow, but is exactly the point's id whenever the cell holds one point. */
+        private long idSum;
+        private final TreeMap<Double, Integer> fees = new TreeMap<>();
+
+        private void add(Point point) {
+            count++;
+            latitudeSum += point.latitude;
+            longitudeSum += point.longitude;
+            idSum += point.id;
+            fees.merge(point.fee, 1, Integer::sum);
+        }
+
+        private void remove(Point point) {
+            count--;
+            latitudeSum -= point.latitude;
+            longitudeSum -= point.longitude;
+            idSum -= point.id;
+            fees.computeIfPresent(point.fee, (fee, n) -> n == 1 ? null : n - 1);
+        }
+
+        private Cluster toCluster() {
+            return new Cluster(latitudeSum / count, longitudeSum / count, count, fees.firstKey(), fees.lastKey(),
+                    count == 1 ? idSum : null);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.hager.shoppingbuddy.spatial;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Points bucketed into a uniform latitude/longitude grid for nearest-neighbour and radius queries at city
+ * scale. A query visits only the cells its search radius can reach, nearest rings first, and stops as soon as
+ * no unvisited cell can hold a closer point. With 0.01° cells (about 1.1 km north-south and 0.7 km east-west in
+ * Dublin) a nearest query over thousands of points touches a few dozen of them. Not thread-safe.
+ */
+public class GridIndex<T> {
+
+    private final double cellDegrees;
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+
+    public GridIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * Adds the point, or moves it if the id is already indexed.
+     */
+    public void put(long id, double latitude, double longitude, T value) {
+        Entry<T> existing = entries.get(id);
+        long cell = cellKey(cellOf(latitude), cellOf(longitude));
+        if (existing != null && existing.cell == cell) {
+            existing.latitude = latitude;
+            existing.longitude = longitude;
+            existing.value = value;
+            return;
+        }
+        if (existing != null) {
+            removeFromCell(existing);
+        }
+        Entry<T> entry = new Entry<>(id, latitude, longitude, value, cell);
+        entries.put(id, entry);
+        cells.computeIfAbsent(cell, k -> new ArrayList<>()).add(entry);
+    }
+
+    public T remove(long id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        removeFromCell(entry);
+        return entry.value;
+    }
+
+    public T get(long id) {
+        Entry<T> entry = entries.get(id);
+        return entry != null ? entry.value : null;
+    }
+
+    public boolean contains(long id) {
+        return entries.containsKey(id);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return up to {@code limit} values accepted by the filter within {@code maxKm}, nearest first
+     */
+    public List<Neighbour<T>> nearest(double latitude, double longitude, int limit, double maxKm, Predicate<T> filter) {
+        PriorityQueue<Neighbour<T>> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbour<T>::distanceKm).reversed());
+        int centreLat = cellOf(latitude);
+        int centreLng = cellOf(longitude);
+        double minCellKm = minCellKm(latitude);
+        int maxRing = (int) Math.ceil(maxKm / minCellKm) + 1;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every point in this ring is at least (ring - 1) cells away from the query point
+            if (best.size() == limit && (ring - 1) * minCellKm > best.peek().distanceKm()) {
+                break;
+            }
+            forEachInRing(centreLat, centreLng, ring, entry -> {
+                if (!filter.test(entry.value)) {
+                    return;
+                }
+                double distance = GeoDistance.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+                if (distance > maxKm) {
+                    return;
+                }
+                if (best.size() < limit) {
+                    best.add(new Neighbour<>(entry.id, entry.value, distance));
+                } else if (distance < best.peek().distanceKm()) {
+                    best.poll();
+                    best.add(new Neighbour<>(entry.id, entry.value, distance));
+                }
+            });
+        }
+
+        List<Neighbour<T>> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbour::distanceKm));
+        return result;
+    }
+
+    /**
+     * @return every value accepted by the filter within {@code radiusKm}, in no particular order
+     */
+    public List<Neighbour<T>> within(double latitude, double longitude, double radiusKm, Predicate<T> filter) {
+        List<Neighbour<T>> result = new ArrayList<>();
+        int centreLat = cellOf(latitude);
+        int centreLng = cellOf(longitude);
+        int maxRing = (int) Math.ceil(radiusKm / minCellKm(latitude)) + 1;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            forEachInRing(centreLat, centreLng, ring, entry -> {
+                if (filter.test(entry.value)) {
+                    double distance = GeoDistance.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+                    if (distance <= radiusKm) {
+                        result.add(new Neighbour<>(entry.id, entry.value, distance));
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Like {@link #within}, but hands each value and its distance to the visitor instead of collecting them, for
+     * callers that keep only a few of many.
+     */
+    public void forEachWithin(double latitude, double longitude, double radiusKm, ObjDoubleConsumer<T> visitor) {
+        int centreLat = cellOf(latitude);
+        int centreLng = cellOf(longitude);
+        int maxRing = (int) Math.ceil(radiusKm / minCellKm(latitude)) + 1;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            forEachInRing(centreLat, centreLng, ring, entry -> {
+                double distance = GeoDistance.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+                if (distance <= radiusKm) {
+                    visitor.accept(entry.value, distance);
+                }
+            });
+        }
+    }
+
+    private void forEachInRing(int centreLat, int centreLng, int ring, Consumer<Entry<T>> action) {
+        for (int dLat = -ring; dLat <= ring; dLat++) {
+            // Rows strictly inside the ring only contribute their two edge cells
+            int step = Math.abs(dLat) == ring ? 1 : Math.max(1, 2 * ring);
+            for (int dLng = -ring; dLng <= ring; dLng += step) {
+                List<Entry<T>> cell = cells.get(cellKey(centreLat + dLat, centreLng + dLng));
+                if (cell != null) {
+                    cell.forEach(action);
+                }
+            }
+        }
+    }
+
+    private double minCellKm(double latitude) {
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(Math.min(89, Math.abs(latitude) + cellDegrees))));
+        return cellDegrees * GeoDistance.KM_PER_DEGREE_LATITUDE * cosLat;
+    }
+
+    private void removeFromCell(Entry<T> entry) {
+        List<Entry<T>> cell = cells.get(entry.cell);
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+            cells.remove(entry.cell);
+        }
+    }
+
+    private int cellOf(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    public record Neighbour<T>(long id, T value, double distanceKm) {
+    }
+
+    private static final class Entry<T> {
+        private final long id;
+        private final long cell;
+        private double latitude;
+        private double longitude;
+        private T value;
+
+        private Entry(long id, double latitude, double longitude, T value, long cell) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.value = value;
+            this.cell = cell;
+        }
+    }
+}
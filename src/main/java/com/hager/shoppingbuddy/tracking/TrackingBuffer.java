@@ -0,0 +1,48 @@
+package com.hager.shoppingbuddy.tracking;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Updates waiting to be written to one subscriber. Only the newest position is ever queued: a position replaces
+ * any position still waiting, so a slow client skips straight to where the shopper is now. Status updates are
+ * kept in order; if the buffer still fills up, the oldest update is dropped.
+ */
+public class TrackingBuffer {
+
+    private final int capacity;
+    private final ArrayDeque<TrackingUpdate> updates = new ArrayDeque<>();
+
+    public TrackingBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return whether a queued update was dropped to make room
+     */
+    public synchronized boolean offer(TrackingUpdate update) {
+        boolean dropped = false;
+        if (update.kind() == TrackingUpdate.Kind.POSITION) {
+            for (Iterator<TrackingUpdate> queued = updates.iterator(); queued.hasNext(); ) {
+                if (queued.next().kind() == TrackingUpdate.Kind.POSITION) {
+                    queued.remove();
+                    dropped = true;
+                }
+            }
+        }
+        if (updates.size() == capacity) {
+            updates.pollFirst();
+            dropped = true;
+        }
+        updates.addLast(update);
+        return dropped;
+    }
+
+    public synchronized TrackingUpdate poll() {
+        return updates.pollFirst();
+    }
+
+    public synchronized boolean isEmpty() {
+        return updates.isEmpty();
+    }
+}
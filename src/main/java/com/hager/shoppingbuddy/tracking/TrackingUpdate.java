@@ -0,0 +1,22 @@
+package com.hager.shoppingbuddy.tracking;
+
+/**
+ * One server-sent event for a tracking stream, serialized once and shared by every subscriber it is sent to.
+ */
+public record TrackingUpdate(Kind kind, String json) {
+
+    public enum Kind {
+        STATUS("status"),
+        POSITION("position");
+
+        private final String eventName;
+
+        Kind(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String eventName() {
+            return eventName;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- One store per name and address, so concurrent registrations on different instances cannot both insert.
+-- name and address take 2800 bytes in utf8mb4, within InnoDB's 3072-byte index key limit.
+
+-- Copies left by earlier races: requests move to the oldest copy, the others are removed
+update shopping_requests
+set store_id = (select min(k.id)
+                from stores k
+                         join stores d on k.name = d.name and k.address = d.address
+                where d.id = shopping_requests.store_id)
+where store_id is not null;
+
+delete from stores
+where id not in (select keep_id from (select min(id) as keep_id from stores group by name, address) kept);
+
+alter table stores add constraint uk_stores_name_address unique (name, address);
@@ -0,0 +1,3 @@
+-- When the request was completed. updated_at moves on later payment changes, so it does not give a reliable
+-- accept-to-complete duration. Requests completed before this column existed have none and are not used.
+alter table shopping_requests add column completed_at datetime(6);
@@ -0,0 +1,146 @@
+-- Baseline: the schema previously generated by Hibernate (ddl-auto=update) and Spring Session.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+create table users (
+    id                   bigint       not null,
+    first_name           varchar(50)  not null,
+    last_name            varchar(50)  not null,
+    email                varchar(100) not null,
+    phone_number         varchar(255) not null,
+    password_hash        varchar(255) not null,
+    is_enabled           bit          not null,
+    is_locked            bit          not null,
+    last_password_change datetime(6),
+    created_at           datetime(6)  not null,
+    updated_at           datetime(6),
+    role                 enum ('CUSTOMER','SHOPPER') not null,
+    primary key (id),
+    constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email),
+    constraint UK9q63snka3mdh91as4io72espi unique (phone_number)
+) engine=InnoDB;
+
+create table customers (
+    id      bigint not null,
+    user_id bigint not null,
+    address varchar(500),
+    primary key (id),
+    constraint UKeuat1oase6eqv195jvb71a93s unique (user_id),
+    constraint FKrh1g1a20omjmn6kurd35o3eit foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table shoppers (
+    id      bigint         not null,
+    user_id bigint         not null,
+    balance decimal(10,2)  not null,
+    primary key (id),
+    constraint UKjnhjfj2aaswklo1at3eujar5f unique (user_id),
+    constraint FKd1703f2y4ot64y5nnnrfrfp1v foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table shopping_requests (
+    id                    bigint       not null,
+    customer_id           bigint       not null,
+    shopper_id            bigint,
+    status                enum ('ACCEPTED','CANCELLED','COMPLETED','IN_PROGRESS','PENDING') not null,
+    payment_status        enum ('AUTHORIZED','CANCELLED','COMPLETED','FAILED','PENDING','REFUNDED'),
+    created_at            datetime(6)  not null,
+    updated_at            datetime(6),
+    estimated_items_price float(53)    not null,
+    delivery_fee          float(53)    not null,
+    delivery_address      varchar(500) not null,
+    latitude              float(53),
+    longitude             float(53),
+    store_name            varchar(200) not null,
+    store_address         varchar(500) not null,
+    store_latitude        float(53),
+    store_longitude       float(53),
+    primary key (id),
+    constraint FKp5ykskmj6ywwbvd2adxbjvr1o foreign key (customer_id) references customers (id),
+    constraint FKb90eexgeu3f8xf55nkgr42y3o foreign key (shopper_id) references shoppers (id)
+) engine=InnoDB;
+
+create table items (
+    id                  bigint       not null,
+    shopping_request_id bigint       not null,
+    name                varchar(100) not null,
+    description         varchar(500),
+    amount              integer      not null check (amount >= 1),
+    category            varchar(50),
+    primary key (id),
+    constraint FKqh50thk0y39r89lr8vmkhreyx foreign key (shopping_request_id) references shopping_requests (id)
+) engine=InnoDB;
+
+create table chat_messages (
+    id                  bigint        not null,
+    shopping_request_id bigint        not null,
+    sender_id           bigint        not null,
+    message_content     varchar(1000) not null,
+    timestamp           datetime(6)   not null,
+    primary key (id),
+    constraint FKr8do0njvs3jw1lat7qee7q83c foreign key (shopping_request_id) references shopping_requests (id),
+    constraint FKgiqeap8ays4lf684x7m0r2729 foreign key (sender_id) references users (id)
+) engine=InnoDB;
+
+create table payments (
+    id                       bigint        not null,
+    shopping_request_id      bigint        not null,
+    customer_id              bigint        not null,
+    amount                   decimal(10,2),
+    status                   enum ('AUTHORIZED','CANCELLED','COMPLETED','FAILED','PENDING','REFUNDED') not null,
+    stripe_payment_intent_id varchar(255),
+    stripe_client_secret     varchar(255),
+    created_timestamp        datetime(6)   not null,
+    collected_timestamp      datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table tokens (
+    id           bigint       not null,
+    user_id      bigint       not null,
+    token        varchar(500) not null,
+    created_at   datetime(6)  not null,
+    expires_at   datetime(6)  not null,
+    confirmed_at datetime(6),
+    primary key (id),
+    constraint FK2dylsfo39lgjyqml2tbe0b0ss foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table user_id_seq (next_val bigint) engine=InnoDB;
+insert into user_id_seq values (1);
+create table customer_id_seq (next_val bigint) engine=InnoDB;
+insert into customer_id_seq values (1);
+create table shopper_id_seq (next_val bigint) engine=InnoDB;
+insert into shopper_id_seq values (1);
+create table shopping_request_id_seq (next_val bigint) engine=InnoDB;
+insert into shopping_request_id_seq values (1);
+create table item_id_seq (next_val bigint) engine=InnoDB;
+insert into item_id_seq values (1);
+create table chat_message_id_seq (next_val bigint) engine=InnoDB;
+insert into chat_message_id_seq values (1);
+create table payment_id_seq (next_val bigint) engine=InnoDB;
+insert into payment_id_seq values (1);
+create table token_sequence (next_val bigint) engine=InnoDB;
+insert into token_sequence values (1);
+
+create table SPRING_SESSION (
+    PRIMARY_ID            CHAR(36) NOT NULL,
+    SESSION_ID            CHAR(36) NOT NULL,
+    CREATION_TIME         BIGINT   NOT NULL,
+    LAST_ACCESS_TIME      BIGINT   NOT NULL,
+    MAX_INACTIVE_INTERVAL INT      NOT NULL,
+    EXPIRY_TIME           BIGINT   NOT NULL,
+    PRINCIPAL_NAME        VARCHAR(100),
+    CONSTRAINT SPRING_SESSION_PK PRIMARY KEY (PRIMARY_ID)
+) ENGINE=InnoDB ROW_FORMAT=DYNAMIC;
+
+CREATE UNIQUE INDEX SPRING_SESSION_IX1 ON SPRING_SESSION (SESSION_ID);
+CREATE INDEX SPRING_SESSION_IX2 ON SPRING_SESSION (EXPIRY_TIME);
+CREATE INDEX SPRING_SESSION_IX3 ON SPRING_SESSION (PRINCIPAL_NAME);
+
+create table SPRING_SESSION_ATTRIBUTES (
+    SESSION_PRIMARY_ID CHAR(36)     NOT NULL,
+    ATTRIBUTE_NAME     VARCHAR(200) NOT NULL,
+    ATTRIBUTE_BYTES    BLOB         NOT NULL,
+    CONSTRAINT SPRING_SESSION_ATTRIBUTES_PK PRIMARY KEY (SESSION_PRIMARY_ID, ATTRIBUTE_NAME),
+    CONSTRAINT SPRING_SESSION_ATTRIBUTES_FK FOREIGN KEY (SESSION_PRIMARY_ID) REFERENCES SPRING_SESSION (PRIMARY_ID) ON DELETE CASCADE
+) ENGINE=InnoDB ROW_FORMAT=DYNAMIC;
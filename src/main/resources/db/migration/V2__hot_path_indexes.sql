@@ -0,0 +1,20 @@
+-- Indexes for the derived queries in the repositories
+
+-- ShoppingRequestRepository.findByStatusAndPaymentStatusOrderByCreatedAtDesc (pending feed)
+create index idx_shopping_requests_status_payment_created on shopping_requests (status, payment_status, created_at);
+
+-- ShoppingRequestRepository.findByCustomerIdOrderByCreatedAtDesc / findByShopperIdOrderByCreatedAtDesc
+create index idx_shopping_requests_customer_created on shopping_requests (customer_id, created_at);
+create index idx_shopping_requests_shopper_created on shopping_requests (shopper_id, created_at);
+
+-- TokenRepository.findByToken
+create index idx_tokens_token on tokens (token);
+
+-- PaymentRepository.findByShoppingRequestId
+create index idx_payments_shopping_request on payments (shopping_request_id);
+
+-- ChatMessageRepository.findByShoppingRequestIdOrderByTimestampAsc / countByShoppingRequestId
+create index idx_chat_messages_request_timestamp on chat_messages (shopping_request_id, timestamp);
+
+-- CustomerRepository/ShopperRepository.findByUserEmail and UserRepository.findByEmail are covered by the
+-- unique constraints on users.email, customers.user_id and shoppers.user_id
@@ -0,0 +1,9 @@
+-- Store confirmation tokens as a SHA-256 hash in a fixed-width, uniquely indexed column.
+-- Existing tokens are hashed in place, so links that were already emailed keep working.
+alter table tokens add column token_hash binary(32) null after id;
+update tokens set token_hash = unhex(sha2(token, 256));
+alter table tokens modify token_hash binary(32) not null;
+create unique index uk_tokens_token_hash on tokens (token_hash);
+
+drop index idx_tokens_token on tokens;
+alter table tokens drop column token;
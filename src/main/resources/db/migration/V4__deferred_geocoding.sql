@@ -0,0 +1,8 @@
+-- Open requests whose delivery or store coordinates are still missing are geocoded in the background.
+-- needs_geocoding tracks them without application bookkeeping, and its index keeps the backfill scan to
+-- those rows, skipping completed and cancelled ones without reading them; geocode_attempts caps retries
+-- of addresses Google Maps cannot resolve.
+alter table shopping_requests add column geocode_attempts int not null default 0;
+alter table shopping_requests add column needs_geocoding boolean generated always as (latitude is null or store_latitude is null);
+
+create index idx_shopping_requests_needs_geocoding on shopping_requests (needs_geocoding, geocode_attempts, id, status);
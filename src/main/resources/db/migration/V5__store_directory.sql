@@ -0,0 +1,20 @@
+-- Canonical, pre-geocoded stores. Shopping requests that pick one reference it and copy its name, address and
+-- coordinates, so the store never has to be geocoded per request; free-text stores keep working as before.
+create table stores (
+    id         bigint       not null,
+    name       varchar(200) not null,
+    address    varchar(500) not null,
+    latitude   float(53)    not null,
+    longitude  float(53)    not null,
+    created_at datetime(6)  not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table store_id_seq (next_val bigint) engine=InnoDB;
+insert into store_id_seq values (1);
+
+alter table shopping_requests add column store_id bigint;
+
+-- Per-store grouping of open requests; created before the foreign key so MySQL reuses it for the constraint
+create index idx_shopping_requests_store_status on shopping_requests (store_id, status);
+alter table shopping_requests add constraint fk_shopping_requests_store foreign key (store_id) references stores (id);
@@ -0,0 +1,11 @@
+-- Latest known position of each shopper. Heartbeats are coalesced in memory and written here in batches, one row
+-- per shopper, rather than one row per ping.
+create table shopper_locations (
+    user_id    bigint      not null,
+    latitude   float(53)   not null,
+    longitude  float(53)   not null,
+    updated_at datetime(6) not null,
+    primary key (user_id)
+) engine=InnoDB;
+
+alter table shopper_locations add constraint fk_shopper_locations_user foreign key (user_id) references users (id);
@@ -0,0 +1,3 @@
+-- Area a shopper wants to hear about new requests in, when they are not reporting their position.
+alter table shoppers add column home_latitude float(53);
+alter table shoppers add column home_longitude float(53);
@@ -0,0 +1,3 @@
+-- When the current shopper accepted the request, so completed requests give an accept-to-complete duration for
+-- delivery time estimates. Requests completed before this column existed have none and are not used.
+alter table shopping_requests add column accepted_at datetime(6);
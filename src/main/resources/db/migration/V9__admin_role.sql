@@ -0,0 +1,2 @@
+-- Admin accounts may read the actuator endpoints. They cannot be registered and are created directly in the database.
+alter table users modify column role enum ('CUSTOMER','SHOPPER','ADMIN') not null;
@@ -0,0 +1,71 @@
+package com.hager.shoppingbuddy.batching;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BundleIndex Tests")
+class BundleIndexTest {
+
+    @Test
+    @DisplayName("Should bundle requests at the same store with nearby deliveries as they arrive")
+    void requestOpened_WhenSameStoreAndNearbyDeliveries_ShouldBundle() {
+        // Given
+        BundleIndex index = new BundleIndex(0.2, 2, 3);
+
+        // When
+        index.requestOpened(request(1L, 10L, 53.340, -6.260, 53.350, -6.250));
+        // Free-text store next door to the directory store, delivery close by
+        index.requestOpened(request(2L, null, 53.3405, -6.2605, 53.352, -6.252));
+        // Same store, delivery across the city
+        index.requestOpened(request(3L, 10L, 53.340, -6.260, 53.290, -6.380));
+        // Another store
+        index.requestOpened(request(4L, 20L, 53.400, -6.200, 53.351, -6.251));
+        index.requestOpened(request(5L, 10L, 53.340, -6.260, 53.351, -6.251));
+
+        // Then
+        List<BundleIndex.BundleView> bundles = index.near(53.34, -6.26, 10, 10);
+        assertThat(bundles).hasSize(1);
+        assertThat(bundles.get(0).requests()).extracting(ShoppingRequestResponse::getId).containsExactly(1L, 2L, 5L);
+        assertThat(bundles.get(0).distanceKm()).isLessThan(0.1);
+        assertThat(index.largest(10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should drop requests from bundles as they close and start new bundles when full")
+    void requestClosed_WhenRequestsLeave_ShouldShrinkBundles() {
+        // Given
+        BundleIndex index = new BundleIndex(0.2, 2, 2);
+        index.requestOpened(request(1L, 10L, 53.340, -6.260, 53.350, -6.250));
+        index.requestOpened(request(2L, 10L, 53.340, -6.260, 53.351, -6.251));
+        index.requestOpened(request(3L, 10L, 53.340, -6.260, 53.352, -6.252));
+        long bundleId = index.largest(10).get(0).bundleId();
+
+        // When
+        index.requestClosed(2L);
+        List<ShoppingRequestResponse> afterClose = index.getBundle(bundleId);
+        index.requestOpened(request(4L, 10L, 53.340, -6.260, 53.3495, -6.2495));
+
+        // Then
+        assertThat(afterClose).isEmpty();
+        assertThat(index.getBundle(bundleId)).extracting(ShoppingRequestResponse::getId).containsExactly(1L, 4L);
+        assertThat(index.getRequestCount()).isEqualTo(3);
+    }
+
+    private static ShoppingRequestResponse request(Long id, Long storeId, double storeLatitude, double storeLongitude,
+                                                   double latitude, double longitude) {
+        return ShoppingRequestResponse.builder()
+                .id(id)
+                .storeId(storeId)
+                .storeLatitude(storeLatitude)
+                .storeLongitude(storeLongitude)
+                .latitude(latitude)
+                .longitude(longitude)
+                .deliveryFee(8.0)
+                .build();
+    }
+}
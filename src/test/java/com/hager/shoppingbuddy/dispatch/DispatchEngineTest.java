@@ -0,0 +1,184 @@
+package com.hager.shoppingbuddy.dispatch;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DispatchEngine Tests")
+class DispatchEngineTest {
+
+    private static final double STORE_LATITUDE = 53.3498;
+    private static final double STORE_LONGITUDE = -6.2603;
+    /** Roughly one kilometre north-south. */
+    private static final double KM = 1 / 111.2;
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final DispatchEngine engine = new DispatchEngine(Duration.ofSeconds(30), 8, 10, 2);
+
+    @Test
+    @DisplayName("Should offer the highest fee request to the nearest shopper")
+    void dispatch_WhenShoppersAvailable_ShouldOfferNearestFirst() {
+        // Given
+        engine.shopperAvailable(100L, STORE_LATITUDE + 3 * KM, STORE_LONGITUDE, 1, List.of());
+        engine.shopperAvailable(200L, STORE_LATITUDE + KM, STORE_LONGITUDE, 1, List.of());
+        engine.requestOpened(request(1L, 5.0));
+        engine.requestOpened(request(2L, 9.0));
+
+        // When
+        DispatchEngine.DispatchResult result = engine.dispatch(NOW);
+
+        // Then
+        assertThat(result.offers()).extracting(DispatchOffer::requestId, DispatchOffer::shopperId)
+                .containsExactly(tuple(2L, 200L), tuple(1L, 100L));
+        assertThat(result.offers().getFirst().distanceKm()).isCloseTo(1.0, within(0.01));
+        assertThat(result.offers().getFirst().expiresAt()).isEqualTo(NOW.plusSeconds(30));
+        assertThat(engine.isReservedForOther(2L, 100L, NOW)).isTrue();
+        assertThat(engine.isReservedForOther(2L, 200L, NOW)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fall through to the next candidate after a decline or an expired offer")
+    void dispatch_WhenOfferDeclinedOrExpired_ShouldOfferNextCandidate() {
+        // Given
+        engine.shopperAvailable(100L, STORE_LATITUDE + KM, STORE_LONGITUDE, 1, List.of());
+        engine.shopperAvailable(200L, STORE_LATITUDE + 2 * KM, STORE_LONGITUDE, 1, List.of());
+        engine.shopperAvailable(300L, STORE_LATITUDE + 3 * KM, STORE_LONGITUDE, 1, List.of());
+        engine.requestOpened(request(1L, 5.0));
+        engine.dispatch(NOW);
+
+        // When
+        boolean declined = engine.decline(1L, 100L);
+        DispatchEngine.DispatchResult afterDecline = engine.dispatch(NOW.plusSeconds(1));
+        DispatchEngine.DispatchResult afterExpiry = engine.dispatch(NOW.plusSeconds(31));
+
+        // Then
+        assertThat(declined).isTrue();
+        assertThat(afterDecline.offers()).extracting(DispatchOffer::shopperId).containsExactly(200L);
+        assertThat(afterExpiry.expired()).isEqualTo(1);
+        assertThat(afterExpiry.offers()).extracting(DispatchOffer::shopperId).containsExactly(300L);
+        assertThat(engine.getOffers(300L, NOW.plusSeconds(31))).hasSize(1);
+        assertThat(engine.getOffer(1L, 200L, NOW.plusSeconds(31))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should prefer a slightly farther shopper who carries fewer requests")
+    void dispatch_WhenNearestShopperBusy_ShouldWeighLoad() {
+        // Given
+        engine.shopperAvailable(100L, STORE_LATITUDE + KM, STORE_LONGITUDE, 3, List.of(50L));
+        engine.shopperAvailable(200L, STORE_LATITUDE + 2.5 * KM, STORE_LONGITUDE, 3, List.of());
+        engine.shopperAvailable(300L, STORE_LATITUDE, STORE_LONGITUDE, 1, List.of(60L));
+        engine.requestOpened(request(1L, 5.0));
+
+        // When
+        DispatchEngine.DispatchResult result = engine.dispatch(NOW);
+
+        // Then
+        assertThat(result.offers()).extracting(DispatchOffer::shopperId).containsExactly(200L);
+    }
+
+    @Test
+    @DisplayName("Should free the shopper when an offered request is accepted and track the new load")
+    void requestClosed_WhenAccepted_ShouldReleaseOfferAndCountLoad() {
+        // Given
+        engine.shopperAvailable(100L, STORE_LATITUDE + KM, STORE_LONGITUDE, 1, List.of());
+        engine.requestOpened(request(1L, 5.0));
+        engine.requestOpened(request(2L, 4.0));
+        engine.dispatch(NOW);
+
+        // When
+        engine.requestClosed(1L);
+        engine.requestAssigned(1L, 100L);
+        DispatchEngine.DispatchResult whileBusy = engine.dispatch(NOW.plusSeconds(1));
+        engine.requestOpened(request(1L, 5.0));
+        engine.requestClosed(1L);
+        DispatchEngine.DispatchResult afterAbandon = engine.dispatch(NOW.plusSeconds(2));
+
+        // Then
+        assertThat(whileBusy.offers()).isEmpty();
+        assertThat(afterAbandon.offers()).extracting(DispatchOffer::requestId).containsExactly(2L);
+        assertThat(engine.getOpenRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not match requests without store coordinates or beyond the maximum distance")
+    void requestOpened_WhenUnlocatedOrFar_ShouldNotOffer() {
+        // Given
+        engine.shopperAvailable(100L, STORE_LATITUDE + 20 * KM, STORE_LONGITUDE, 1, List.of());
+        ShoppingRequestResponse unlocated = request(2L, 5.0);
+        unlocated.setStoreLatitude(null);
+
+        // When
+        engine.requestOpened(request(1L, 5.0));
+        engine.requestOpened(unlocated);
+        DispatchEngine.DispatchResult result = engine.dispatch(NOW);
+
+        // Then
+        assertThat(result.offers()).isEmpty();
+        assertThat(engine.getOpenRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should re-examine only the requests within range of a shopper who moved")
+    void shopperMoved_ShouldRematchOnlyNearbyRequests() {
+        // Given
+        engine.shopperAvailable(100L, STORE_LATITUDE + 20 * KM, STORE_LONGITUDE, 1, List.of());
+        engine.requestOpened(request(1L, 5.0));
+        ShoppingRequestResponse farStore = request(2L, 5.0);
+        farStore.setStoreLatitude(STORE_LATITUDE + 60 * KM);
+        engine.requestOpened(farStore);
+        engine.dispatch(NOW);
+
+        // When
+        engine.shopperMoved(100L, STORE_LATITUDE + 19 * KM, STORE_LONGITUDE);
+        DispatchEngine.DispatchResult stillFar = engine.dispatch(NOW.plusSeconds(1));
+        engine.shopperMoved(100L, STORE_LATITUDE + KM, STORE_LONGITUDE);
+        DispatchEngine.DispatchResult inRange = engine.dispatch(NOW.plusSeconds(2));
+        DispatchEngine.DispatchResult idle = engine.dispatch(NOW.plusSeconds(3));
+
+        // Then
+        assertThat(stillFar.offers()).isEmpty();
+        assertThat(stillFar.examined()).isZero();
+        assertThat(inRange.examined()).isEqualTo(1);
+        assertThat(inRange.offers()).extracting(DispatchOffer::requestId, DispatchOffer::shopperId)
+                .containsExactly(tuple(1L, 100L));
+        assertThat(idle.examined()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should re-examine nearby requests when a busy shopper finishes one")
+    void requestUnassigned_WhenShopperFreesUp_ShouldRematchNearbyRequests() {
+        // Given
+        engine.shopperAvailable(100L, STORE_LATITUDE + KM, STORE_LONGITUDE, 1, List.of());
+        engine.requestAssigned(9L, 100L);
+        engine.requestOpened(request(1L, 5.0));
+        DispatchEngine.DispatchResult whileBusy = engine.dispatch(NOW);
+
+        // When
+        engine.requestUnassigned(9L);
+        DispatchEngine.DispatchResult afterComplete = engine.dispatch(NOW.plusSeconds(1));
+
+        // Then
+        assertThat(whileBusy.offers()).isEmpty();
+        assertThat(afterComplete.offers()).extracting(DispatchOffer::requestId).containsExactly(1L);
+    }
+
+    private static ShoppingRequestResponse request(Long id, double deliveryFee) {
+        return ShoppingRequestResponse.builder()
+                .id(id)
+                .status(ShoppingRequestStatus.PENDING)
+                .paymentStatus(PaymentStatus.AUTHORIZED)
+                .deliveryFee(deliveryFee)
+                .createdAt(NOW.minusSeconds(id))
+                .storeLatitude(STORE_LATITUDE)
+                .storeLongitude(STORE_LONGITUDE)
+                .build();
+    }
+}
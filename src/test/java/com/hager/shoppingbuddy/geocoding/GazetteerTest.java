@@ -0,0 +1,132 @@
+package com.hager.shoppingbuddy.geocoding;
+
+import com.google.maps.model.LatLng;
+import com.hager.shoppingbuddy.geocoding.GazetteerEntry.Kind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Gazetteer Tests")
+class GazetteerTest {
+
+    private static final List<GazetteerEntry> ENTRIES = List.of(
+            new GazetteerEntry(Kind.ROUTING_KEY, "D02", null, 53.3390, -6.2570),
+            new GazetteerEntry(Kind.ROUTING_KEY, "D04", null, 53.3270, -6.2280),
+            new GazetteerEntry(Kind.ROUTING_KEY, "D08", null, 53.3390, -6.2900),
+            new GazetteerEntry(Kind.LOCALITY, "Swords", null, 53.4597, -6.2181),
+            new GazetteerEntry(Kind.LOCALITY, "Blackrock", null, 53.3015, -6.1778),
+            new GazetteerEntry(Kind.LOCALITY, "Dún Laoghaire", null, 53.2940, -6.1340),
+            new GazetteerEntry(Kind.STREET, "Grafton Street", "D02", 53.3413, -6.2600),
+            new GazetteerEntry(Kind.STREET, "St Stephen's Green", "D02", 53.3382, -6.2591),
+            new GazetteerEntry(Kind.STREET, "Leeson Street", "D02", 53.3350, -6.2550),
+            new GazetteerEntry(Kind.STREET, "Upper Leeson Street", "D04", 53.3310, -6.2530),
+            new GazetteerEntry(Kind.STREET, "Main Street", null, 53.4600, -6.2190),
+            new GazetteerEntry(Kind.STREET, "Main Street", null, 53.3010, -6.1770));
+
+    @TempDir
+    private Path directory;
+
+    private Gazetteer gazetteer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = directory.resolve("gazetteer.bin");
+        GazetteerWriter.write(ENTRIES, file);
+        gazetteer = Gazetteer.open(file);
+    }
+
+    @Test
+    @DisplayName("Should resolve a street written with abbreviations and a postal district")
+    void lookup_WhenStreetMatches_ShouldReturnStreet() {
+        // When
+        LatLng location = gazetteer.lookup("5 Grafton St., Dublin 2");
+
+        // Then
+        assertThat(location).isEqualTo(new LatLng(53.3413, -6.2600));
+        assertThat(gazetteer.lookup("St. Stephen's Green, Dublin D02 X285")).isEqualTo(new LatLng(53.3382, -6.2591));
+        assertThat(gazetteer.size()).isEqualTo(ENTRIES.size());
+    }
+
+    @Test
+    @DisplayName("Should prefer the street whose name matches the most words")
+    void lookup_WhenNamesOverlap_ShouldReturnMostSpecificStreet() {
+        assertThat(gazetteer.lookup("12 Upper Leeson St")).isEqualTo(new LatLng(53.3310, -6.2530));
+        assertThat(gazetteer.lookup("12 Leeson St")).isEqualTo(new LatLng(53.3350, -6.2550));
+    }
+
+    @Test
+    @DisplayName("Should pick the street nearest the named locality and refuse to guess without one")
+    void lookup_WhenStreetNameShared_ShouldUseLocality() {
+        assertThat(gazetteer.lookup("1 Main Street, Swords")).isEqualTo(new LatLng(53.4600, -6.2190));
+        assertThat(gazetteer.lookup("1 Main Street, Blackrock, Co. Dublin")).isEqualTo(new LatLng(53.3010, -6.1770));
+        assertThat(gazetteer.lookup("1 Main Street")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not place an address whose street is unknown in its area")
+    void lookup_WhenStreetUnknownOrElsewhere_ShouldReturnNull() {
+        assertThat(gazetteer.lookup("3 Unknown Lane, Dublin 8")).isNull();
+        assertThat(gazetteer.lookup("5 Grafton Street, D08 AB12")).isNull();
+        assertThat(gazetteer.lookup("Harbour Road, Dun Laoghaire")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should approximate an unknown street by its routing key centroid, then its locality")
+    void lookupApproximate_WhenStreetUnknownOrElsewhere_ShouldReturnAnchor() {
+        assertThat(gazetteer.lookupApproximate("3 Unknown Lane, Dublin 8")).isEqualTo(new LatLng(53.3390, -6.2900));
+        assertThat(gazetteer.lookupApproximate("5 Grafton Street, D08 AB12")).isEqualTo(new LatLng(53.3390, -6.2900));
+        assertThat(gazetteer.lookupApproximate("Harbour Road, Dun Laoghaire")).isEqualTo(new LatLng(53.2940, -6.1340));
+        assertThat(gazetteer.lookupApproximate("5 Grafton St., Dublin 2")).isEqualTo(gazetteer.lookup("5 Grafton St., Dublin 2"));
+        assertThat(gazetteer.lookupApproximate("1 Patrick Street, Cork")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should match a truncated word against the tokens it prefixes")
+    void lookup_WhenWordTruncated_ShouldMatchByPrefix() {
+        assertThat(gazetteer.lookup("5 Graft Street")).isEqualTo(new LatLng(53.3413, -6.2600));
+    }
+
+    @Test
+    @DisplayName("Should return null for addresses outside the gazetteer")
+    void lookup_WhenNothingMatches_ShouldReturnNull() {
+        assertThat(gazetteer.lookup("1 Patrick Street, Cork")).isNull();
+        assertThat(gazetteer.lookup("")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should build the same gazetteer from a CSV source")
+    void readCsv_ShouldParseEntries() throws IOException {
+        // Given
+        Path source = directory.resolve("gazetteer.csv");
+        Files.writeString(source, """
+                kind,name,routing_key,latitude,longitude
+                routing_key,D02,,53.3390,-6.2570
+                street,Grafton Street,D02,53.3413,-6.2600
+                """);
+
+        // When
+        List<GazetteerEntry> entries = GazetteerWriter.readCsv(source);
+
+        // Then
+        assertThat(entries).containsExactly(ENTRIES.get(0), ENTRIES.get(6));
+    }
+
+    @Test
+    @DisplayName("Should refuse to map a file that is not a gazetteer")
+    void open_WhenNotGazetteer_ShouldThrow() throws IOException {
+        // Given
+        Path file = directory.resolve("other.bin");
+        Files.write(file, new byte[64]);
+
+        // When / Then
+        assertThatThrownBy(() -> Gazetteer.open(file)).isInstanceOf(IOException.class);
+    }
+}
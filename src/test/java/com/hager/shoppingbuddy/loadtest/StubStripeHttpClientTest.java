@@ -0,0 +1,69 @@
+package com.hager.shoppingbuddy.loadtest;
+
+import com.stripe.Stripe;
+import com.stripe.exception.ApiException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.ApiResource;
+import com.stripe.net.LiveStripeResponseGetter;
+import com.stripe.param.PaymentIntentCreateParams;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StubStripeHttpClient Tests")
+class StubStripeHttpClientTest {
+
+    private String previousApiKey;
+
+    @BeforeEach
+    void setUp() {
+        previousApiKey = Stripe.apiKey;
+        Stripe.apiKey = "sk_test_loadtest";
+    }
+
+    @AfterEach
+    void tearDown() {
+        ApiResource.setGlobalResponseGetter(new LiveStripeResponseGetter());
+        Stripe.apiKey = previousApiKey;
+    }
+
+    @Test
+    @DisplayName("Should take a payment intent through create, retrieve and capture")
+    void paymentIntentLifecycle_ShouldFollowManualCaptureFlow() throws Exception {
+        // Given
+        ApiResource.setGlobalResponseGetter(new LiveStripeResponseGetter(
+                new StubStripeHttpClient(new SimulatedDependency("stripe", 0, 0, 0.0))));
+
+        // When
+        PaymentIntent created = PaymentIntent.create(PaymentIntentCreateParams.builder()
+                .setAmount(2550L)
+                .setCurrency("eur")
+                .setCaptureMethod(PaymentIntentCreateParams.CaptureMethod.MANUAL)
+                .build());
+        PaymentIntent retrieved = PaymentIntent.retrieve(created.getId());
+        PaymentIntent captured = retrieved.capture();
+
+        // Then
+        assertThat(created.getStatus()).isEqualTo("requires_payment_method");
+        assertThat(created.getAmount()).isEqualTo(2550L);
+        assertThat(created.getClientSecret()).startsWith(created.getId());
+        assertThat(retrieved.getStatus()).isEqualTo("requires_capture");
+        assertThat(captured.getStatus()).isEqualTo("succeeded");
+    }
+
+    @Test
+    @DisplayName("Should surface injected failures as Stripe API errors")
+    void request_WhenFailureInjected_ShouldThrowApiException() {
+        // Given
+        ApiResource.setGlobalResponseGetter(new LiveStripeResponseGetter(
+                new StubStripeHttpClient(new SimulatedDependency("stripe", 0, 0, 1.0))));
+
+        // When / Then
+        assertThatThrownBy(() -> PaymentIntent.retrieve("pi_missing"))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("Simulated Stripe failure");
+    }
+}
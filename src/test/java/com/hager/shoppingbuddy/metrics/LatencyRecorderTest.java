@@ -0,0 +1,73 @@
+package com.hager.shoppingbuddy.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LatencyRecorder Tests")
+class LatencyRecorderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LatencyRecorder latencyRecorder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        latencyRecorder = new LatencyRecorder(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should time a successful external call and return its result")
+    void timeExternal_WhenCallSucceeds_ShouldRecordSuccess() {
+        // When
+        String result = latencyRecorder.timeExternal("stripe", "create", () -> "pi_123");
+
+        // Then
+        assertThat(result).isEqualTo("pi_123");
+        Timer timer = meterRegistry.get(LatencyRecorder.EXTERNAL_TIMER)
+                .tags("dependency", "stripe", "operation", "create", "outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(latencyRecorder.getHistograms().get("external stripe.create").getTotalCount()).isEqualTo(1);
+        assertThat(latencyRecorder.getInFlight().get("stripe").get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record a failed external call and rethrow its exception")
+    void timeExternal_WhenCallFails_ShouldRecordErrorAndRethrow() {
+        // When / Then
+        assertThatThrownBy(() -> latencyRecorder.timeExternal("smtp", "send", () -> {
+            throw new IOException("connection refused");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(meterRegistry.get(LatencyRecorder.EXTERNAL_TIMER)
+                .tags("dependency", "smtp", "outcome", "error")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("shoppingbuddy.external.in.flight").tag("dependency", "smtp").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should record endpoint latency per route and status")
+    void recordEndpoint_ShouldRecordTimerAndHistogram() {
+        // When
+        latencyRecorder.recordEndpoint("GET /api/shopping-requests/{id}", 200, TimeUnit.MILLISECONDS.toNanos(12));
+        latencyRecorder.recordEndpoint("GET /api/shopping-requests/{id}", 200, TimeUnit.MILLISECONDS.toNanos(30));
+
+        // Then
+        Timer timer = meterRegistry.get(LatencyRecorder.ENDPOINT_TIMER)
+                .tags("endpoint", "GET /api/shopping-requests/{id}", "status", "200")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(latencyRecorder.getHistograms().get("http GET /api/shopping-requests/{id}").getMaxValue())
+                .isBetween(29_900L, 30_100L);
+    }
+}
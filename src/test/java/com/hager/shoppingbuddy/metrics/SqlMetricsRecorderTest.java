@@ -0,0 +1,99 @@
+package com.hager.shoppingbuddy.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SqlMetricsRecorder Tests")
+class SqlMetricsRecorderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlMetricsRecorder sqlMetricsRecorder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sqlMetricsRecorder = new SqlMetricsRecorder(meterRegistry);
+        ReflectionTestUtils.setField(sqlMetricsRecorder, "repeatedQueryThreshold", 3);
+    }
+
+    @Test
+    @DisplayName("Should attribute statements to every open scope")
+    void recordStatement_WhenScopesNested_ShouldCountInEach() {
+        // Given
+        SqlStatementScope request = SqlStatementTracker.open(SqlScopeType.HTTP, "GET");
+        SqlStatementScope service = SqlStatementTracker.open(SqlScopeType.SERVICE, "ShoppingRequestService.getRequest");
+
+        // When
+        SqlStatementTracker.recordStatement("select * from items where id = ?", 1_000);
+        SqlStatementTracker.recordRow();
+        SqlStatementTracker.close(service);
+        SqlStatementTracker.recordStatement("select * from users where id = ?", 2_000);
+        SqlStatementTracker.close(request);
+        SqlStatementTracker.recordStatement("select 1", 500);
+
+        // Then
+        assertThat(service.getStatementCount()).isEqualTo(1);
+        assertThat(service.getRowsFetched()).isEqualTo(1);
+        assertThat(request.getStatementCount()).isEqualTo(2);
+        assertThat(request.getElapsedNanos()).isEqualTo(3_000);
+    }
+
+    @Test
+    @DisplayName("Should treat queries differing only in literals or IN list size as the same shape")
+    void shapeOf_ShouldNormalizeLiteralsAndParameterLists() {
+        assertThat(SqlStatementTracker.shapeOf("select * from items where id in (?, ?, ?)"))
+                .isEqualTo(SqlStatementTracker.shapeOf("select * from items  where id in (?)"));
+        assertThat(SqlStatementTracker.shapeOf("select * from users where email = 'a@b.ie' and id = 42"))
+                .isEqualTo("select * from users where email = ? and id = ?");
+    }
+
+    @Test
+    @DisplayName("Should publish metrics and totals for a closed scope")
+    void record_ShouldPublishMetricsAndTotals() {
+        // Given
+        SqlStatementScope scope = new SqlStatementScope(SqlScopeType.SERVICE, "UserService.findByEmail");
+        scope.recordStatement("select * from users where email = ?", 2_000_000);
+        scope.recordRow();
+
+        // When
+        sqlMetricsRecorder.record(scope);
+        sqlMetricsRecorder.record(scope);
+
+        // Then
+        assertThat(meterRegistry.get("shoppingbuddy.sql.statements").tag("name", "UserService.findByEmail")
+                .summary().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("shoppingbuddy.sql.rows").summary().totalAmount()).isEqualTo(2);
+        assertThat(sqlMetricsRecorder.getTotals()).singleElement().satisfies(totals -> {
+            assertThat(totals.getInvocations().sum()).isEqualTo(2);
+            assertThat(totals.getStatements()).isEqualTo(2);
+        });
+        assertThat(meterRegistry.find("shoppingbuddy.sql.repeated.queries").counter()).isNull();
+        assertThat(sqlMetricsRecorder.getRecentDetections()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should flag a scope that repeats the same query shape")
+    void record_WhenSameShapeRepeated_ShouldFlagRepeatedQueries() {
+        // Given
+        SqlStatementScope scope = new SqlStatementScope(SqlScopeType.HTTP, "GET /api/shopping-requests/my-requests");
+        scope.recordStatement("select * from shopping_requests where customer_id = ?", 1_000);
+        for (int i = 0; i < 3; i++) {
+            scope.recordStatement("select * from items where shopping_request_id = ?", 1_000);
+        }
+
+        // When
+        sqlMetricsRecorder.record(scope);
+
+        // Then
+        assertThat(meterRegistry.get("shoppingbuddy.sql.repeated.queries").counter().count()).isEqualTo(1);
+        assertThat(sqlMetricsRecorder.getRecentDetections()).singleElement().satisfies(detection -> {
+            assertThat(detection.query()).isEqualTo("select * from items where shopping_request_id = ?");
+            assertThat(detection.executions()).isEqualTo(3);
+        });
+    }
+}
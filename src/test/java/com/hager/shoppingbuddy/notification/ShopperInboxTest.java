@@ -0,0 +1,54 @@
+package com.hager.shoppingbuddy.notification;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ShopperInbox Tests")
+class ShopperInboxTest {
+
+    @Test
+    @DisplayName("Should deliver waiting requests as one batch at most once per interval")
+    void drainIfDue_WhenDeliveredRecently_ShouldHoldBatch() {
+        // Given
+        ShopperInbox inbox = new ShopperInbox(10, 15_000);
+        inbox.add(request(1L));
+        inbox.add(request(2L));
+
+        // When
+        var first = inbox.drainIfDue(1_000);
+        inbox.add(request(3L));
+        var tooSoon = inbox.drainIfDue(10_000);
+        var second = inbox.drainIfDue(16_000);
+
+        // Then
+        assertThat(first).extracting(ShoppingRequestResponse::getId).containsExactly(1L, 2L);
+        assertThat(tooSoon).isEmpty();
+        assertThat(second).extracting(ShoppingRequestResponse::getId).containsExactly(3L);
+        assertThat(inbox.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest request when full and forget withdrawn requests")
+    void add_WhenFull_ShouldDropOldest() {
+        // Given
+        ShopperInbox inbox = new ShopperInbox(2, 0);
+
+        // When
+        boolean droppedFirst = inbox.add(request(1L));
+        inbox.add(request(2L));
+        boolean droppedThird = inbox.add(request(3L));
+        inbox.withdraw(2L);
+
+        // Then
+        assertThat(droppedFirst).isFalse();
+        assertThat(droppedThird).isTrue();
+        assertThat(inbox.drainIfDue(0)).extracting(ShoppingRequestResponse::getId).containsExactly(3L);
+    }
+
+    private static ShoppingRequestResponse request(Long id) {
+        return ShoppingRequestResponse.builder().id(id).build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.hager.shoppingbuddy.presence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LocationStore Tests")
+class LocationStoreTest {
+
+    @Test
+    @DisplayName("Should keep only the latest position and drain each changed shopper once")
+    void drainChanged_WhenUpdatedRepeatedly_ShouldCoalesce() {
+        // Given
+        LocationStore store = new LocationStore();
+        store.update(1L, 53.30, -6.20, 1_000);
+        store.update(2L, 53.31, -6.21, 1_000);
+        store.update(1L, 53.32, -6.22, 2_000);
+
+        // When
+        List<LocationStore.Position> first = store.drainChanged();
+        List<LocationStore.Position> second = store.drainChanged();
+
+        // Then
+        assertThat(first).containsExactlyInAnyOrder(
+                new LocationStore.Position(1L, 53.32, -6.22, Instant.ofEpochMilli(2_000)),
+                new LocationStore.Position(2L, 53.31, -6.21, Instant.ofEpochMilli(1_000)));
+        assertThat(second).isEmpty();
+        assertThat(store.get(1L).latitude()).isEqualTo(53.32);
+        assertThat(store.get(3L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drain restored positions again with their latest values, skipping expired ones")
+    void restoreChanged_WhenBatchNotPersisted_ShouldDrainAgain() {
+        // Given
+        LocationStore store = new LocationStore();
+        store.update(1L, 53.30, -6.20, 1_000);
+        store.update(2L, 53.31, -6.21, 1_000);
+        List<LocationStore.Position> failed = store.drainChanged();
+        store.update(1L, 53.32, -6.22, 3_000);
+        store.expire(2_000);
+
+        // When
+        store.restoreChanged(failed);
+        List<LocationStore.Position> retried = store.drainChanged();
+
+        // Then
+        assertThat(retried).containsExactly(new LocationStore.Position(1L, 53.32, -6.22, Instant.ofEpochMilli(3_000)));
+    }
+
+    @Test
+    @DisplayName("Should expire silent shoppers and stay consistent through growth and slot reuse")
+    void expire_WhenManyShoppersComeAndGo_ShouldMatchReferenceMap() {
+        // Given
+        LocationStore store = new LocationStore();
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        // When
+        for (long now = 1; now <= 20_000; now++) {
+            long id = random.nextInt(2_000) * 1_024L;
+            assertThat(store.update(id, 53.3, -6.2, now)).isEqualTo(!reference.containsKey(id));
+            reference.put(id, now);
+            if (now % 1_000 == 0) {
+                long cutoff = now - 1_500;
+                List<Long> expired = store.expire(cutoff);
+                List<Long> expected = reference.entrySet().stream().filter(e -> e.getValue() < cutoff).map(Map.Entry::getKey).toList();
+                assertThat(expired).containsExactlyInAnyOrderElementsOf(expected);
+                expected.forEach(reference::remove);
+            }
+        }
+
+        // Then
+        assertThat(store.size()).isEqualTo(reference.size());
+        reference.forEach((id, updatedAt) ->
+                assertThat(store.get(id).updatedAt()).isEqualTo(Instant.ofEpochMilli(updatedAt)));
+    }
+}
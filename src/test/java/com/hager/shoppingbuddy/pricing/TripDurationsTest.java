@@ -0,0 +1,45 @@
+package com.hager.shoppingbuddy.pricing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TripDurations Tests")
+class TripDurationsTest {
+
+    @Test
+    @DisplayName("Should prefer the store's own trips once it has enough of them")
+    void estimate_WhenStoreHasEnoughSamples_ShouldUseStoreMean() {
+        // Given
+        TripDurations durations = new TripDurations(1, 10, 2);
+        durations.record(1L, 2.2, 1_800);
+        durations.record(2L, 2.5, 3_600);
+        durations.record(2L, 2.9, 4_200);
+
+        // When
+        TripDurations.Estimate storeOne = durations.estimate(1L, 2.4);
+        TripDurations.Estimate storeTwo = durations.estimate(2L, 2.4);
+        TripDurations.Estimate otherDistance = durations.estimate(2L, 5.0);
+
+        // Then
+        assertThat(storeOne).isEqualTo(new TripDurations.Estimate(3_200, 3, false));
+        assertThat(storeTwo).isEqualTo(new TripDurations.Estimate(3_900, 2, true));
+        assertThat(otherDistance).isNull();
+    }
+
+    @Test
+    @DisplayName("Should put every trip beyond the last bucket into it")
+    void estimate_WhenFartherThanLastBucket_ShouldUseLastBucket() {
+        // Given
+        TripDurations durations = new TripDurations(1, 5, 1);
+        durations.record(null, 12, 6_000);
+
+        // When
+        TripDurations.Estimate estimate = durations.estimate(null, 40);
+
+        // Then
+        assertThat(estimate).isEqualTo(new TripDurations.Estimate(6_000, 1, false));
+        assertThat(durations.getTripCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.hager.shoppingbuddy.ranking;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.spatial.GeoDistance;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RankingIndex Tests")
+class RankingIndexTest {
+
+    private static final RankingWeights WEIGHTS = new RankingWeights(1.0, 0.5, 2.0, 0.02, 30);
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Test
+    @DisplayName("Should prefer a close, well-paid request over a far or poorly paid one")
+    void top_WhenRequestsDiffer_ShouldRankByScore() {
+        // Given
+        RankingIndex index = new RankingIndex();
+        index.requestOpened(request(1L, 53.341, -6.260, 53.345, -6.255, 12.0, NOW));
+        index.requestOpened(request(2L, 53.341, -6.260, 53.345, -6.255, 8.0, NOW));
+        index.requestOpened(request(3L, 53.400, -6.200, 53.405, -6.195, 12.0, NOW));
+        index.requestOpened(request(4L, 54.600, -5.930, 54.605, -5.925, 50.0, NOW));
+
+        // When
+        List<RankingIndex.Ranked> ranked = index.top(53.340, -6.260, 15, 10, WEIGHTS, NOW.toEpochMilli());
+
+        // Then
+        assertThat(ranked).extracting(r -> r.request().getId()).containsExactly(1L, 2L, 3L);
+        assertThat(ranked.get(0).pickupKm()).isLessThan(0.2);
+    }
+
+    @Test
+    @DisplayName("Should stop favouring a request once it has waited the maximum minutes")
+    void top_WhenRequestWaitedPastMaximum_ShouldNotOutrankNearbyOne() {
+        // Given
+        RankingIndex index = new RankingIndex();
+        index.requestOpened(request(1L, 53.341, -6.260, 53.345, -6.255, 12.0, NOW.minusSeconds(30 * 60)));
+        index.requestOpened(request(2L, 53.400, -6.200, 53.405, -6.195, 12.0, NOW.minus(Duration.ofDays(2))));
+
+        // When
+        List<RankingIndex.Ranked> ranked = index.top(53.340, -6.260, 15, 10, WEIGHTS, NOW.toEpochMilli());
+
+        // Then
+        assertThat(ranked).extracting(r -> r.request().getId()).containsExactly(1L, 2L);
+        assertThat(ranked.get(0).score() - ranked.get(1).score()).isGreaterThan(5);
+    }
+
+    @Test
+    @DisplayName("Should return the same top K as scoring and sorting every request in range")
+    void top_WhenManyRequests_ShouldMatchFullSort() {
+        // Given
+        Random random = new Random(11);
+        RankingIndex index = new RankingIndex();
+        List<ShoppingRequestResponse> requests = new ArrayList<>();
+        for (long id = 1; id <= 3_000; id++) {
+            ShoppingRequestResponse request = request(id, 53.25 + random.nextDouble() * 0.2, -6.40 + random.nextDouble() * 0.3,
+                    53.25 + random.nextDouble() * 0.2, -6.40 + random.nextDouble() * 0.3, 8 + random.nextInt(20),
+                    NOW.minusSeconds(random.nextInt(7_200)));
+            requests.add(request);
+            index.requestOpened(request);
+        }
+        for (long id = 1; id <= 3_000; id += 3) {
+            index.requestClosed(id);
+        }
+
+        // When
+        List<RankingIndex.Ranked> ranked = index.top(53.35, -6.26, 5, 25, WEIGHTS, NOW.toEpochMilli());
+
+        // Then
+        List<Long> expected = requests.stream()
+                .filter(r -> r.getId() % 3 != 1)
+                .filter(r -> pickupKm(r) <= 5)
+                .sorted(Comparator.comparingDouble((ShoppingRequestResponse r) -> RankingIndex.score(
+                        new RankingIndex.Candidate(r, deliveryKm(r), r.getCreatedAt().toEpochMilli()),
+                        pickupKm(r), WEIGHTS, NOW.toEpochMilli())).reversed())
+                .limit(25)
+                .map(ShoppingRequestResponse::getId)
+                .toList();
+        assertThat(ranked).extracting(r -> r.request().getId()).containsExactlyElementsOf(expected);
+    }
+
+    private static double pickupKm(ShoppingRequestResponse request) {
+        return GeoDistance.haversineKm(53.35, -6.26, request.getStoreLatitude(), request.getStoreLongitude());
+    }
+
+    private static double deliveryKm(ShoppingRequestResponse request) {
+        return GeoDistance.haversineKm(request.getStoreLatitude(), request.getStoreLongitude(),
+                request.getLatitude(), request.getLongitude());
+    }
+
+    private static ShoppingRequestResponse request(Long id, double storeLatitude, double storeLongitude,
+                                                   double latitude, double longitude, double fee, Instant createdAt) {
+        return ShoppingRequestResponse.builder()
+                .id(id)
+                .storeLatitude(storeLatitude)
+                .storeLongitude(storeLongitude)
+                .latitude(latitude)
+                .longitude(longitude)
+                .deliveryFee(fee)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,267 @@
+package com.hager.shoppingbuddy.repository;
+
+import com.hager.shoppingbuddy.config.HibernateCacheConfig;
+import com.hager.shoppingbuddy.entity.*;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs each derived repository query against the migrated MySQL schema and checks with EXPLAIN that
+ * every table it reads is accessed through an index rather than a full scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.hager.shoppingbuddy.repository.RepositoryIndexUsageTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(HibernateCacheConfig.class)
+@DisplayName("Repository index usage Tests")
+class RepositoryIndexUsageTest {
+
+    private static final int REQUEST_COUNT = 60;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShoppingRequestRepository shoppingRequestRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ShopperRepository shopperRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    private Customer customer;
+    private Shopper shopper;
+    private ShoppingRequest request;
+
+    @BeforeEach
+    void setUp() {
+        User customerUser = entityManager.persist(user("customer@example.com", "+353870000001", UserRole.CUSTOMER));
+        User shopperUser = entityManager.persist(user("shopper@example.com", "+353870000002", UserRole.SHOPPER));
+        customer = entityManager.persist(Customer.builder().user(customerUser).build());
+        shopper = entityManager.persist(Shopper.builder().user(shopperUser).balance(BigDecimal.ZERO).build());
+
+        ShoppingRequestStatus[] statuses = ShoppingRequestStatus.values();
+        PaymentStatus[] paymentStatuses = PaymentStatus.values();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            ShoppingRequestStatus status = statuses[i % statuses.length];
+            request = entityManager.persist(ShoppingRequest.builder()
+                    .customer(customer)
+                    .shopper(status == ShoppingRequestStatus.PENDING ? null : shopper)
+                    .status(status)
+                    .paymentStatus(paymentStatuses[i % paymentStatuses.length])
+                    .deliveryAddress("123 Test Street, Dublin")
+                    .storeName("Tesco")
+                    .storeAddress("1 Store Street, Dublin")
+                    .estimatedItemsPrice(50.0)
+                    .deliveryFee(10.0)
+                    .createdAt(Instant.now().minusSeconds(i))
+                    .updatedAt(Instant.now())
+                    .build());
+            entityManager.persist(Payment.builder()
+                    .shoppingRequestId(request.getId())
+                    .customerId(customer.getId())
+                    .amount(BigDecimal.TEN)
+                    .status(PaymentStatus.AUTHORIZED)
+                    .createdTimestamp(Instant.now())
+                    .build());
+            entityManager.persist(ChatMessage.builder()
+                    .shoppingRequest(request)
+                    .sender(customerUser)
+                    .messageContent("Message " + i)
+                    .timestamp(Instant.now())
+                    .build());
+            entityManager.persist(Token.builder()
+                    .tokenHash(sha256("token-" + i))
+                    .user(customerUser)
+                    .createdAt(Instant.now())
+                    .expiresAt(Instant.now().plusSeconds(900))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Pending feed query should use the status/payment/created index")
+    void findByStatusAndPaymentStatus_ShouldUseIndex() {
+        assertUsesIndexes(() -> shoppingRequestRepository.findByStatusAndPaymentStatusOrderByCreatedAtDesc(
+                ShoppingRequestStatus.PENDING, PaymentStatus.AUTHORIZED), "PENDING", "AUTHORIZED");
+    }
+
+    @Test
+    @DisplayName("Customer and shopper request lists should use their indexes")
+    void findByCustomerOrShopper_ShouldUseIndex() {
+        assertUsesIndexes(() -> shoppingRequestRepository.findByCustomerIdOrderByCreatedAtDesc(customer.getId()),
+                customer.getId());
+        assertUsesIndexes(() -> shoppingRequestRepository.findByShopperIdOrderByCreatedAtDesc(shopper.getId()),
+                shopper.getId());
+        assertUsesIndexes(() -> shoppingRequestRepository.findByIdAndShopperId(request.getId(), shopper.getId()),
+                request.getId(), shopper.getId());
+        assertUsesIndexes(() -> shoppingRequestRepository.findIdsByShopperIdAndStatusIn(shopper.getId(),
+                        List.of(ShoppingRequestStatus.ACCEPTED, ShoppingRequestStatus.IN_PROGRESS)),
+                shopper.getId(), "ACCEPTED", "IN_PROGRESS");
+        assertUsesIndexes(() -> shoppingRequestRepository.findByShopperIdAndStatusIn(shopper.getId(),
+                        List.of(ShoppingRequestStatus.ACCEPTED, ShoppingRequestStatus.IN_PROGRESS)),
+                shopper.getId(), "ACCEPTED", "IN_PROGRESS");
+    }
+
+    @Test
+    @DisplayName("Completed trips query should use the status index")
+    void findCompletedTrips_ShouldUseIndex() {
+        assertUsesIndexes(() -> shoppingRequestRepository.findCompletedTrips());
+    }
+
+    @Test
+    @DisplayName("Geocoding backfill query should use the needs-geocoding index")
+    void findMissingCoordinates_ShouldUseIndex() {
+        assertUsesIndexes(() -> shoppingRequestRepository.findMissingCoordinates(5, Limit.of(10)), 5, 10);
+    }
+
+    @Test
+    @DisplayName("Geocoding backfill should skip completed and cancelled requests")
+    void findMissingCoordinates_ShouldSkipClosedRequests() {
+        // Given
+        List<Long> closedIds = shoppingRequestRepository.findAll().stream()
+                .filter(r -> r.getStatus() == ShoppingRequestStatus.COMPLETED
+                        || r.getStatus() == ShoppingRequestStatus.CANCELLED)
+                .map(ShoppingRequest::getId)
+                .toList();
+
+        // When
+        List<ShoppingRequestRepository.MissingCoordinates> missing =
+                shoppingRequestRepository.findMissingCoordinates(5, Limit.of(REQUEST_COUNT));
+
+        // Then
+        assertThat(closedIds).isNotEmpty();
+        assertThat(missing).hasSize(REQUEST_COUNT - closedIds.size())
+                .extracting(ShoppingRequestRepository.MissingCoordinates::getId)
+                .doesNotContainAnyElementsOf(closedIds);
+    }
+
+    @Test
+    @DisplayName("Chat message queries should use the request/timestamp index")
+    void chatMessageQueries_ShouldUseIndex() {
+        assertUsesIndexes(() -> chatMessageRepository.findByShoppingRequestIdOrderByTimestampAsc(request.getId()),
+                request.getId());
+        assertUsesIndexes(() -> chatMessageRepository.countByShoppingRequestId(request.getId()), request.getId());
+    }
+
+    @Test
+    @DisplayName("Payment and token lookups should use their indexes")
+    void paymentAndTokenLookups_ShouldUseIndex() {
+        assertUsesIndexes(() -> paymentRepository.findByShoppingRequestId(request.getId()), request.getId());
+        assertUsesIndexes(() -> tokenRepository.findByTokenHash(sha256("token-7")), (Object) sha256("token-7"));
+        assertUsesIndexes(() -> tokenRepository.findPurgeableIds(0, Instant.now(), Limit.of(10)),
+                0L, Timestamp.from(Instant.now()), 10);
+    }
+
+    @Test
+    @DisplayName("Customer and shopper lookups by email should use the unique keys")
+    void findByUserEmail_ShouldUseIndex() {
+        assertUsesIndexes(() -> customerRepository.findByUserEmail("customer@example.com"), "customer@example.com");
+        assertUsesIndexes(() -> shopperRepository.findByUserEmail("shopper@example.com"), "shopper@example.com");
+    }
+
+    @Test
+    @DisplayName("Store lookup by name and address should use the unique key")
+    void findByNameAndAddress_ShouldUseIndex() {
+        assertUsesIndexes(() -> storeRepository.findByNameAndAddress("Tesco", "1 Store Street, Dublin"),
+                "Tesco", "1 Store Street, Dublin");
+    }
+
+    private void assertUsesIndexes(Runnable query, Object... parameters) {
+        SqlCapture.STATEMENTS.get().clear();
+        query.run();
+        List<String> statements = SqlCapture.STATEMENTS.get();
+        assertThat(statements).as("captured SQL").hasSize(1);
+        String sql = statements.getFirst();
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, parameters);
+        assertThat(plan).as("plan for %s", sql).isNotEmpty().allSatisfy(row -> {
+            assertThat(row.get("type")).as("access type for %s in %s", row.get("table"), sql).isNotEqualTo("ALL");
+            assertThat(row.get("key")).as("index for %s in %s", row.get("table"), sql).isNotNull();
+        });
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private User user(String email, String phoneNumber, UserRole role) {
+        return User.builder()
+                .firstName("Test")
+                .lastName("User")
+                .email(email)
+                .phoneNumber(phoneNumber)
+                .passwordHash("hash")
+                .role(role)
+                .isEnabled(true)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select")) {
+                STATEMENTS.get().add(sql);
+            }
+            return sql;
+        }
+    }
+}
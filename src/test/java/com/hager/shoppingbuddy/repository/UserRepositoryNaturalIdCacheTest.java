@@ -0,0 +1,108 @@
+package com.hager.shoppingbuddy.repository;
+
+import com.hager.shoppingbuddy.config.HibernateCacheConfig;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.entity.UserRole;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Each lookup runs in its own read-only transaction, as the principal lookups do, so a repeated lookup can only
+ * avoid the database through the second-level cache.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(HibernateCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("UserRepository natural-id cache Tests")
+class UserRepositoryNaturalIdCacheTest {
+
+    private static final String EMAIL = "customer@example.com";
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userRepository.save(User.builder()
+                .firstName("John")
+                .lastName("Customer")
+                .email(EMAIL)
+                .phoneNumber("+353870000000")
+                .passwordHash("hash")
+                .role(UserRole.CUSTOMER)
+                .isEnabled(true)
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated email lookup from the cache without any SQL")
+    void findByEmail_WhenCached_ShouldIssueNoStatements() {
+        // Given
+        userRepository.findByEmail(EMAIL);
+        statistics.clear();
+
+        // When
+        Optional<User> user = userRepository.findByEmail(EMAIL);
+
+        // Then
+        assertThat(user).isPresent();
+        assertThat(user.get().getEmail()).isEqualTo(EMAIL);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdStatistics(User.class.getName()).getCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should query the database when the cache has been evicted")
+    void findByEmail_WhenEvicted_ShouldQueryDatabase() {
+        // Given
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // When
+        Optional<User> user = userRepository.findByEmail(EMAIL);
+
+        // Then
+        assertThat(user).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+}
@@ -0,0 +1,79 @@
+package com.hager.shoppingbuddy.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BoundedTaskExecutor Tests")
+class BoundedTaskExecutorTest {
+
+    private final Counter rejected = new SimpleMeterRegistry().counter("rejected");
+
+    @Test
+    @DisplayName("Should reject and count tasks once the queue is full, and admit again once one starts")
+    void execute_WhenQueueFull_ShouldRejectAndCount() {
+        // Given
+        List<Runnable> started = new ArrayList<>();
+        BoundedTaskExecutor executor = new BoundedTaskExecutor(started::add, 1, 2, rejected);
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+
+        // When
+        Throwable thrown = catchThrowable(() -> executor.execute(() -> { }));
+        started.get(0).run();
+
+        // Then
+        assertThat(thrown).isInstanceOf(TaskRejectedException.class);
+        assertThat(rejected.count()).isEqualTo(1);
+        assertThat(executor.getWaiting()).isEqualTo(1);
+        assertThatCode(() -> executor.execute(() -> { })).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should return at once while every permit is held, running at most the permitted tasks together")
+    void execute_WhenPermitsHeld_ShouldNotBlockCaller() throws Exception {
+        // Given
+        SimpleAsyncTaskExecutor threads = new SimpleAsyncTaskExecutor("test-");
+        threads.setVirtualThreads(true);
+        BoundedTaskExecutor executor = new BoundedTaskExecutor(threads, 2, 100, rejected);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(10);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                finished.countDown();
+            });
+        }
+        long submitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        // Then
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(submitMillis).isLessThan(1_000);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(rejected.count()).isZero();
+        executor.close();
+    }
+}
@@ -0,0 +1,111 @@
+package com.hager.shoppingbuddy.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private static final long OPEN_DURATION = 1_000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker(10, 4, 0.5, OPEN_DURATION, 2, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should stay closed until the minimum number of calls is reached")
+    void onFailure_BelowMinimumCalls_ShouldStayClosed() {
+        // When
+        fail(3);
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should open and refuse calls once the failure rate reaches the threshold")
+    void onFailure_AtThreshold_ShouldOpen() {
+        // Given
+        succeed(2);
+
+        // When
+        fail(2);
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only count the most recent calls in the window")
+    void onSuccess_AfterOldFailures_ShouldSlideWindow() {
+        // Given
+        succeed(5);
+        fail(4);
+
+        // When
+        succeed(10);
+        fail(4);
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should close after the half-open probes succeed")
+    void halfOpen_WhenProbesSucceed_ShouldClose() {
+        // Given
+        fail(4);
+        clock.addAndGet(OPEN_DURATION);
+
+        // When
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reopen when a half-open probe fails")
+    void halfOpen_WhenProbeFails_ShouldReopen() {
+        // Given
+        fail(4);
+        clock.addAndGet(OPEN_DURATION);
+        circuitBreaker.tryAcquirePermission();
+
+        // When
+        circuitBreaker.onFailure();
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    private void succeed(int calls) {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    private void fail(int calls) {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.hager.shoppingbuddy.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConcurrencyLimitFilter Tests")
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(meterRegistry, true, 1, 50, 4, 8, 2);
+    }
+
+    @Test
+    @DisplayName("Should pass requests through and release their permits")
+    void doFilter_UnderLimit_ShouldPassThrough() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/shopping-requests"), response, chain);
+
+        // Then
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.getLimit(EndpointClass.WRITE).getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 and Retry-After when the class limit is reached")
+    void doFilter_AtLimit_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        GradientLimit writes = filter.getLimit(EndpointClass.WRITE);
+        IntStream.range(0, 4).forEach(i -> writes.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> fail("Request should have been shed");
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/shopping-requests/1/complete"), response, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(meterRegistry.get("shoppingbuddy.limiter.rejected").tag("class", "write").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should shed reads while writes are near their limit")
+    void doFilter_WhenWritesBusy_ShouldShedReadsFirst() throws Exception {
+        // Given
+        GradientLimit writes = filter.getLimit(EndpointClass.WRITE);
+        IntStream.range(0, 3).forEach(i -> writes.tryAcquire());
+        MockHttpServletResponse readResponse = new MockHttpServletResponse();
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/shopping-requests/pending"), readResponse, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/shopping-requests/1/accept"), writeResponse, new MockFilterChain());
+
+        // Then
+        assertThat(readResponse.getStatus()).isEqualTo(503);
+        assertThat(writeResponse.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should not limit endpoints outside the classified API")
+    void doFilter_UnclassifiedPath_ShouldBypassLimiter() throws Exception {
+        // Given
+        GradientLimit writes = filter.getLimit(EndpointClass.WRITE);
+        IntStream.range(0, 4).forEach(i -> writes.tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/user/register"), response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+}
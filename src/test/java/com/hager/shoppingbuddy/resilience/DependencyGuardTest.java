@@ -0,0 +1,96 @@
+package com.hager.shoppingbuddy.resilience;
+
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
+import com.hager.shoppingbuddy.metrics.LatencyRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DependencyGuard Tests")
+class DependencyGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DependencyGuard dependencyGuard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("shoppingbuddy.resilience.minimum-calls", "2")
+                .withProperty("shoppingbuddy.resilience.maps.max-concurrent-calls", "1")
+                .withProperty("shoppingbuddy.resilience.maps.max-wait-ms", "0");
+        dependencyGuard = new DependencyGuard(new LatencyRecorder(meterRegistry), meterRegistry, environment);
+    }
+
+    @Test
+    @DisplayName("Should refuse calls without running them once the circuit is open")
+    void call_WhenCircuitOpen_ShouldFailFast() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> dependencyGuard.call("smtp", "send", () -> {
+                attempts.incrementAndGet();
+                throw new IOException("connection refused");
+            })).isInstanceOf(IOException.class);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> dependencyGuard.call("smtp", "send", attempts::incrementAndGet))
+                .isInstanceOf(DependencyUnavailableException.class)
+                .hasMessageContaining("circuit open");
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("shoppingbuddy.dependency.rejected")
+                .tags("dependency", "smtp", "reason", "circuit_open").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not count exceptions the caller does not classify as failures")
+    void call_WhenFailureIgnored_ShouldKeepCircuitClosed() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> dependencyGuard.call("stripe", "create", () -> {
+                throw new IllegalArgumentException("card declined");
+            }, e -> false)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        // When & Then
+        assertThat(dependencyGuard.getState("stripe")).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead size")
+    void call_WhenBulkheadFull_ShouldReject() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> dependencyGuard.call("maps", "geocode", () -> {
+                started.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When & Then
+            assertThatThrownBy(() -> dependencyGuard.call("maps", "geocode", () -> "result"))
+                    .isInstanceOf(DependencyUnavailableException.class)
+                    .hasMessageContaining("too many concurrent calls");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dependencyGuard.call("maps", "geocode", () -> "result")).isEqualTo("result");
+    }
+}
@@ -0,0 +1,105 @@
+package com.hager.shoppingbuddy.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GradientLimit Tests")
+class GradientLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    @DisplayName("Should reject once the limit is in flight and admit again after a release")
+    void tryAcquire_AtLimit_ShouldReject() {
+        // Given
+        GradientLimit limit = new GradientLimit(2, 1, 10);
+        GradientLimit.Permit first = limit.tryAcquire();
+        limit.tryAcquire();
+
+        // When
+        GradientLimit.Permit rejected = limit.tryAcquire();
+        first.release(FAST, false);
+
+        // Then
+        assertThat(rejected).isNull();
+        assertThat(limit.getInFlight()).isEqualTo(1);
+        assertThat(limit.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should grow while saturated and latency stays at the baseline")
+    void release_WhenSaturatedAndFast_ShouldGrowLimit() {
+        // Given
+        GradientLimit limit = new GradientLimit(10, 1, 100);
+
+        // When
+        runSaturated(limit, 20, FAST);
+
+        // Then
+        assertThat(limit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("Should shrink when latency rises well above the baseline")
+    void release_WhenLatencyRises_ShouldShrinkLimit() {
+        // Given
+        GradientLimit limit = new GradientLimit(20, 1, 100);
+        runSaturated(limit, 1, FAST);
+        int before = limit.getLimit();
+
+        // When
+        runSaturated(limit, 10, SLOW);
+
+        // Then
+        assertThat(limit.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("Should back off on dropped requests without going below the minimum")
+    void release_WhenDropped_ShouldBackOffToMinimum() {
+        // Given
+        GradientLimit limit = new GradientLimit(20, 5, 100);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire().release(FAST, true);
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should ignore double releases")
+    void release_Twice_ShouldOnlyCountOnce() {
+        // Given
+        GradientLimit limit = new GradientLimit(5, 1, 10);
+        limit.tryAcquire();
+        GradientLimit.Permit permit = limit.tryAcquire();
+
+        // When
+        permit.release(FAST, false);
+        permit.release(FAST, false);
+
+        // Then
+        assertThat(limit.getInFlight()).isEqualTo(1);
+    }
+
+    private static void runSaturated(GradientLimit limit, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            List<GradientLimit.Permit> permits = new ArrayList<>();
+            GradientLimit.Permit permit;
+            while ((permit = limit.tryAcquire()) != null) {
+                permits.add(permit);
+            }
+            permits.forEach(p -> p.release(rttNanos, false));
+        }
+    }
+}
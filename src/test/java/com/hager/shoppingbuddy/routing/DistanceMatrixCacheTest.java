@@ -0,0 +1,37 @@
+package com.hager.shoppingbuddy.routing;
+
+import com.hager.shoppingbuddy.spatial.GeoDistance;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DistanceMatrixCache Tests")
+class DistanceMatrixCacheTest {
+
+    @Test
+    @DisplayName("Should reuse pair distances in either order and recompute them when a stop moves")
+    void build_WhenRequestsRepeatOrMove_ShouldReuseOrRecompute() {
+        // Given
+        DistanceMatrixCache cache = new DistanceMatrixCache(100);
+        RouteRequest first = new RouteRequest(1L, 53.35, -6.25, 53.34, -6.21);
+        RouteRequest second = new RouteRequest(2L, 53.36, -6.24, 53.33, -6.22);
+        RouteRequest moved = new RouteRequest(2L, 53.30, -6.30, 53.33, -6.22);
+
+        // When
+        double[][] initial = cache.build(List.of(first, second), null, null);
+        double[][] reordered = cache.build(List.of(second, first), null, null);
+        double[][] afterMove = cache.build(List.of(first, moved), null, null);
+
+        // Then
+        assertThat(initial[1][2]).isEqualTo(GeoDistance.haversineKm(53.35, -6.25, 53.36, -6.24));
+        assertThat(initial[1][4]).isEqualTo(GeoDistance.haversineKm(53.35, -6.25, 53.33, -6.22));
+        assertThat(initial[3][2]).isEqualTo(GeoDistance.haversineKm(53.34, -6.21, 53.36, -6.24));
+        assertThat(reordered[2][3]).isEqualTo(initial[1][4]);
+        assertThat(reordered[4][1]).isEqualTo(initial[3][2]);
+        assertThat(initial[0]).containsOnly(0.0);
+        assertThat(afterMove[1][2]).isEqualTo(GeoDistance.haversineKm(53.35, -6.25, 53.30, -6.30));
+    }
+}
@@ -0,0 +1,90 @@
+package com.hager.shoppingbuddy.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RoutePlanner Tests")
+class RoutePlannerTest {
+
+    @Test
+    @DisplayName("Should visit stores and drop-offs along a street in order")
+    void plan_WhenStopsAlongOneStreet_ShouldVisitInOrder() {
+        // Given: two requests picked up and delivered along the same street, heading east from the shopper
+        List<RouteRequest> requests = List.of(
+                new RouteRequest(1L, 53.35, -6.25, 53.35, -6.21),
+                new RouteRequest(2L, 53.35, -6.24, 53.35, -6.22));
+        double[][] distances = new DistanceMatrixCache(100).build(requests, 53.35, -6.26);
+
+        // When
+        int[] route = RoutePlanner.plan(distances, 2);
+
+        // Then: store 1, store 2, drop-off 2, drop-off 1
+        assertThat(route).containsExactly(1, 2, 4, 3);
+    }
+
+    @Test
+    @DisplayName("Should keep every pickup before its delivery and stay close to the optimal route")
+    void plan_WhenRandomRequests_ShouldRespectPrecedenceAndBeNearOptimal() {
+        // Given
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            List<RouteRequest> requests = new ArrayList<>();
+            for (long id = 1; id <= 4; id++) {
+                requests.add(new RouteRequest(id, latitude(random), longitude(random), latitude(random), longitude(random)));
+            }
+            double[][] distances = new DistanceMatrixCache(100).build(requests, latitude(random), longitude(random));
+
+            // When
+            int[] route = RoutePlanner.plan(distances, 4);
+
+            // Then
+            assertThat(route).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8);
+            for (int request = 1; request <= 4; request++) {
+                assertThat(indexOf(route, request)).isLessThan(indexOf(route, request + 4));
+            }
+            assertThat(RoutePlanner.length(distances, route)).isLessThanOrEqualTo(optimal(distances, 4) * 1.1);
+        }
+    }
+
+    private static double optimal(double[][] distances, int n) {
+        return search(distances, n, 0, new boolean[2 * n + 1], 0, 0);
+    }
+
+    private static double search(double[][] distances, int n, int last, boolean[] visited, int count, double length) {
+        if (count == 2 * n) {
+            return length;
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int node = 1; node <= 2 * n; node++) {
+            if (!visited[node] && (node <= n || visited[node - n])) {
+                visited[node] = true;
+                best = Math.min(best, search(distances, n, node, visited, count + 1, length + distances[last][node]));
+                visited[node] = false;
+            }
+        }
+        return best;
+    }
+
+    private static int indexOf(int[] route, int node) {
+        for (int i = 0; i < route.length; i++) {
+            if (route[i] == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double latitude(Random random) {
+        return 53.35 + (random.nextDouble() - 0.5) * 0.1;
+    }
+
+    private static double longitude(Random random) {
+        return -6.26 + (random.nextDouble() - 0.5) * 0.16;
+    }
+}
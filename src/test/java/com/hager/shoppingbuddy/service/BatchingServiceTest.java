@@ -0,0 +1,124 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.RequestBundleResponse;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.exception.InvalidShoppingRequestActionException;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static com.hager.shoppingbuddy.service.OpenRequestFixtures.openRequest;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchingService Tests")
+class BatchingServiceTest {
+
+    private static final String SHOPPER_EMAIL = "shopper@example.com";
+
+    @Mock
+    private OpenRequestRegistry openRequestRegistry;
+
+    @Mock
+    private ShoppingRequestService shoppingRequestService;
+
+    @Mock
+    private ShopperRepository shopperRepository;
+
+    @Mock
+    private ShopperPresenceService shopperPresenceService;
+
+    @Mock
+    private DispatchService dispatchService;
+
+    private BatchingService batchingService;
+
+    @BeforeEach
+    void setUp() {
+        batchingService = new BatchingService(openRequestRegistry, shoppingRequestService, shopperRepository, shopperPresenceService,
+                dispatchService, new SimpleMeterRegistry(), 0.2, 2, 4, 10, 20);
+    }
+
+    @Test
+    @DisplayName("Should suggest a bundle near the shopper and accept all of its requests at once")
+    void acceptBundle_WhenBundleSuggested_ShouldAcceptAllRequests() throws Exception {
+        // Given
+        Shopper shopper = Shopper.builder().id(7L).user(User.builder().id(70L).email(SHOPPER_EMAIL).build()).build();
+        when(shopperRepository.findByUserEmail(SHOPPER_EMAIL)).thenReturn(Optional.of(shopper));
+        when(shopperPresenceService.getLocation(70L))
+                .thenReturn(new LocationStore.Position(70L, 53.34, -6.26, Instant.now()));
+        batchingService.openRequestsLoaded(List.of(request(1L, 53.350, -6.250)));
+        List<RequestBundleResponse> beforeSecond = batchingService.getBundles(SHOPPER_EMAIL);
+        batchingService.requestOpened(request(2L, 53.351, -6.251));
+        when(shoppingRequestService.acceptShoppingRequests(List.of(1L, 2L), SHOPPER_EMAIL))
+                .thenReturn(List.of(request(1L, 53.350, -6.250), request(2L, 53.351, -6.251)));
+
+        // When
+        List<RequestBundleResponse> bundles = batchingService.getBundles(SHOPPER_EMAIL);
+        List<ShoppingRequestResponse> accepted = batchingService.acceptBundle(bundles.get(0).getBundleId(),
+                List.of(1L, 2L), SHOPPER_EMAIL);
+
+        // Then
+        assertThat(beforeSecond).isEmpty();
+        assertThat(bundles).hasSize(1);
+        assertThat(bundles.get(0).getTotalDeliveryFee()).isEqualTo(16.0);
+        assertThat(accepted).hasSize(2);
+        verify(dispatchService, times(2)).checkNotReserved(anyLong(), eq(SHOPPER_EMAIL));
+    }
+
+    @Test
+    @DisplayName("Should reject accepting a bundle that no longer exists")
+    void acceptBundle_WhenBundleGone_ShouldThrow() throws Exception {
+        // When & Then
+        assertThatThrownBy(() -> batchingService.acceptBundle(42L, List.of(1L, 2L), SHOPPER_EMAIL))
+                .isInstanceOf(InvalidShoppingRequestActionException.class);
+        verify(shoppingRequestService, never()).acceptShoppingRequests(anyCollection(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject accepting a bundle that gained a request after it was listed")
+    void acceptBundle_WhenRequestJoinedAfterListing_ShouldThrow() throws Exception {
+        // Given
+        Shopper shopper = Shopper.builder().id(7L).user(User.builder().id(70L).email(SHOPPER_EMAIL).build()).build();
+        when(shopperRepository.findByUserEmail(SHOPPER_EMAIL)).thenReturn(Optional.of(shopper));
+        when(shopperPresenceService.getLocation(70L))
+                .thenReturn(new LocationStore.Position(70L, 53.34, -6.26, Instant.now()));
+        batchingService.openRequestsLoaded(List.of(request(1L, 53.350, -6.250), request(2L, 53.351, -6.251)));
+        RequestBundleResponse listed = batchingService.getBundles(SHOPPER_EMAIL).get(0);
+        List<Long> shownIds = listed.getRequests().stream().map(ShoppingRequestResponse::getId).toList();
+
+        // When
+        batchingService.requestOpened(request(3L, 53.352, -6.252));
+
+        // Then
+        assertThat(shownIds).containsExactlyInAnyOrder(1L, 2L);
+        assertThatThrownBy(() -> batchingService.acceptBundle(listed.getBundleId(), shownIds, SHOPPER_EMAIL))
+                .isInstanceOf(InvalidShoppingRequestActionException.class)
+                .hasMessageContaining("has changed");
+        verify(shoppingRequestService, never()).acceptShoppingRequests(anyCollection(), anyString());
+        verify(dispatchService, never()).checkNotReserved(anyLong(), anyString());
+    }
+
+    private static ShoppingRequestResponse request(Long id, double latitude, double longitude) {
+        ShoppingRequestResponse request = openRequest(id, 53.340, -6.260);
+        request.setStoreId(10L);
+        request.setStoreName("Tesco Baggot Street");
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
+        return request;
+    }
+}
@@ -0,0 +1,134 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.DeliveryQuoteResponse;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeliveryQuoteService Tests")
+class DeliveryQuoteServiceTest {
+
+    private static final Instant ACCEPTED_AT = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private ShoppingRequestRepository shoppingRequestRepository;
+
+    @Mock
+    private StoreDirectory storeDirectory;
+
+    @Mock
+    private GeocodingService geocodingService;
+
+    private DeliveryQuoteService deliveryQuoteService;
+
+    @BeforeEach
+    void setUp() {
+        deliveryQuoteService = new DeliveryQuoteService(shoppingRequestRepository, storeDirectory, geocodingService,
+                new SimpleMeterRegistry(), 1, 30, 2, 6, 40, 3, 4, 0.8, 0.08);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default time and never suggest less than the minimum fee")
+    void quote_WhenNoHistory_ShouldUseDefaultEstimate() {
+        // Given
+        when(shoppingRequestRepository.findCompletedTrips()).thenReturn(List.of());
+
+        // When
+        DeliveryQuoteResponse quote = deliveryQuoteService.quote(null, 53.3400, -6.2600, 53.3400, -6.2600);
+
+        // Then
+        assertThat(quote.getBasis()).isEqualTo(DeliveryQuoteResponse.EstimateBasis.DEFAULT);
+        assertThat(quote.getEstimatedMinutes()).isEqualTo(40);
+        assertThat(quote.getSuggestedDeliveryFee()).isEqualTo(DeliveryQuoteService.MINIMUM_DELIVERY_FEE);
+    }
+
+    @Test
+    @DisplayName("Should estimate from completed requests and keep learning from lifecycle events")
+    void quote_WhenRequestsCompleted_ShouldUseTheirDurations() {
+        // Given one completed request in the database, an hour from acceptance to completion
+        ShoppingRequestRepository.CompletedTrip trip = mock(ShoppingRequestRepository.CompletedTrip.class);
+        when(trip.getStoreId()).thenReturn(5L);
+        when(trip.getStoreLatitude()).thenReturn(53.34);
+        when(trip.getStoreLongitude()).thenReturn(-6.26);
+        when(trip.getLatitude()).thenReturn(53.36);
+        when(trip.getLongitude()).thenReturn(-6.26);
+        when(trip.getAcceptedAt()).thenReturn(ACCEPTED_AT);
+        when(trip.getCompletedAt()).thenReturn(ACCEPTED_AT.plusSeconds(3_600));
+        when(shoppingRequestRepository.findCompletedTrips()).thenReturn(List.of(trip));
+        deliveryQuoteService.quote(5L, 53.34, -6.26, 53.36, -6.26);
+
+        // When a second one completes in 80 minutes
+        deliveryQuoteService.onLifecycleEvent(new ShoppingRequestLifecycleEvent(ShoppingRequestResponse.builder()
+                .id(2L)
+                .status(ShoppingRequestStatus.COMPLETED)
+                .paymentStatus(PaymentStatus.COMPLETED)
+                .storeId(5L)
+                .storeLatitude(53.34)
+                .storeLongitude(-6.26)
+                .latitude(53.361)
+                .longitude(-6.26)
+                .acceptedAt(ACCEPTED_AT)
+                .completedAt(ACCEPTED_AT.plusSeconds(4_800))
+                .updatedAt(ACCEPTED_AT.plusSeconds(90_000))
+                .build(), ShoppingRequestStatus.IN_PROGRESS, PaymentStatus.AUTHORIZED));
+        DeliveryQuoteResponse quote = deliveryQuoteService.quote(5L, 53.34, -6.26, 53.36, -6.26);
+
+        // Then
+        assertThat(quote.getBasis()).isEqualTo(DeliveryQuoteResponse.EstimateBasis.STORE_HISTORY);
+        assertThat(quote.getSamples()).isEqualTo(2);
+        assertThat(quote.getEstimatedMinutes()).isEqualTo(70);
+        assertThat(quote.getDistanceKm()).isCloseTo(2.22, within(0.01));
+        // 4 + 0.8 * 2.22 + 0.08 * 70 = 11.38, rounded up to the next 50 cents
+        assertThat(quote.getSuggestedDeliveryFee()).isEqualTo(11.5);
+        verify(shoppingRequestRepository, times(1)).findCompletedTrips();
+    }
+
+    @Test
+    @DisplayName("Should count a trip once when its completion event arrives after the load that included it")
+    void onLifecycleEvent_WhenTripAlreadyLoaded_ShouldNotCountItTwice() {
+        // Given a request completed a minute ago, already in the database when the first quote loads
+        Instant completedAt = Instant.now().minusSeconds(60);
+        ShoppingRequestRepository.CompletedTrip trip = mock(ShoppingRequestRepository.CompletedTrip.class);
+        when(trip.getId()).thenReturn(1L);
+        when(trip.getStoreLatitude()).thenReturn(53.34);
+        when(trip.getStoreLongitude()).thenReturn(-6.26);
+        when(trip.getLatitude()).thenReturn(53.36);
+        when(trip.getLongitude()).thenReturn(-6.26);
+        when(trip.getAcceptedAt()).thenReturn(completedAt.minusSeconds(3_600));
+        when(trip.getCompletedAt()).thenReturn(completedAt);
+        when(shoppingRequestRepository.findCompletedTrips()).thenReturn(List.of(trip));
+        deliveryQuoteService.quote(null, 53.34, -6.26, 53.36, -6.26);
+
+        // When its completion event is delivered afterwards
+        deliveryQuoteService.onLifecycleEvent(new ShoppingRequestLifecycleEvent(ShoppingRequestResponse.builder()
+                .id(1L)
+                .status(ShoppingRequestStatus.COMPLETED)
+                .paymentStatus(PaymentStatus.COMPLETED)
+                .storeLatitude(53.34)
+                .storeLongitude(-6.26)
+                .latitude(53.36)
+                .longitude(-6.26)
+                .acceptedAt(completedAt.minusSeconds(3_600))
+                .completedAt(completedAt)
+                .build(), ShoppingRequestStatus.IN_PROGRESS, PaymentStatus.AUTHORIZED));
+
+        // Then
+        assertThat(deliveryQuoteService.getTripCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,97 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.DispatchOfferResponse;
+import com.hager.shoppingbuddy.dto.ShopperAvailabilityRequest;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import com.hager.shoppingbuddy.exception.InvalidShoppingRequestActionException;
+import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
+import com.hager.shoppingbuddy.exception.ShoppingRequestNotFoundException;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.hager.shoppingbuddy.service.OpenRequestFixtures.openRequest;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DispatchService Tests")
+class DispatchServiceTest {
+
+    private static final String SHOPPER_EMAIL = "shopper@example.com";
+
+    @Mock
+    private OpenRequestRegistry openRequestRegistry;
+
+    @Mock
+    private ShoppingRequestService shoppingRequestService;
+
+    @Mock
+    private ShoppingRequestRepository shoppingRequestRepository;
+
+    @Mock
+    private ShopperRepository shopperRepository;
+
+    private DispatchService dispatchService;
+
+    @BeforeEach
+    void setUp() {
+        dispatchService = new DispatchService(openRequestRegistry, shoppingRequestService, shoppingRequestRepository, shopperRepository,
+                new SimpleMeterRegistry(), 30, 8, 10, 2);
+        Shopper shopper = Shopper.builder().id(7L).user(User.builder().id(70L).email(SHOPPER_EMAIL).build()).build();
+        when(shopperRepository.findByUserEmail(SHOPPER_EMAIL)).thenReturn(Optional.of(shopper));
+    }
+
+    @Test
+    @DisplayName("Should offer a pending request to an available shopper and accept it through the offer")
+    void acceptOffer_WhenOffered_ShouldAcceptRequest() throws Exception {
+        // Given
+        when(shoppingRequestRepository.findIdsByShopperIdAndStatusIn(eq(7L), anyCollection())).thenReturn(List.of());
+        dispatchService.openRequestsLoaded(List.of(openRequest(1L, 53.3498, -6.2603)));
+        ShoppingRequestResponse accepted = openRequest(1L, 53.3498, -6.2603);
+        accepted.setStatus(ShoppingRequestStatus.ACCEPTED);
+        accepted.setShopperId(70L);
+        when(shoppingRequestService.acceptShoppingRequest(1L, SHOPPER_EMAIL)).thenReturn(accepted);
+
+        // When
+        dispatchService.setAvailability(SHOPPER_EMAIL, new ShopperAvailabilityRequest(53.35, -6.26, 1));
+        dispatchService.tick();
+        List<DispatchOfferResponse> offers = dispatchService.getOffers(SHOPPER_EMAIL);
+        ShoppingRequestResponse response = dispatchService.acceptOffer(1L, SHOPPER_EMAIL);
+        dispatchService.onLifecycleEvent(new ShoppingRequestLifecycleEvent(
+                accepted, ShoppingRequestStatus.PENDING, PaymentStatus.AUTHORIZED));
+        dispatchService.requestClosed(1L);
+
+        // Then
+        assertThat(offers).extracting(DispatchOfferResponse::getRequestId).containsExactly(1L);
+        assertThat(response).isSameAs(accepted);
+        assertThat(dispatchService.getOffers(SHOPPER_EMAIL)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject accepting or declining without an open offer")
+    void acceptOffer_WhenNotOffered_ShouldThrow() throws ShopperNotFoundException, ShoppingRequestNotFoundException,
+            InvalidShoppingRequestActionException {
+        // When & Then
+        assertThatThrownBy(() -> dispatchService.acceptOffer(1L, SHOPPER_EMAIL))
+                .isInstanceOf(InvalidShoppingRequestActionException.class);
+        assertThatThrownBy(() -> dispatchService.declineOffer(1L, SHOPPER_EMAIL))
+                .isInstanceOf(InvalidShoppingRequestActionException.class);
+        verify(shoppingRequestService, never()).acceptShoppingRequest(anyLong(), anyString());
+    }
+}
@@ -1,7 +1,10 @@
 package com.hager.shoppingbuddy.service;
 
+import com.hager.shoppingbuddy.metrics.LatencyRecorder;
+import com.hager.shoppingbuddy.resilience.DependencyGuard;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,10 +12,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.mock.env.MockEnvironment;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -27,6 +36,13 @@ class EmailServiceTest {
     @Mock
     private MimeMessage mimeMessage;
 
+    @Spy
+    private DependencyGuard dependencyGuard = new DependencyGuard(
+            new LatencyRecorder(new SimpleMeterRegistry()), new SimpleMeterRegistry(), new MockEnvironment());
+
+    @Spy
+    private TaskExecutor notificationExecutor = new SyncTaskExecutor();
+
     @InjectMocks
     private EmailService emailService;
 
@@ -224,6 +240,57 @@ class EmailServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Async Send Tests")
+    class AsyncSendTests {
+
+        @Test
+        @DisplayName("Should send email on the notification executor")
+        void sendAsync_WhenValidParameters_ShouldSendOnExecutor() {
+            // Given
+            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+
+            // When
+            emailService.sendAsync(toEmail, subject, emailContent);
+
+            // Then
+            verify(notificationExecutor).execute(any(Runnable.class));
+            verify(mailSender).send(mimeMessage);
+            assertThat(emailService.getPendingEmails()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should log instead of throwing when delivery fails")
+        void sendAsync_WhenDeliveryFails_ShouldNotThrow() {
+            // Given
+            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+            doThrow(new RuntimeException("Mail server unavailable"))
+                    .when(mailSender).send(mimeMessage);
+
+            // When
+            emailService.sendAsync(toEmail, subject, emailContent);
+
+            // Then
+            verify(mailSender).send(mimeMessage);
+            assertThat(emailService.getPendingEmails()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should drop the email instead of throwing when the executor queue is full")
+        void sendAsync_WhenExecutorRejects_ShouldNotThrow() {
+            // Given
+            doThrow(new TaskRejectedException("Executor queue is full"))
+                    .when(notificationExecutor).execute(any(Runnable.class));
+
+            // When
+            emailService.sendAsync(toEmail, subject, emailContent);
+
+            // Then
+            verify(mailSender, never()).send(any(MimeMessage.class));
+            assertThat(emailService.getPendingEmails()).isZero();
+        }
+    }
+
     @Nested
     @DisplayName("Validation Error Tests")
     class ValidationErrorTests {
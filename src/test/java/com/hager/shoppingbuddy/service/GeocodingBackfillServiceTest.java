@@ -0,0 +1,142 @@
+package com.hager.shoppingbuddy.service;
+
+import com.google.maps.model.LatLng;
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository.MissingCoordinates;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepositoryCustom.ResolvedLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GeocodingBackfillService Tests")
+class GeocodingBackfillServiceTest {
+
+    private static final String DELIVERY_ADDRESS = "123 Test Street, Dublin";
+    private static final String STORE_ADDRESS = "1 Store Street, Dublin";
+
+    @Mock
+    private ShoppingRequestRepository shoppingRequestRepository;
+
+    @Mock
+    private GeocodingService geocodingService;
+
+    @Mock
+    private ShoppingRequestService shoppingRequestService;
+
+    @InjectMocks
+    private GeocodingBackfillService geocodingBackfillService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(geocodingBackfillService, "batchSize", 100);
+        ReflectionTestUtils.setField(geocodingBackfillService, "ratePerSecond", 1000);
+        ReflectionTestUtils.setField(geocodingBackfillService, "maxAttempts", 5);
+    }
+
+    @Test
+    @DisplayName("Should geocode missing coordinates and write them back in batches")
+    void backfillBatch_WhenCoordinatesMissing_ShouldWriteLocations() throws DependencyUnavailableException {
+        // Given
+        when(shoppingRequestRepository.findMissingCoordinates(5, Limit.of(100)))
+                .thenReturn(List.of(missing(1L, null, null), missing(2L, 53.3, null)));
+        when(geocodingService.getLocalLatLng(DELIVERY_ADDRESS)).thenReturn(null);
+        when(geocodingService.getLocalLatLng(STORE_ADDRESS)).thenReturn(null, new LatLng(53.35, -6.26));
+        when(geocodingService.geocode(DELIVERY_ADDRESS)).thenReturn(new LatLng(53.34, -6.25));
+        when(geocodingService.geocode(STORE_ADDRESS)).thenReturn(new LatLng(53.35, -6.26));
+        when(shoppingRequestRepository.updateDeliveryLocations(anyList())).thenReturn(List.of(1L));
+        when(shoppingRequestRepository.updateStoreLocations(anyList())).thenReturn(List.of(1L, 2L));
+
+        // When
+        int resolved = geocodingBackfillService.backfillBatch();
+
+        // Then
+        assertThat(resolved).isEqualTo(2);
+        verify(shoppingRequestRepository).updateDeliveryLocations(
+                List.of(new ResolvedLocation(1L, DELIVERY_ADDRESS, 53.34, -6.25)));
+        verify(shoppingRequestRepository).updateStoreLocations(List.of(
+                new ResolvedLocation(1L, STORE_ADDRESS, 53.35, -6.26),
+                new ResolvedLocation(2L, STORE_ADDRESS, 53.35, -6.26)));
+        verify(geocodingService, times(1)).geocode(STORE_ADDRESS);
+        verify(shoppingRequestRepository, never()).incrementGeocodeAttempts(anyList());
+        verify(shoppingRequestService).publishLocationUpdates(Set.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should count an attempt for addresses that cannot be resolved")
+    void backfillBatch_WhenAddressUnresolvable_ShouldIncrementAttempts() throws DependencyUnavailableException {
+        // Given
+        when(shoppingRequestRepository.findMissingCoordinates(5, Limit.of(100)))
+                .thenReturn(List.of(missing(1L, null, 53.35)));
+        when(geocodingService.geocode(DELIVERY_ADDRESS)).thenReturn(null);
+
+        // When
+        int resolved = geocodingBackfillService.backfillBatch();
+
+        // Then
+        assertThat(resolved).isZero();
+        verify(shoppingRequestRepository).incrementGeocodeAttempts(List.of(1L));
+        verify(shoppingRequestService, never()).publishLocationUpdates(any());
+    }
+
+    @Test
+    @DisplayName("Should stop without counting attempts while Maps is unavailable")
+    void backfillBatch_WhenMapsUnavailable_ShouldStopBatch() throws DependencyUnavailableException {
+        // Given
+        when(shoppingRequestRepository.findMissingCoordinates(5, Limit.of(100)))
+                .thenReturn(List.of(missing(1L, null, 53.35), missing(2L, null, 53.35)));
+        when(geocodingService.geocode(DELIVERY_ADDRESS))
+                .thenThrow(new DependencyUnavailableException("google-maps is unavailable (circuit open)"));
+
+        // When
+        int resolved = geocodingBackfillService.backfillBatch();
+
+        // Then
+        assertThat(resolved).isZero();
+        verify(geocodingService, times(1)).geocode(anyString());
+        verify(shoppingRequestRepository, never()).incrementGeocodeAttempts(anyList());
+    }
+
+    private static MissingCoordinates missing(Long id, Double latitude, Double storeLatitude) {
+        return new MissingCoordinates() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getDeliveryAddress() {
+                return DELIVERY_ADDRESS;
+            }
+
+            @Override
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public String getStoreAddress() {
+                return STORE_ADDRESS;
+            }
+
+            @Override
+            public Double getStoreLatitude() {
+                return storeLatitude;
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.MapClusterResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.hager.shoppingbuddy.service.OpenRequestFixtures.openRequest;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MapClusterService Tests")
+class MapClusterServiceTest {
+
+    @Mock
+    private OpenRequestRegistry openRequestRegistry;
+
+    @Test
+    @DisplayName("Should cluster open requests as they open and close")
+    void getClusters_WhenRequestsOpenAndClose_ShouldFollowThem() {
+        // Given
+        MapClusterService mapClusterService = new MapClusterService(openRequestRegistry, new SimpleMeterRegistry());
+        mapClusterService.openRequestsLoaded(List.of(openRequest(1L, 53.341, -6.260)));
+        List<MapClusterResponse> initial = mapClusterService.getClusters(53.0, -7.0, 54.0, -6.0, 8);
+
+        // When
+        mapClusterService.requestOpened(openRequest(2L, 53.342, -6.260));
+        List<MapClusterResponse> afterOpen = mapClusterService.getClusters(53.0, -7.0, 54.0, -6.0, 8);
+        mapClusterService.requestClosed(1L);
+        List<MapClusterResponse> afterClose = mapClusterService.getClusters(53.0, -7.0, 54.0, -6.0, 8);
+
+        // Then
+        assertThat(initial).extracting(MapClusterResponse::getRequestId).containsExactly(1L);
+        assertThat(afterOpen).extracting(MapClusterResponse::getCount).containsExactly(2);
+        assertThat(afterClose).extracting(MapClusterResponse::getRequestId).containsExactly(2L);
+        verify(openRequestRegistry, times(3)).ensureLoaded();
+    }
+}
@@ -0,0 +1,31 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+
+import java.time.Instant;
+
+/**
+ * Open requests as the {@link OpenRequestRegistry} hands them to its listeners.
+ */
+final class OpenRequestFixtures {
+
+    private OpenRequestFixtures() {
+    }
+
+    /**
+     * @return a PENDING, AUTHORIZED request with an 8 euro delivery fee at a store with the given coordinates
+     */
+    static ShoppingRequestResponse openRequest(Long id, Double storeLatitude, Double storeLongitude) {
+        return ShoppingRequestResponse.builder()
+                .id(id)
+                .status(ShoppingRequestStatus.PENDING)
+                .paymentStatus(PaymentStatus.AUTHORIZED)
+                .deliveryFee(8.0)
+                .createdAt(Instant.now())
+                .storeLatitude(storeLatitude)
+                .storeLongitude(storeLongitude)
+                .build();
+    }
+}
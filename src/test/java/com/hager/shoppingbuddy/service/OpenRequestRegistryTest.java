@@ -0,0 +1,85 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.hager.shoppingbuddy.service.OpenRequestFixtures.openRequest;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OpenRequestRegistry Tests")
+class OpenRequestRegistryTest {
+
+    @Mock
+    private ShoppingRequestService shoppingRequestService;
+
+    @Mock
+    private ObjectProvider<OpenRequestRegistry.Listener> listenerProvider;
+
+    @Mock
+    private OpenRequestRegistry.Listener feed;
+
+    @Mock
+    private OpenRequestRegistry.Listener dispatch;
+
+    private OpenRequestRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new OpenRequestRegistry(shoppingRequestService, listenerProvider);
+    }
+
+    @Test
+    @DisplayName("Should load the open requests once and hand them to every listener")
+    void ensureLoaded_WhenCalledRepeatedly_ShouldLoadOnce() {
+        // Given
+        List<ShoppingRequestResponse> openRequests = List.of(openRequest(1L, 53.34, -6.26));
+        when(shoppingRequestService.getAllPendingRequests()).thenReturn(openRequests);
+        when(listenerProvider.orderedStream()).thenReturn(Stream.of(feed, dispatch));
+
+        // When
+        registry.ensureLoaded();
+        registry.ensureLoaded();
+
+        // Then
+        verify(shoppingRequestService, times(1)).getAllPendingRequests();
+        verify(feed).openRequestsLoaded(openRequests);
+        verify(dispatch).openRequestsLoaded(openRequests);
+    }
+
+    @Test
+    @DisplayName("Should ignore lifecycle events before the load and push opens and closes after it")
+    void onLifecycleEvent_ShouldPushChangesOnlyOnceLoaded() {
+        // Given
+        ShoppingRequestResponse opened = openRequest(1L, 53.34, -6.26);
+        ShoppingRequestResponse accepted = openRequest(1L, 53.34, -6.26);
+        accepted.setStatus(ShoppingRequestStatus.ACCEPTED);
+        when(shoppingRequestService.getAllPendingRequests()).thenReturn(List.of());
+        when(listenerProvider.orderedStream()).thenReturn(Stream.of(feed));
+
+        // When
+        registry.onLifecycleEvent(new ShoppingRequestLifecycleEvent(
+                opened, ShoppingRequestStatus.PENDING, PaymentStatus.PENDING));
+        registry.ensureLoaded();
+        registry.onLifecycleEvent(new ShoppingRequestLifecycleEvent(
+                opened, ShoppingRequestStatus.PENDING, PaymentStatus.PENDING));
+        registry.onLifecycleEvent(new ShoppingRequestLifecycleEvent(
+                accepted, ShoppingRequestStatus.PENDING, PaymentStatus.AUTHORIZED));
+
+        // Then
+        verify(feed, times(1)).requestOpened(opened);
+        verify(feed).requestClosed(1L);
+    }
+}
@@ -4,9 +4,13 @@ import com.hager.shoppingbuddy.entity.Payment;
 import com.hager.shoppingbuddy.entity.PaymentStatus;
 import com.hager.shoppingbuddy.exception.PaymentException;
 import com.hager.shoppingbuddy.repository.PaymentRepository;
+import com.hager.shoppingbuddy.metrics.LatencyRecorder;
+import com.hager.shoppingbuddy.resilience.CircuitBreaker;
+import com.hager.shoppingbuddy.resilience.DependencyGuard;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentCreateParams;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,9 +18,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -36,6 +42,10 @@ class PaymentServiceTest {
     @Mock
     private PaymentIntent paymentIntent;
 
+    @Spy
+    private DependencyGuard dependencyGuard = new DependencyGuard(
+            new LatencyRecorder(new SimpleMeterRegistry()), new SimpleMeterRegistry(), new MockEnvironment());
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -109,6 +119,46 @@ class PaymentServiceTest {
                 verify(paymentRepository, never()).save(any(Payment.class));
             }
         }
+
+        @Test
+        @DisplayName("Should fail fast without calling Stripe once its circuit is open")
+        void createPaymentIntent_WhenStripeKeepsFailing_ShouldOpenCircuit() {
+            // Given
+            try (MockedStatic<PaymentIntent> mockedPaymentIntent = mockStatic(PaymentIntent.class)) {
+                mockedPaymentIntent.when(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class)))
+                        .thenThrow(new StripeException("Stripe error", "request_123", "code_123", 503) {});
+                for (int i = 0; i < 10; i++) {
+                    assertThatThrownBy(() -> paymentService.createPaymentIntent(shoppingRequestId, customerId, amount))
+                            .isInstanceOf(PaymentException.class);
+                }
+
+                // When & Then
+                assertThatThrownBy(() -> paymentService.createPaymentIntent(shoppingRequestId, customerId, amount))
+                        .isInstanceOf(PaymentException.class)
+                        .hasMessageContaining("circuit open");
+
+                mockedPaymentIntent.verify(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class)), times(10));
+            }
+        }
+
+        @Test
+        @DisplayName("Should not open the circuit on Stripe client errors")
+        void createPaymentIntent_WhenStripeRejectsRequest_ShouldKeepCircuitClosed() {
+            // Given
+            try (MockedStatic<PaymentIntent> mockedPaymentIntent = mockStatic(PaymentIntent.class)) {
+                mockedPaymentIntent.when(() -> PaymentIntent.create(any(PaymentIntentCreateParams.class)))
+                        .thenThrow(new StripeException("Stripe error", "request_123", "code_123", 400) {});
+
+                // When
+                for (int i = 0; i < 20; i++) {
+                    assertThatThrownBy(() -> paymentService.createPaymentIntent(shoppingRequestId, customerId, amount))
+                            .isInstanceOf(PaymentException.class);
+                }
+
+                // Then
+                assertThat(dependencyGuard.getState("stripe")).isEqualTo(CircuitBreaker.State.CLOSED);
+            }
+        }
     }
 
     @Nested
@@ -0,0 +1,194 @@
+package com.hager.shoppingbuddy.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PendingFeedService Tests")
+class PendingFeedServiceTest {
+
+    @Mock
+    private OpenRequestRegistry openRequestRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private PendingFeedService pendingFeedService;
+
+    private final Instant now = Instant.parse("2025-06-01T10:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        pendingFeedService = new PendingFeedService(openRequestRegistry, objectMapper);
+    }
+
+    @Nested
+    @DisplayName("Snapshot Tests")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Should serve the loaded requests newest first and reuse the snapshot")
+        void getSnapshot_WhenCalledTwice_ShouldReuseSnapshotAndOrderNewestFirst() throws IOException {
+            // Given
+            pendingFeedService.openRequestsLoaded(new ArrayList<>(List.of(
+                    openRequest(1L, now.minusSeconds(60)),
+                    openRequest(2L, now)
+            )));
+
+            // When
+            PendingFeedService.Snapshot first = pendingFeedService.getSnapshot();
+            PendingFeedService.Snapshot second = pendingFeedService.getSnapshot();
+
+            // Then
+            assertThat(second).isSameAs(first);
+            JsonNode feed = objectMapper.readTree(first.getJson());
+            assertThat(feed).hasSize(2);
+            assertThat(feed.get(0).get("id").asLong()).isEqualTo(2L);
+            assertThat(feed.get(1).get("id").asLong()).isEqualTo(1L);
+            assertThat(first.getETag()).startsWith("\"").endsWith("\"");
+            verify(openRequestRegistry, never()).ensureLoaded();
+        }
+
+        @Test
+        @DisplayName("Should serve gzip bytes matching the JSON body")
+        void getSnapshot_ShouldProvideGzipOfJson() throws IOException {
+            // Given
+            pendingFeedService.openRequestsLoaded(List.of(openRequest(1L, now)));
+
+            // When
+            PendingFeedService.Snapshot snapshot = pendingFeedService.getSnapshot();
+
+            // Then
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.getGzip()))) {
+                assertThat(gzip.readAllBytes()).isEqualTo(snapshot.getJson());
+            }
+        }
+
+        @Test
+        @DisplayName("Should match If-None-Match against the current ETag")
+        void matches_ShouldCompareAgainstETag() {
+            // Given
+            pendingFeedService.openRequestsLoaded(List.of());
+            PendingFeedService.Snapshot snapshot = pendingFeedService.getSnapshot();
+
+            // Then
+            assertThat(snapshot.matches(snapshot.getETag(), false)).isTrue();
+            assertThat(snapshot.matches("\"other\", " + snapshot.getETag(), false)).isTrue();
+            assertThat(snapshot.matches("\"other\"", false)).isFalse();
+            assertThat(snapshot.matches(null, false)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should use a distinct ETag for the gzip representation")
+        void matches_ShouldNotShareETagAcrossEncodings() {
+            // Given
+            pendingFeedService.openRequestsLoaded(List.of(openRequest(1L, now)));
+            PendingFeedService.Snapshot snapshot = pendingFeedService.getSnapshot();
+
+            // Then
+            assertThat(snapshot.getETag(true)).isNotEqualTo(snapshot.getETag(false)).endsWith("-gz\"");
+            assertThat(snapshot.matches(snapshot.getETag(true), true)).isTrue();
+            assertThat(snapshot.matches(snapshot.getETag(true), false)).isFalse();
+            assertThat(snapshot.matches(snapshot.getETag(false), true)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should honour Accept-Encoding q-values")
+        void acceptsGzip_ShouldHonourQualityValues() {
+            assertThat(PendingFeedService.Snapshot.acceptsGzip("gzip, deflate, br")).isTrue();
+            assertThat(PendingFeedService.Snapshot.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+            assertThat(PendingFeedService.Snapshot.acceptsGzip("gzip;q=0")).isFalse();
+            assertThat(PendingFeedService.Snapshot.acceptsGzip("*;q=0.5")).isTrue();
+            assertThat(PendingFeedService.Snapshot.acceptsGzip("gzip;q=0, *")).isFalse();
+            assertThat(PendingFeedService.Snapshot.acceptsGzip("identity")).isFalse();
+            assertThat(PendingFeedService.Snapshot.acceptsGzip(null)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Open Request Tests")
+    class OpenRequestTests {
+
+        @Test
+        @DisplayName("Should add a request when it opens")
+        void requestOpened_ShouldAddEntry() throws IOException {
+            // Given
+            pendingFeedService.openRequestsLoaded(List.of(openRequest(1L, now.minusSeconds(60))));
+            PendingFeedService.Snapshot before = pendingFeedService.getSnapshot();
+
+            // When
+            pendingFeedService.requestOpened(openRequest(2L, now));
+
+            // Then
+            PendingFeedService.Snapshot after = pendingFeedService.getSnapshot();
+            assertThat(after.getSize()).isEqualTo(2);
+            assertThat(after.getETag()).isNotEqualTo(before.getETag());
+            assertThat(objectMapper.readTree(after.getJson()).get(0).get("id").asLong()).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("Should remove a request when it closes")
+        void requestClosed_WhenInFeed_ShouldRemoveEntry() {
+            // Given
+            pendingFeedService.openRequestsLoaded(List.of(openRequest(1L, now)));
+
+            // When
+            pendingFeedService.requestClosed(1L);
+
+            // Then
+            assertThat(pendingFeedService.getSnapshot().getSize()).isZero();
+            assertThat(new String(pendingFeedService.getSnapshot().getJson())).isEqualTo("[]");
+        }
+
+        @Test
+        @DisplayName("Should keep the snapshot when a request not in the feed closes")
+        void requestClosed_WhenNeverInFeed_ShouldKeepSnapshot() {
+            // Given
+            pendingFeedService.openRequestsLoaded(List.of(openRequest(1L, now)));
+            PendingFeedService.Snapshot before = pendingFeedService.getSnapshot();
+
+            // When
+            pendingFeedService.requestClosed(2L);
+
+            // Then
+            assertThat(pendingFeedService.getSnapshot()).isSameAs(before);
+        }
+    }
+
+    private ShoppingRequestResponse openRequest(Long id, Instant createdAt) {
+        return ShoppingRequestResponse.builder()
+                .id(id)
+                .customerId(10L)
+                .customerName("John Customer")
+                .status(ShoppingRequestStatus.PENDING)
+                .paymentStatus(PaymentStatus.AUTHORIZED)
+                .items(List.of())
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .estimatedItemsPrice(50.0)
+                .deliveryFee(10.0)
+                .deliveryAddress("123 Test Street, Dublin")
+                .storeName("Tesco")
+                .storeAddress("1 Store Street, Dublin")
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.RankedRequestResponse;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.exception.InvalidShoppingRequestActionException;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static com.hager.shoppingbuddy.service.OpenRequestFixtures.openRequest;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RankingService Tests")
+class RankingServiceTest {
+
+    private static final String SHOPPER_EMAIL = "shopper@example.com";
+
+    @Mock
+    private OpenRequestRegistry openRequestRegistry;
+
+    @Mock
+    private ShopperRepository shopperRepository;
+
+    @Mock
+    private ShopperPresenceService shopperPresenceService;
+
+    private RankingService rankingService;
+
+    @BeforeEach
+    void setUp() {
+        rankingService = new RankingService(openRequestRegistry, shopperRepository, shopperPresenceService,
+                new SimpleMeterRegistry(), 1.0, 0.5, 2.0, 0.02, 30, 15, 50);
+        Shopper shopper = Shopper.builder().id(7L).user(User.builder().id(70L).email(SHOPPER_EMAIL).build()).build();
+        when(shopperRepository.findByUserEmail(SHOPPER_EMAIL)).thenReturn(Optional.of(shopper));
+    }
+
+    @Test
+    @DisplayName("Should rank from the shopper's last position, including requests opened since the load")
+    void getRankedRequests_WhenShopperReportedPosition_ShouldRankNearestFirst() throws Exception {
+        // Given
+        when(shopperPresenceService.getLocation(70L))
+                .thenReturn(new LocationStore.Position(70L, 53.34, -6.26, Instant.now()));
+        rankingService.openRequestsLoaded(List.of(request(1L, 53.40)));
+
+        // When
+        rankingService.requestOpened(request(2L, 53.341));
+        List<RankedRequestResponse> ranked = rankingService.getRankedRequests(SHOPPER_EMAIL, null, null, 10);
+
+        // Then
+        assertThat(ranked).extracting(r -> r.getRequest().getId()).containsExactly(2L, 1L);
+        verify(openRequestRegistry).ensureLoaded();
+    }
+
+    @Test
+    @DisplayName("Should reject ranking when the shopper's location is unknown")
+    void getRankedRequests_WhenLocationUnknown_ShouldThrow() {
+        // Given
+        when(shopperPresenceService.getLocation(70L)).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> rankingService.getRankedRequests(SHOPPER_EMAIL, null, null, 10))
+                .isInstanceOf(InvalidShoppingRequestActionException.class);
+        verify(openRequestRegistry, never()).ensureLoaded();
+    }
+
+    private static ShoppingRequestResponse request(Long id, double storeLatitude) {
+        ShoppingRequestResponse request = openRequest(id, storeLatitude, -6.26);
+        request.setLatitude(storeLatitude + 0.01);
+        request.setLongitude(-6.25);
+        return request;
+    }
+}
@@ -0,0 +1,96 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.RoutePlanResponse;
+import com.hager.shoppingbuddy.dto.RouteStopResponse;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.entity.ShoppingRequest;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import com.hager.shoppingbuddy.repository.ShoppingRequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoutePlanningService Tests")
+class RoutePlanningServiceTest {
+
+    private static final String SHOPPER_EMAIL = "shopper@example.com";
+
+    @Mock
+    private ShopperRepository shopperRepository;
+
+    @Mock
+    private ShoppingRequestRepository shoppingRequestRepository;
+
+    @Mock
+    private ShopperPresenceService shopperPresenceService;
+
+    private RoutePlanningService routePlanningService;
+
+    @BeforeEach
+    void setUp() {
+        routePlanningService = new RoutePlanningService(shopperRepository, shoppingRequestRepository,
+                shopperPresenceService, new SimpleMeterRegistry(), 100);
+        Shopper shopper = Shopper.builder().id(7L).user(User.builder().id(70L).email(SHOPPER_EMAIL).build()).build();
+        when(shopperRepository.findByUserEmail(SHOPPER_EMAIL)).thenReturn(Optional.of(shopper));
+    }
+
+    @Test
+    @DisplayName("Should route from the shopper's position and list requests without coordinates separately")
+    void planRoute_WhenShopperHasActiveRequests_ShouldOrderStops() throws Exception {
+        // Given
+        ShoppingRequest near = request(1L, 53.35, -6.25, 53.35, -6.23);
+        ShoppingRequest far = request(2L, 53.35, -6.24, 53.35, -6.22);
+        ShoppingRequest ungeocoded = request(3L, 53.35, -6.24, null, null);
+        when(shoppingRequestRepository.findByShopperIdAndStatusIn(eq(7L), anyCollection()))
+                .thenReturn(List.of(far, ungeocoded, near));
+        when(shopperPresenceService.getLocation(70L))
+                .thenReturn(new LocationStore.Position(70L, 53.35, -6.26, Instant.now()));
+
+        // When
+        RoutePlanResponse route = routePlanningService.planRoute(SHOPPER_EMAIL);
+
+        // Then
+        assertThat(route.isFromCurrentLocation()).isTrue();
+        assertThat(route.getStops())
+                .extracting(RouteStopResponse::getRequestId, RouteStopResponse::getType)
+                .containsExactly(
+                        tuple(1L, RouteStopResponse.StopType.PICKUP),
+                        tuple(2L, RouteStopResponse.StopType.PICKUP),
+                        tuple(1L, RouteStopResponse.StopType.DELIVERY),
+                        tuple(2L, RouteStopResponse.StopType.DELIVERY));
+        assertThat(route.getStops().get(0).getName()).isEqualTo("Store 1");
+        assertThat(route.getStops().get(3).getCumulativeDistanceKm()).isEqualTo(route.getTotalDistanceKm());
+        assertThat(route.getUnroutedRequestIds()).containsExactly(3L);
+    }
+
+    private static ShoppingRequest request(Long id, double storeLatitude, double storeLongitude,
+                                           Double latitude, Double longitude) {
+        return ShoppingRequest.builder()
+                .id(id)
+                .status(ShoppingRequestStatus.ACCEPTED)
+                .storeName("Store " + id)
+                .storeAddress(id + " Store Street, Dublin")
+                .storeLatitude(storeLatitude)
+                .storeLongitude(storeLongitude)
+                .deliveryAddress(id + " Home Road, Dublin")
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
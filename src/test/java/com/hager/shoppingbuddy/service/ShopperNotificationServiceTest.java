@@ -0,0 +1,197 @@
+package com.hager.shoppingbuddy.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.event.ShopperLocationEvent;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShopperNotificationService Tests")
+class ShopperNotificationServiceTest {
+
+    @Mock
+    private ShopperRepository shopperRepository;
+
+    @Mock
+    private ShopperPresenceService shopperPresenceService;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+    private ShopperNotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = service(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should batch new requests for shoppers whose home or position is near the store")
+    void flush_WhenRequestsOpenNearShoppers_ShouldDeliverRateLimitedBatches() throws Exception {
+        // Given a shopper at home nearby, one who drives into range and one far away
+        subscribe("home@example.com", 10L, 53.345, -6.265);
+        subscribe("driver@example.com", 20L, null, null);
+        subscribe("far@example.com", 30L, 53.90, -7.50);
+        notificationService.onLocation(new ShopperLocationEvent(20L, 53.34, -6.25, now));
+
+        // When
+        notificationService.onLifecycleEvent(opened(1L));
+        notificationService.onLifecycleEvent(opened(2L));
+        notificationService.flush(now);
+        notificationService.onLifecycleEvent(opened(3L));
+        notificationService.flush(now.plusSeconds(5));
+        notificationService.flush(now.plusSeconds(16));
+
+        // Then
+        for (RecordingEmitter emitter : emitters.subList(0, 2)) {
+            assertThat(emitter.events).hasSize(2);
+            assertThat(emitter.events.get(0)).contains("event:requests", "\"id\":1", "\"id\":2");
+            assertThat(emitter.events.get(1)).contains("\"id\":3").doesNotContain("\"id\":1");
+        }
+        assertThat(emitters.get(2).events).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should withdraw a request that is accepted before it is delivered")
+    void flush_WhenRequestClosedBeforeDelivery_ShouldNotDeliverIt() throws Exception {
+        // Given
+        subscribe("home@example.com", 10L, 53.345, -6.265);
+        notificationService.onLifecycleEvent(opened(1L));
+
+        // When
+        ShoppingRequestResponse accepted = request(1L, ShoppingRequestStatus.ACCEPTED);
+        notificationService.onLifecycleEvent(new ShoppingRequestLifecycleEvent(
+                accepted, ShoppingRequestStatus.PENDING, PaymentStatus.AUTHORIZED));
+        notificationService.flush(now);
+
+        // Then
+        assertThat(emitters.get(0).events).isEmpty();
+        assertThat(notificationService.getStreamCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fan out a request opened without coordinates once it is geocoded")
+    void onLifecycleEvent_WhenOpenRequestGainsCoordinates_ShouldFanOut() throws Exception {
+        // Given
+        subscribe("home@example.com", 10L, 53.345, -6.265);
+        ShoppingRequestResponse unlocated = request(1L, ShoppingRequestStatus.PENDING);
+        unlocated.setStoreLatitude(null);
+        unlocated.setStoreLongitude(null);
+        unlocated.setLatitude(null);
+        unlocated.setLongitude(null);
+        notificationService.onLifecycleEvent(new ShoppingRequestLifecycleEvent(
+                unlocated, ShoppingRequestStatus.PENDING, PaymentStatus.PENDING));
+        notificationService.flush(now);
+
+        // When
+        ShoppingRequestLifecycleEvent geocoded = new ShoppingRequestLifecycleEvent(
+                request(1L, ShoppingRequestStatus.PENDING), ShoppingRequestStatus.PENDING, PaymentStatus.AUTHORIZED);
+        notificationService.onLifecycleEvent(geocoded);
+        notificationService.flush(now.plusSeconds(16));
+        notificationService.onLifecycleEvent(geocoded);
+        notificationService.flush(now.plusSeconds(32));
+
+        // Then
+        assertThat(emitters.get(0).events).hasSize(1);
+        assertThat(emitters.get(0).events.get(0)).contains("\"id\":1");
+    }
+
+    @Test
+    @DisplayName("Should drop and count a batch the executor has no room for instead of blocking")
+    void flush_WhenExecutorRejects_ShouldCountDropped() throws Exception {
+        // Given
+        notificationService = service(task -> {
+            throw new TaskRejectedException("Executor queue is full");
+        });
+        subscribe("home@example.com", 10L, 53.345, -6.265);
+        notificationService.onLifecycleEvent(opened(1L));
+        notificationService.onLifecycleEvent(opened(2L));
+
+        // When
+        Throwable thrown = catchThrowable(() -> notificationService.flush(now));
+
+        // Then
+        assertThat(thrown).isNull();
+        assertThat(emitters.get(0).events).isEmpty();
+        assertThat(meterRegistry.counter("shoppingbuddy.shopper.notifications", "outcome", "dropped").count())
+                .isEqualTo(2);
+    }
+
+    private ShopperNotificationService service(TaskExecutor executor) {
+        return new ShopperNotificationService(shopperRepository, shopperPresenceService,
+                new ObjectMapper().findAndRegisterModules(), executor, meterRegistry, 5, 15_000, 60_000, 50) {
+            @Override
+            SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private void subscribe(String email, long userId, Double homeLatitude, Double homeLongitude) throws Exception {
+        Shopper shopper = Shopper.builder()
+                .id(userId + 1)
+                .user(User.builder().id(userId).email(email).build())
+                .homeLatitude(homeLatitude)
+                .homeLongitude(homeLongitude)
+                .build();
+        when(shopperRepository.findByUserEmail(email)).thenReturn(Optional.of(shopper));
+        notificationService.subscribe(email);
+    }
+
+    private ShoppingRequestLifecycleEvent opened(Long id) {
+        return new ShoppingRequestLifecycleEvent(
+                request(id, ShoppingRequestStatus.PENDING), ShoppingRequestStatus.PENDING, PaymentStatus.PENDING);
+    }
+
+    private ShoppingRequestResponse request(Long id, ShoppingRequestStatus status) {
+        return ShoppingRequestResponse.builder()
+                .id(id)
+                .status(status)
+                .paymentStatus(PaymentStatus.AUTHORIZED)
+                .storeLatitude(53.343)
+                .storeLongitude(-6.26)
+                .latitude(53.35)
+                .longitude(-6.25)
+                .createdAt(now)
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+    }
+}
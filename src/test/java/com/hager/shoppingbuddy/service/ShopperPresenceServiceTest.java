@@ -0,0 +1,125 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.ShopperLocationRequest;
+import com.hager.shoppingbuddy.entity.Shopper;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.presence.LocationStore;
+import com.hager.shoppingbuddy.repository.ShopperLocationRepository;
+import com.hager.shoppingbuddy.repository.ShopperRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShopperPresenceService Tests")
+class ShopperPresenceServiceTest {
+
+    @Mock
+    private ShopperRepository shopperRepository;
+
+    @Mock
+    private ShopperLocationRepository shopperLocationRepository;
+
+    @Mock
+    private DispatchService dispatchService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ShopperPresenceService shopperPresenceService;
+
+    private final Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        shopperPresenceService = new ShopperPresenceService(shopperRepository, shopperLocationRepository,
+                dispatchService, eventPublisher, new SimpleMeterRegistry(), 60, 100);
+    }
+
+    @Test
+    @DisplayName("Should persist one row per shopper per flush however often they report")
+    @SuppressWarnings("unchecked")
+    void flush_WhenShopperReportedSeveralTimes_ShouldSaveLatestOnce() {
+        // Given
+        shopperPresenceService.recordLocation(70L, 53.30, -6.20, now);
+        shopperPresenceService.recordLocation(70L, 53.31, -6.21, now.plusSeconds(3));
+        shopperPresenceService.recordLocation(80L, 53.40, -6.30, now.plusSeconds(4));
+
+        // When
+        shopperPresenceService.flush(now.plusSeconds(5));
+
+        // Then
+        ArgumentCaptor<List<LocationStore.Position>> saved = ArgumentCaptor.forClass(List.class);
+        verify(shopperLocationRepository).saveLatestLocations(saved.capture());
+        assertThat(saved.getValue()).extracting(LocationStore.Position::id, LocationStore.Position::latitude)
+                .containsExactlyInAnyOrder(tuple(70L, 53.31), tuple(80L, 53.40));
+        verify(dispatchService).shopperMoved(70L, 53.31, -6.21);
+        verify(dispatchService, never()).shopperOffline(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should take silent shoppers offline")
+    void flush_WhenShopperSilentPastTtl_ShouldGoOffline() {
+        // Given
+        shopperPresenceService.recordLocation(70L, 53.30, -6.20, now);
+        shopperPresenceService.recordLocation(80L, 53.40, -6.30, now.plusSeconds(50));
+
+        // When
+        shopperPresenceService.flush(now.plusSeconds(61));
+
+        // Then
+        verify(dispatchService).shopperOffline(70L);
+        verify(dispatchService, never()).shopperOffline(80L);
+        assertThat(shopperPresenceService.getLocation(70L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should look up the shopper's user id once across heartbeats")
+    void recordLocation_WhenRepeated_ShouldQueryShopperOnce() throws Exception {
+        // Given
+        Shopper shopper = Shopper.builder().id(7L).user(User.builder().id(70L).email("shopper@example.com").build())
+                .build();
+        when(shopperRepository.findByUserEmail("shopper@example.com")).thenReturn(Optional.of(shopper));
+        ShopperLocationRequest request = ShopperLocationRequest.builder().latitude(53.30).longitude(-6.20).build();
+
+        // When
+        shopperPresenceService.recordLocation("shopper@example.com", request);
+        shopperPresenceService.recordLocation("shopper@example.com", request);
+
+        // Then
+        verify(shopperRepository, times(1)).findByUserEmail("shopper@example.com");
+        verify(dispatchService, times(2)).shopperMoved(70L, 53.30, -6.20);
+    }
+
+    @Test
+    @DisplayName("Should keep positions that failed to save for the next flush")
+    @SuppressWarnings("unchecked")
+    void flush_WhenSaveFails_ShouldRetryOnNextFlush() {
+        // Given
+        shopperPresenceService.recordLocation(70L, 53.30, -6.20, now);
+        doThrow(new IllegalStateException("database down")).doNothing()
+                .when(shopperLocationRepository).saveLatestLocations(anyList());
+        shopperPresenceService.flush(now.plusSeconds(5));
+
+        // When
+        shopperPresenceService.flush(now.plusSeconds(10));
+
+        // Then
+        ArgumentCaptor<List<LocationStore.Position>> saved = ArgumentCaptor.forClass(List.class);
+        verify(shopperLocationRepository, times(2)).saveLatestLocations(saved.capture());
+        assertThat(saved.getAllValues().get(1)).extracting(LocationStore.Position::id).containsExactly(70L);
+    }
+}
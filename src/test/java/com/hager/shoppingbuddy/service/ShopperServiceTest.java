@@ -1,7 +1,9 @@
 package com.hager.shoppingbuddy.service;
 
+import com.hager.shoppingbuddy.dto.ShopperLocationRequest;
 import com.hager.shoppingbuddy.entity.Shopper;
 import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.event.ShopperHomeAreaEvent;
 import com.hager.shoppingbuddy.exception.ShopperNotFoundException;
 import com.hager.shoppingbuddy.repository.ShopperRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -28,6 +31,9 @@ class ShopperServiceTest {
     @Mock
     private ShopperRepository shopperRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ShopperService shopperService;
 
@@ -161,6 +167,29 @@ class ShopperServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Set Home Area Tests")
+    class SetHomeAreaTests {
+
+        @Test
+        @DisplayName("Should save the home area and publish the change")
+        void setHomeArea_WhenShopperExists_ShouldSaveAndNotify() throws ShopperNotFoundException {
+            // Given
+            when(shopperRepository.findByUserEmail("shopper@example.com")).thenReturn(Optional.of(shopper));
+
+            // When
+            shopperService.setHomeArea("shopper@example.com", new ShopperLocationRequest(53.35, -6.26));
+
+            // Then
+            verify(shopperRepository).save(argThat(savedShopper ->
+                savedShopper.getHomeLatitude() == 53.35 && savedShopper.getHomeLongitude() == -6.26
+            ));
+            verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof ShopperHomeAreaEvent homeArea && homeArea.getShopperUserId() == 1L
+            ));
+        }
+    }
+
     @Nested
     @DisplayName("Edge Cases and Error Handling Tests")
     class EdgeCasesTests {
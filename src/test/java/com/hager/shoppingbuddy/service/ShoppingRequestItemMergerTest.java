@@ -0,0 +1,96 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.dto.ItemRequest;
+import com.hager.shoppingbuddy.entity.Item;
+import com.hager.shoppingbuddy.entity.ShoppingRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ShoppingRequestItemMerger Tests")
+class ShoppingRequestItemMergerTest {
+
+    private final ShoppingRequestItemMerger itemMerger = new ShoppingRequestItemMerger();
+
+    @Test
+    @DisplayName("Should create items when the request has none yet")
+    void merge_WhenNoExistingItems_ShouldCreateItems() {
+        // Given
+        ShoppingRequest request = ShoppingRequest.builder().build();
+
+        // When
+        itemMerger.merge(request, List.of(itemRequest("Milk", 2), itemRequest("Bread", 1)));
+
+        // Then
+        assertThat(request.getItems()).extracting(Item::getName).containsExactly("Milk", "Bread");
+        assertThat(request.getItems()).allSatisfy(item -> {
+            assertThat(item.getId()).isNull();
+            assertThat(item.getShoppingRequest()).isSameAs(request);
+        });
+    }
+
+    @Test
+    @DisplayName("Should reuse matching items, add new ones and drop the rest")
+    void merge_WhenListChanged_ShouldOnlyTouchChangedItems() {
+        // Given
+        ShoppingRequest request = ShoppingRequest.builder().build();
+        Item milk = existingItem(1L, request, "Milk", 2);
+        Item bread = existingItem(2L, request, "Bread", 1);
+        Item eggs = existingItem(3L, request, "Eggs", 12);
+        request.setItems(new ArrayList<>(List.of(milk, bread, eggs)));
+
+        // When
+        itemMerger.merge(request, List.of(itemRequest("Eggs", 6), itemRequest("Milk", 2), itemRequest("Butter", 1)));
+
+        // Then
+        assertThat(request.getItems()).extracting(Item::getName).containsExactly("Eggs", "Milk", "Butter");
+        assertThat(request.getItems().get(0)).isSameAs(eggs);
+        assertThat(eggs.getAmount()).isEqualTo(6);
+        assertThat(request.getItems().get(1)).isSameAs(milk);
+        assertThat(request.getItems().get(2).getId()).isNull();
+        assertThat(request.getItems()).doesNotContain(bread);
+    }
+
+    @Test
+    @DisplayName("Should match duplicate names one to one")
+    void merge_WhenDuplicateNames_ShouldMatchEachExistingItemOnce() {
+        // Given
+        ShoppingRequest request = ShoppingRequest.builder().build();
+        Item firstApples = existingItem(1L, request, "Apples", 1);
+        Item secondApples = existingItem(2L, request, "Apples", 3);
+        request.setItems(new ArrayList<>(List.of(firstApples, secondApples)));
+
+        // When
+        itemMerger.merge(request, List.of(itemRequest("Apples", 1), itemRequest("Apples", 3), itemRequest("Apples", 5)));
+
+        // Then
+        assertThat(request.getItems()).hasSize(3);
+        assertThat(request.getItems().get(0)).isSameAs(firstApples);
+        assertThat(request.getItems().get(1)).isSameAs(secondApples);
+        assertThat(request.getItems().get(2).getId()).isNull();
+    }
+
+    private ItemRequest itemRequest(String name, int amount) {
+        return ItemRequest.builder()
+                .name(name)
+                .description(name + " description")
+                .amount(amount)
+                .category("Groceries")
+                .build();
+    }
+
+    private Item existingItem(Long id, ShoppingRequest request, String name, int amount) {
+        return Item.builder()
+                .id(id)
+                .shoppingRequest(request)
+                .name(name)
+                .description(name + " description")
+                .amount(amount)
+                .category("Groceries")
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.config.HibernateCacheConfig;
+import com.hager.shoppingbuddy.dto.ItemRequest;
+import com.hager.shoppingbuddy.entity.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ShoppingRequestItemMerger.class, HibernateCacheConfig.class})
+@DisplayName("Shopping request item update query count Tests")
+class ShoppingRequestItemsQueryCountTest {
+
+    private static final int ITEM_COUNT = 40;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShoppingRequestItemMerger itemMerger;
+
+    private Statistics statistics;
+    private Long requestId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        User user = entityManager.persist(User.builder()
+                .firstName("John")
+                .lastName("Customer")
+                .email("customer@example.com")
+                .phoneNumber("+353870000000")
+                .passwordHash("hash")
+                .role(UserRole.CUSTOMER)
+                .isEnabled(true)
+                .createdAt(Instant.now())
+                .build());
+        Customer customer = entityManager.persist(Customer.builder().user(user).build());
+
+        ShoppingRequest request = ShoppingRequest.builder()
+                .customer(customer)
+                .status(ShoppingRequestStatus.PENDING)
+                .paymentStatus(PaymentStatus.AUTHORIZED)
+                .deliveryAddress("123 Test Street, Dublin")
+                .storeName("Tesco")
+                .storeAddress("1 Store Street, Dublin")
+                .estimatedItemsPrice(65.0)
+                .deliveryFee(10.0)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        itemMerger.merge(request, itemRequests("Item"));
+        requestId = entityManager.persistAndFlush(request).getId();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should update only the changed row when one item in a large list changes")
+    void merge_WhenOneItemChanged_ShouldIssueSingleUpdate() {
+        // Given
+        List<ItemRequest> itemRequests = itemRequests("Item");
+        itemRequests.get(7).setAmount(5);
+
+        // When
+        ShoppingRequest request = entityManager.find(ShoppingRequest.class, requestId);
+        itemMerger.merge(request, itemRequests);
+        entityManager.flush();
+
+        // Then
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        // Load request, load items, update one item
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should batch inserts and deletes when the whole list is replaced")
+    void merge_WhenAllItemsReplaced_ShouldBatchInsertsAndDeletes() {
+        // Given
+        List<ItemRequest> itemRequests = itemRequests("Replacement");
+
+        // When
+        ShoppingRequest request = entityManager.find(ShoppingRequest.class, requestId);
+        itemMerger.merge(request, itemRequests);
+        entityManager.flush();
+
+        // Then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ITEM_COUNT);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(ITEM_COUNT);
+        // Two loads, one insert batch, one delete batch and at most one ID block allocation
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    private List<ItemRequest> itemRequests(String prefix) {
+        return new ArrayList<>(IntStream.range(0, ITEM_COUNT)
+                .mapToObj(i -> ItemRequest.builder()
+                        .name(prefix + " " + i)
+                        .amount(1)
+                        .category("Groceries")
+                        .build())
+                .toList());
+    }
+}
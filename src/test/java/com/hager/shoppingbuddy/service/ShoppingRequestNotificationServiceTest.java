@@ -76,13 +76,13 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should send notification when shopping request is created")
         void notifyShoppingRequestCreated_WhenValidRequest_ShouldSendEmail() {
             // Given
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestCreated(shoppingRequest);
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     eq("Shopping Request Created - #100"),
                     argThat(emailBody ->
@@ -102,12 +102,12 @@ class ShoppingRequestNotificationServiceTest {
         void notifyShoppingRequestCreated_WhenEmailServiceFails_ShouldNotThrow() {
             // Given
             doThrow(new RuntimeException("Email service unavailable"))
-                    .when(emailService).send(anyString(), anyString(), anyString());
+                    .when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When & Then - should not throw exception
             notificationService.notifyShoppingRequestCreated(shoppingRequest);
 
-            verify(emailService).send(anyString(), anyString(), anyString());
+            verify(emailService).sendAsync(anyString(), anyString(), anyString());
         }
 
         @Test
@@ -122,7 +122,7 @@ class ShoppingRequestNotificationServiceTest {
             // When & Then - should not throw exception
             notificationService.notifyShoppingRequestCreated(requestWithNullCustomer);
 
-            verify(emailService, never()).send(anyString(), anyString(), anyString());
+            verify(emailService, never()).sendAsync(anyString(), anyString(), anyString());
         }
     }
 
@@ -134,16 +134,16 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should send notifications to both customer and shopper when request is accepted")
         void notifyShoppingRequestAccepted_WhenValidRequest_ShouldSendBothEmails() {
             // Given
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestAccepted(shoppingRequest);
 
             // Then
-            verify(emailService, times(2)).send(anyString(), anyString(), anyString());
+            verify(emailService, times(2)).sendAsync(anyString(), anyString(), anyString());
 
             // Verify customer email
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     eq("Your Shopping Request Has Been Accepted - #100"),
                     argThat(emailBody ->
@@ -154,7 +154,7 @@ class ShoppingRequestNotificationServiceTest {
             );
 
             // Verify shopper email
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("shopper@example.com"),
                     eq("Shopping Request Accepted - #100"),
                     argThat(emailBody ->
@@ -169,14 +169,14 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should handle partial email failure gracefully")
         void notifyShoppingRequestAccepted_WhenOneEmailFails_ShouldContinue() {
             // Given
-            doNothing().when(emailService).send(eq("customer@example.com"), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(eq("customer@example.com"), anyString(), anyString());
             doThrow(new RuntimeException("Email failed"))
-                    .when(emailService).send(eq("shopper@example.com"), anyString(), anyString());
+                    .when(emailService).sendAsync(eq("shopper@example.com"), anyString(), anyString());
 
             // When & Then - should not throw exception
             notificationService.notifyShoppingRequestAccepted(shoppingRequest);
 
-            verify(emailService, times(2)).send(anyString(), anyString(), anyString());
+            verify(emailService, times(2)).sendAsync(anyString(), anyString(), anyString());
         }
     }
 
@@ -188,13 +188,13 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should send notification to customer when shopping starts")
         void notifyShoppingStarted_WhenValidRequest_ShouldSendEmail() {
             // Given
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingStarted(shoppingRequest);
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     eq("Shopping Started for Your Request - #100"),
                     argThat(emailBody ->
@@ -218,7 +218,7 @@ class ShoppingRequestNotificationServiceTest {
             // When & Then - should not throw exception
             notificationService.notifyShoppingStarted(requestWithNullShopper);
 
-            verify(emailService, never()).send(anyString(), anyString(), anyString());
+            verify(emailService, never()).sendAsync(anyString(), anyString(), anyString());
         }
     }
 
@@ -230,16 +230,16 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should send notifications to both customer and shopper when shopping is completed")
         void notifyShoppingCompleted_WhenValidRequest_ShouldSendBothEmails() {
             // Given
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingCompleted(shoppingRequest);
 
             // Then
-            verify(emailService, times(2)).send(anyString(), anyString(), anyString());
+            verify(emailService, times(2)).sendAsync(anyString(), anyString(), anyString());
 
             // Verify customer email
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     eq("Your Shopping Has Been Completed - #100"),
                     argThat(emailBody ->
@@ -250,7 +250,7 @@ class ShoppingRequestNotificationServiceTest {
             );
 
             // Verify shopper email
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("shopper@example.com"),
                     eq("Shopping Completed - #100"),
                     argThat(emailBody ->
@@ -270,15 +270,15 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should send notification to shopper when customer cancels")
         void notifyShoppingRequestCancelled_WhenCustomerCancels_ShouldNotifyShopperOnly() {
             // Given
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestCancelled(shoppingRequest, "customer@example.com");
 
             // Then
-            verify(emailService, times(1)).send(anyString(), anyString(), anyString());
+            verify(emailService, times(1)).sendAsync(anyString(), anyString(), anyString());
 
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("shopper@example.com"),
                     eq("Shopping Request Cancelled - #100"),
                     argThat(emailBody ->
@@ -293,15 +293,15 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should send notification to customer when shopper cancels")
         void notifyShoppingRequestCancelled_WhenShopperCancels_ShouldNotifyCustomerOnly() {
             // Given
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestCancelled(shoppingRequest, "shopper@example.com");
 
             // Then
-            verify(emailService, times(1)).send(anyString(), anyString(), anyString());
+            verify(emailService, times(1)).sendAsync(anyString(), anyString(), anyString());
 
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     eq("Shopping Request Cancelled - #100"),
                     argThat(emailBody ->
@@ -316,13 +316,13 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should send notifications to both parties when cancelled by third party")
         void notifyShoppingRequestCancelled_WhenThirdPartyCancels_ShouldNotifyBoth() {
             // Given
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestCancelled(shoppingRequest, "admin@example.com");
 
             // Then
-            verify(emailService, times(2)).send(anyString(), anyString(), anyString());
+            verify(emailService, times(2)).sendAsync(anyString(), anyString(), anyString());
         }
 
         @Test
@@ -335,15 +335,15 @@ class ShoppingRequestNotificationServiceTest {
                     .shopper(null)
                     .build();
 
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestCancelled(requestWithoutShopper, "admin@example.com");
 
             // Then
-            verify(emailService, times(1)).send(anyString(), anyString(), anyString());
+            verify(emailService, times(1)).sendAsync(anyString(), anyString(), anyString());
 
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     eq("Shopping Request Cancelled - #100"),
                     anyString()
@@ -359,13 +359,13 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should send notification to shopper when request is updated")
         void notifyShoppingRequestUpdated_WhenValidRequest_ShouldSendEmail() {
             // Given
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestUpdated(shoppingRequest);
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("shopper@example.com"),
                     eq("Shopping Request Updated - #100"),
                     argThat(emailBody ->
@@ -390,7 +390,7 @@ class ShoppingRequestNotificationServiceTest {
             notificationService.notifyShoppingRequestUpdated(requestWithoutShopper);
 
             // Then
-            verify(emailService, never()).send(anyString(), anyString(), anyString());
+            verify(emailService, never()).sendAsync(anyString(), anyString(), anyString());
         }
     }
 
@@ -402,13 +402,13 @@ class ShoppingRequestNotificationServiceTest {
         @DisplayName("Should send notification to customer when shopper abandons request")
         void notifyShoppingRequestAbandoned_WhenShopperAbandons_ShouldSendEmail() {
             // Given
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestAbandoned(shoppingRequest, "shopper@example.com");
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     eq("Shopping Request Available Again - #100"),
                     argThat(emailBody ->
@@ -428,12 +428,12 @@ class ShoppingRequestNotificationServiceTest {
         void notifyShoppingRequestAbandoned_WhenEmailServiceFails_ShouldNotThrow() {
             // Given
             doThrow(new RuntimeException("Email service unavailable"))
-                    .when(emailService).send(anyString(), anyString(), anyString());
+                    .when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When & Then - should not throw exception
             notificationService.notifyShoppingRequestAbandoned(shoppingRequest, "shopper@example.com");
 
-            verify(emailService).send(anyString(), anyString(), anyString());
+            verify(emailService).sendAsync(anyString(), anyString(), anyString());
         }
 
         @Test
@@ -448,7 +448,7 @@ class ShoppingRequestNotificationServiceTest {
             // When & Then - should not throw exception
             notificationService.notifyShoppingRequestAbandoned(requestWithNullCustomer, "shopper@example.com");
 
-            verify(emailService, never()).send(anyString(), anyString(), anyString());
+            verify(emailService, never()).sendAsync(anyString(), anyString(), anyString());
         }
 
         @Test
@@ -464,13 +464,13 @@ class ShoppingRequestNotificationServiceTest {
                     .status(ShoppingRequestStatus.PENDING)
                     .build();
 
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestAbandoned(pendingRequest, "shopper@example.com");
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     eq("Shopping Request Available Again - #100"),
                     argThat(emailBody ->
@@ -485,13 +485,13 @@ class ShoppingRequestNotificationServiceTest {
         void notifyShoppingRequestAbandoned_WhenDifferentShopperEmail_ShouldIncludeInMessage() {
             // Given
             String shopperEmail = "different.shopper@test.com";
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestAbandoned(shoppingRequest, shopperEmail);
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     eq("Shopping Request Available Again - #100"),
                     argThat(emailBody -> emailBody.contains(shopperEmail))
@@ -520,7 +520,7 @@ class ShoppingRequestNotificationServiceTest {
             // When & Then - should not throw exception
             notificationService.notifyShoppingRequestCreated(requestWithNullUser);
 
-            verify(emailService, never()).send(anyString(), anyString(), anyString());
+            verify(emailService, never()).sendAsync(anyString(), anyString(), anyString());
         }
 
         @Test
@@ -541,7 +541,7 @@ class ShoppingRequestNotificationServiceTest {
             // When & Then - should not throw exception
             notificationService.notifyShoppingRequestAccepted(requestWithNullShopperUser);
 
-            verify(emailService, never()).send(anyString(), anyString(), anyString());
+            verify(emailService, never()).sendAsync(anyString(), anyString(), anyString());
         }
 
         @Test
@@ -569,13 +569,13 @@ class ShoppingRequestNotificationServiceTest {
                     .status(ShoppingRequestStatus.PENDING)
                     .build();
 
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestCreated(requestWithSpecialChars);
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("jose@example.com"),
                     anyString(),
                     argThat(emailBody -> emailBody.contains("José María"))
@@ -595,13 +595,13 @@ class ShoppingRequestNotificationServiceTest {
                     .status(ShoppingRequestStatus.PENDING)
                     .build();
 
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestCreated(requestWithZeroAmounts);
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     anyString(),
                     argThat(emailBody ->
@@ -624,13 +624,13 @@ class ShoppingRequestNotificationServiceTest {
                     .status(ShoppingRequestStatus.PENDING)
                     .build();
 
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestCreated(requestWithLongAddress);
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     anyString(),
                     argThat(emailBody -> emailBody.contains(longAddress))
@@ -650,13 +650,13 @@ class ShoppingRequestNotificationServiceTest {
                     .status(ShoppingRequestStatus.PENDING)
                     .build();
 
-            doNothing().when(emailService).send(anyString(), anyString(), anyString());
+            doNothing().when(emailService).sendAsync(anyString(), anyString(), anyString());
 
             // When
             notificationService.notifyShoppingRequestCreated(requestWithLargeAmounts);
 
             // Then
-            verify(emailService).send(
+            verify(emailService).sendAsync(
                     eq("customer@example.com"),
                     anyString(),
                     argThat(emailBody ->
@@ -2,6 +2,7 @@ package com.hager.shoppingbuddy.service;
 
 import com.hager.shoppingbuddy.dto.*;
 import com.hager.shoppingbuddy.entity.*;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
 import com.hager.shoppingbuddy.exception.*;
 import com.hager.shoppingbuddy.repository.*;
 import com.google.maps.model.LatLng;
@@ -11,7 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -50,6 +53,15 @@ class ShoppingRequestServiceTest {
     @Mock
     private ShopperService shopperService;
 
+    @Spy
+    private ShoppingRequestItemMerger itemMerger = new ShoppingRequestItemMerger();
+
+    @Mock
+    private StoreDirectory storeDirectory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ShoppingRequestService shoppingRequestService;
 
@@ -65,7 +77,7 @@ class ShoppingRequestServiceTest {
 
         @Test
         @DisplayName("Should create shopping request successfully")
-        void createShoppingRequest_WhenValidRequest_ShouldCreateRequest() throws CustomerNotFoundException, PaymentException {
+        void createShoppingRequest_WhenValidRequest_ShouldCreateRequest() throws CustomerNotFoundException, StoreNotFoundException, PaymentException {
             // Given
             ShoppingRequestCreateRequest request = createValidCreateRequest();
             Customer customer = createTestCustomer();
@@ -73,7 +85,7 @@ class ShoppingRequestServiceTest {
             ShoppingRequest savedRequest = createTestShoppingRequest();
 
             when(customerRepository.findByUserEmail(customerEmail)).thenReturn(Optional.of(customer));
-            when(geocodingService.getLatLngFromAddress(anyString())).thenReturn(location);
+            when(geocodingService.getLocalLatLng(anyString())).thenReturn(location);
             when(shoppingRequestRepository.save(any(ShoppingRequest.class))).thenReturn(savedRequest);
             doNothing().when(paymentService).createPaymentIntent(anyLong(), anyLong(), anyDouble());
             doNothing().when(notificationService).notifyShoppingRequestCreated(any(ShoppingRequest.class));
@@ -100,6 +112,35 @@ class ShoppingRequestServiceTest {
             verify(notificationService).notifyShoppingRequestCreated(savedRequest);
         }
 
+        @Test
+        @DisplayName("Should copy a directory store without geocoding it")
+        void createShoppingRequest_WhenStoreSelected_ShouldUseStoreRecord() throws CustomerNotFoundException, StoreNotFoundException, PaymentException {
+            // Given
+            ShoppingRequestCreateRequest request = createValidCreateRequest();
+            request.setStoreId(7L);
+            Customer customer = createTestCustomer();
+
+            when(customerRepository.findByUserEmail(customerEmail)).thenReturn(Optional.of(customer));
+            when(storeDirectory.getStore(7L)).thenReturn(createTestStore());
+            when(geocodingService.getLocalLatLng("123 Test Street, Dublin")).thenReturn(new LatLng(53.3498, -6.2603));
+            when(shoppingRequestRepository.save(any(ShoppingRequest.class))).thenAnswer(invocation -> {
+                ShoppingRequest saved = invocation.getArgument(0);
+                saved.setId(requestId);
+                return saved;
+            });
+
+            // When
+            ShoppingRequestResponse result = shoppingRequestService.createShoppingRequest(customerEmail, request);
+
+            // Then
+            assertThat(result.getStoreId()).isEqualTo(7L);
+            assertThat(result.getStoreName()).isEqualTo("Tesco Baggot Street");
+            assertThat(result.getStoreAddress()).isEqualTo("15 Baggot Street Lower, Dublin 2");
+            assertThat(result.getStoreLatitude()).isEqualTo(53.3369);
+            assertThat(result.getStoreLongitude()).isEqualTo(-6.2463);
+            verify(geocodingService, times(1)).getLocalLatLng(anyString());
+        }
+
         @Test
         @DisplayName("Should throw CustomerNotFoundException when customer not found")
         void createShoppingRequest_WhenCustomerNotFound_ShouldThrowCustomerNotFoundException() throws PaymentException {
@@ -224,7 +265,7 @@ class ShoppingRequestServiceTest {
             acceptedRequest.setStatus(ShoppingRequestStatus.ACCEPTED);
 
             when(shopperRepository.findByUserEmail(shopperEmail)).thenReturn(Optional.of(shopper));
-            when(shoppingRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+            when(shoppingRequestRepository.findForUpdateById(requestId)).thenReturn(Optional.of(request));
             when(shoppingRequestRepository.save(any(ShoppingRequest.class))).thenReturn(acceptedRequest);
             doNothing().when(notificationService).notifyShoppingRequestAccepted(any(ShoppingRequest.class));
 
@@ -237,9 +278,14 @@ class ShoppingRequestServiceTest {
 
             verify(shoppingRequestRepository).save(argThat(sr ->
                 sr.getShopper().equals(shopper) &&
-                sr.getStatus() == ShoppingRequestStatus.ACCEPTED
+                sr.getStatus() == ShoppingRequestStatus.ACCEPTED &&
+                sr.getAcceptedAt() != null
             ));
             verify(notificationService).notifyShoppingRequestAccepted(acceptedRequest);
+            verify(eventPublisher).publishEvent(argThat((ShoppingRequestLifecycleEvent event) ->
+                event.wasOpen() && !event.isOpen() &&
+                event.getRequest().getStatus() == ShoppingRequestStatus.ACCEPTED
+            ));
         }
 
         @Test
@@ -251,7 +297,7 @@ class ShoppingRequestServiceTest {
             request.setStatus(ShoppingRequestStatus.COMPLETED);
 
             when(shopperRepository.findByUserEmail(shopperEmail)).thenReturn(Optional.of(shopper));
-            when(shoppingRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+            when(shoppingRequestRepository.findForUpdateById(requestId)).thenReturn(Optional.of(request));
 
             // When & Then
             assertThatThrownBy(() -> shoppingRequestService.acceptShoppingRequest(requestId, shopperEmail))
@@ -269,13 +315,60 @@ class ShoppingRequestServiceTest {
             request.setPaymentStatus(PaymentStatus.PENDING);
 
             when(shopperRepository.findByUserEmail(shopperEmail)).thenReturn(Optional.of(shopper));
-            when(shoppingRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+            when(shoppingRequestRepository.findForUpdateById(requestId)).thenReturn(Optional.of(request));
 
             // When & Then
             assertThatThrownBy(() -> shoppingRequestService.acceptShoppingRequest(requestId, shopperEmail))
                     .isInstanceOf(InvalidShoppingRequestActionException.class)
                     .hasMessageContaining("Shopping request payment must be authorized before acceptance");
         }
+
+        @Test
+        @DisplayName("Should accept every request of a bundle")
+        void acceptShoppingRequests_WhenAllAcceptable_ShouldAcceptAll() throws ShopperNotFoundException, InvalidShoppingRequestActionException, ShoppingRequestNotFoundException {
+            // Given
+            Shopper shopper = createTestShopper();
+            ShoppingRequest first = createTestShoppingRequest();
+            ShoppingRequest second = createTestShoppingRequest();
+            second.setId(requestId + 1);
+
+            when(shopperRepository.findByUserEmail(shopperEmail)).thenReturn(Optional.of(shopper));
+            when(shoppingRequestRepository.findForUpdateByIdIn(List.of(requestId, requestId + 1)))
+                    .thenReturn(List.of(first, second));
+            when(shoppingRequestRepository.save(any(ShoppingRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            List<ShoppingRequestResponse> result = shoppingRequestService.acceptShoppingRequests(
+                    List.of(requestId, requestId + 1), shopperEmail);
+
+            // Then
+            assertThat(result).extracting(ShoppingRequestResponse::getStatus)
+                    .containsExactly(ShoppingRequestStatus.ACCEPTED, ShoppingRequestStatus.ACCEPTED);
+            verify(notificationService, times(2)).notifyShoppingRequestAccepted(any(ShoppingRequest.class));
+            verify(eventPublisher, times(2)).publishEvent(any(ShoppingRequestLifecycleEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should accept none of a bundle when one request was already taken")
+        void acceptShoppingRequests_WhenOneTaken_ShouldAcceptNone() {
+            // Given
+            Shopper shopper = createTestShopper();
+            ShoppingRequest first = createTestShoppingRequest();
+            ShoppingRequest taken = createTestShoppingRequest();
+            taken.setId(requestId + 1);
+            taken.setStatus(ShoppingRequestStatus.ACCEPTED);
+
+            when(shopperRepository.findByUserEmail(shopperEmail)).thenReturn(Optional.of(shopper));
+            when(shoppingRequestRepository.findForUpdateByIdIn(List.of(requestId, requestId + 1)))
+                    .thenReturn(List.of(first, taken));
+
+            // When & Then
+            assertThatThrownBy(() -> shoppingRequestService.acceptShoppingRequests(
+                    List.of(requestId, requestId + 1), shopperEmail))
+                    .isInstanceOf(InvalidShoppingRequestActionException.class);
+            verify(shoppingRequestRepository, never()).save(any(ShoppingRequest.class));
+            assertThat(first.getStatus()).isEqualTo(ShoppingRequestStatus.PENDING);
+        }
     }
 
     @Nested
@@ -359,6 +452,7 @@ class ShoppingRequestServiceTest {
 
             // Then
             assertThat(result.getStatus()).isEqualTo(ShoppingRequestStatus.COMPLETED);
+            assertThat(request.getCompletedAt()).isNotNull();
             verify(paymentService).capturePayment(requestId);
             verify(shopperService).addToBalanceById(eq(shopperId), any(BigDecimal.class));
             verify(notificationService).notifyShoppingCompleted(completedRequest);
@@ -567,7 +661,7 @@ class ShoppingRequestServiceTest {
 
         @Test
         @DisplayName("Should update shopping request successfully")
-        void updateShoppingRequest_WhenValidRequest_ShouldUpdateRequest() throws CustomerNotFoundException, ShoppingRequestNotFoundException, InvalidShoppingRequestActionException {
+        void updateShoppingRequest_WhenValidRequest_ShouldUpdateRequest() throws CustomerNotFoundException, ShoppingRequestNotFoundException, InvalidShoppingRequestActionException, StoreNotFoundException {
             // Given
             Customer customer = createTestCustomer();
             ShoppingRequest request = createTestShoppingRequest();
@@ -579,7 +673,7 @@ class ShoppingRequestServiceTest {
 
             when(customerRepository.findByUserEmail(customerEmail)).thenReturn(Optional.of(customer));
             when(shoppingRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
-            when(geocodingService.getLatLngFromAddress("456 Updated Street, Cork")).thenReturn(newLocation);
+            when(geocodingService.getLocalLatLng("456 Updated Street, Cork")).thenReturn(newLocation);
             when(shoppingRequestRepository.save(any(ShoppingRequest.class))).thenReturn(request);
             doNothing().when(notificationService).notifyShoppingRequestUpdated(any(ShoppingRequest.class));
 
@@ -597,6 +691,90 @@ class ShoppingRequestServiceTest {
             verify(notificationService).notifyShoppingRequestUpdated(request);
         }
 
+        @Test
+        @DisplayName("Should keep coordinates when the addresses are unchanged")
+        void updateShoppingRequest_WhenAddressUnchanged_ShouldKeepCoordinates() throws CustomerNotFoundException, ShoppingRequestNotFoundException, InvalidShoppingRequestActionException, StoreNotFoundException {
+            // Given
+            Customer customer = createTestCustomer();
+            ShoppingRequest request = createTestShoppingRequest();
+            request.setCustomer(customer);
+
+            ShoppingRequestUpdateRequest updateRequest = createValidUpdateRequest();
+            updateRequest.setDeliveryAddress(request.getDeliveryAddress());
+
+            when(customerRepository.findByUserEmail(customerEmail)).thenReturn(Optional.of(customer));
+            when(shoppingRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+            when(shoppingRequestRepository.save(any(ShoppingRequest.class))).thenReturn(request);
+
+            // When
+            shoppingRequestService.updateShoppingRequest(requestId, customerEmail, updateRequest);
+
+            // Then
+            assertThat(request.getLatitude()).isEqualTo(53.3498);
+            assertThat(request.getLongitude()).isEqualTo(-6.2603);
+            verifyNoInteractions(geocodingService);
+        }
+
+        @Test
+        @DisplayName("Should switch to a directory store without geocoding it")
+        void updateShoppingRequest_WhenStoreSelected_ShouldUseStoreRecord() throws CustomerNotFoundException, ShoppingRequestNotFoundException, InvalidShoppingRequestActionException, StoreNotFoundException {
+            // Given
+            Customer customer = createTestCustomer();
+            ShoppingRequest request = createTestShoppingRequest();
+            request.setCustomer(customer);
+
+            ShoppingRequestUpdateRequest updateRequest = createValidUpdateRequest();
+            updateRequest.setDeliveryAddress(request.getDeliveryAddress());
+            updateRequest.setStoreId(7L);
+
+            when(customerRepository.findByUserEmail(customerEmail)).thenReturn(Optional.of(customer));
+            when(shoppingRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+            when(storeDirectory.getStore(7L)).thenReturn(createTestStore());
+            when(shoppingRequestRepository.save(any(ShoppingRequest.class))).thenReturn(request);
+
+            // When
+            shoppingRequestService.updateShoppingRequest(requestId, customerEmail, updateRequest);
+
+            // Then
+            assertThat(request.getStore().getId()).isEqualTo(7L);
+            assertThat(request.getStoreAddress()).isEqualTo("15 Baggot Street Lower, Dublin 2");
+            assertThat(request.getStoreLatitude()).isEqualTo(53.3369);
+            assertThat(request.getStoreLongitude()).isEqualTo(-6.2463);
+            verifyNoInteractions(geocodingService);
+        }
+
+        @Test
+        @DisplayName("Should keep existing items that are still in the list")
+        void updateShoppingRequest_WhenItemKept_ShouldReuseExistingItem() throws CustomerNotFoundException, ShoppingRequestNotFoundException, InvalidShoppingRequestActionException, StoreNotFoundException {
+            // Given
+            Customer customer = createTestCustomer();
+            ShoppingRequest request = createTestShoppingRequest();
+            request.setCustomer(customer);
+            Item existingMilk = request.getItems().getFirst();
+
+            ShoppingRequestUpdateRequest updateRequest = createValidUpdateRequest();
+            updateRequest.setItems(List.of(
+                    ItemRequest.builder().name("Milk").description("2L Fresh Milk").amount(4).category("Dairy").build(),
+                    ItemRequest.builder().name("Eggs").amount(12).category("Dairy").build()
+            ));
+
+            when(customerRepository.findByUserEmail(customerEmail)).thenReturn(Optional.of(customer));
+            when(shoppingRequestRepository.findById(requestId)).thenReturn(Optional.of(request));
+            when(shoppingRequestRepository.save(any(ShoppingRequest.class))).thenReturn(request);
+
+            // When
+            shoppingRequestService.updateShoppingRequest(requestId, customerEmail, updateRequest);
+
+            // Then
+            verify(itemMerger).merge(request, updateRequest.getItems());
+            assertThat(request.getItems()).hasSize(2);
+            assertThat(request.getItems().get(0)).isSameAs(existingMilk);
+            assertThat(existingMilk.getId()).isEqualTo(1L);
+            assertThat(existingMilk.getAmount()).isEqualTo(4);
+            assertThat(request.getItems().get(1).getId()).isNull();
+            assertThat(request.getItems().get(1).getShoppingRequest()).isSameAs(request);
+        }
+
         @Test
         @DisplayName("Should throw InvalidShoppingRequestActionException when customer not authorized")
         void updateShoppingRequest_WhenCustomerNotAuthorized_ShouldThrowInvalidShoppingRequestActionException() {
@@ -656,6 +834,7 @@ class ShoppingRequestServiceTest {
                 sr.getPaymentStatus() == PaymentStatus.AUTHORIZED &&
                 sr.getUpdatedAt() != null
             ));
+            verify(eventPublisher).publishEvent(any(ShoppingRequestLifecycleEvent.class));
         }
 
         @Test
@@ -710,6 +889,17 @@ class ShoppingRequestServiceTest {
                 .build();
     }
 
+    private Store createTestStore() {
+        return Store.builder()
+                .id(7L)
+                .name("Tesco Baggot Street")
+                .address("15 Baggot Street Lower, Dublin 2")
+                .latitude(53.3369)
+                .longitude(-6.2463)
+                .createdAt(Instant.now())
+                .build();
+    }
+
     private Customer createTestCustomer() {
         User customerUser = User.builder()
                 .id(customerId)
@@ -0,0 +1,148 @@
+package com.hager.shoppingbuddy.service;
+
+import com.google.maps.model.LatLng;
+import com.hager.shoppingbuddy.dto.StoreCreateRequest;
+import com.hager.shoppingbuddy.dto.StoreResponse;
+import com.hager.shoppingbuddy.entity.Store;
+import com.hager.shoppingbuddy.exception.DependencyUnavailableException;
+import com.hager.shoppingbuddy.exception.InvalidStoreException;
+import com.hager.shoppingbuddy.exception.StoreNotFoundException;
+import com.hager.shoppingbuddy.repository.StoreRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StoreDirectory Tests")
+class StoreDirectoryTest {
+
+    @Mock
+    private StoreRepository storeRepository;
+
+    @Mock
+    private GeocodingService geocodingService;
+
+    @InjectMocks
+    private StoreDirectory storeDirectory;
+
+    @Test
+    @DisplayName("Should find stores despite typos, missing words and accents")
+    void searchStores_WhenQueryApproximate_ShouldRankClosestFirst() {
+        // Given
+        when(storeRepository.findAll()).thenReturn(List.of(
+                store(1L, "Tesco Express", "15 Baggot Street Lower, Dublin 2"),
+                store(2L, "Tesco Metro", "Henry Street, Dublin 1"),
+                store(3L, "Centra", "Baggot Street Upper, Dublin 4"),
+                store(4L, "Café Lidl", "Dún Laoghaire")));
+        storeDirectory.refresh();
+
+        // When
+        List<StoreResponse> results = storeDirectory.searchStores("tesco bagot st", 10);
+
+        // Then
+        assertThat(results).extracting(StoreResponse::getId).startsWith(1L);
+        assertThat(storeDirectory.searchStores("cafe lidl dun laoghaire", 10))
+                .extracting(StoreResponse::getId).containsExactly(4L);
+        assertThat(storeDirectory.searchStores("tesco", 1)).hasSize(1);
+        assertThat(storeDirectory.searchStores("aldi", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should load stores registered elsewhere since the last refresh")
+    void getStore_WhenNotIndexed_ShouldLoadFromRepository() throws StoreNotFoundException {
+        // Given
+        Store store = store(9L, "SuperValu", "Main Street, Swords");
+        when(storeRepository.findById(9L)).thenReturn(Optional.of(store));
+
+        // When
+        Store first = storeDirectory.getStore(9L);
+        Store second = storeDirectory.getStore(9L);
+
+        // Then
+        assertThat(first).isSameAs(store);
+        assertThat(second).isSameAs(store);
+        verify(storeRepository, times(1)).findById(9L);
+        assertThatThrownBy(() -> storeDirectory.getStore(10L)).isInstanceOf(StoreNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should geocode a new store once and return the existing record for a duplicate")
+    void registerStore_WhenDuplicate_ShouldReturnExisting() throws InvalidStoreException, DependencyUnavailableException {
+        // Given
+        when(geocodingService.geocode("15 Baggot Street Lower, Dublin 2")).thenReturn(new LatLng(53.3369, -6.2463));
+        when(storeRepository.saveAndFlush(any(Store.class))).thenAnswer(invocation -> {
+            Store saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        // When
+        StoreResponse registered = storeDirectory.registerStore(
+                new StoreCreateRequest("Tesco Express", "15 Baggot Street Lower, Dublin 2"));
+        StoreResponse duplicate = storeDirectory.registerStore(
+                new StoreCreateRequest("TESCO express ", "15 Baggot Street Lower Dublin 2"));
+
+        // Then
+        assertThat(registered.getLatitude()).isEqualTo(53.3369);
+        assertThat(duplicate.getId()).isEqualTo(1L);
+        verify(storeRepository, times(1)).saveAndFlush(any(Store.class));
+        verify(geocodingService, times(1)).geocode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should return the store registered concurrently when the unique constraint rejects the insert")
+    void registerStore_WhenRegisteredConcurrently_ShouldReturnExisting()
+            throws InvalidStoreException, DependencyUnavailableException, StoreNotFoundException {
+        // Given
+        Store existing = store(7L, "Tesco Express", "15 Baggot Street Lower, Dublin 2");
+        when(geocodingService.geocode("15 Baggot Street Lower, Dublin 2")).thenReturn(new LatLng(53.3369, -6.2463));
+        when(storeRepository.saveAndFlush(any(Store.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'uk_stores_name_address'"));
+        when(storeRepository.findByNameAndAddress("Tesco Express", "15 Baggot Street Lower, Dublin 2"))
+                .thenReturn(Optional.of(existing));
+
+        // When
+        StoreResponse registered = storeDirectory.registerStore(
+                new StoreCreateRequest(" Tesco Express", "15 Baggot Street Lower, Dublin 2 "));
+
+        // Then
+        assertThat(registered.getId()).isEqualTo(7L);
+        assertThat(storeDirectory.getStore(7L)).isSameAs(existing);
+        verify(storeRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject a store whose address cannot be located")
+    void registerStore_WhenAddressUnresolvable_ShouldThrow() throws DependencyUnavailableException {
+        // Given
+        when(geocodingService.geocode("Nowhere")).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> storeDirectory.registerStore(new StoreCreateRequest("Ghost Store", "Nowhere")))
+                .isInstanceOf(InvalidStoreException.class);
+        verify(storeRepository, never()).saveAndFlush(any(Store.class));
+    }
+
+    private static Store store(Long id, String name, String address) {
+        return Store.builder()
+                .id(id)
+                .name(name)
+                .address(address)
+                .latitude(53.34)
+                .longitude(-6.26)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
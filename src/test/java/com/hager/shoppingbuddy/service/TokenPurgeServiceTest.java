@@ -0,0 +1,84 @@
+package com.hager.shoppingbuddy.service;
+
+import com.hager.shoppingbuddy.repository.TokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenPurgeService Tests")
+class TokenPurgeServiceTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @InjectMocks
+    private TokenPurgeService tokenPurgeService;
+
+    private final Instant now = Instant.parse("2025-06-01T10:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenPurgeService, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should delete in batches, continuing after the last deleted id")
+    void purgeTokens_WhenSeveralBatches_ShouldWalkByKey() {
+        // Given
+        when(tokenRepository.findPurgeableIds(0L, now, Limit.of(2))).thenReturn(List.of(3L, 5L));
+        when(tokenRepository.findPurgeableIds(5L, now, Limit.of(2))).thenReturn(List.of(8L));
+        when(tokenRepository.deleteByIdIn(List.of(3L, 5L))).thenReturn(2);
+        when(tokenRepository.deleteByIdIn(List.of(8L))).thenReturn(1);
+
+        // When
+        int purged = tokenPurgeService.purgeTokens(now);
+
+        // Then
+        assertThat(purged).isEqualTo(3);
+        verify(tokenRepository, times(2)).findPurgeableIds(anyLong(), eq(now), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Should check for another batch after a full one")
+    void purgeTokens_WhenLastBatchFull_ShouldStopOnEmptyBatch() {
+        // Given
+        when(tokenRepository.findPurgeableIds(0L, now, Limit.of(2))).thenReturn(List.of(1L, 2L));
+        when(tokenRepository.findPurgeableIds(2L, now, Limit.of(2))).thenReturn(List.of());
+        when(tokenRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+        // When
+        int purged = tokenPurgeService.purgeTokens(now);
+
+        // Then
+        assertThat(purged).isEqualTo(2);
+        verify(tokenRepository, times(1)).deleteByIdIn(anyList());
+    }
+
+    @Test
+    @DisplayName("Should not delete anything when no token is purgeable")
+    void purgeTokens_WhenNothingToPurge_ShouldNotDelete() {
+        // Given
+        when(tokenRepository.findPurgeableIds(0L, now, Limit.of(2))).thenReturn(List.of());
+
+        // When
+        int purged = tokenPurgeService.purgeTokens(now);
+
+        // Then
+        assertThat(purged).isZero();
+        verify(tokenRepository, never()).deleteByIdIn(anyList());
+    }
+}
@@ -0,0 +1,216 @@
+package com.hager.shoppingbuddy.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hager.shoppingbuddy.dto.ShoppingRequestResponse;
+import com.hager.shoppingbuddy.entity.PaymentStatus;
+import com.hager.shoppingbuddy.entity.ShoppingRequestStatus;
+import com.hager.shoppingbuddy.entity.User;
+import com.hager.shoppingbuddy.event.ShopperLocationEvent;
+import com.hager.shoppingbuddy.event.ShoppingRequestLifecycleEvent;
+import com.hager.shoppingbuddy.exception.UnauthorizedRoleException;
+import com.hager.shoppingbuddy.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrackingService Tests")
+class TrackingServiceTest {
+
+    private static final String CUSTOMER_EMAIL = "customer@example.com";
+
+    @Mock
+    private ShoppingRequestService shoppingRequestService;
+
+    @Mock
+    private ShopperPresenceService shopperPresenceService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private final Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+    private TrackingService trackingService;
+
+    @BeforeEach
+    void setUp() {
+        trackingService = new TrackingService(shoppingRequestService, shopperPresenceService, userRepository,
+                new ObjectMapper().findAndRegisterModules(), Runnable::run, new SimpleMeterRegistry(), 2000, 60000, 8) {
+            @Override
+            SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should stream throttled positions while in progress and close when completed")
+    void onLocation_WhenInProgress_ShouldStreamThrottledPositions() throws Exception {
+        // Given
+        ShoppingRequestResponse request = request(ShoppingRequestStatus.IN_PROGRESS);
+        when(shoppingRequestService.getShoppingRequestById(1L)).thenReturn(request);
+        when(userRepository.findByEmail(CUSTOMER_EMAIL))
+                .thenReturn(Optional.of(User.builder().id(10L).email(CUSTOMER_EMAIL).build()));
+        trackingService.subscribe(1L, CUSTOMER_EMAIL);
+        trackingService.subscribe(1L, CUSTOMER_EMAIL);
+
+        // When
+        trackingService.onLocation(new ShopperLocationEvent(70L, 53.30, -6.20, now));
+        trackingService.onLocation(new ShopperLocationEvent(70L, 53.31, -6.21, now.plusMillis(500)));
+        trackingService.onLocation(new ShopperLocationEvent(70L, 53.32, -6.22, now.plusMillis(2500)));
+        trackingService.onLocation(new ShopperLocationEvent(80L, 53.40, -6.30, now.plusMillis(2500)));
+        ShoppingRequestResponse completed = request(ShoppingRequestStatus.COMPLETED);
+        trackingService.onLifecycleEvent(new ShoppingRequestLifecycleEvent(
+                completed, ShoppingRequestStatus.IN_PROGRESS, PaymentStatus.AUTHORIZED));
+
+        // Then
+        assertThat(emitters).hasSize(2).allSatisfy(emitter -> {
+            assertThat(emitter.events).hasSize(4);
+            assertThat(emitter.events.get(0)).contains("event:status", "IN_PROGRESS");
+            assertThat(emitter.events.get(1)).contains("event:position", "53.3");
+            assertThat(emitter.events.get(2)).contains("event:position", "53.32");
+            assertThat(emitter.events.get(3)).contains("event:status", "COMPLETED");
+            assertThat(emitter.completed).isTrue();
+        });
+        assertThat(trackingService.getStreamCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should start from the status read under the lock and close when it has become final")
+    void subscribe_WhenCancelledAfterFirstRead_ShouldSendFinalStatusAndClose() throws Exception {
+        // Given
+        ShoppingRequestResponse cancelled = request(ShoppingRequestStatus.CANCELLED);
+        cancelled.setUpdatedAt(now.plusSeconds(1));
+        when(shoppingRequestService.getShoppingRequestById(1L))
+                .thenReturn(request(ShoppingRequestStatus.ACCEPTED), cancelled);
+        when(userRepository.findByEmail(CUSTOMER_EMAIL))
+                .thenReturn(Optional.of(User.builder().id(10L).email(CUSTOMER_EMAIL).build()));
+
+        // When
+        trackingService.subscribe(1L, CUSTOMER_EMAIL);
+
+        // Then
+        assertThat(emitters).singleElement().satisfies(emitter -> {
+            assertThat(emitter.events).singleElement().asString().contains("event:status", "CANCELLED");
+            assertThat(emitter.completed).isTrue();
+        });
+        assertThat(trackingService.getStreamCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore a lifecycle event older than the tracked state")
+    void onLifecycleEvent_WhenOlderThanTrackedState_ShouldIgnore() throws Exception {
+        // Given
+        ShoppingRequestResponse inProgress = request(ShoppingRequestStatus.IN_PROGRESS);
+        inProgress.setUpdatedAt(now.plusSeconds(5));
+        when(shoppingRequestService.getShoppingRequestById(1L)).thenReturn(inProgress);
+        when(userRepository.findByEmail(CUSTOMER_EMAIL))
+                .thenReturn(Optional.of(User.builder().id(10L).email(CUSTOMER_EMAIL).build()));
+        trackingService.subscribe(1L, CUSTOMER_EMAIL);
+
+        // When
+        trackingService.onLifecycleEvent(new ShoppingRequestLifecycleEvent(
+                request(ShoppingRequestStatus.ACCEPTED), ShoppingRequestStatus.PENDING, PaymentStatus.AUTHORIZED));
+
+        // Then
+        assertThat(emitters.get(0).events).singleElement().asString().contains("IN_PROGRESS");
+        assertThat(trackingService.getStreamCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep updates buffered when the executor rejects a drain and send them on the next one")
+    void push_WhenExecutorRejects_ShouldDrainOnNextUpdate() throws Exception {
+        // Given
+        List<Runnable> drains = new ArrayList<>();
+        boolean[] reject = {true};
+        trackingService = new TrackingService(shoppingRequestService, shopperPresenceService, userRepository,
+                new ObjectMapper().findAndRegisterModules(), task -> {
+                    if (reject[0]) {
+                        throw new TaskRejectedException("Executor queue is full");
+                    }
+                    drains.add(task);
+                }, new SimpleMeterRegistry(), 2000, 60000, 8) {
+            @Override
+            SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        when(shoppingRequestService.getShoppingRequestById(1L)).thenReturn(request(ShoppingRequestStatus.IN_PROGRESS));
+        when(userRepository.findByEmail(CUSTOMER_EMAIL))
+                .thenReturn(Optional.of(User.builder().id(10L).email(CUSTOMER_EMAIL).build()));
+        trackingService.subscribe(1L, CUSTOMER_EMAIL);
+
+        // When
+        reject[0] = false;
+        trackingService.onLocation(new ShopperLocationEvent(70L, 53.30, -6.20, now));
+        drains.forEach(Runnable::run);
+
+        // Then
+        assertThat(emitters.get(0).events).hasSize(2);
+        assertThat(emitters.get(0).events.get(0)).contains("event:status", "IN_PROGRESS");
+        assertThat(emitters.get(0).events.get(1)).contains("event:position", "53.3");
+    }
+
+    @Test
+    @DisplayName("Should reject users who are neither the customer nor the shopper")
+    void subscribe_WhenNotParticipant_ShouldThrow() throws Exception {
+        // Given
+        when(shoppingRequestService.getShoppingRequestById(1L)).thenReturn(request(ShoppingRequestStatus.ACCEPTED));
+        when(userRepository.findByEmail("other@example.com"))
+                .thenReturn(Optional.of(User.builder().id(99L).email("other@example.com").build()));
+
+        // When & Then
+        assertThatThrownBy(() -> trackingService.subscribe(1L, "other@example.com"))
+                .isInstanceOf(UnauthorizedRoleException.class);
+        assertThat(emitters).isEmpty();
+    }
+
+    private ShoppingRequestResponse request(ShoppingRequestStatus status) {
+        return ShoppingRequestResponse.builder()
+                .id(1L)
+                .customerId(10L)
+                .shopperId(70L)
+                .shopperName("Sam Shopper")
+                .status(status)
+                .paymentStatus(PaymentStatus.AUTHORIZED)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
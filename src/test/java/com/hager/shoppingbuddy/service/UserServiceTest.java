@@ -47,6 +47,9 @@ class UserServiceTest {
     @Mock
     private BCryptPasswordEncoder bCryptPasswordEncoder;
 
+    @Mock
+    private EntityCacheService entityCacheService;
+
     @InjectMocks
     private UserService userService;
 
@@ -131,7 +134,7 @@ class UserServiceTest {
 
         @Test
         @DisplayName("Should register customer successfully")
-        void register_WhenValidCustomerRequest_ShouldRegisterUser() throws EmailAlreadyExistsException {
+        void register_WhenValidCustomerRequest_ShouldRegisterUser() throws EmailAlreadyExistsException, UnauthorizedRoleException {
             // Given
             RegistrationRequest request = createRegistrationRequest(UserRole.CUSTOMER);
             when(userRepository.findByEmail(userEmail)).thenReturn(Optional.empty());
@@ -158,13 +161,13 @@ class UserServiceTest {
                 user.getPasswordHash().equals(encodedPassword)
             ));
             verify(customerRepository).save(any(Customer.class));
-            verify(tokenRepository).save(any(Token.class));
+            verify(tokenRepository).save(argThat(token -> token.getTokenHash().length == 32));
             verify(emailService).send(eq(userEmail), anyString(), anyString());
         }
 
         @Test
         @DisplayName("Should register shopper successfully")
-        void register_WhenValidShopperRequest_ShouldRegisterUser() throws EmailAlreadyExistsException {
+        void register_WhenValidShopperRequest_ShouldRegisterUser() throws EmailAlreadyExistsException, UnauthorizedRoleException {
             // Given
             RegistrationRequest request = createRegistrationRequest(UserRole.SHOPPER);
             when(userRepository.findByEmail(userEmail)).thenReturn(Optional.empty());
@@ -215,6 +218,20 @@ class UserServiceTest {
             verify(emailService, never()).send(anyString(), anyString(), anyString());
         }
 
+        @Test
+        @DisplayName("Should refuse to register an admin account")
+        void register_WhenAdminRole_ShouldThrowUnauthorizedRoleException() {
+            // Given
+            RegistrationRequest request = createRegistrationRequest(UserRole.ADMIN);
+
+            // When & Then
+            assertThatThrownBy(() -> userService.register(request))
+                    .isInstanceOf(UnauthorizedRoleException.class);
+
+            verify(userRepository, never()).save(any(User.class));
+            verify(emailService, never()).send(anyString(), anyString(), anyString());
+        }
+
         @Test
         @DisplayName("Should throw IllegalArgumentException for unknown user role")
         void register_WhenUnknownRole_ShouldThrowIllegalArgumentException() {
@@ -246,10 +263,10 @@ class UserServiceTest {
             User user = createTestUser();
             user.setEnabled(false);
             Token token = createTestToken(user);
-            token.setToken(tokenValue);
+            token.setTokenHash(UserService.hashToken(tokenValue));
             token.setExpiresAt(Instant.now().plusSeconds(3600));
 
-            when(tokenRepository.findByToken(tokenValue)).thenReturn(Optional.of(token));
+            when(tokenRepository.findByTokenHash(UserService.hashToken(tokenValue))).thenReturn(Optional.of(token));
             when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(user));
             when(tokenRepository.save(any(Token.class))).thenReturn(token);
             when(userRepository.save(any(User.class))).thenReturn(user);
@@ -272,10 +289,10 @@ class UserServiceTest {
             String tokenValue = "confirmed-token-123";
             User user = createTestUser();
             Token token = createTestToken(user);
-            token.setToken(tokenValue);
+            token.setTokenHash(UserService.hashToken(tokenValue));
             token.setConfirmedAt(Instant.now());
 
-            when(tokenRepository.findByToken(tokenValue)).thenReturn(Optional.of(token));
+            when(tokenRepository.findByTokenHash(UserService.hashToken(tokenValue))).thenReturn(Optional.of(token));
 
             // When
             userService.confirmToken(tokenValue);
@@ -303,7 +320,7 @@ class UserServiceTest {
         void confirmToken_WhenTokenNotFound_ShouldThrowInvalidTokenException() {
             // Given
             String tokenValue = "invalid-token-123";
-            when(tokenRepository.findByToken(tokenValue)).thenReturn(Optional.empty());
+            when(tokenRepository.findByTokenHash(UserService.hashToken(tokenValue))).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> userService.confirmToken(tokenValue))
@@ -318,10 +335,10 @@ class UserServiceTest {
             String tokenValue = "expired-token-123";
             User user = createTestUser();
             Token token = createTestToken(user);
-            token.setToken(tokenValue);
+            token.setTokenHash(UserService.hashToken(tokenValue));
             token.setExpiresAt(Instant.now().minusSeconds(3600));
 
-            when(tokenRepository.findByToken(tokenValue)).thenReturn(Optional.of(token));
+            when(tokenRepository.findByTokenHash(UserService.hashToken(tokenValue))).thenReturn(Optional.of(token));
 
             // When & Then
             assertThatThrownBy(() -> userService.confirmToken(tokenValue))
@@ -388,6 +405,7 @@ class UserServiceTest {
                 savedUser.getPhoneNumber().equals(newPhoneNumber) &&
                 savedUser.getUpdatedAt() != null
             ));
+            verify(entityCacheService).evictUser(user.getId());
         }
 
         @Test
@@ -431,6 +449,7 @@ class UserServiceTest {
                 savedUser.getLastPasswordChange() != null &&
                 savedUser.getUpdatedAt() != null
             ));
+            verify(entityCacheService).evictUser(user.getId());
         }
 
         @Test
@@ -498,7 +517,7 @@ class UserServiceTest {
     private Token createTestToken(User user) {
         return Token.builder()
                 .id(1L)
-                .token("test-token-123")
+                .tokenHash(UserService.hashToken("test-token-123"))
                 .createdAt(Instant.now())
                 .expiresAt(Instant.now().plusSeconds(86400))
                 .user(user)
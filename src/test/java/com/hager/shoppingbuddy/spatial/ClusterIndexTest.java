@@ -0,0 +1,76 @@
+package com.hager.shoppingbuddy.spatial;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ClusterIndex Tests")
+class ClusterIndexTest {
+
+    @Test
+    @DisplayName("Should merge nearby points when zoomed out and split them when zoomed in")
+    void query_WhenZooming_ShouldAggregatePerCell() {
+        // Given: two stores a few hundred metres apart in Dublin, one in Cork
+        ClusterIndex index = new ClusterIndex();
+        index.put(1L, 53.3400, -6.2600, 8.0);
+        index.put(2L, 53.3420, -6.2580, 12.0);
+        index.put(3L, 51.8985, -8.4756, 10.0);
+
+        // When
+        List<ClusterIndex.Cluster> ireland = index.query(51.0, -11.0, 55.5, -5.0, 6);
+        List<ClusterIndex.Cluster> street = index.query(53.33, -6.27, 53.35, -6.25, 17);
+
+        // Then
+        assertThat(ireland).hasSize(2);
+        ClusterIndex.Cluster dublin = ireland.stream().filter(c -> c.count() == 2).findFirst().orElseThrow();
+        assertThat(dublin.latitude()).isCloseTo(53.341, within(1e-9));
+        assertThat(dublin.minFee()).isEqualTo(8.0);
+        assertThat(dublin.maxFee()).isEqualTo(12.0);
+        assertThat(dublin.id()).isNull();
+        assertThat(street).extracting(ClusterIndex.Cluster::id).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should match a rebuilt index after random moves and removals")
+    void put_WhenPointsMoveAndLeave_ShouldStayConsistent() {
+        // Given
+        Random random = new Random(3);
+        ClusterIndex index = new ClusterIndex();
+        double[][] positions = new double[500][];
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(positions.length);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                positions[id] = null;
+            } else {
+                positions[id] = new double[]{53.2 + random.nextDouble() * 0.3, -6.4 + random.nextDouble() * 0.3,
+                        5 + random.nextInt(10)};
+                index.put(id, positions[id][0], positions[id][1], positions[id][2]);
+            }
+        }
+
+        // When
+        ClusterIndex rebuilt = new ClusterIndex();
+        for (int id = 0; id < positions.length; id++) {
+            if (positions[id] != null) {
+                rebuilt.put(id, positions[id][0], positions[id][1], positions[id][2]);
+            }
+        }
+
+        // Then
+        assertThat(index.size()).isEqualTo(rebuilt.size());
+        for (int zoom = 8; zoom <= 16; zoom += 4) {
+            List<ClusterIndex.Cluster> actual = index.query(53.2, -6.4, 53.5, -6.1, zoom);
+            List<ClusterIndex.Cluster> expected = rebuilt.query(53.2, -6.4, 53.5, -6.1, zoom);
+            assertThat(actual).extracting(ClusterIndex.Cluster::count, ClusterIndex.Cluster::minFee,
+                            ClusterIndex.Cluster::maxFee, ClusterIndex.Cluster::id)
+                    .containsExactlyInAnyOrderElementsOf(expected.stream()
+                            .map(c -> tuple(c.count(), c.minFee(), c.maxFee(), c.id()))
+                            .toList());
+        }
+    }
+}
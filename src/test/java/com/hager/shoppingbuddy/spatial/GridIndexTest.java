@@ -0,0 +1,66 @@
+package com.hager.shoppingbuddy.spatial;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GridIndex Tests")
+class GridIndexTest {
+
+    private static final double LATITUDE = 53.3498;
+    private static final double LONGITUDE = -6.2603;
+
+    @Test
+    @DisplayName("Should return the same nearest points as a full scan")
+    void nearest_WhenManyPoints_ShouldMatchBruteForce() {
+        // Given
+        GridIndex<String> index = new GridIndex<>(0.01);
+        Random random = new Random(42);
+        double[][] points = new double[2000][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{LATITUDE + (random.nextDouble() - 0.5) * 0.3, LONGITUDE + (random.nextDouble() - 0.5) * 0.5};
+            index.put(i, points[i][0], points[i][1], "point-" + i);
+        }
+
+        // When
+        List<GridIndex.Neighbour<String>> nearest = index.nearest(LATITUDE, LONGITUDE, 10, 5, value -> !value.endsWith("7"));
+
+        // Then
+        List<Long> expected = IntStream.range(0, points.length)
+                .filter(i -> i % 10 != 7)
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> GeoDistance.haversineKm(LATITUDE, LONGITUDE, points[i][0], points[i][1])))
+                .limit(10)
+                .map(Integer::longValue)
+                .toList();
+        assertThat(nearest).extracting(GridIndex.Neighbour::id).containsExactlyElementsOf(expected);
+        assertThat(nearest).isSortedAccordingTo(Comparator.comparingDouble(GridIndex.Neighbour::distanceKm));
+    }
+
+    @Test
+    @DisplayName("Should move, remove and bound results by distance")
+    void put_WhenPointMoves_ShouldReindex() {
+        // Given
+        GridIndex<String> index = new GridIndex<>(0.01);
+        index.put(1, LATITUDE, LONGITUDE, "a");
+        index.put(2, LATITUDE + 0.05, LONGITUDE, "b");
+
+        // When
+        index.put(1, LATITUDE + 0.2, LONGITUDE, "a");
+
+        // Then
+        assertThat(index.nearest(LATITUDE, LONGITUDE, 5, 10, value -> true))
+                .extracting(GridIndex.Neighbour::id).containsExactly(2L);
+        assertThat(index.within(LATITUDE + 0.2, LONGITUDE, 1, value -> true))
+                .extracting(GridIndex.Neighbour::value).containsExactly("a");
+        assertThat(index.remove(2)).isEqualTo("b");
+        assertThat(index.nearest(LATITUDE, LONGITUDE, 5, 10, value -> true)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
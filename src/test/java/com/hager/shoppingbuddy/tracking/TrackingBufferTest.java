@@ -0,0 +1,65 @@
+package com.hager.shoppingbuddy.tracking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TrackingBuffer Tests")
+class TrackingBufferTest {
+
+    @Test
+    @DisplayName("Should keep only the newest position and status updates in order")
+    void offer_WhenPositionsQueued_ShouldReplaceOlderPosition() {
+        // Given
+        TrackingBuffer buffer = new TrackingBuffer(8);
+
+        // When
+        boolean first = buffer.offer(position("p1"));
+        buffer.offer(status("s1"));
+        boolean replaced = buffer.offer(position("p2"));
+        buffer.offer(status("s2"));
+
+        // Then
+        assertThat(first).isFalse();
+        assertThat(replaced).isTrue();
+        assertThat(drain(buffer)).extracting(TrackingUpdate::json).containsExactly("s1", "p2", "s2");
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest update when full")
+    void offer_WhenFull_ShouldDropOldest() {
+        // Given
+        TrackingBuffer buffer = new TrackingBuffer(2);
+        buffer.offer(status("s1"));
+        buffer.offer(status("s2"));
+
+        // When
+        boolean dropped = buffer.offer(status("s3"));
+
+        // Then
+        assertThat(dropped).isTrue();
+        assertThat(drain(buffer)).extracting(TrackingUpdate::json).containsExactly("s2", "s3");
+    }
+
+    private static List<TrackingUpdate> drain(TrackingBuffer buffer) {
+        List<TrackingUpdate> updates = new ArrayList<>();
+        TrackingUpdate update;
+        while ((update = buffer.poll()) != null) {
+            updates.add(update);
+        }
+        return updates;
+    }
+
+    private static TrackingUpdate status(String json) {
+        return new TrackingUpdate(TrackingUpdate.Kind.STATUS, json);
+    }
+
+    private static TrackingUpdate position(String json) {
+        return new TrackingUpdate(TrackingUpdate.Kind.POSITION, json);
+    }
+}